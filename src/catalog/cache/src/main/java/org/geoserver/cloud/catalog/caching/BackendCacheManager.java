@@ -0,0 +1,96 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.caching;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import lombok.NonNull;
+
+import org.geoserver.cloud.catalog.caching.BackendCacheProperties.Region;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link CacheManager} for the {@link CachingCatalogFacade} and {@link CachingGeoServerFacade}
+ * caches, serving them as {@link RegionalCache}s whose regions are bounded as configured by {@link
+ * BackendCacheProperties}, and recording Caffeine statistics so they can be exported as metrics.
+ *
+ * <p>Any other cache is served by a plain {@link CaffeineCacheManager}, since this cache manager
+ * replaces the application's default one.
+ */
+public class BackendCacheManager implements CacheManager {
+
+    private final Map<String, RegionalCache> caches = new LinkedHashMap<>();
+    private final CaffeineCacheManager others = new CaffeineCacheManager();
+
+    public BackendCacheManager(@NonNull BackendCacheProperties config) {
+        add(
+                new RegionalCache(
+                        CachingCatalogFacade.CACHE_NAME,
+                        CacheRegion.CATALOG,
+                        CacheRegion::ofCatalogKey,
+                        region -> build(config.getRegion(region))));
+        add(
+                new RegionalCache(
+                        CachingCatalogFacade.NAMES_CACHE_NAME,
+                        CacheRegion.CATALOG,
+                        CacheRegion::ofCatalogKey,
+                        region -> build(config.getRegion(region))));
+        add(
+                new RegionalCache(
+                        CachingGeoServerFacade.CACHE_NAME,
+                        CacheRegion.CONFIG,
+                        CacheRegion::ofConfigKey,
+                        region -> build(config.getRegion(region))));
+    }
+
+    private void add(RegionalCache cache) {
+        caches.put(cache.getName(), cache);
+    }
+
+    /** @return the catalog and config caches */
+    public Collection<RegionalCache> getRegionalCaches() {
+        return Collections.unmodifiableCollection(caches.values());
+    }
+
+    public @Override Cache getCache(String name) {
+        Cache cache = caches.get(name);
+        return cache == null ? others.getCache(name) : cache;
+    }
+
+    public @Override Collection<String> getCacheNames() {
+        Set<String> names = new LinkedHashSet<>(caches.keySet());
+        names.addAll(others.getCacheNames());
+        return Collections.unmodifiableSet(names);
+    }
+
+    static com.github.benmanes.caffeine.cache.Cache<Object, Object> build(Region config) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+        if (config.getMaximumWeight() != null) {
+            builder.maximumWeight(config.getMaximumWeight()).weigher(BackendCacheManager::weigh);
+        } else if (config.getMaximumSize() != null) {
+            builder.maximumSize(config.getMaximumSize());
+        }
+        if (config.getExpireAfterAccess() != null) {
+            builder.expireAfterAccess(config.getExpireAfterAccess());
+        }
+        if (Boolean.TRUE.equals(config.getSoftValues())) {
+            builder.softValues();
+        }
+        return builder.build();
+    }
+
+    private static int weigh(Object key, Object value) {
+        return value instanceof Collection ? Math.max(1, ((Collection<?>) value).size()) : 1;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.caching;
+
+import lombok.Data;
+import lombok.NonNull;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for the catalog and config backend caches, for example:
+ *
+ * <pre>{@code
+ * geoserver:
+ *   catalog:
+ *     caching:
+ *       enabled: true
+ *       negative-ttl: 10s
+ *       defaults:
+ *         maximum-size: 10000
+ *       regions:
+ *         layer:
+ *           maximum-size: 200000
+ *           expire-after-access: 1h
+ *         resource:
+ *           maximum-size: 200000
+ *           soft-values: true
+ * }</pre>
+ *
+ * <p>Each {@link CacheRegion region} takes the {@link #getDefaults() defaults} for the settings it
+ * doesn't set itself.
+ *
+ * @see CacheRegion
+ * @see BackendCacheManager
+ */
+@Data
+@ConfigurationProperties(prefix = "geoserver.catalog.caching")
+public class BackendCacheProperties {
+
+    /** Whether backend caching is enabled, defaults to {@code false} */
+    private boolean enabled;
+
+    /**
+     * How long a lookup that found nothing is answered from the cache, see {@link
+     * CachingCatalogFacadeImpl#setNegativeTtl(Duration)}
+     */
+    private Duration negativeTtl = CachingCatalogFacadeImpl.DEFAULT_NEGATIVE_TTL;
+
+    /** Settings for the regions that don't override them */
+    private Region defaults = Region.defaults();
+
+    /** Per region settings, keyed by {@link CacheRegion#getName() region name} */
+    private Map<CacheRegion, Region> regions = new HashMap<>();
+
+    /** @return the settings of {@code region}, falling back to the {@link #defaults} */
+    public Region getRegion(@NonNull CacheRegion region) {
+        Region config = regions.get(region);
+        return config == null ? defaults : config.orElse(defaults);
+    }
+
+    @Data
+    public static class Region {
+
+        /** Maximum number of entries, ignored if {@link #maximumWeight} is set */
+        private Long maximumSize;
+
+        /**
+         * Maximum total weight of the entries, where an entry weighs the number of objects it
+         * holds, i.e. one for an object and the list size for a list of objects (e.g. the layers
+         * of a resource)
+         */
+        private Long maximumWeight;
+
+        /** Time after which an entry that's not been read or written is evicted */
+        private Duration expireAfterAccess;
+
+        /**
+         * Whether to hold values through soft references, so that the garbage collector can reclaim
+         * them under memory pressure, at the cost of less predictable eviction
+         */
+        private Boolean softValues;
+
+        static Region defaults() {
+            Region defaults = new Region();
+            defaults.setMaximumSize(10_000L);
+            defaults.setSoftValues(false);
+            return defaults;
+        }
+
+        /** @return a copy of this region with its unset values taken from {@code defaults} */
+        Region orElse(@NonNull Region defaults) {
+            Region merged = new Region();
+            boolean bySize = maximumSize != null || maximumWeight != null;
+            merged.setMaximumSize(bySize ? maximumSize : defaults.getMaximumSize());
+            merged.setMaximumWeight(bySize ? maximumWeight : defaults.getMaximumWeight());
+            Duration expire = expireAfterAccess;
+            merged.setExpireAfterAccess(expire == null ? defaults.getExpireAfterAccess() : expire);
+            merged.setSoftValues(softValues == null ? defaults.getSoftValues() : softValues);
+            return merged;
+        }
+    }
+}
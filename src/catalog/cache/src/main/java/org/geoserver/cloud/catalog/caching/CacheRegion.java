@@ -0,0 +1,101 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.caching;
+
+import static org.geoserver.cloud.catalog.caching.CachingCatalogFacade.DEFAULT_DATASTORE_CACHE_KEY_PREFIX;
+import static org.geoserver.cloud.catalog.caching.CachingCatalogFacade.DEFAULT_NAMESPACE_CACHE_KEY;
+import static org.geoserver.cloud.catalog.caching.CachingCatalogFacade.DEFAULT_WORKSPACE_CACHE_KEY;
+
+import org.geoserver.catalog.Info;
+import org.geoserver.catalog.LayerGroupInfo;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.NamespaceInfo;
+import org.geoserver.catalog.ResourceInfo;
+import org.geoserver.catalog.StoreInfo;
+import org.geoserver.catalog.StyleInfo;
+import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.catalog.impl.ClassMappings;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The regions the {@link CachingCatalogFacade} and {@link CachingGeoServerFacade} caches are split
+ * into by {@link RegionalCache}, each one backed by its own Caffeine cache so that it can be sized
+ * and expired independently, see {@link BackendCacheProperties}
+ */
+public enum CacheRegion {
+    WORKSPACE,
+    NAMESPACE,
+    STORE,
+    RESOURCE,
+    LAYER,
+    LAYERGROUP,
+    STYLE,
+    SERVICE,
+    SETTINGS,
+    /**
+     * Catalog keys that can't be told apart by type (e.g. a {@code PublishedInfo} key), or that
+     * don't belong to any other region
+     */
+    DEFAULT;
+
+    /** Regions of the {@link CachingCatalogFacade} caches */
+    public static final Set<CacheRegion> CATALOG =
+            EnumSet.of(WORKSPACE, NAMESPACE, STORE, RESOURCE, LAYER, LAYERGROUP, STYLE, DEFAULT);
+
+    /** Regions of the {@link CachingGeoServerFacade} cache */
+    public static final Set<CacheRegion> CONFIG = EnumSet.of(SERVICE, SETTINGS);
+
+    /** @return the region name as used in configuration properties and metric tags */
+    public String getName() {
+        return name().toLowerCase();
+    }
+
+    /**
+     * @return the region of a {@link CachingCatalogFacade#CACHE_NAME} or {@link
+     *     CachingCatalogFacade#NAMES_CACHE_NAME} key
+     */
+    public static CacheRegion ofCatalogKey(Object key) {
+        if (key instanceof CatalogInfoKey) {
+            return ofType(((CatalogInfoKey) key).getType());
+        }
+        if (key instanceof CatalogInfoNameKey) {
+            return ofType(((CatalogInfoNameKey) key).getType());
+        }
+        if (DEFAULT_WORKSPACE_CACHE_KEY.equals(key)) {
+            return WORKSPACE;
+        }
+        if (DEFAULT_NAMESPACE_CACHE_KEY.equals(key)) {
+            return NAMESPACE;
+        }
+        if (key instanceof String) {
+            String name = (String) key;
+            if (name.startsWith(DEFAULT_DATASTORE_CACHE_KEY_PREFIX)) return STORE;
+        }
+        return DEFAULT;
+    }
+
+    /**
+     * @return the region of a {@link CachingGeoServerFacade#CACHE_NAME} key, services or else the
+     *     global, logging, and workspace settings
+     */
+    public static CacheRegion ofConfigKey(Object key) {
+        return key instanceof ServiceInfoKey ? SERVICE : SETTINGS;
+    }
+
+    private static CacheRegion ofType(ClassMappings type) {
+        Class<? extends Info> info = type == null ? null : type.getInterface();
+        if (info == null) return DEFAULT;
+        if (WorkspaceInfo.class.isAssignableFrom(info)) return WORKSPACE;
+        if (NamespaceInfo.class.isAssignableFrom(info)) return NAMESPACE;
+        if (StoreInfo.class.isAssignableFrom(info)) return STORE;
+        if (ResourceInfo.class.isAssignableFrom(info)) return RESOURCE;
+        if (LayerInfo.class.isAssignableFrom(info)) return LAYER;
+        if (LayerGroupInfo.class.isAssignableFrom(info)) return LAYERGROUP;
+        if (StyleInfo.class.isAssignableFrom(info)) return STYLE;
+        return DEFAULT;
+    }
+}
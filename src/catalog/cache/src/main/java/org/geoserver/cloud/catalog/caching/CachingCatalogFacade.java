@@ -8,13 +8,17 @@ import lombok.NonNull;
 
 import org.geoserver.catalog.CatalogFacade;
 import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.DataStoreInfo;
 import org.geoserver.catalog.Info;
 import org.geoserver.catalog.ResourceInfo;
 import org.geoserver.catalog.WorkspaceInfo;
 import org.geoserver.catalog.impl.ClassMappings;
 import org.geoserver.catalog.plugin.ExtendedCatalogFacade;
+import org.geoserver.catalog.plugin.Patch;
 import org.springframework.cache.CacheManager;
 
+import java.util.Set;
+
 /** */
 public interface CachingCatalogFacade extends ExtendedCatalogFacade {
 
@@ -24,6 +28,19 @@ public interface CachingCatalogFacade extends ExtendedCatalogFacade {
      */
     String CACHE_NAME = "gs-catalog";
 
+    /**
+     * Name of the cache used by {@link CachingCatalogFacadeImpl} to map {@link CatalogInfoNameKey
+     * names} to object ids, so that the by-name lookups used on each OWS request are served from
+     * the objects cached in {@link #CACHE_NAME}
+     */
+    String NAMES_CACHE_NAME = "gs-catalog-names";
+
+    /**
+     * Properties that change how an object is found by name, a {@link Patch} changing any of them
+     * evicts the object's names cache entry
+     */
+    Set<String> NAME_PROPERTIES = Set.of("name", "prefix", "namespace", "workspace");
+
     /** Key used to cache and evict {@link CatalogFacade#getDefaultNamespace() default namespace} */
     String DEFAULT_NAMESPACE_CACHE_KEY = "defaultNamespace";
 
@@ -45,8 +62,22 @@ public interface CachingCatalogFacade extends ExtendedCatalogFacade {
      */
     <C extends CatalogInfo> boolean evict(C info);
 
+    /**
+     * Evicts the given object from the cache after it's been modified by {@code patch}, and if the
+     * patch {@link #isNameChange changes its name}, its names cache entry and any miss cached for
+     * its new name
+     */
+    <C extends CatalogInfo> boolean evict(C info, Patch patch);
+
     boolean evict(@NonNull Object key);
 
+    /**
+     * Evicts the cached misses (lookups that found nothing) the given object is found by now that
+     * it's been added to the catalog, i.e. its names cache entry and, for a {@link DataStoreInfo},
+     * its workspace's default data store
+     */
+    <C extends CatalogInfo> boolean evictMisses(C info);
+
     static Object generateDefaultDataStoreKey(WorkspaceInfo workspace) {
         return DEFAULT_DATASTORE_CACHE_KEY_PREFIX + workspace.getId();
     }
@@ -54,4 +85,14 @@ public interface CachingCatalogFacade extends ExtendedCatalogFacade {
     static CatalogInfoKey generateLayersByResourceKey(ResourceInfo resource) {
         return new CatalogInfoKey("layers@" + resource.getId(), ClassMappings.LAYER);
     }
+
+    /** @return whether {@code patch} changes any of the {@link #NAME_PROPERTIES} */
+    static boolean isNameChange(Patch patch) {
+        for (String property : patch.getPropertyNames()) {
+            if (NAME_PROPERTIES.contains(property.toLowerCase())) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -4,12 +4,15 @@
  */
 package org.geoserver.cloud.catalog.caching;
 
+import static org.geoserver.cloud.catalog.caching.CachingCatalogFacade.generateDefaultDataStoreKey;
 import static org.geoserver.cloud.catalog.caching.CachingCatalogFacade.generateLayersByResourceKey;
 
 import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
 
 import org.geoserver.catalog.CatalogInfo;
 import org.geoserver.catalog.DataStoreInfo;
+import org.geoserver.catalog.Info;
 import org.geoserver.catalog.LayerGroupInfo;
 import org.geoserver.catalog.LayerInfo;
 import org.geoserver.catalog.NamespaceInfo;
@@ -17,6 +20,7 @@ import org.geoserver.catalog.ResourceInfo;
 import org.geoserver.catalog.StoreInfo;
 import org.geoserver.catalog.StyleInfo;
 import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.catalog.impl.ClassMappings;
 import org.geoserver.catalog.plugin.ExtendedCatalogFacade;
 import org.geoserver.catalog.plugin.Patch;
 import org.geoserver.catalog.plugin.forwarding.ForwardingExtendedCatalogFacade;
@@ -29,27 +33,67 @@ import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
+import org.springframework.lang.Nullable;
 
+import java.io.Serializable;
+import java.time.Duration;
 import java.util.List;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 
 /** */
 @CacheConfig(cacheNames = {CachingCatalogFacade.CACHE_NAME})
 public class CachingCatalogFacadeImpl extends ForwardingExtendedCatalogFacade
         implements CachingCatalogFacade {
+    /** Default time to live of cached misses, see {@link #setNegativeTtl(Duration)} */
+    public static final Duration DEFAULT_NEGATIVE_TTL = Duration.ofSeconds(10);
+
     private Cache idCache;
+    private Cache namesCache;
+    private Duration negativeTtl = DEFAULT_NEGATIVE_TTL;
 
     public CachingCatalogFacadeImpl(ExtendedCatalogFacade facade) {
         super(facade);
     }
 
+    /**
+     * Sets for how long a lookup by name, or for a workspace's default data store, that found
+     * nothing is answered from the cache. Misses are evicted as soon as a matching object is added
+     * or renamed, either locally or through a remote event, so the time to live only bounds how
+     * long a miss may outlive a change this instance is not notified of. A zero or negative value
+     * disables caching misses.
+     */
+    public void setNegativeTtl(@NonNull Duration negativeTtl) {
+        this.negativeTtl = negativeTtl;
+    }
+
     public @Autowired void setCacheManager(CacheManager cacheManager) {
         idCache = cacheManager.getCache(CachingCatalogFacade.CACHE_NAME);
+        namesCache = cacheManager.getCache(CachingCatalogFacade.NAMES_CACHE_NAME);
     }
 
     public @Override boolean evict(CatalogInfo info) {
+        return evict(info, null);
+    }
+
+    /**
+     * @param patch the changes applied to {@code info}, or {@code null} if it was removed, in which
+     *     case its names cache entry is evicted too
+     */
+    public @Override boolean evict(CatalogInfo info, Patch patch) {
         if (info == null || idCache == null) return false;
 
+        if (patch == null || CachingCatalogFacade.isNameChange(patch)) {
+            // the cached object, if any, tells the name it was found by
+            ValueWrapper cached = idCache.get(new CatalogInfoKey(info));
+            if (cached != null) {
+                evictName((CatalogInfo) cached.get());
+                if (patch != null) {
+                    evictRenamedMisses((CatalogInfo) cached.get(), patch);
+                }
+            }
+        }
+
         if (info instanceof ResourceInfo) {
             CatalogInfoKey layersByResourceKey = generateLayersByResourceKey((ResourceInfo) info);
             idCache.evict(layersByResourceKey);
@@ -70,39 +114,53 @@ public class CachingCatalogFacadeImpl extends ForwardingExtendedCatalogFacade
         return idCache.evictIfPresent(key);
     }
 
+    public @Override boolean evictMisses(CatalogInfo info) {
+        boolean evicted = evictMiss(namesCache, CatalogInfoNameKey.valueOf(info));
+        if (info instanceof DataStoreInfo && ((DataStoreInfo) info).getWorkspace() != null) {
+            WorkspaceInfo workspace = ((DataStoreInfo) info).getWorkspace();
+            evicted |= evictMiss(idCache, generateDefaultDataStoreKey(workspace));
+        }
+        return evicted;
+    }
+
     @CachePut(key = "new org.geoserver.cloud.catalog.caching.CatalogInfoKey(#p0)")
     public @Override StoreInfo add(StoreInfo store) {
-        return super.add(store);
+        return added(super.add(store));
     }
 
     @CachePut(key = "new org.geoserver.cloud.catalog.caching.CatalogInfoKey(#p0)")
     public @Override ResourceInfo add(ResourceInfo resource) {
-        return super.add(resource);
+        return added(super.add(resource));
     }
 
     @CachePut(key = "new org.geoserver.cloud.catalog.caching.CatalogInfoKey(#p0)")
     public @Override LayerInfo add(LayerInfo layer) {
-        return super.add(layer);
+        return added(super.add(layer));
     }
 
     @CachePut(key = "new org.geoserver.cloud.catalog.caching.CatalogInfoKey(#p0)")
     public @Override LayerGroupInfo add(LayerGroupInfo layerGroup) {
-        return super.add(layerGroup);
+        return added(super.add(layerGroup));
     }
 
     @CachePut(key = "new org.geoserver.cloud.catalog.caching.CatalogInfoKey(#p0)")
     public @Override NamespaceInfo add(NamespaceInfo namespace) {
-        return super.add(namespace);
+        return added(super.add(namespace));
     }
 
     @CachePut(key = "new org.geoserver.cloud.catalog.caching.CatalogInfoKey(#p0)")
     public @Override WorkspaceInfo add(WorkspaceInfo workspace) {
-        return super.add(workspace);
+        return added(super.add(workspace));
     }
 
     @CachePut(key = "new org.geoserver.cloud.catalog.caching.CatalogInfoKey(#p0)")
     public @Override StyleInfo add(StyleInfo style) {
-        return super.add(style);
+        return added(super.add(style));
+    }
+
+    private <T extends CatalogInfo> T added(T info) {
+        evictMisses(info);
+        return info;
     }
 
     @CacheEvict(key = "new org.geoserver.cloud.catalog.caching.CatalogInfoKey(#p0)")
@@ -187,6 +245,12 @@ public class CachingCatalogFacadeImpl extends ForwardingExtendedCatalogFacade
             key = "new org.geoserver.cloud.catalog.caching.CatalogInfoKey(#info)",
             unless = "#result == null")
     public @Override <I extends CatalogInfo> I update(final I info, final Patch patch) {
+        // info is not yet updated, evict the name it's currently found by and any miss cached
+        // for the name it's going to be found by
+        if (CachingCatalogFacade.isNameChange(patch)) {
+            evictName(info);
+            evictRenamedMisses(info, patch);
+        }
         return super.update(info, patch);
     }
 
@@ -292,11 +356,27 @@ public class CachingCatalogFacadeImpl extends ForwardingExtendedCatalogFacade
         super.setDefaultNamespace(defaultNamespace);
     }
 
-    @Cacheable(
-            key = "'" + DEFAULT_DATASTORE_CACHE_KEY_PREFIX + "' + #p0.id",
-            unless = "#result == null")
+    /** @implNote manual caching, in order to cache a miss if the workspace has no default store */
     public @Override DataStoreInfo getDefaultDataStore(WorkspaceInfo workspace) {
-        return super.getDefaultDataStore(workspace);
+        if (idCache == null) {
+            return super.getDefaultDataStore(workspace);
+        }
+        Object key = generateDefaultDataStoreKey(workspace);
+        ValueWrapper entry = idCache.get(key);
+        Object value = entry == null ? null : entry.get();
+        if (value instanceof DataStoreInfo) {
+            return (DataStoreInfo) value;
+        }
+        if (isMiss(value)) {
+            return null;
+        }
+        DataStoreInfo store = super.getDefaultDataStore(workspace);
+        if (store == null) {
+            putMiss(idCache, key);
+        } else {
+            idCache.put(key, store);
+        }
+        return store;
     }
 
     @CacheEvict(key = "'" + DEFAULT_DATASTORE_CACHE_KEY_PREFIX + "' + #p0.id")
@@ -304,15 +384,201 @@ public class CachingCatalogFacadeImpl extends ForwardingExtendedCatalogFacade
         super.setDefaultDataStore(workspace, store);
     }
 
-    // public @Override <T extends StoreInfo> T getStoreByName(WorkspaceInfo workspace, String
-    // name, Class<T> clazz){}
-    // public @Override LayerInfo getLayerByName(String name){}
-    // public @Override LayerGroupInfo getLayerGroupByName(String name){}
-    // public @Override LayerGroupInfo getLayerGroupByName(WorkspaceInfo workspace, String
-    // name){}
-    // public @Override NamespaceInfo getNamespaceByPrefix(String prefix){}
-    // public @Override NamespaceInfo getNamespaceByURI(String uri){}
-    // public @Override WorkspaceInfo getWorkspaceByName(String name){}
-    // public @Override StyleInfo getStyleByName(String name){}
-    // public @Override StyleInfo getStyleByName(WorkspaceInfo workspace, String name){}
+    public @Override WorkspaceInfo getWorkspaceByName(String name) {
+        return getByName(
+                CatalogInfoNameKey.workspace(name),
+                WorkspaceInfo.class,
+                () -> super.getWorkspaceByName(name));
+    }
+
+    public @Override NamespaceInfo getNamespaceByPrefix(String prefix) {
+        return getByName(
+                CatalogInfoNameKey.namespace(prefix),
+                NamespaceInfo.class,
+                () -> super.getNamespaceByPrefix(prefix));
+    }
+
+    public @Override <T extends StoreInfo> T getStoreByName(
+            WorkspaceInfo workspace, String name, Class<T> clazz) {
+        CatalogInfoNameKey key =
+                isAny(workspace) ? null : CatalogInfoNameKey.store(workspace, name);
+        return getByName(key, clazz, () -> super.getStoreByName(workspace, name, clazz));
+    }
+
+    public @Override <T extends ResourceInfo> T getResourceByName(
+            NamespaceInfo namespace, String name, Class<T> clazz) {
+        CatalogInfoNameKey key =
+                isAny(namespace) ? null : CatalogInfoNameKey.resource(namespace, name);
+        return getByName(key, clazz, () -> super.getResourceByName(namespace, name, clazz));
+    }
+
+    public @Override LayerInfo getLayerByName(String name) {
+        return getByName(layerNameKey(name), LayerInfo.class, () -> super.getLayerByName(name));
+    }
+
+    /**
+     * A prefixed layer name is keyed by the namespace the prefix stands for and the unprefixed
+     * name, since layers are named after their resource; it's not cached if there's no such
+     * namespace
+     */
+    private CatalogInfoNameKey layerNameKey(String name) {
+        final int colon = name == null ? -1 : name.indexOf(':');
+        if (colon == -1) {
+            return CatalogInfoNameKey.layer(name);
+        }
+        NamespaceInfo namespace = getNamespaceByPrefix(name.substring(0, colon));
+        return namespace == null
+                ? null
+                : CatalogInfoNameKey.layer(namespace, name.substring(colon + 1));
+    }
+
+    public @Override LayerGroupInfo getLayerGroupByName(WorkspaceInfo workspace, String name) {
+        CatalogInfoNameKey key =
+                isAny(workspace) ? null : CatalogInfoNameKey.layerGroup(orNull(workspace), name);
+        return getByName(
+                key, LayerGroupInfo.class, () -> super.getLayerGroupByName(workspace, name));
+    }
+
+    public @Override StyleInfo getStyleByName(WorkspaceInfo workspace, String name) {
+        CatalogInfoNameKey key =
+                isAny(workspace) ? null : CatalogInfoNameKey.style(orNull(workspace), name);
+        return getByName(key, StyleInfo.class, () -> super.getStyleByName(workspace, name));
+    }
+
+    /** Queries for objects in any workspace or namespace are not cached, they have no unique key */
+    private static boolean isAny(CatalogInfo scope) {
+        return scope == null || scope == ANY_WORKSPACE || scope == ANY_NAMESPACE;
+    }
+
+    private static WorkspaceInfo orNull(WorkspaceInfo workspace) {
+        return workspace == NO_WORKSPACE ? null : workspace;
+    }
+
+    /**
+     * Caching query by name; the {@link #namesCache} maps the name to the object id, and the object
+     * itself is taken from the {@link #idCache}, so it's only necessary to evict a name entry when
+     * the object is renamed or removed. A name entry is not trusted unless the cached object is
+     * still found by that name, and for layers, whose name is their resource's, unless the resource
+     * is cached too, since modifying the resource evicts it.
+     *
+     * <p>A lookup that finds nothing caches a {@link Miss} for the key if {@link
+     * #isMissCacheable(CatalogInfoNameKey, Class) it's safe to}, so that repeated probes for
+     * objects that don't exist don't reach the backend until the miss expires or a matching object
+     * is added.
+     */
+    private <T extends CatalogInfo> T getByName(
+            @Nullable CatalogInfoNameKey key, Class<T> type, Supplier<T> query) {
+        if (key == null || namesCache == null) {
+            return query.get();
+        }
+        ValueWrapper entry = namesCache.get(key);
+        Object id = entry == null ? null : entry.get();
+        if (isMiss(id)) {
+            return null;
+        }
+        if (id instanceof String) {
+            // look it up by the key's type, may be a base type of the requested one
+            Class<? extends Info> keyType = key.getType().getInterface();
+            ValueWrapper value = idCache.get(new CatalogInfoKey((String) id, keyType));
+            CatalogInfo info = value == null ? null : (CatalogInfo) value.get();
+            if (info != null && key.matches(info) && isFresh(info)) {
+                return type.isInstance(info) ? type.cast(info) : null;
+            }
+        }
+        T result = query.get();
+        if (result == null) {
+            if (isMissCacheable(key, type)) {
+                putMiss(namesCache, key);
+            } else {
+                namesCache.evict(key);
+            }
+        } else {
+            idCache.put(new CatalogInfoKey(result), result);
+            namesCache.put(key, result.getId());
+            if (result instanceof LayerInfo && ((LayerInfo) result).getResource() != null) {
+                getResource(((LayerInfo) result).getResource().getId(), ResourceInfo.class);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * A miss is only cached for a lookup by the key's base type, a lookup by a concrete type (e.g.
+     * {@code CoverageStoreInfo}) finding nothing doesn't mean there's no object of another type by
+     * that name; nor for a prefixed layer name, whose key is not the one evicted when a layer is
+     * added
+     */
+    private static boolean isMissCacheable(CatalogInfoNameKey key, Class<?> type) {
+        if (!key.getType().getInterface().equals(type)) {
+            return false;
+        }
+        return key.getType() != ClassMappings.LAYER || key.getScope() == null;
+    }
+
+    private boolean isFresh(CatalogInfo info) {
+        if (info instanceof LayerInfo) {
+            ResourceInfo resource = ((LayerInfo) info).getResource();
+            return resource == null || isCached(resource.getId(), ResourceInfo.class);
+        }
+        return true;
+    }
+
+    private boolean isCached(String id, Class<? extends CatalogInfo> type) {
+        return null != idCache.get(new CatalogInfoKey(id, type));
+    }
+
+    private void evictName(CatalogInfo info) {
+        CatalogInfoNameKey key = CatalogInfoNameKey.valueOf(info);
+        if (key != null && namesCache != null) {
+            namesCache.evict(key);
+        }
+    }
+
+    /**
+     * Evicts the misses cached for the name {@code info} is found by once {@code patch} is applied,
+     * including its layer's for a resource, whose name is the layer name
+     */
+    private void evictRenamedMisses(CatalogInfo info, Patch patch) {
+        CatalogInfoNameKey renamed = CatalogInfoNameKey.valueOf(info, patch);
+        evictMiss(namesCache, renamed);
+        if (renamed != null && renamed.getType() == ClassMappings.RESOURCE) {
+            evictMiss(namesCache, CatalogInfoNameKey.layer(renamed.getName()));
+        }
+    }
+
+    private void putMiss(Cache cache, Object key) {
+        if (negativeTtl.isZero() || negativeTtl.isNegative()) {
+            cache.evict(key);
+        } else {
+            cache.put(key, new Miss(System.currentTimeMillis() + negativeTtl.toMillis()));
+        }
+    }
+
+    private boolean evictMiss(@Nullable Cache cache, @Nullable Object key) {
+        if (cache == null || key == null) {
+            return false;
+        }
+        ValueWrapper entry = cache.get(key);
+        return entry != null && entry.get() instanceof Miss && cache.evictIfPresent(key);
+    }
+
+    /** @return whether {@code value} is a cached {@link Miss} that has not yet expired */
+    private static boolean isMiss(@Nullable Object value) {
+        return value instanceof Miss && !((Miss) value).isExpired();
+    }
+
+    /**
+     * Cache entry for a lookup that found nothing, valid until the {@link #expires} timestamp,
+     * since the cache itself has no per-entry time to live
+     */
+    @RequiredArgsConstructor
+    private static final class Miss implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final long expires;
+
+        boolean isExpired() {
+            return System.currentTimeMillis() > expires;
+        }
+    }
 }
@@ -68,6 +68,11 @@ public class CatalogInfoKey implements Serializable {
         this.type = resolveTypeId(type);
     }
 
+    /** @return the type this key was created with, may be a base type for a query key */
+    public ClassMappings getType() {
+        return type;
+    }
+
     private ClassMappings resolveTypeId(Info info) {
         Class<? extends Info> type = CatalogInfoTypeRegistry.resolveType(info);
         return resolveTypeId(type);
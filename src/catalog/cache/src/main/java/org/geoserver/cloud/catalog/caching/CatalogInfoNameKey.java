@@ -0,0 +1,146 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.caching;
+
+import lombok.NonNull;
+import lombok.Value;
+
+import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.LayerGroupInfo;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.NamespaceInfo;
+import org.geoserver.catalog.ResourceInfo;
+import org.geoserver.catalog.StoreInfo;
+import org.geoserver.catalog.StyleInfo;
+import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.catalog.impl.ClassMappings;
+import org.geoserver.catalog.plugin.Patch;
+import org.springframework.lang.Nullable;
+
+import java.io.Serializable;
+
+/**
+ * A key for the {@link CachingCatalogFacade#NAMES_CACHE_NAME names cache}, identifying a {@link
+ * CatalogInfo} by its name (or prefix, for namespaces) within the scope its name is unique in: the
+ * id of its workspace for stores, layer groups, and styles; the id of its namespace for resources;
+ * or {@code null} for global objects.
+ *
+ * <p>Stores and resources are keyed by their base type since their names are unique regardless of
+ * their concrete type. The factory methods return {@code null} for a {@code null} name.
+ */
+public @Value class CatalogInfoNameKey implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private @NonNull ClassMappings type;
+    private String scope;
+    private @NonNull String name;
+
+    public static CatalogInfoNameKey workspace(String name) {
+        return of(ClassMappings.WORKSPACE, null, name);
+    }
+
+    public static CatalogInfoNameKey namespace(String prefix) {
+        return of(ClassMappings.NAMESPACE, null, prefix);
+    }
+
+    public static CatalogInfoNameKey store(WorkspaceInfo workspace, String name) {
+        return of(ClassMappings.STORE, idOf(workspace), name);
+    }
+
+    public static CatalogInfoNameKey resource(NamespaceInfo namespace, String name) {
+        return of(ClassMappings.RESOURCE, idOf(namespace), name);
+    }
+
+    public static CatalogInfoNameKey layer(String name) {
+        return of(ClassMappings.LAYER, null, name);
+    }
+
+    /** Key for a prefixed layer name, scoped by the id of the namespace the prefix stands for */
+    public static CatalogInfoNameKey layer(NamespaceInfo namespace, String name) {
+        return of(ClassMappings.LAYER, idOf(namespace), name);
+    }
+
+    public static CatalogInfoNameKey layerGroup(@Nullable WorkspaceInfo workspace, String name) {
+        return of(ClassMappings.LAYERGROUP, idOf(workspace), name);
+    }
+
+    public static CatalogInfoNameKey style(@Nullable WorkspaceInfo workspace, String name) {
+        return of(ClassMappings.STYLE, idOf(workspace), name);
+    }
+
+    /**
+     * @return the key {@code info} is found by at its current state, or {@code null} if it has no
+     *     name or is not of a type looked up by name
+     */
+    public static @Nullable CatalogInfoNameKey valueOf(@Nullable CatalogInfo info) {
+        CatalogInfoNameKey key = null;
+        if (info instanceof WorkspaceInfo) {
+            key = of(ClassMappings.WORKSPACE, null, ((WorkspaceInfo) info).getName());
+        } else if (info instanceof NamespaceInfo) {
+            key = of(ClassMappings.NAMESPACE, null, ((NamespaceInfo) info).getPrefix());
+        } else if (info instanceof StoreInfo) {
+            StoreInfo store = (StoreInfo) info;
+            key = of(ClassMappings.STORE, idOf(store.getWorkspace()), store.getName());
+        } else if (info instanceof ResourceInfo) {
+            ResourceInfo resource = (ResourceInfo) info;
+            key = of(ClassMappings.RESOURCE, idOf(resource.getNamespace()), resource.getName());
+        } else if (info instanceof LayerInfo) {
+            key = of(ClassMappings.LAYER, null, ((LayerInfo) info).getName());
+        } else if (info instanceof LayerGroupInfo) {
+            LayerGroupInfo lg = (LayerGroupInfo) info;
+            key = of(ClassMappings.LAYERGROUP, idOf(lg.getWorkspace()), lg.getName());
+        } else if (info instanceof StyleInfo) {
+            StyleInfo style = (StyleInfo) info;
+            key = of(ClassMappings.STYLE, idOf(style.getWorkspace()), style.getName());
+        }
+        return key;
+    }
+
+    /**
+     * @return whether {@code info} is found by this key at its current state, which for a layer
+     *     key scoped by namespace means the layer's resource is in that namespace
+     */
+    public boolean matches(@Nullable CatalogInfo info) {
+        if (type == ClassMappings.LAYER && scope != null) {
+            if (!(info instanceof LayerInfo)) {
+                return false;
+            }
+            ResourceInfo resource = ((LayerInfo) info).getResource();
+            return resource != null && equals(layer(resource.getNamespace(), resource.getName()));
+        }
+        return equals(valueOf(info));
+    }
+
+    /**
+     * @return the key {@code info} will be found by once {@code patch} is applied to it, or {@code
+     *     null} if it has no name or is not of a type looked up by name
+     */
+    public static @Nullable CatalogInfoNameKey valueOf(@Nullable CatalogInfo info, Patch patch) {
+        CatalogInfoNameKey key = valueOf(info);
+        if (key == null) {
+            return null;
+        }
+        String scope = key.getScope();
+        String name = key.getName();
+        for (Patch.Property property : patch.getPatches()) {
+            String propertyName = property.getName().toLowerCase();
+            Object value = property.getValue();
+            if ("name".equals(propertyName) || "prefix".equals(propertyName)) {
+                name = value instanceof String ? (String) value : null;
+            } else if ("workspace".equals(propertyName) || "namespace".equals(propertyName)) {
+                scope = value instanceof CatalogInfo ? idOf((CatalogInfo) value) : null;
+            }
+        }
+        return of(key.getType(), scope, name);
+    }
+
+    private static @Nullable CatalogInfoNameKey of(ClassMappings type, String scope, String name) {
+        return name == null ? null : new CatalogInfoNameKey(type, scope, name);
+    }
+
+    private static String idOf(@Nullable CatalogInfo scope) {
+        return scope == null ? null : scope.getId();
+    }
+}
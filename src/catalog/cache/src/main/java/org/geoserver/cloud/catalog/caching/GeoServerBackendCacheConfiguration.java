@@ -18,6 +18,7 @@ import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -29,16 +30,21 @@ import org.springframework.context.annotation.Configuration;
  * runtime, and if a caching decorator sits on top of it, those resources might not be hidden for a
  * given user when they should.
  *
+ * <p>The caches are provided by a {@link BackendCacheManager}, split into per object type {@link
+ * CacheRegion regions} configured through {@link BackendCacheProperties}.
+ *
  * @see CachingCatalogFacade
  * @see CachingGeoServerFacade
  */
 @Configuration(proxyBeanMethods = true)
 @EnableCaching(proxyTargetClass = true)
+@EnableConfigurationProperties(BackendCacheProperties.class)
 @Slf4j(topic = "org.geoserver.cloud.catalog.caching")
 public class GeoServerBackendCacheConfiguration implements BeanPostProcessor {
 
     private @Autowired @Qualifier("catalogFacade") CatalogFacade rawCatalogFacade;
     private @Autowired @Qualifier("geoserverFacade") GeoServerFacade rawGeoServerFacade;
+    private @Autowired BackendCacheProperties cacheProperties;
 
     @Override
     public Object postProcessAfterInitialization(Object bean, String beanName)
@@ -65,10 +71,16 @@ public class GeoServerBackendCacheConfiguration implements BeanPostProcessor {
         } else {
             facade = new CatalogFacadeExtensionAdapter(raw);
         }
-        return new CachingCatalogFacadeImpl(facade);
+        CachingCatalogFacadeImpl caching = new CachingCatalogFacadeImpl(facade);
+        caching.setNegativeTtl(cacheProperties.getNegativeTtl());
+        return caching;
     }
 
     public @Bean CachingGeoServerFacade cachingGeoServerFacade() {
         return new CachingGeoServerFacadeImpl(rawGeoServerFacade);
     }
+
+    public @Bean BackendCacheManager cacheManager() {
+        return new BackendCacheManager(cacheProperties);
+    }
 }
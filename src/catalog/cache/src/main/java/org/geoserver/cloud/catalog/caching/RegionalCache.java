@@ -0,0 +1,125 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.caching;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+
+/**
+ * A Spring {@link Cache} split into {@link CacheRegion regions}, each backed by its own Caffeine
+ * cache, so that e.g. layers and resources of a large catalog can be given a bigger share of the
+ * memory than workspaces, and don't evict them when the cache is full.
+ *
+ * <p>Each key is routed to a single region by a function of the key, hence keys that are equal
+ * must be routed to the same region (e.g. a {@link CatalogInfoKey} by {@code ResourceInfo} and one
+ * by {@code FeatureTypeInfo}). Keys routed to a region this cache doesn't have are kept in its
+ * {@link CacheRegion#DEFAULT default} region, if any.
+ */
+public class RegionalCache implements Cache {
+
+    private final @Getter String name;
+    private final Function<Object, CacheRegion> router;
+    private final Map<CacheRegion, CaffeineCache> regions = new EnumMap<>(CacheRegion.class);
+
+    /**
+     * @param router gives the region for a key
+     * @param factory creates the Caffeine cache for each region
+     */
+    public RegionalCache(
+            @NonNull String name,
+            @NonNull Set<CacheRegion> regions,
+            @NonNull Function<Object, CacheRegion> router,
+            @NonNull Function<CacheRegion, com.github.benmanes.caffeine.cache.Cache<Object, Object>>
+                    factory) {
+        if (regions.isEmpty()) {
+            throw new IllegalArgumentException("No cache regions provided for " + name);
+        }
+        this.name = name;
+        this.router = router;
+        for (CacheRegion region : regions) {
+            this.regions.put(region, new CaffeineCache(name, factory.apply(region)));
+        }
+    }
+
+    public Set<CacheRegion> getRegions() {
+        return Collections.unmodifiableSet(regions.keySet());
+    }
+
+    /** @return the Caffeine cache backing {@code region} */
+    public com.github.benmanes.caffeine.cache.Cache<Object, Object> getNativeCache(
+            @NonNull CacheRegion region) {
+        CaffeineCache cache = regions.get(region);
+        if (cache == null) {
+            throw new IllegalArgumentException(name + " has no region " + region.getName());
+        }
+        return cache.getNativeCache();
+    }
+
+    public @Override Object getNativeCache() {
+        return this;
+    }
+
+    public @Override ValueWrapper get(Object key) {
+        return region(key).get(key);
+    }
+
+    public @Override <T> T get(Object key, Class<T> type) {
+        return region(key).get(key, type);
+    }
+
+    public @Override <T> T get(Object key, Callable<T> valueLoader) {
+        return region(key).get(key, valueLoader);
+    }
+
+    public @Override void put(Object key, Object value) {
+        region(key).put(key, value);
+    }
+
+    public @Override ValueWrapper putIfAbsent(Object key, Object value) {
+        return region(key).putIfAbsent(key, value);
+    }
+
+    public @Override void evict(Object key) {
+        region(key).evict(key);
+    }
+
+    public @Override boolean evictIfPresent(Object key) {
+        return region(key).evictIfPresent(key);
+    }
+
+    public @Override void clear() {
+        regions.values().forEach(CaffeineCache::clear);
+    }
+
+    public @Override boolean invalidate() {
+        boolean invalidated = false;
+        for (CaffeineCache cache : regions.values()) {
+            invalidated |= cache.invalidate();
+        }
+        return invalidated;
+    }
+
+    private CaffeineCache region(Object key) {
+        CaffeineCache cache = regions.get(router.apply(key));
+        if (cache == null) {
+            cache = regions.get(CacheRegion.DEFAULT);
+        }
+        if (cache == null) {
+            throw new IllegalArgumentException(
+                    "Key " + key + " does not belong to any region of " + name);
+        }
+        return cache;
+    }
+}
@@ -52,6 +52,7 @@ import org.springframework.cache.Cache.ValueWrapper;
 import org.springframework.cache.CacheManager;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.function.Consumer;
@@ -86,6 +87,7 @@ public class CachingCatalogFacadeTest {
     private StyleInfo style;
 
     private Cache cache;
+    private Cache namesCache;
 
     public @Before void before() {
         ws = stub(WorkspaceInfo.class, 1);
@@ -124,6 +126,8 @@ public class CachingCatalogFacadeTest {
 
         this.cache = cacheManager.getCache(CachingCatalogFacade.CACHE_NAME);
         this.cache.clear();
+        this.namesCache = cacheManager.getCache(CachingCatalogFacade.NAMES_CACHE_NAME);
+        this.namesCache.clear();
     }
 
     public @Test void testEvict() {
@@ -214,7 +218,15 @@ public class CachingCatalogFacadeTest {
     public @Test void testGetDefaultDataStore() {
         final Object key = CachingCatalogFacade.generateDefaultDataStoreKey(ws);
         assertNull(caching.getDefaultDataStore(ws));
-        assertNull("null return value should have not been cached", cache.get(key));
+        assertNotNull("expected miss cached", cache.get(key));
+        assertNull(caching.getDefaultDataStore(ws));
+        verify(mock, times(1)).getDefaultDataStore(same(ws));
+
+        // adding a data store to the workspace evicts the miss
+        when(ds.getWorkspace()).thenReturn(ws);
+        when(mock.add(same(ds))).thenReturn(ds);
+        caching.add(ds);
+        assertNull("expected miss evicted", cache.get(key));
 
         when(mock.getDefaultDataStore(same(ws))).thenReturn(ds);
 
@@ -231,6 +243,13 @@ public class CachingCatalogFacadeTest {
         verify(mock, times(1)).getDefaultDataStore(same(ws));
     }
 
+    public @Test void testGetDefaultDataStoreWithoutCacheManager() {
+        CachingCatalogFacadeImpl uncached = new CachingCatalogFacadeImpl(mock);
+        when(mock.getDefaultDataStore(same(ws))).thenReturn(ds);
+        assertSame(ds, uncached.getDefaultDataStore(ws));
+        assertNull(uncached.getDefaultDataStore(ws2));
+    }
+
     public @Test void testSetDefaultDataStore() {
         final Object key = CachingCatalogFacade.generateDefaultDataStoreKey(ws);
         when(mock.getDefaultDataStore(same(ws))).thenReturn(ds);
@@ -484,6 +503,165 @@ public class CachingCatalogFacadeTest {
         assertSame("expected cache put", updated, cache.get(new CatalogInfoKey(info)).get());
     }
 
+    public @Test void testGetWorkspaceByName() {
+        when(ws.getName()).thenReturn("ws1");
+        when(mock.getWorkspaceByName(eq("ws1"))).thenReturn(ws);
+
+        assertSameTimesN(ws, id -> caching.getWorkspaceByName("ws1"), 3);
+        verify(mock, times(1)).getWorkspaceByName(eq("ws1"));
+        assertEquals(ws.getId(), namesCache.get(CatalogInfoNameKey.workspace("ws1")).get());
+        assertSame(ws, cache.get(new CatalogInfoKey(ws)).get());
+
+        // the object is evicted when modified, but not its name entry unless it's renamed
+        caching.evict(ws, patch("dateModified"));
+        assertNull(cache.get(new CatalogInfoKey(ws)));
+        assertNotNull(namesCache.get(CatalogInfoNameKey.workspace("ws1")));
+
+        assertSame(ws, caching.getWorkspaceByName("ws1"));
+        verify(mock, times(2)).getWorkspaceByName(eq("ws1"));
+
+        caching.evict(ws, patch("name"));
+        assertNull(namesCache.get(CatalogInfoNameKey.workspace("ws1")));
+    }
+
+    public @Test void testGetStoreByName() {
+        when(ds.getName()).thenReturn("ds1");
+        when(ds.getWorkspace()).thenReturn(ws);
+        when(mock.getStoreByName(same(ws), eq("ds1"), eq(DataStoreInfo.class))).thenReturn(ds);
+
+        assertSameTimesN(ds, id -> caching.getStoreByName(ws, "ds1", DataStoreInfo.class), 3);
+        assertSameTimesN(ds, id -> caching.getStoreByName(ws, "ds1", StoreInfo.class), 3);
+        assertNull(caching.getStoreByName(ws, "ds1", CoverageStoreInfo.class));
+        verify(mock, times(1)).getStoreByName(same(ws), eq("ds1"), eq(DataStoreInfo.class));
+        verifyNoMoreInteractions(mock);
+
+        // queries in any workspace are not cached
+        caching.getStoreByName(ExtendedCatalogFacade.ANY_WORKSPACE, "ds1", DataStoreInfo.class);
+        caching.getStoreByName(ExtendedCatalogFacade.ANY_WORKSPACE, "ds1", DataStoreInfo.class);
+        verify(mock, times(2))
+                .getStoreByName(
+                        same(ExtendedCatalogFacade.ANY_WORKSPACE),
+                        eq("ds1"),
+                        eq(DataStoreInfo.class));
+    }
+
+    public @Test void testUpdateEvictsNameOnRename() {
+        when(style.getName()).thenReturn("style1");
+        when(mock.getStyleByName(same(ExtendedCatalogFacade.NO_WORKSPACE), eq("style1")))
+                .thenReturn(style);
+        final CatalogInfoNameKey key = CatalogInfoNameKey.style(null, "style1");
+
+        assertSame(style, caching.getStyleByName(ExtendedCatalogFacade.NO_WORKSPACE, "style1"));
+        assertNotNull(namesCache.get(key));
+
+        caching.update(style, patch("title"));
+        assertNotNull(namesCache.get(key));
+
+        caching.update(style, patch("name"));
+        assertNull("expected name evicted on rename", namesCache.get(key));
+    }
+
+    public @Test void testGetLayerByNameRequiresCachedResource() {
+        when(layer.getName()).thenReturn("layer1");
+        when(mock.getLayerByName(eq("layer1"))).thenReturn(layer);
+
+        assertSameTimesN(layer, id -> caching.getLayerByName("layer1"), 3);
+        verify(mock, times(1)).getLayerByName(eq("layer1"));
+
+        // the layer name is its resource's, modifying the resource may have renamed it
+        caching.evict(ft, patch("title"));
+        assertSame(layer, caching.getLayerByName("layer1"));
+        verify(mock, times(2)).getLayerByName(eq("layer1"));
+    }
+
+    public @Test void testGetLayerByPrefixedName() {
+        when(ns.getPrefix()).thenReturn("ns1");
+        when(ns2.getPrefix()).thenReturn("ns2");
+        when(mock.getNamespaceByPrefix(eq("ns1"))).thenReturn(ns);
+        when(mock.getNamespaceByPrefix(eq("ns2"))).thenReturn(ns2);
+        when(ft.getName()).thenReturn("layer1");
+        when(ft.getNamespace()).thenReturn(ns);
+        when(layer.getName()).thenReturn("layer1");
+        when(mock.getLayerByName(eq("ns1:layer1"))).thenReturn(layer);
+
+        assertSameTimesN(layer, id -> caching.getLayerByName("ns1:layer1"), 3);
+        verify(mock, times(1)).getLayerByName(eq("ns1:layer1"));
+        assertEquals(layer.getId(), namesCache.get(CatalogInfoNameKey.layer(ns, "layer1")).get());
+
+        // the cached layer is not returned for the same name in another namespace
+        assertNull(caching.getLayerByName("ns2:layer1"));
+        verify(mock, times(1)).getLayerByName(eq("ns2:layer1"));
+
+        // nor for an unknown prefix, which is not cached
+        assertNull(caching.getLayerByName("unknown:layer1"));
+        assertNull(caching.getLayerByName("unknown:layer1"));
+        verify(mock, times(2)).getLayerByName(eq("unknown:layer1"));
+    }
+
+    public @Test void testGetByNameCachesMiss() {
+        final CatalogInfoNameKey key = CatalogInfoNameKey.layerGroup(ws, "lg1");
+        assertNull(caching.getLayerGroupByName(ws, "lg1"));
+        assertNull(caching.getLayerGroupByName(ws, "lg1"));
+        verify(mock, times(1)).getLayerGroupByName(same(ws), eq("lg1"));
+        assertNotNull("expected miss cached", namesCache.get(key));
+
+        // adding a matching object evicts the miss
+        when(lg.getName()).thenReturn("lg1");
+        when(lg.getWorkspace()).thenReturn(ws);
+        when(mock.add(same(lg))).thenReturn(lg);
+        caching.add(lg);
+        assertNull("expected miss evicted", namesCache.get(key));
+
+        when(mock.getLayerGroupByName(same(ws), eq("lg1"))).thenReturn(lg);
+        assertSame(lg, caching.getLayerGroupByName(ws, "lg1"));
+    }
+
+    public @Test void testGetByNameMissNotCachedForConcreteType() {
+        final CatalogInfoNameKey key = CatalogInfoNameKey.store(ws, "cs1");
+        assertNull(caching.getStoreByName(ws, "cs1", DataStoreInfo.class));
+        assertNull("a data store miss doesn't mean there's no store", namesCache.get(key));
+
+        assertNull(caching.getStoreByName(ws, "cs1", StoreInfo.class));
+        assertNotNull("expected miss cached", namesCache.get(key));
+        assertNull(caching.getStoreByName(ws, "cs1", CoverageStoreInfo.class));
+        verify(mock, times(0)).getStoreByName(same(ws), eq("cs1"), eq(CoverageStoreInfo.class));
+    }
+
+    public @Test void testRenameEvictsMiss() {
+        when(style.getName()).thenReturn("style1");
+        final CatalogInfoNameKey key = CatalogInfoNameKey.style(null, "style2");
+        assertNull(caching.getStyleByName(ExtendedCatalogFacade.NO_WORKSPACE, "style2"));
+        assertNotNull("expected miss cached", namesCache.get(key));
+
+        Patch rename = new Patch();
+        rename.add("name", "style2");
+        caching.update(style, rename);
+        assertNull("expected miss evicted on rename", namesCache.get(key));
+    }
+
+    public @Test void testMissExpires() throws InterruptedException {
+        CachingCatalogFacadeImpl impl = (CachingCatalogFacadeImpl) caching;
+        try {
+            impl.setNegativeTtl(Duration.ofMillis(1));
+            assertNull(caching.getWorkspaceByName("ws1"));
+            Thread.sleep(10);
+            assertNull(caching.getWorkspaceByName("ws1"));
+            verify(mock, times(2)).getWorkspaceByName(eq("ws1"));
+
+            impl.setNegativeTtl(Duration.ZERO);
+            assertNull(caching.getWorkspaceByName("ws1"));
+            assertNull(namesCache.get(CatalogInfoNameKey.workspace("ws1")));
+        } finally {
+            impl.setNegativeTtl(CachingCatalogFacadeImpl.DEFAULT_NEGATIVE_TTL);
+        }
+    }
+
+    private Patch patch(String property) {
+        Patch patch = new Patch();
+        patch.add(property, null);
+        return patch;
+    }
+
     private <T extends CatalogInfo> void testEvicts(T info, Consumer<T> op) {
         CatalogInfoKey key = new CatalogInfoKey(info);
         cache.put(key, info);
@@ -4,8 +4,13 @@
  */
 package org.geoserver.cloud.catalog.caching;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.catalog.ResourceInfo;
 import org.geoserver.catalog.plugin.CatalogPlugin;
 import org.geoserver.catalog.plugin.ExtendedCatalogFacade;
 import org.geoserver.config.GeoServerFacade;
@@ -15,6 +20,7 @@ import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
 import org.springframework.boot.context.annotation.UserConfigurations;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cache.CacheManager;
 
 /** */
 public class GeoServerBackendCacheConfigurationTest {
@@ -47,4 +53,65 @@ public class GeoServerBackendCacheConfigurationTest {
                         context.isTypeMatch(
                                 "cachingGeoServerFacade", CachingGeoServerFacade.class));
     }
+
+    public @Test void testCacheRegions() {
+        contextRunner
+                .withPropertyValues(
+                        "geoserver.catalog.caching.defaults.maximum-size=100",
+                        "geoserver.catalog.caching.regions.layer.maximum-size=1000",
+                        "geoserver.catalog.caching.regions.resource.maximum-weight=2000",
+                        "geoserver.catalog.caching.regions.service.expire-after-access=1m")
+                .run(
+                        context -> {
+                            CacheManager cacheManager = context.getBean(CacheManager.class);
+                            assertTrue(cacheManager instanceof BackendCacheManager);
+                            RegionalCache catalogCache =
+                                    (RegionalCache)
+                                            cacheManager.getCache(CachingCatalogFacade.CACHE_NAME);
+                            RegionalCache configCache =
+                                    (RegionalCache)
+                                            cacheManager.getCache(
+                                                    CachingGeoServerFacade.CACHE_NAME);
+
+                            assertEquals(1000L, maximum(catalogCache, CacheRegion.LAYER));
+                            assertEquals(2000L, maximum(catalogCache, CacheRegion.RESOURCE));
+                            assertEquals(100L, maximum(catalogCache, CacheRegion.WORKSPACE));
+                            assertEquals(100L, maximum(configCache, CacheRegion.SERVICE));
+                            assertTrue(
+                                    configCache
+                                            .getNativeCache(CacheRegion.SERVICE)
+                                            .policy()
+                                            .expireAfterAccess()
+                                            .isPresent());
+                        });
+    }
+
+    public @Test void testCacheRegionRouting() {
+        contextRunner.run(
+                context -> {
+                    CacheManager cacheManager = context.getBean(CacheManager.class);
+                    RegionalCache cache =
+                            (RegionalCache) cacheManager.getCache(CachingCatalogFacade.CACHE_NAME);
+
+                    // concrete and base type keys are equal, so they must share the region
+                    cache.put(new CatalogInfoKey("ft1", FeatureTypeInfo.class), "ft1");
+                    assertNotNull(cache.get(new CatalogInfoKey("ft1", ResourceInfo.class)));
+                    cache.put(CachingCatalogFacade.DEFAULT_WORKSPACE_CACHE_KEY, "ws");
+
+                    assertEquals(1, size(cache, CacheRegion.RESOURCE));
+                    assertEquals(1, size(cache, CacheRegion.WORKSPACE));
+                    assertEquals(0, size(cache, CacheRegion.DEFAULT));
+
+                    cache.clear();
+                    assertEquals(0, size(cache, CacheRegion.RESOURCE));
+                });
+    }
+
+    private long maximum(RegionalCache cache, CacheRegion region) {
+        return cache.getNativeCache(region).policy().eviction().orElseThrow().getMaximum();
+    }
+
+    private long size(RegionalCache cache, CacheRegion region) {
+        return cache.getNativeCache(region).estimatedSize();
+    }
 }
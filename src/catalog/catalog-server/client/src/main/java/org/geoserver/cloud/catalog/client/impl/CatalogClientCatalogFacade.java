@@ -5,6 +5,7 @@
 package org.geoserver.cloud.catalog.client.impl;
 
 import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
 
 import org.geoserver.catalog.Catalog;
 import org.geoserver.catalog.CatalogFacade;
@@ -19,16 +20,23 @@ import org.geoserver.catalog.StyleInfo;
 import org.geoserver.catalog.WorkspaceInfo;
 import org.geoserver.catalog.impl.ModificationProxy;
 import org.geoserver.catalog.impl.ResolvingProxy;
+import org.geoserver.catalog.plugin.CatalogSyncMonitor;
+import org.geoserver.catalog.plugin.ExpandedInfo;
 import org.geoserver.catalog.plugin.RepositoryCatalogFacade;
 import org.geoserver.catalog.plugin.forwarding.ResolvingCatalogFacadeDecorator;
 import org.geoserver.catalog.plugin.resolving.CatalogPropertyResolver;
 import org.geoserver.catalog.plugin.resolving.CollectionPropertiesInitializer;
 import org.geoserver.catalog.plugin.resolving.ResolvingProxyResolver;
+import org.geoserver.catalog.plugin.resolving.ResolvingProxyResolver.MemoizingProxyResolver;
 import org.geoserver.cloud.catalog.client.repository.CatalogClientRepository;
 
 import java.lang.reflect.Proxy;
+import java.util.List;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * {@link CatalogFacade} for {@code catalog-service}, being a {@link
@@ -59,9 +67,33 @@ import java.util.function.Supplier;
  *             {@link CollectionPropertiesInitializer})
  *       </ul>
  * </ul>
+ *
+ * <p>Streamed objects are resolved in batches, prefetching the references of each batch at once.
+ * Both for streamed and single objects, all the references of the object graph (e.g. a layer
+ * group's layers, their resources and styles, and so on) are fetched with a single request per
+ * graph level, through {@link CatalogClientRepository#fetchAllById}.
+ * During a {@link #load bulk load}, like {@link #syncTo(CatalogFacade, CatalogSyncMonitor)
+ * syncTo}, the resolved references are reused across all the streams consumed.
  */
+@Slf4j
 public class CatalogClientCatalogFacade extends ResolvingCatalogFacadeDecorator {
 
+    private static final List<Class<? extends CatalogInfo>> CATALOG_TYPES =
+            List.of(
+                    WorkspaceInfo.class,
+                    NamespaceInfo.class,
+                    StoreInfo.class,
+                    ResourceInfo.class,
+                    LayerInfo.class,
+                    LayerGroupInfo.class,
+                    StyleInfo.class,
+                    MapInfo.class);
+
+    /** Memoizing resolver shared by all streams while a {@link #load} is running */
+    private volatile MemoizingProxyResolver<CatalogInfo> loadResolver;
+
+    private ResolvingProxyResolver<CatalogInfo> proxyResolver;
+
     public CatalogClientCatalogFacade(@NonNull RepositoryCatalogFacade rawFacade) {
         super(rawFacade);
     }
@@ -72,23 +104,65 @@ public class CatalogClientCatalogFacade extends ResolvingCatalogFacadeDecorator
 
         final ResolvingProxyResolver<CatalogInfo> proxyResolver =
                 ResolvingProxyResolver.of(catalog, true);
+        this.proxyResolver = proxyResolver;
         final CatalogPropertyResolver<CatalogInfo> catalogPropertyResolver =
                 CatalogPropertyResolver.of(catalog);
         final CollectionPropertiesInitializer<CatalogInfo> collectionInitializer =
                 CollectionPropertiesInitializer.instance();
+        final Function<CatalogInfo, CatalogInfo> postResolver =
+                catalogPropertyResolver.andThen(collectionInitializer);
 
-        // resolver for single-object returning methods
+        // the references of an object graph are fetched with a single request per graph level
+        final CatalogClientRepository<WorkspaceInfo> batchRepository = repo(WorkspaceInfo.class);
+        proxyResolver.setBatchLoader(ids -> batchRepository.fetchAllById(ids).map(postResolver));
+
+        // resolver for single-object returning methods, prefetches the object's references
         Function<CatalogInfo, CatalogInfo> outboundResolver =
-                proxyResolver.andThen(catalogPropertyResolver).andThen(collectionInitializer);
+                info -> {
+                    MemoizingProxyResolver<CatalogInfo> memoizing = memoizing();
+                    memoizing.prefetch(List.of(info));
+                    return memoizing.andThen(postResolver).apply(info);
+                };
 
         // resolver supplier for Stream<> returning methods, uses memoized proxy resolver that
-        // caches resolved references for the lifetime of the stream
-        Supplier<Function<CatalogInfo, CatalogInfo>> streamResolver = //
-                () ->
-                        proxyResolver
-                                .<CatalogInfo>memoizing() //
-                                .andThen(catalogPropertyResolver) //
-                                .andThen(collectionInitializer);
+        // caches resolved references for the lifetime of the stream, or of the current load
+        Supplier<UnaryOperator<List<CatalogInfo>>> streamResolver =
+                () -> {
+                    MemoizingProxyResolver<CatalogInfo> memoizing = memoizing();
+                    return batch -> {
+                        memoizing.prefetch(batch);
+                        return batch.stream()
+                                .map(memoizing.andThen(postResolver))
+                                .collect(Collectors.toList());
+                    };
+                };
+
+        // resolver supplier for responses embedding the referenced objects, memoizes them for the
+        // lifetime of the response, since each one is embedded only the first time it's needed
+        Supplier<Function<List<ExpandedInfo>, List<CatalogInfo>>> expandedResolver =
+                () -> {
+                    MemoizingProxyResolver<CatalogInfo> memoizing = memoizing();
+                    return batch -> {
+                        List<CatalogInfo> infos =
+                                batch.stream()
+                                        .map(ExpandedInfo::getInfo)
+                                        .collect(Collectors.toList());
+                        // the objects may refer to previous ones in the batch, memoize all
+                        memoizing.memoize(
+                                batch.stream()
+                                        .flatMap(
+                                                e ->
+                                                        Stream.concat(
+                                                                e.getReferences().stream(),
+                                                                Stream.of(e.getInfo())))
+                                        .map(postResolver)
+                                        .collect(Collectors.toList()));
+                        memoizing.prefetch(infos);
+                        return infos.stream()
+                                .map(memoizing.andThen(postResolver))
+                                .collect(Collectors.toList());
+                    };
+                };
 
         setInboundResolver(
                 o -> {
@@ -100,14 +174,50 @@ public class CatalogClientCatalogFacade extends ResolvingCatalogFacadeDecorator
                     return o;
                 });
 
-        setInnerResolver(repo(WorkspaceInfo.class), cast(outboundResolver), streamResolver);
-        setInnerResolver(repo(NamespaceInfo.class), cast(outboundResolver), streamResolver);
-        setInnerResolver(repo(StoreInfo.class), cast(outboundResolver), streamResolver);
-        setInnerResolver(repo(ResourceInfo.class), cast(outboundResolver), streamResolver);
-        setInnerResolver(repo(LayerInfo.class), cast(outboundResolver), streamResolver);
-        setInnerResolver(repo(LayerGroupInfo.class), cast(outboundResolver), streamResolver);
-        setInnerResolver(repo(StyleInfo.class), cast(outboundResolver), streamResolver);
-        setInnerResolver(repo(MapInfo.class), cast(outboundResolver), streamResolver);
+        for (Class<? extends CatalogInfo> type : CATALOG_TYPES) {
+            setInnerResolver(type, outboundResolver, streamResolver, expandedResolver);
+        }
+    }
+
+    public @Override void syncTo(CatalogFacade to) {
+        load(() -> super.syncTo(to));
+    }
+
+    public @Override void syncTo(CatalogFacade to, CatalogSyncMonitor monitor) {
+        load(() -> super.syncTo(to, monitor));
+    }
+
+    /**
+     * Runs {@code loader} sharing a single {@link MemoizingProxyResolver} among all the streams
+     * consumed until it returns, so each distinct object reference is requested to the
+     * catalog-service only once during the load. Nested calls reuse the outer load's resolver.
+     *
+     * @return the memoizing resolver used, to inspect its counters
+     */
+    public MemoizingProxyResolver<CatalogInfo> load(@NonNull Runnable loader) {
+        final MemoizingProxyResolver<CatalogInfo> current = this.loadResolver;
+        if (current != null) {
+            loader.run();
+            return current;
+        }
+        final MemoizingProxyResolver<CatalogInfo> resolver = proxyResolver.memoizing();
+        this.loadResolver = resolver;
+        try {
+            loader.run();
+        } finally {
+            this.loadResolver = null;
+        }
+        log.info(
+                "Load resolved {} distinct references, reused memoized ones {} times",
+                resolver.getResolutions(),
+                resolver.getHits());
+        return resolver;
+    }
+
+    /** @return the resolver shared by the current {@link #load}, or a new one */
+    private MemoizingProxyResolver<CatalogInfo> memoizing() {
+        MemoizingProxyResolver<CatalogInfo> shared = this.loadResolver;
+        return shared == null ? proxyResolver.memoizing() : shared;
     }
 
     @SuppressWarnings("unchecked")
@@ -120,12 +230,26 @@ public class CatalogClientCatalogFacade extends ResolvingCatalogFacadeDecorator
     }
 
     private <T extends CatalogInfo> void setInnerResolver( //
-            CatalogClientRepository<T> catalogClientRepository, //
-            Function<T, T> objectResolver, //
-            Supplier<Function<CatalogInfo, CatalogInfo>> memoizingResolver) {
+            Class<T> type, //
+            Function<CatalogInfo, CatalogInfo> objectResolver, //
+            Supplier<UnaryOperator<List<CatalogInfo>>> memoizingResolver, //
+            Supplier<Function<List<ExpandedInfo>, List<CatalogInfo>>> expandedResolver) {
 
-        catalogClientRepository.setObjectResolver(objectResolver);
+        CatalogClientRepository<T> catalogClientRepository = repo(type);
+        catalogClientRepository.setObjectResolver(cast(objectResolver));
         catalogClientRepository.setStreamResolver(memoizingResolver);
+        catalogClientRepository.setExpandedResolver(expandedResolver);
+    }
+
+    /**
+     * Whether to have the catalog-service embed the referenced objects in its responses, so the
+     * whole object graph comes with the request that fetched it, see {@link ExpandedInfo}.
+     * Requires a catalog-service supporting the {@code expand=true} read endpoints.
+     */
+    public void setExpandReferences(boolean expand) {
+        CATALOG_TYPES.stream()
+                .map(this::repo)
+                .forEach(repo -> repo.setExpandReferences(expand));
     }
 
     protected @Override RepositoryCatalogFacade facade() {
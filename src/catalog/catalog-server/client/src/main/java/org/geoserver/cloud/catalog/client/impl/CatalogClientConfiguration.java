@@ -9,6 +9,7 @@ import org.geoserver.catalog.plugin.RepositoryCatalogFacadeImpl;
 import org.geoserver.cloud.catalog.client.reactivefeign.BlockingResourceStoreClient;
 import org.geoserver.cloud.catalog.client.reactivefeign.ReactiveConfigClient;
 import org.geoserver.cloud.catalog.client.reactivefeign.ReactiveResourceStoreClient;
+import org.geoserver.cloud.catalog.client.repository.CatalogClientCallAdapter;
 import org.geoserver.cloud.catalog.client.repository.CatalogClientConfigRepository;
 import org.geoserver.cloud.catalog.client.repository.CatalogClientLayerGroupRepository;
 import org.geoserver.cloud.catalog.client.repository.CatalogClientLayerRepository;
@@ -37,6 +38,8 @@ public class CatalogClientConfiguration {
     private @Autowired CatalogClientStyleRepository cloudStyleRepository;
     private @Autowired CatalogClientMapRepository cloudMapRepository;
 
+    private @Autowired CatalogClientCallAdapter callAdapter;
+
     private @Autowired ReactiveConfigClient configClient;
     private @Autowired ReactiveResourceStoreClient resourceStoreClient;
 
@@ -56,7 +59,7 @@ public class CatalogClientConfiguration {
     }
 
     public @Bean CatalogClientConfigRepository catalogServiceConfigRepository() {
-        return new CatalogClientConfigRepository(configClient);
+        return new CatalogClientConfigRepository(configClient, callAdapter);
     }
 
     public @Bean CatalogClientGeoServerFacade catalogServiceGeoServerFacade() {
@@ -0,0 +1,836 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.client.impl;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.CatalogFacade;
+import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.DataStoreInfo;
+import org.geoserver.catalog.LayerGroupInfo;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.MapInfo;
+import org.geoserver.catalog.NamespaceInfo;
+import org.geoserver.catalog.PublishedInfo;
+import org.geoserver.catalog.ResourceInfo;
+import org.geoserver.catalog.StoreInfo;
+import org.geoserver.catalog.StyleInfo;
+import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.catalog.plugin.DefaultMemoryCatalogFacade;
+import org.geoserver.catalog.plugin.ExtendedCatalogFacade;
+import org.geoserver.catalog.plugin.Patch;
+import org.geoserver.catalog.plugin.Query;
+import org.geoserver.catalog.plugin.forwarding.ForwardingExtendedCatalogFacade;
+import org.geoserver.catalog.plugin.resolving.CatalogPropertyResolver;
+import org.geoserver.catalog.plugin.resolving.CollectionPropertiesInitializer;
+import org.geoserver.catalog.util.CloseableIterator;
+import org.opengis.filter.Filter;
+import org.opengis.filter.sort.SortBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.Nullable;
+
+/**
+ * Near cache for the {@code catalog-service} client, keeps a full in-memory replica of the remote
+ * catalog (a {@link DefaultMemoryCatalogFacade}, hence the same {@code CatalogInfoLookup}s used by
+ * the data directory backend) and serves all reads from it, instead of making a blocking HTTP call
+ * for each one.
+ *
+ * <p>The replica is {@link #warm() warmed up} with a bulk {@link
+ * CatalogClientCatalogFacade#syncTo(CatalogFacade) sync} at startup, and kept current by applying
+ * the changes made through this facade, and the remote events for the changes made by other
+ * instances (see the {@code apply*()} methods). Writes always go to the {@code catalog-service}
+ * first.
+ *
+ * <p>Consistency is checked against the config's {@link
+ * org.geoserver.config.GeoServerInfo#getUpdateSequence() update sequence}, incremented once per
+ * catalog or config change. The change events don't carry the sequence they produced, so each
+ * sequence received through {@link #onUpdateSequence update sequence events} only counts as
+ * {@link #getAppliedSequence() applied} once matched by a change applied to the replica, or by a
+ * {@link #onConfigChange() config change}. That is, a lost change event leaves the replica lagging
+ * behind even if its update sequence event arrives. The applied sequence is compared, every {@link
+ * #setConsistencyCheckInterval consistency check interval}, to the {@code catalog-service} one. If
+ * the replica is found lagging behind in two consecutive checks, meaning the events for the
+ * missing changes should have arrived and did not (e.g. the event bus was disconnected), reads fall
+ * back to the {@code catalog-service} until the replica is warmed up again. A gap in the received
+ * update sequences triggers a check right away. Reads also go to the {@code catalog-service} while
+ * the replica is warming up.
+ */
+@Slf4j(topic = "org.geoserver.cloud.catalog.client.nearcache")
+public class CatalogClientNearCacheFacade extends ForwardingExtendedCatalogFacade {
+
+    private final CatalogClientCatalogFacade remote;
+
+    /** Supplies the {@code catalog-service} update sequence */
+    private final LongSupplier remoteUpdateSequence;
+
+    /** Guards the changes to the replica, {@link #pending}, and the update sequence counters */
+    private final Object lock = new Object();
+
+    private volatile DefaultMemoryCatalogFacade replica;
+
+    /** Whether reads are served by the replica, i.e. it's warm and not lagging */
+    private volatile boolean serving;
+
+    /** Changes to replay once the replica being warmed up is loaded, {@code null} if not warming */
+    private List<Consumer<DefaultMemoryCatalogFacade>> pending;
+
+    /** Highest update sequence the replica is known to be current with */
+    private volatile long appliedSequence = -1;
+
+    /** Highest update sequence received from the event bus */
+    private long receivedSequence = -1;
+
+    /** Changes applied since {@link #appliedSequence}, not matched by a received sequence yet */
+    private long unmatchedChanges;
+
+    /** Remote update sequence the previous consistency check found the replica lagging behind */
+    private volatile long suspectSequence = -1;
+
+    private Function<CatalogInfo, CatalogInfo> outboundResolver = Function.identity();
+
+    private volatile ScheduledExecutorService executor;
+
+    public CatalogClientNearCacheFacade(
+            @NonNull CatalogClientCatalogFacade remote,
+            @NonNull LongSupplier remoteUpdateSequence) {
+        super(remote);
+        this.remote = remote;
+        this.remoteUpdateSequence = remoteUpdateSequence;
+    }
+
+    public @Override void setCatalog(Catalog catalog) {
+        super.setCatalog(catalog);
+        this.outboundResolver =
+                CatalogPropertyResolver.<CatalogInfo>of(catalog)
+                        .andThen(CollectionPropertiesInitializer.instance());
+        DefaultMemoryCatalogFacade current = replica;
+        if (current != null) current.setCatalog(catalog);
+    }
+
+    /** @return whether reads are being served from the local replica */
+    public boolean isServing() {
+        return serving;
+    }
+
+    /** @return the highest update sequence the replica is known to be current with */
+    public long getAppliedSequence() {
+        return appliedSequence;
+    }
+
+    /**
+     * Schedules the periodic consistency check against the {@code catalog-service} update
+     * sequence, which also retries warming up the replica if it failed. A {@code null} or
+     * non-positive interval disables it.
+     */
+    public synchronized void setConsistencyCheckInterval(@Nullable Duration interval) {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+        if (interval == null || interval.isZero() || interval.isNegative()) {
+            return;
+        }
+        executor =
+                Executors.newSingleThreadScheduledExecutor(
+                        new ThreadFactoryBuilder()
+                                .setNameFormat("catalog-near-cache-%d")
+                                .setDaemon(true)
+                                .build());
+        long millis = interval.toMillis();
+        executor.scheduleWithFixedDelay(
+                this::checkConsistency, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    public @Override void dispose() {
+        setConsistencyCheckInterval(null);
+        DefaultMemoryCatalogFacade current = replica;
+        if (current != null) current.dispose();
+        super.dispose();
+    }
+
+    /**
+     * Loads a new replica from the {@code catalog-service} and starts serving reads from it. Reads
+     * go to the {@code catalog-service} while loading. Changes applied during the load are replayed
+     * afterwards by fetching the affected objects again, since the load may or may not have seen
+     * them. The fetches happen outside the lock the changes are applied with, so the event
+     * listeners are not blocked by the {@code catalog-service} calls.
+     *
+     * @return whether the replica was loaded, otherwise reads keep going to the {@code
+     *     catalog-service} until the next successful attempt
+     */
+    public synchronized boolean warm() {
+        serving = false;
+        final long start = System.currentTimeMillis();
+        final DefaultMemoryCatalogFacade loading = new DefaultMemoryCatalogFacade();
+        loading.setCatalog(getCatalog());
+        synchronized (lock) {
+            pending = new ArrayList<>();
+            unmatchedChanges = 0;
+        }
+        try {
+            final long sequence = remoteUpdateSequence.getAsLong();
+            remote.syncTo(loading);
+            link(loading);
+            List<Consumer<DefaultMemoryCatalogFacade>> replay;
+            while (null != (replay = takePending(loading, sequence))) {
+                log.debug("Replaying {} changes received while warming up", replay.size());
+                replay.forEach(refresh -> refresh.accept(loading));
+                link(loading);
+            }
+            log.info(
+                    "Catalog near cache warmed up in {}ms at update sequence {}",
+                    System.currentTimeMillis() - start,
+                    appliedSequence);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Error warming up the catalog near cache, reads go to catalog-service", e);
+            return false;
+        } finally {
+            synchronized (lock) {
+                pending = null;
+            }
+        }
+    }
+
+    /**
+     * @return the changes received while warming up, to be replayed on {@code loading}, or {@code
+     *     null} if there are none, in which case {@code loading} becomes the replica, current with
+     *     the update sequence it was loaded at
+     */
+    private List<Consumer<DefaultMemoryCatalogFacade>> takePending(
+            DefaultMemoryCatalogFacade loading, long sequence) {
+        synchronized (lock) {
+            if (!pending.isEmpty()) {
+                List<Consumer<DefaultMemoryCatalogFacade>> replay = pending;
+                pending = new ArrayList<>();
+                return replay;
+            }
+            pending = null;
+            replica = loading;
+            appliedSequence = Math.max(appliedSequence, sequence);
+            receivedSequence = Math.max(receivedSequence, sequence);
+            matchUpdateSequences();
+            suspectSequence = -1;
+            serving = true;
+            return null;
+        }
+    }
+
+    /**
+     * Compares the update sequence the replica is current with to the {@code catalog-service} one,
+     * and warms up the replica again if it's been lagging behind since the previous check, or if
+     * it's not serving reads
+     */
+    public void checkConsistency() {
+        try {
+            if (!serving) {
+                warm();
+                return;
+            }
+            final long remoteSequence = remoteUpdateSequence.getAsLong();
+            final long applied = appliedSequence;
+            if (remoteSequence <= applied) {
+                suspectSequence = -1;
+                discardUnmatchedChanges();
+            } else if (suspectSequence != -1 && applied < suspectSequence) {
+                log.warn(
+                        "Catalog near cache lagging at update sequence {}, expected {}. Reloading",
+                        applied,
+                        suspectSequence);
+                warm();
+            } else {
+                suspectSequence = remoteSequence;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Error checking the catalog near cache consistency", e);
+        }
+    }
+
+    /**
+     * Records an update sequence received from the event bus, local or remote. It's counted as
+     * applied once there's a change applied to the replica to match it.
+     */
+    public void onUpdateSequence(long updateSequence) {
+        final long previous;
+        synchronized (lock) {
+            previous = receivedSequence;
+            receivedSequence = Math.max(previous, updateSequence);
+            matchUpdateSequences();
+        }
+        if (serving && previous != -1 && updateSequence > previous + 1) {
+            log.debug("Update sequence gap {} -> {}, checking", previous, updateSequence);
+            scheduleCheck();
+        }
+    }
+
+    /**
+     * Records a config change, local or remote, which increments the update sequence without
+     * changing the catalog, hence matches an update sequence the same way an applied catalog
+     * change does
+     */
+    public void onConfigChange() {
+        synchronized (lock) {
+            unmatchedChanges++;
+            matchUpdateSequences();
+        }
+    }
+
+    /**
+     * Counts as applied as many of the received update sequences as there are unmatched changes.
+     * The order changes and update sequences arrive in doesn't matter, a sequence received before
+     * its change is matched once the change is applied. Nothing is matched while warming up, until
+     * the sequence the new replica is current with is known.
+     */
+    private void matchUpdateSequences() {
+        if (pending != null) {
+            return;
+        }
+        final long matched = Math.min(receivedSequence - appliedSequence, unmatchedChanges);
+        if (matched > 0) {
+            appliedSequence += matched;
+            unmatchedChanges -= matched;
+        }
+    }
+
+    /**
+     * Discards the unmatched changes once the replica is found current with the {@code
+     * catalog-service}, since they're for sequences already counted (e.g. changes the warm up load
+     * had already seen), and would otherwise match the sequence of a later lost change
+     */
+    private void discardUnmatchedChanges() {
+        synchronized (lock) {
+            if (receivedSequence <= appliedSequence) {
+                unmatchedChanges = 0;
+            }
+        }
+    }
+
+    private void scheduleCheck() {
+        ScheduledExecutorService checker = this.executor;
+        try {
+            if (checker != null) checker.execute(this::checkConsistency);
+        } catch (RejectedExecutionException shutDown) {
+            log.trace("Consistency checker shut down");
+        }
+    }
+
+    /** Applies the addition of {@code info} to the replica */
+    public void applyAdd(@NonNull CatalogInfo info) {
+        final String id = info.getId();
+        apply(
+                target -> {
+                    if (null == find(target, id, info.getClass())) {
+                        target.addAll(Stream.of(link(target, outboundResolver.apply(info))));
+                    }
+                },
+                target -> refresh(target, id, info.getClass()));
+    }
+
+    /** Applies the removal of the object with the given id and type to the replica */
+    public void applyRemove(@NonNull String id, @NonNull Class<? extends CatalogInfo> type) {
+        apply(
+                target -> {
+                    CatalogInfo local = find(target, id, type);
+                    if (local != null) target.removeAll(Stream.of(local));
+                },
+                target -> refresh(target, id, type));
+    }
+
+    /** Applies the changes in {@code patch} to the replica's object with the given id and type */
+    public void applyUpdate(
+            @NonNull String id, @NonNull Class<? extends CatalogInfo> type, @NonNull Patch patch) {
+        apply(
+                target -> {
+                    CatalogInfo local = find(target, id, type);
+                    if (local == null) {
+                        refresh(target, id, type);
+                    } else {
+                        link(target, target.update(local, patch));
+                    }
+                },
+                target -> refresh(target, id, type));
+    }
+
+    public void applyDefaultWorkspace(@Nullable String workspaceId) {
+        apply(
+                target ->
+                        target.setDefaultWorkspace(
+                                workspaceId == null ? null : target.getWorkspace(workspaceId)),
+                this::refreshDefaults);
+    }
+
+    public void applyDefaultNamespace(@Nullable String namespaceId) {
+        apply(
+                target ->
+                        target.setDefaultNamespace(
+                                namespaceId == null ? null : target.getNamespace(namespaceId)),
+                this::refreshDefaults);
+    }
+
+    public void applyDefaultDataStore(@NonNull String workspaceId, @Nullable String storeId) {
+        apply(
+                target -> {
+                    WorkspaceInfo workspace = target.getWorkspace(workspaceId);
+                    if (workspace != null) {
+                        DataStoreInfo store =
+                                storeId == null
+                                        ? null
+                                        : target.getStore(storeId, DataStoreInfo.class);
+                        target.setDefaultDataStore(workspace, store);
+                    }
+                },
+                target -> refreshDefaultDataStore(target, workspaceId));
+    }
+
+    /**
+     * Applies a change to the replica if it's serving reads, or queues {@code refresh} to be run on
+     * the replica being loaded if it's warming up. Changes received while lagging are dropped, the
+     * replica will be loaded again anyway.
+     */
+    private void apply(
+            Consumer<DefaultMemoryCatalogFacade> change,
+            Consumer<DefaultMemoryCatalogFacade> refresh) {
+        synchronized (lock) {
+            if (pending != null) {
+                pending.add(refresh);
+            } else if (!serving) {
+                return;
+            } else {
+                try {
+                    change.accept(replica);
+                } catch (RuntimeException e) {
+                    log.warn("Error applying change to the catalog near cache, reloading", e);
+                    serving = false;
+                    scheduleCheck();
+                    return;
+                }
+            }
+            unmatchedChanges++;
+            matchUpdateSequences();
+        }
+    }
+
+    /** Replaces the target's object with the given id by the {@code catalog-service} one */
+    private void refresh(
+            DefaultMemoryCatalogFacade target, String id, Class<? extends CatalogInfo> type) {
+        CatalogInfo current = find(remote, id, type);
+        CatalogInfo local = find(target, id, type);
+        if (local != null) target.removeAll(Stream.of(local));
+        if (current != null) target.addAll(Stream.of(link(target, current)));
+    }
+
+    private void refreshDefaults(DefaultMemoryCatalogFacade target) {
+        target.setDefaultWorkspace(local(target, remote.getDefaultWorkspace()));
+        target.setDefaultNamespace(local(target, remote.getDefaultNamespace()));
+    }
+
+    private void refreshDefaultDataStore(DefaultMemoryCatalogFacade target, String workspaceId) {
+        WorkspaceInfo workspace = target.getWorkspace(workspaceId);
+        if (workspace != null) {
+            DataStoreInfo store = remote.getDefaultDataStore(workspace);
+            target.setDefaultDataStore(workspace, local(target, store));
+        }
+    }
+
+    /**
+     * Makes the references held by the replica's objects point to the replica's own instances, so
+     * that a change applied to an object is seen through all the objects referring to it
+     */
+    private void link(DefaultMemoryCatalogFacade target) {
+        target.getStores(StoreInfo.class).forEach(store -> link(target, store));
+        target.getStyles().forEach(style -> link(target, style));
+        target.getResources(ResourceInfo.class).forEach(resource -> link(target, resource));
+        target.getLayers().forEach(layer -> link(target, layer));
+        target.getLayerGroups().forEach(group -> link(target, group));
+        target.setDefaultWorkspace(local(target, target.getDefaultWorkspace()));
+        target.setDefaultNamespace(local(target, target.getDefaultNamespace()));
+        for (WorkspaceInfo workspace : target.getWorkspaces()) {
+            DataStoreInfo store = target.getDefaultDataStore(workspace);
+            if (store != null) target.setDefaultDataStore(workspace, local(target, store));
+        }
+    }
+
+    private CatalogInfo link(DefaultMemoryCatalogFacade target, CatalogInfo info) {
+        if (info instanceof StoreInfo) {
+            StoreInfo store = (StoreInfo) info;
+            store.setWorkspace(local(target, store.getWorkspace()));
+        } else if (info instanceof ResourceInfo) {
+            ResourceInfo resource = (ResourceInfo) info;
+            resource.setNamespace(local(target, resource.getNamespace()));
+            resource.setStore(local(target, resource.getStore()));
+        } else if (info instanceof LayerInfo) {
+            LayerInfo layer = (LayerInfo) info;
+            layer.setResource(local(target, layer.getResource()));
+            layer.setDefaultStyle(local(target, layer.getDefaultStyle()));
+            link(target, layer.getStyles());
+        } else if (info instanceof LayerGroupInfo) {
+            LayerGroupInfo group = (LayerGroupInfo) info;
+            group.setWorkspace(local(target, group.getWorkspace()));
+            group.setRootLayer(local(target, group.getRootLayer()));
+            group.setRootLayerStyle(local(target, group.getRootLayerStyle()));
+            link(target, group.getLayers());
+            link(target, group.getStyles());
+        } else if (info instanceof StyleInfo) {
+            StyleInfo style = (StyleInfo) info;
+            style.setWorkspace(local(target, style.getWorkspace()));
+        }
+        return info;
+    }
+
+    private <T extends CatalogInfo> void link(
+            DefaultMemoryCatalogFacade target, @Nullable Collection<T> references) {
+        if (references == null || references.isEmpty()) return;
+        List<T> linked =
+                references.stream().map(ref -> local(target, ref)).collect(Collectors.toList());
+        references.clear();
+        references.addAll(linked);
+    }
+
+    /** @return the replica's instance of {@code reference}, or {@code reference} if not found */
+    @SuppressWarnings("unchecked")
+    private <T extends CatalogInfo> T local(DefaultMemoryCatalogFacade target, T reference) {
+        if (reference == null || reference.getId() == null) return reference;
+        CatalogInfo local = find(target, reference.getId(), reference.getClass());
+        return local == null || local == reference ? reference : (T) local;
+    }
+
+    /**
+     * @param type the object type, or the class of an object or proxy, matched against the
+     *     catalog interfaces in dependency order
+     */
+    private static CatalogInfo find(CatalogFacade facade, String id, Class<?> type) {
+        if (WorkspaceInfo.class.isAssignableFrom(type)) return facade.getWorkspace(id);
+        if (NamespaceInfo.class.isAssignableFrom(type)) return facade.getNamespace(id);
+        if (StoreInfo.class.isAssignableFrom(type)) return facade.getStore(id, StoreInfo.class);
+        if (ResourceInfo.class.isAssignableFrom(type)) {
+            return facade.getResource(id, ResourceInfo.class);
+        }
+        if (LayerInfo.class.isAssignableFrom(type)) return facade.getLayer(id);
+        if (LayerGroupInfo.class.isAssignableFrom(type)) return facade.getLayerGroup(id);
+        if (PublishedInfo.class.isAssignableFrom(type)) {
+            LayerInfo layer = facade.getLayer(id);
+            return layer == null ? facade.getLayerGroup(id) : layer;
+        }
+        if (StyleInfo.class.isAssignableFrom(type)) return facade.getStyle(id);
+        if (MapInfo.class.isAssignableFrom(type)) return facade.getMap(id);
+        return null;
+    }
+
+    /** @return the replica if it's serving reads, the {@code catalog-service} client otherwise */
+    private ExtendedCatalogFacade reads() {
+        return serving ? replica : remote;
+    }
+
+    //
+    // Writes, to the catalog-service first
+    //
+
+    public @Override StoreInfo add(StoreInfo store) {
+        return added(super.add(store));
+    }
+
+    public @Override ResourceInfo add(ResourceInfo resource) {
+        return added(super.add(resource));
+    }
+
+    public @Override LayerInfo add(LayerInfo layer) {
+        return added(super.add(layer));
+    }
+
+    public @Override MapInfo add(MapInfo map) {
+        return added(super.add(map));
+    }
+
+    public @Override LayerGroupInfo add(LayerGroupInfo layerGroup) {
+        return added(super.add(layerGroup));
+    }
+
+    public @Override NamespaceInfo add(NamespaceInfo namespace) {
+        return added(super.add(namespace));
+    }
+
+    public @Override WorkspaceInfo add(WorkspaceInfo workspace) {
+        return added(super.add(workspace));
+    }
+
+    public @Override StyleInfo add(StyleInfo style) {
+        return added(super.add(style));
+    }
+
+    private <T extends CatalogInfo> T added(T info) {
+        if (info != null) applyAdd(info);
+        return info;
+    }
+
+    public @Override void remove(StoreInfo store) {
+        super.remove(store);
+        applyRemove(store.getId(), StoreInfo.class);
+    }
+
+    public @Override void remove(ResourceInfo resource) {
+        super.remove(resource);
+        applyRemove(resource.getId(), ResourceInfo.class);
+    }
+
+    public @Override void remove(LayerInfo layer) {
+        super.remove(layer);
+        applyRemove(layer.getId(), LayerInfo.class);
+    }
+
+    public @Override void remove(MapInfo map) {
+        super.remove(map);
+        applyRemove(map.getId(), MapInfo.class);
+    }
+
+    public @Override void remove(LayerGroupInfo layerGroup) {
+        super.remove(layerGroup);
+        applyRemove(layerGroup.getId(), LayerGroupInfo.class);
+    }
+
+    public @Override void remove(NamespaceInfo namespace) {
+        super.remove(namespace);
+        applyRemove(namespace.getId(), NamespaceInfo.class);
+    }
+
+    public @Override void remove(WorkspaceInfo workspace) {
+        super.remove(workspace);
+        applyRemove(workspace.getId(), WorkspaceInfo.class);
+    }
+
+    public @Override void remove(StyleInfo style) {
+        super.remove(style);
+        applyRemove(style.getId(), StyleInfo.class);
+    }
+
+    public @Override <I extends CatalogInfo> I update(final I info, final Patch patch) {
+        I updated = super.update(info, patch);
+        applyUpdate(info.getId(), info.getClass(), patch);
+        return updated;
+    }
+
+    public @Override void setDefaultDataStore(WorkspaceInfo workspace, DataStoreInfo store) {
+        super.setDefaultDataStore(workspace, store);
+        applyDefaultDataStore(workspace.getId(), store == null ? null : store.getId());
+    }
+
+    public @Override void setDefaultNamespace(NamespaceInfo defaultNamespace) {
+        super.setDefaultNamespace(defaultNamespace);
+        applyDefaultNamespace(defaultNamespace == null ? null : defaultNamespace.getId());
+    }
+
+    public @Override void setDefaultWorkspace(WorkspaceInfo workspace) {
+        super.setDefaultWorkspace(workspace);
+        applyDefaultWorkspace(workspace == null ? null : workspace.getId());
+    }
+
+    //
+    // Reads, from the replica while serving
+    //
+
+    public @Override <T extends StoreInfo> T getStore(String id, Class<T> clazz) {
+        return reads().getStore(id, clazz);
+    }
+
+    public @Override <T extends StoreInfo> T getStoreByName(
+            WorkspaceInfo workspace, String name, Class<T> clazz) {
+        return reads().getStoreByName(workspace, name, clazz);
+    }
+
+    public @Override <T extends StoreInfo> List<T> getStoresByWorkspace(
+            WorkspaceInfo workspace, Class<T> clazz) {
+        return reads().getStoresByWorkspace(workspace, clazz);
+    }
+
+    public @Override <T extends StoreInfo> List<T> getStores(Class<T> clazz) {
+        return reads().getStores(clazz);
+    }
+
+    public @Override DataStoreInfo getDefaultDataStore(WorkspaceInfo workspace) {
+        return reads().getDefaultDataStore(workspace);
+    }
+
+    public @Override <T extends ResourceInfo> T getResource(String id, Class<T> clazz) {
+        return reads().getResource(id, clazz);
+    }
+
+    public @Override <T extends ResourceInfo> T getResourceByName(
+            NamespaceInfo namespace, String name, Class<T> clazz) {
+        return reads().getResourceByName(namespace, name, clazz);
+    }
+
+    public @Override <T extends ResourceInfo> List<T> getResources(Class<T> clazz) {
+        return reads().getResources(clazz);
+    }
+
+    public @Override <T extends ResourceInfo> List<T> getResourcesByNamespace(
+            NamespaceInfo namespace, Class<T> clazz) {
+        return reads().getResourcesByNamespace(namespace, clazz);
+    }
+
+    public @Override <T extends ResourceInfo> T getResourceByStore(
+            StoreInfo store, String name, Class<T> clazz) {
+        return reads().getResourceByStore(store, name, clazz);
+    }
+
+    public @Override <T extends ResourceInfo> List<T> getResourcesByStore(
+            StoreInfo store, Class<T> clazz) {
+        return reads().getResourcesByStore(store, clazz);
+    }
+
+    public @Override LayerInfo getLayer(String id) {
+        return reads().getLayer(id);
+    }
+
+    public @Override LayerInfo getLayerByName(String name) {
+        return reads().getLayerByName(name);
+    }
+
+    public @Override List<LayerInfo> getLayers(ResourceInfo resource) {
+        return reads().getLayers(resource);
+    }
+
+    public @Override List<LayerInfo> getLayers(StyleInfo style) {
+        return reads().getLayers(style);
+    }
+
+    public @Override List<LayerInfo> getLayers() {
+        return reads().getLayers();
+    }
+
+    public @Override MapInfo getMap(String id) {
+        return reads().getMap(id);
+    }
+
+    public @Override MapInfo getMapByName(String name) {
+        return reads().getMapByName(name);
+    }
+
+    public @Override List<MapInfo> getMaps() {
+        return reads().getMaps();
+    }
+
+    public @Override LayerGroupInfo getLayerGroup(String id) {
+        return reads().getLayerGroup(id);
+    }
+
+    public @Override LayerGroupInfo getLayerGroupByName(String name) {
+        return reads().getLayerGroupByName(name);
+    }
+
+    public @Override LayerGroupInfo getLayerGroupByName(WorkspaceInfo workspace, String name) {
+        return reads().getLayerGroupByName(workspace, name);
+    }
+
+    public @Override List<LayerGroupInfo> getLayerGroups() {
+        return reads().getLayerGroups();
+    }
+
+    public @Override List<LayerGroupInfo> getLayerGroupsByWorkspace(WorkspaceInfo workspace) {
+        return reads().getLayerGroupsByWorkspace(workspace);
+    }
+
+    public @Override List<LayerGroupInfo> getLayerGroupsByMember(CatalogInfo member) {
+        return reads().getLayerGroupsByMember(member);
+    }
+
+    public @Override List<LayerGroupInfo> getLayerGroupsContaining(CatalogInfo member) {
+        return reads().getLayerGroupsContaining(member);
+    }
+
+    public @Override NamespaceInfo getDefaultNamespace() {
+        return reads().getDefaultNamespace();
+    }
+
+    public @Override NamespaceInfo getNamespace(String id) {
+        return reads().getNamespace(id);
+    }
+
+    public @Override NamespaceInfo getNamespaceByPrefix(String prefix) {
+        return reads().getNamespaceByPrefix(prefix);
+    }
+
+    public @Override NamespaceInfo getNamespaceByURI(String uri) {
+        return reads().getNamespaceByURI(uri);
+    }
+
+    public @Override List<NamespaceInfo> getNamespacesByURI(String uri) {
+        return reads().getNamespacesByURI(uri);
+    }
+
+    public @Override List<NamespaceInfo> getNamespaces() {
+        return reads().getNamespaces();
+    }
+
+    public @Override WorkspaceInfo getDefaultWorkspace() {
+        return reads().getDefaultWorkspace();
+    }
+
+    public @Override WorkspaceInfo getWorkspace(String id) {
+        return reads().getWorkspace(id);
+    }
+
+    public @Override WorkspaceInfo getWorkspaceByName(String name) {
+        return reads().getWorkspaceByName(name);
+    }
+
+    public @Override List<WorkspaceInfo> getWorkspaces() {
+        return reads().getWorkspaces();
+    }
+
+    public @Override StyleInfo getStyle(String id) {
+        return reads().getStyle(id);
+    }
+
+    public @Override StyleInfo getStyleByName(String name) {
+        return reads().getStyleByName(name);
+    }
+
+    public @Override StyleInfo getStyleByName(WorkspaceInfo workspace, String name) {
+        return reads().getStyleByName(workspace, name);
+    }
+
+    public @Override List<StyleInfo> getStyles() {
+        return reads().getStyles();
+    }
+
+    public @Override List<StyleInfo> getStylesByWorkspace(WorkspaceInfo workspace) {
+        return reads().getStylesByWorkspace(workspace);
+    }
+
+    public @Override <T extends CatalogInfo> int count(Class<T> of, Filter filter) {
+        return reads().count(of, filter);
+    }
+
+    public @Override <T extends CatalogInfo> Stream<T> query(Query<T> query) {
+        return reads().query(query);
+    }
+
+    public @Override <T extends CatalogInfo> CloseableIterator<T> list(
+            Class<T> of,
+            Filter filter,
+            @Nullable Integer offset,
+            @Nullable Integer count,
+            @Nullable SortBy... sortOrder) {
+        return reads().list(of, filter, offset, count, sortOrder);
+    }
+}
@@ -6,9 +6,12 @@ package org.geoserver.cloud.catalog.client.impl;
 
 import lombok.Data;
 
+import org.geoserver.cloud.catalog.client.reactivefeign.ReactiveFeignConfigurationOverrides;
+import org.geoserver.cloud.catalog.client.repository.CatalogClientCallAdapter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 import java.io.File;
+import java.time.Duration;
 
 /**
  * Configuration properties bean to use the {@code catalog-service} micro-service client back-end
@@ -18,4 +21,52 @@ public @Data class CatalogClientProperties {
     private boolean enabled;
     private String url;
     private File cacheDirectory;
+
+    /**
+     * Whether to have the catalog-service embed the objects referenced by the ones it returns, see
+     * {@link CatalogClientCatalogFacade#setExpandReferences}
+     */
+    private boolean expandReferences;
+
+    /**
+     * Whether to have the catalog-service encode its responses as Smile (binary JSON) instead of
+     * JSON, see {@link ReactiveFeignConfigurationOverrides#smileAcceptHeaderInterceptor()}
+     */
+    private boolean binaryEncoding;
+
+    private NearCache nearCache = new NearCache();
+
+    private Calls calls = new Calls();
+
+    /** @see CatalogClientNearCacheFacade */
+    public static @Data class NearCache {
+        /** Whether to serve catalog reads from a local replica of the catalog-service catalog */
+        private boolean enabled;
+
+        /**
+         * How often to check the replica against the catalog-service update sequence, zero to
+         * disable the check
+         */
+        private Duration consistencyCheckInterval = Duration.ofSeconds(30);
+    }
+
+    /** @see CatalogClientCallAdapter */
+    public static @Data class Calls {
+        /** Maximum number of threads to hand blocking calls from non-blocking threads over to */
+        private int maxThreads = CatalogClientCallAdapter.DEFAULT_MAX_THREADS;
+
+        /** Maximum time to wait for a response, or between elements of a streamed response */
+        private Duration timeout = CatalogClientCallAdapter.DEFAULT_TIMEOUT;
+
+        private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    }
+
+    /** Per endpoint circuit breaker settings */
+    public static @Data class CircuitBreaker {
+        /** Number of consecutive service failures that open the circuit */
+        private int failureThreshold = CatalogClientCallAdapter.DEFAULT_FAILURE_THRESHOLD;
+
+        /** How long to fail fast before letting a trial call through */
+        private Duration openDuration = CatalogClientCallAdapter.DEFAULT_OPEN_DURATION;
+    }
 }
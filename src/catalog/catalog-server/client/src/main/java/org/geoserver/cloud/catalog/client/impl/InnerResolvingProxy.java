@@ -94,6 +94,9 @@ public class InnerResolvingProxy {
             Set<Object> set = (Set<Object>) orig;
             return resolve(set);
         }
+        if (orig instanceof Patch.Delta) {
+            return ((Patch.Delta) orig).map(this::resolvePatchPropertyValue);
+        }
         return orig;
     }
 
@@ -4,6 +4,8 @@
  */
 package org.geoserver.cloud.catalog.client.reactivefeign;
 
+import static org.springframework.http.MediaType.APPLICATION_STREAM_JSON_VALUE;
+
 import org.geoserver.catalog.CatalogInfo;
 import org.geoserver.catalog.DataStoreInfo;
 import org.geoserver.catalog.LayerGroupInfo;
@@ -14,6 +16,7 @@ import org.geoserver.catalog.StoreInfo;
 import org.geoserver.catalog.StyleInfo;
 import org.geoserver.catalog.WorkspaceInfo;
 import org.geoserver.catalog.impl.ClassMappings;
+import org.geoserver.catalog.plugin.ExpandedInfo;
 import org.geoserver.catalog.plugin.Patch;
 import org.geoserver.catalog.plugin.Query;
 import org.opengis.filter.capability.FunctionName;
@@ -31,6 +34,9 @@ import reactivefeign.spring.config.ReactiveFeignClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+import java.util.Map;
+
 @ReactiveFeignClient( //
         name = "catalog-service", //
         url = "${geoserver.backend.catalog-service.uri:}", //
@@ -41,6 +47,15 @@ public interface ReactiveCatalogClient {
     @PostMapping(path = "/{endpoint}")
     <C extends CatalogInfo> Mono<C> create(@PathVariable("endpoint") String endpoint, C info);
 
+    /**
+     * Creates all the objects streamed in the request body with a single request
+     *
+     * @return the number of objects created
+     */
+    @PostMapping(path = "/{endpoint}/batch", consumes = APPLICATION_STREAM_JSON_VALUE)
+    <C extends CatalogInfo> Mono<Long> createAll(
+            @PathVariable("endpoint") String endpoint, @RequestBody Flux<C> infos);
+
     @PatchMapping(path = "/{endpoint}/{id}")
     public <C extends CatalogInfo> Mono<C> update(
             @PathVariable("endpoint") String endpoint,
@@ -51,17 +66,72 @@ public interface ReactiveCatalogClient {
     public <C extends CatalogInfo> Mono<C> deleteById(
             @PathVariable("endpoint") String endpoint, @PathVariable("id") String id);
 
+    /**
+     * Deletes all the objects whose ids are streamed in the request body with a single request
+     *
+     * @return the number of objects deleted
+     */
+    @PostMapping(path = "/{endpoint}/batch/delete", consumes = APPLICATION_STREAM_JSON_VALUE)
+    Mono<Long> deleteAllById(
+            @PathVariable("endpoint") String endpoint, @RequestBody Flux<String> ids);
+
     @GetMapping(path = "/{endpoint}")
     public <C extends CatalogInfo> Flux<C> findAll(
             @PathVariable("endpoint") String endpoint,
             @RequestParam(name = "type", required = false) ClassMappings subType);
 
+    /** {@link #findAll} pairing each object with the objects it references, not sent before */
+    @GetMapping(path = "/{endpoint}")
+    Flux<ExpandedInfo> findAllExpanded(
+            @PathVariable("endpoint") String endpoint,
+            @RequestParam(name = "type", required = false) ClassMappings subType,
+            @RequestParam("expand") boolean expand);
+
     @GetMapping(path = {"/{endpoint}/{id}"})
     <C extends CatalogInfo> Mono<C> findById( //
             @PathVariable("endpoint") String endpoint,
             @PathVariable("id") String id,
             @RequestParam(name = "type", required = false) ClassMappings subType);
 
+    /** {@link #findById} pairing the object with the objects it references */
+    @GetMapping(path = {"/{endpoint}/{id}"})
+    Mono<ExpandedInfo> findByIdExpanded( //
+            @PathVariable("endpoint") String endpoint,
+            @PathVariable("id") String id,
+            @RequestParam(name = "type", required = false) ClassMappings subType,
+            @RequestParam("expand") boolean expand);
+
+    /**
+     * Finds all the objects whose ids are in the request body with a single request, skipping the
+     * ones that don't exist
+     */
+    @PostMapping(path = "/{endpoint}/ids")
+    <C extends CatalogInfo> Flux<C> findAllById( //
+            @PathVariable("endpoint") String endpoint,
+            @RequestBody List<String> ids,
+            @RequestParam(name = "type", required = false) ClassMappings subType);
+
+    /** {@link #findAllById} pairing each object with the objects it references, not sent before */
+    @PostMapping(path = "/{endpoint}/ids")
+    Flux<ExpandedInfo> findAllByIdExpanded( //
+            @PathVariable("endpoint") String endpoint,
+            @RequestBody List<String> ids,
+            @RequestParam(name = "type", required = false) ClassMappings subType,
+            @RequestParam("expand") boolean expand);
+
+    /**
+     * Finds all the objects of any type whose ids are in the request body, grouped by type, with a
+     * single request, skipping the ones that don't exist
+     */
+    @PostMapping(path = "/ids")
+    Flux<CatalogInfo> findAllById(@RequestBody Map<ClassMappings, List<String>> idsByType);
+
+    /** {@link #findAllById} pairing each object with the objects it references, not sent before */
+    @PostMapping(path = "/ids")
+    Flux<ExpandedInfo> findAllByIdExpanded(
+            @RequestBody Map<ClassMappings, List<String>> idsByType,
+            @RequestParam("expand") boolean expand);
+
     @GetMapping(path = "/{endpoint}/name/{name}/first")
     <C extends CatalogInfo> Mono<C> findFirstByName( //
             @PathVariable("endpoint") String endpoint,
@@ -77,6 +147,13 @@ public interface ReactiveCatalogClient {
     <C extends CatalogInfo> Flux<C> query( //
             @PathVariable("endpoint") String endpoint, @RequestBody Query<C> query);
 
+    /** {@link #query} pairing each object with the objects it references, not sent before */
+    @PostMapping(path = "/{endpoint}/query")
+    <C extends CatalogInfo> Flux<ExpandedInfo> queryExpanded( //
+            @PathVariable("endpoint") String endpoint,
+            @RequestBody Query<C> query,
+            @RequestParam("expand") boolean expand);
+
     @PostMapping(path = "/{endpoint}/query/count")
     <C extends CatalogInfo> Mono<Long> count(
             @PathVariable("endpoint") String endpoint, @RequestBody Query<C> query);
@@ -10,11 +10,20 @@ import feign.MethodMetadata;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cloud.openfeign.support.SpringMvcContract;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 
+import reactivefeign.client.ReactiveHttpRequest;
+import reactivefeign.client.ReactiveHttpRequestInterceptor;
+
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
 import java.util.List;
+import java.util.Map;
 
 @Configuration
 public class ReactiveFeignConfigurationOverrides {
@@ -23,6 +32,45 @@ public class ReactiveFeignConfigurationOverrides {
         return new FallbackContract(new SpringMvcContract(), new Contract.Default());
     }
 
+    /**
+     * Asks the catalog-service to encode the catalog API responses as Smile (binary JSON) instead
+     * of JSON, if {@code geoserver.backend.catalog-service.binary-encoding=true}. Servers not
+     * supporting it fall back to JSON.
+     */
+    @Bean
+    @ConditionalOnProperty(
+            name = "geoserver.backend.catalog-service.binary-encoding",
+            havingValue = "true")
+    public ReactiveHttpRequestInterceptor smileAcceptHeaderInterceptor() {
+        return new SmileAcceptHeaderInterceptor();
+    }
+
+    /**
+     * Sets the {@code Accept} header of requests to the catalog API (i.e. not to the config and
+     * resource store ones) that don't declare one to prefer Smile over any other media type
+     */
+    static class SmileAcceptHeaderInterceptor implements ReactiveHttpRequestInterceptor {
+
+        static final String CATALOG_API_PATH = "/api/v1/catalog/";
+
+        static final String ACCEPT_SMILE =
+                "application/stream+x-jackson-smile, application/x-jackson-smile;q=0.9, */*;q=0.5";
+
+        public @Override Mono<ReactiveHttpRequest> apply(ReactiveHttpRequest request) {
+            acceptSmile(request.uri(), request.headers());
+            return Mono.just(request);
+        }
+
+        /** Adds the Smile {@code Accept} header to the modifiable {@code headers} if applicable */
+        static void acceptSmile(URI uri, Map<String, List<String>> headers) {
+            boolean hasAccept =
+                    headers.keySet().stream().anyMatch(HttpHeaders.ACCEPT::equalsIgnoreCase);
+            if (!hasAccept && uri.getPath().contains(CATALOG_API_PATH)) {
+                headers.put(HttpHeaders.ACCEPT, List.of(ACCEPT_SMILE));
+            }
+        }
+    }
+
     @RequiredArgsConstructor
     private static class FallbackContract implements Contract {
 
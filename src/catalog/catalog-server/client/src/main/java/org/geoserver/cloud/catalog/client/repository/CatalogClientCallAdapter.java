@@ -0,0 +1,352 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.client.repository;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import feign.FeignException;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Adapts the {@code catalog-service} reactive client calls to the blocking and {@link
+ * CompletableFuture} APIs of the client repositories.
+ *
+ * <p>Every call is subject to a {@link #setTimeout timeout}, and to a circuit breaker per endpoint
+ * (e.g. {@code layers}), that fails fast for {@link #setOpenDuration a while} after {@link
+ * #setFailureThreshold a number} of consecutive service failures (timeouts, I/O errors, and 5xx
+ * responses), letting a single trial call through afterwards to decide whether to close it again.
+ *
+ * <p>Blocking calls are made on the calling thread, except when it's a non-blocking (i.e. reactor
+ * event loop) thread, in which case they're handed over to a bounded thread pool, instead of
+ * {@link CompletableFuture#supplyAsync(java.util.function.Supplier) the common pool}.
+ */
+@Slf4j
+public class CatalogClientCallAdapter {
+
+    public static final int DEFAULT_MAX_THREADS = 16;
+    public static final int DEFAULT_QUEUE_CAPACITY = 1_000;
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+    public static final int DEFAULT_FAILURE_THRESHOLD = 5;
+    public static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(10);
+
+    /** The outcome of a call, as reported to the {@link CallListener} */
+    public static enum Outcome {
+        SUCCESS,
+        /** The call failed, either due to a client or a service error */
+        ERROR,
+        TIMEOUT,
+        /** The call was not made, either because the circuit is open or the pool is saturated */
+        REJECTED,
+        /** The subscriber cancelled a streamed call before it completed */
+        CANCELLED
+    }
+
+    /** Receives the outcome of each call, e.g. to export metrics */
+    @FunctionalInterface
+    public static interface CallListener {
+        void onCall(String endpoint, Outcome outcome, Duration elapsed);
+    }
+
+    private final ThreadPoolExecutor executor;
+
+    private @Getter @Setter @NonNull Duration timeout = DEFAULT_TIMEOUT;
+    private @Getter @Setter int failureThreshold = DEFAULT_FAILURE_THRESHOLD;
+    private @Getter @Setter @NonNull Duration openDuration = DEFAULT_OPEN_DURATION;
+    private @Setter @NonNull CallListener listener = (endpoint, outcome, elapsed) -> {};
+
+    private final ConcurrentMap<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+
+    public CatalogClientCallAdapter() {
+        this(DEFAULT_MAX_THREADS, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public CatalogClientCallAdapter(int maxThreads, int queueCapacity) {
+        this.executor =
+                new ThreadPoolExecutor(
+                        maxThreads,
+                        maxThreads,
+                        60,
+                        TimeUnit.SECONDS,
+                        new LinkedBlockingQueue<>(queueCapacity),
+                        new ThreadFactoryBuilder()
+                                .setNameFormat("catalog-client-%d")
+                                .setDaemon(true)
+                                .build(),
+                        new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * The bounded thread pool blocking calls from non-blocking threads are handed over to, also
+     * used to resolve the objects returned by the {@link CompletableFuture} calls, since resolving
+     * may issue further blocking calls. Exposed to be monitored.
+     */
+    public ThreadPoolExecutor getExecutor() {
+        return executor;
+    }
+
+    public int getMaxThreads() {
+        return executor.getMaximumPoolSize();
+    }
+
+    public void setMaxThreads(int maxThreads) {
+        if (maxThreads > executor.getMaximumPoolSize()) {
+            executor.setMaximumPoolSize(maxThreads);
+            executor.setCorePoolSize(maxThreads);
+        } else {
+            executor.setCorePoolSize(maxThreads);
+            executor.setMaximumPoolSize(maxThreads);
+        }
+    }
+
+    /** @return the number of endpoints whose circuit is currently open */
+    public long getOpenCircuits() {
+        return circuitBreakers.values().stream().filter(CircuitBreaker::isOpen).count();
+    }
+
+    /** @return whether the circuit for {@code endpoint} is currently open */
+    public boolean isOpen(@NonNull String endpoint) {
+        CircuitBreaker breaker = circuitBreakers.get(endpoint);
+        return breaker != null && breaker.isOpen();
+    }
+
+    /**
+     * Blocks until {@code call} completes, for at most the configured {@link #getTimeout()
+     * timeout}.
+     *
+     * @throws IllegalStateException if the circuit for {@code endpoint} is open, or the thread
+     *     pool is saturated
+     */
+    public <T> Optional<T> blockOptional(@NonNull String endpoint, @NonNull Mono<T> call) {
+        final CircuitBreaker breaker = acquire(endpoint);
+        final long start = System.nanoTime();
+        try {
+            Optional<T> result;
+            if (Schedulers.isInNonBlockingThread()) {
+                result = blockOnExecutor(call);
+            } else {
+                result = call.timeout(timeout).blockOptional();
+            }
+            onSuccess(endpoint, breaker, start);
+            return result;
+        } catch (RejectedExecutionException e) {
+            breaker.release();
+            report(endpoint, Outcome.REJECTED, start);
+            throw new IllegalStateException(
+                    "Too many concurrent calls to catalog-service endpoint " + endpoint, e);
+        } catch (RuntimeException e) {
+            onError(endpoint, breaker, e, start);
+            throw e;
+        }
+    }
+
+    /**
+     * Subscribes to {@code call} and returns a future that completes, on a reactor thread, when it
+     * does, or with a {@link TimeoutException} after the configured {@link #getTimeout() timeout}.
+     * The returned future is completed exceptionally right away if the circuit for {@code endpoint}
+     * is open.
+     */
+    public <T> CompletableFuture<Optional<T>> async(
+            @NonNull String endpoint, @NonNull Mono<T> call) {
+        final CircuitBreaker breaker;
+        try {
+            breaker = acquire(endpoint);
+        } catch (IllegalStateException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        final long start = System.nanoTime();
+        return call.timeout(timeout)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .toFuture()
+                .whenComplete(
+                        (result, error) -> {
+                            if (error == null) onSuccess(endpoint, breaker, start);
+                            else onError(endpoint, breaker, error, start);
+                        });
+    }
+
+    /**
+     * Decorates {@code call} with the circuit breaker for {@code endpoint}, checked upon
+     * subscription, and the configured {@link #getTimeout() timeout}, applied to the first element
+     * and between elements, since the stream is consumed as it arrives. A stream cancelled by its
+     * subscriber (e.g. {@code findFirst()}) tells nothing about the service health, so it only
+     * releases the circuit breaker, letting the next call be the trial one if it's half-open.
+     */
+    public <T> Flux<T> stream(@NonNull String endpoint, @NonNull Flux<T> call) {
+        return Flux.defer(
+                () -> {
+                    final CircuitBreaker breaker = acquire(endpoint);
+                    final long start = System.nanoTime();
+                    return call.timeout(timeout)
+                            .doOnComplete(() -> onSuccess(endpoint, breaker, start))
+                            .doOnCancel(() -> onCancel(endpoint, breaker, start))
+                            .doOnError(error -> onError(endpoint, breaker, error, start));
+                });
+    }
+
+    public void dispose() {
+        executor.shutdownNow();
+    }
+
+    private <T> Optional<T> blockOnExecutor(Mono<T> call) {
+        Mono<T> timed = call.timeout(timeout);
+        try {
+            return CompletableFuture.supplyAsync(timed::blockOptional, executor).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw e;
+        }
+    }
+
+    private CircuitBreaker acquire(String endpoint) {
+        CircuitBreaker breaker = circuitBreakers.computeIfAbsent(endpoint, CircuitBreaker::new);
+        if (!breaker.tryAcquire()) {
+            report(endpoint, Outcome.REJECTED, System.nanoTime());
+            throw new IllegalStateException(
+                    "catalog-service endpoint " + endpoint + " is unavailable, circuit is open");
+        }
+        return breaker;
+    }
+
+    private void onSuccess(String endpoint, CircuitBreaker breaker, long start) {
+        breaker.onSuccess();
+        report(endpoint, Outcome.SUCCESS, start);
+    }
+
+    private void onCancel(String endpoint, CircuitBreaker breaker, long start) {
+        breaker.release();
+        report(endpoint, Outcome.CANCELLED, start);
+    }
+
+    private void onError(String endpoint, CircuitBreaker breaker, Throwable error, long start) {
+        Throwable cause = Exceptions.unwrap(error);
+        if (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = Exceptions.unwrap(cause.getCause());
+        }
+        if (isServiceFailure(cause)) {
+            breaker.onFailure();
+        } else {
+            breaker.onSuccess();
+        }
+        Outcome outcome = cause instanceof TimeoutException ? Outcome.TIMEOUT : Outcome.ERROR;
+        report(endpoint, outcome, start);
+    }
+
+    private void report(String endpoint, Outcome outcome, long start) {
+        try {
+            listener.onCall(endpoint, outcome, Duration.ofNanos(System.nanoTime() - start));
+        } catch (RuntimeException e) {
+            log.warn("Error notifying catalog-service call outcome", e);
+        }
+    }
+
+    /**
+     * Errors that tell the service is unavailable or unhealthy, as opposed to errors caused by the
+     * request itself (e.g. a 4xx response)
+     */
+    static boolean isServiceFailure(Throwable error) {
+        if (error instanceof FeignException) {
+            int status = ((FeignException) error).status();
+            return status < 0 || status >= 500;
+        }
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof TimeoutException || t instanceof IOException) {
+                return true;
+            }
+            if (t.getCause() == t) break;
+        }
+        return false;
+    }
+
+    /**
+     * Consecutive failures circuit breaker. Closed while the number of consecutive failures is
+     * below the threshold; open until the open duration elapses; then half-open, letting a single
+     * trial call through, whose outcome closes or opens it again.
+     */
+    private class CircuitBreaker {
+        private final String endpoint;
+        private int consecutiveFailures;
+        private boolean open;
+        private long openedAt;
+        private boolean trialInProgress;
+
+        CircuitBreaker(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        synchronized boolean isOpen() {
+            return open && !elapsed();
+        }
+
+        synchronized boolean tryAcquire() {
+            if (!open) {
+                return true;
+            }
+            if (!elapsed() || trialInProgress) {
+                return false;
+            }
+            trialInProgress = true;
+            return true;
+        }
+
+        /** Releases a call that was not made, so the next one can be the trial */
+        synchronized void release() {
+            trialInProgress = false;
+        }
+
+        synchronized void onSuccess() {
+            if (open) {
+                log.info("catalog-service endpoint {} is available again", endpoint);
+            }
+            consecutiveFailures = 0;
+            open = false;
+            trialInProgress = false;
+        }
+
+        synchronized void onFailure() {
+            ++consecutiveFailures;
+            if (!open && consecutiveFailures >= failureThreshold) {
+                log.warn(
+                        "Opening circuit for catalog-service endpoint {} for {} after {} failures",
+                        endpoint,
+                        openDuration,
+                        consecutiveFailures);
+                open = true;
+            }
+            if (open) {
+                openedAt = System.nanoTime();
+                trialInProgress = false;
+            }
+        }
+
+        private boolean elapsed() {
+            return System.nanoTime() - openedAt >= openDuration.toNanos();
+        }
+    }
+}
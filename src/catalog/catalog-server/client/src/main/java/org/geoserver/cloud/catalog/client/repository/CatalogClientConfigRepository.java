@@ -5,6 +5,7 @@
 package org.geoserver.cloud.catalog.client.repository;
 
 import lombok.Getter;
+import lombok.NonNull;
 import lombok.Setter;
 
 import org.geoserver.catalog.Info;
@@ -18,36 +19,42 @@ import org.geoserver.config.SettingsInfo;
 import org.geoserver.config.plugin.ConfigRepository;
 
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 import java.lang.reflect.Proxy;
 import java.util.Optional;
-import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
 /** */
 public class CatalogClientConfigRepository implements ConfigRepository {
 
+    /** The circuit breaker name for all the config calls */
+    private static final String ENDPOINT = "config";
+
     private @Getter @Setter ReactiveConfigClient client;
 
-    public CatalogClientConfigRepository() {}
+    private @Getter @Setter @NonNull CatalogClientCallAdapter callAdapter;
+
+    public CatalogClientConfigRepository() {
+        this.callAdapter = new CatalogClientCallAdapter();
+    }
 
     public CatalogClientConfigRepository(ReactiveConfigClient configClient) {
+        this(configClient, new CatalogClientCallAdapter());
+    }
+
+    public CatalogClientConfigRepository(
+            @NonNull ReactiveConfigClient configClient,
+            @NonNull CatalogClientCallAdapter callAdapter) {
         this.client = configClient;
+        this.callAdapter = callAdapter;
     }
 
     protected void block(Mono<Void> call) {
-        if (Schedulers.isInNonBlockingThread()) {
-            CompletableFuture.supplyAsync(call::block).join();
-        }
-        call.block();
+        callAdapter.blockOptional(ENDPOINT, call);
     }
 
     protected <U> Optional<U> blockAndReturn(Mono<U> call) {
-        if (Schedulers.isInNonBlockingThread()) {
-            return CompletableFuture.supplyAsync(call::blockOptional).join();
-        }
-        return call.blockOptional();
+        return callAdapter.blockOptional(ENDPOINT, call);
     }
 
     public @Override Optional<GeoServerInfo> getGlobal() {
@@ -112,11 +119,13 @@ public class CatalogClientConfigRepository implements ConfigRepository {
     }
 
     public @Override Stream<? extends ServiceInfo> getGlobalServices() {
-        return client.getGlobalServices().toStream();
+        return callAdapter.stream(ENDPOINT, client.getGlobalServices()).toStream();
     }
 
     public @Override Stream<? extends ServiceInfo> getServicesByWorkspace(WorkspaceInfo workspace) {
-        return client.getServicesByWorkspace(workspace.getId()).toStream();
+        return callAdapter
+                .stream(ENDPOINT, client.getServicesByWorkspace(workspace.getId()))
+                .toStream();
     }
 
     public @Override <T extends ServiceInfo> Optional<T> getGlobalService(Class<T> clazz) {
@@ -15,6 +15,7 @@ import org.geoserver.catalog.Info;
 import org.geoserver.catalog.impl.ClassMappings;
 import org.geoserver.catalog.impl.ResolvingProxy;
 import org.geoserver.catalog.plugin.CatalogInfoRepository;
+import org.geoserver.catalog.plugin.ExpandedInfo;
 import org.geoserver.catalog.plugin.Patch;
 import org.geoserver.catalog.plugin.Query;
 import org.geoserver.cloud.catalog.client.reactivefeign.ReactiveCatalogClient;
@@ -26,10 +27,12 @@ import org.springframework.lang.Nullable;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
+import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
@@ -37,6 +40,7 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -44,11 +48,30 @@ import java.util.stream.Stream;
 public abstract class CatalogClientRepository<CI extends CatalogInfo>
         implements CatalogInfoRepository<CI> {
 
+    /** Number of stream elements handed to the stream resolver at once */
+    private static final int STREAM_BATCH_SIZE = 100;
+
     private ReactiveCatalogClient client;
 
+    private CatalogClientCallAdapter calls;
+
     private @Setter Function<CI, CI> objectResolver = Function.identity();
-    private @Setter Supplier<Function<CatalogInfo, CatalogInfo>> streamResolver =
-            () -> Function.identity();
+    private @Setter Supplier<UnaryOperator<List<CatalogInfo>>> streamResolver =
+            () -> UnaryOperator.identity();
+
+    /**
+     * Whether to request the objects along with the objects they reference, resolving them with
+     * the {@link #setExpandedResolver expanded resolver}, see {@link ExpandedInfo}
+     */
+    private @Setter boolean expandReferences;
+
+    /**
+     * Supplies a function to resolve batches of {@link ExpandedInfo} against the referenced
+     * objects embedded in them, called once per response, since each referenced object is
+     * embedded only the first time it's needed within a response
+     */
+    private @Setter Supplier<Function<List<ExpandedInfo>, List<CatalogInfo>>> expandedResolver =
+            () -> batch -> batch.stream().map(ExpandedInfo::getInfo).collect(Collectors.toList());
 
     /** Don't use but through {@link #endpoint()} */
     private String _endpoint;
@@ -76,6 +99,15 @@ public abstract class CatalogClientRepository<CI extends CatalogInfo>
         this.client = client;
     }
 
+    protected CatalogClientCallAdapter calls() {
+        return calls;
+    }
+
+    @Autowired
+    public void setCallAdapter(CatalogClientCallAdapter calls) {
+        this.calls = calls;
+    }
+
     @SuppressWarnings("unchecked")
     protected <C extends CI> Function<C, C> proxyResolver() {
         return (Function<C, C>) this.objectResolver;
@@ -93,32 +125,44 @@ public abstract class CatalogClientRepository<CI extends CatalogInfo>
     }
 
     /**
-     * Converts the Flux to a stream and applies {@link #proxyResolver()} function to each element
-     * using a {@link MemoizingResolver} so the same reference is not requested multiple times to
-     * the backend service while the stream is consumed
+     * Converts the Flux to a stream and applies the stream resolver function to batches of
+     * elements, using a memoizing resolver so the same reference is not requested multiple times
+     * to the backend service while the stream is consumed, and the references of a batch can be
+     * requested at once
      */
     protected <I extends CI> Stream<I> toStream(Flux<I> flux) {
-        @SuppressWarnings("unchecked")
-        Function<I, I> resolver = (Function<I, I>) this.streamResolver.get();
-        Stream<I> resolvingStream = flux.toStream().map(resolver::apply);
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        UnaryOperator<List<I>> resolver = (UnaryOperator) this.streamResolver.get();
+        Stream<I> resolvingStream =
+                calls.stream(endpoint(), flux)
+                        .buffer(STREAM_BATCH_SIZE)
+                        .toStream()
+                        .map(resolver)
+                        .flatMap(List::stream);
         return resolvingStream;
     }
 
+    /**
+     * Like {@link #toStream(Flux)}, for responses that embed the referenced objects, all the
+     * batches resolved by the same expanded resolver
+     */
+    @SuppressWarnings("unchecked")
+    protected <I extends CI> Stream<I> toExpandedStream(Flux<ExpandedInfo> flux) {
+        Function<List<ExpandedInfo>, List<CatalogInfo>> resolver = this.expandedResolver.get();
+        return calls.stream(endpoint(), flux)
+                .buffer(STREAM_BATCH_SIZE)
+                .toStream()
+                .map(resolver)
+                .flatMap(List::stream)
+                .map(info -> (I) info);
+    }
+
     protected void block(Mono<Void> call) {
-        if (Schedulers.isInNonBlockingThread()) {
-            CompletableFuture.supplyAsync(call::block).join();
-        }
-        call.block();
+        calls.blockOptional(endpoint(), call);
     }
 
     protected <U> Optional<U> blockOptional(Mono<U> call) {
-        Optional<U> object;
-        if (Schedulers.isInNonBlockingThread()) {
-            object = CompletableFuture.supplyAsync(call::blockOptional).join();
-        } else {
-            object = call.blockOptional();
-        }
-        return object;
+        return calls.blockOptional(endpoint(), call);
     }
 
     protected <U extends CI> Optional<U> blockAndReturn(Mono<U> call) {
@@ -126,6 +170,11 @@ public abstract class CatalogClientRepository<CI extends CatalogInfo>
         return object.map(this::resolve);
     }
 
+    protected <U extends CI> Optional<U> blockAndReturnExpanded(Mono<ExpandedInfo> call) {
+        Optional<ExpandedInfo> object = blockOptional(call);
+        return object.map(this::<U>resolveExpanded);
+    }
+
     private final ConcurrentMap<String, Boolean> positiveCanSortByCache = new ConcurrentHashMap<>();
 
     public @Override boolean canSortBy(@NonNull String propertyName) {
@@ -135,7 +184,9 @@ public abstract class CatalogClientRepository<CI extends CatalogInfo>
 
     private @Nullable Boolean callCanSort(String propertyName) {
         String endpoint = endpoint();
-        Boolean canSort = client().canSortBy(endpoint, propertyName).toFuture().join();
+        Boolean canSort =
+                calls.blockOptional(endpoint, client().canSortBy(endpoint, propertyName))
+                        .orElse(Boolean.FALSE);
         return canSort.booleanValue() ? Boolean.TRUE : null;
     }
 
@@ -147,6 +198,18 @@ public abstract class CatalogClientRepository<CI extends CatalogInfo>
         blockAndReturn(client.deleteById(endpoint(), value.getId()));
     }
 
+    /** Streams all the {@code values} to the catalog service in a single request */
+    public @Override void addAll(@NonNull Stream<? extends CI> values) {
+        Flux<CI> infos = Flux.fromStream(values);
+        blockOptional(client.createAll(endpoint(), infos));
+    }
+
+    /** Streams the ids of all the {@code values} to the catalog service in a single request */
+    public @Override void removeAll(@NonNull Stream<? extends CI> values) {
+        Flux<String> ids = Flux.fromStream(values.map(CatalogInfo::getId));
+        blockOptional(client.deleteAllById(endpoint(), ids));
+    }
+
     public @Override <T extends CI> T update(@NonNull T value, @NonNull Patch patch) {
         Mono<T> updated = client.update(endpoint(), value.getId(), patch);
         return blockAndReturn(updated).get();
@@ -161,6 +224,9 @@ public abstract class CatalogClientRepository<CI extends CatalogInfo>
 
     public @Override Stream<CI> findAll() {
         ClassMappings typeArg = typeEnum(getContentType());
+        if (expandReferences) {
+            return toExpandedStream(client.findAllExpanded(endpoint(), typeArg, true));
+        }
         Flux<CI> flux = client.findAll(endpoint(), typeArg);
         return toStream(flux);
     }
@@ -184,7 +250,10 @@ public abstract class CatalogClientRepository<CI extends CatalogInfo>
     }
 
     protected <U extends CI> Stream<U> query(Query<U> query, Filter unsupportedFilter) {
-        Stream<U> stream = toStream(client.query(endpoint(), query));
+        Stream<U> stream =
+                expandReferences
+                        ? toExpandedStream(client.queryExpanded(endpoint(), query, true))
+                        : toStream(client.query(endpoint(), query));
         if (!Filter.INCLUDE.equals(unsupportedFilter)) {
             log.debug("Post-filtering with {}", unsupportedFilter);
             Predicate<? super U> predicate = info -> unsupportedFilter.evaluate(info);
@@ -219,7 +288,10 @@ public abstract class CatalogClientRepository<CI extends CatalogInfo>
         try {
             ReactiveCatalogClient client = client();
             Flux<FunctionName> functionNames = client.getSupportedFilterFunctionNames();
-            List<FunctionName> list = functionNames.toStream().collect(Collectors.toList());
+            List<FunctionName> list =
+                    calls.stream(endpoint(), functionNames)
+                            .toStream()
+                            .collect(Collectors.toList());
             return list;
         } catch (Exception e) {
             log.warn(
@@ -232,17 +304,148 @@ public abstract class CatalogClientRepository<CI extends CatalogInfo>
     public @Override <U extends CI> Optional<U> findById(
             @NonNull String id, @NonNull Class<U> clazz) {
         ClassMappings typeArg = typeEnum(clazz);
-
+        if (expandReferences) {
+            return blockAndReturnExpanded(client.findByIdExpanded(endpoint(), id, typeArg, true));
+        }
         Optional<U> ret = blockAndReturn(client.findById(endpoint(), id, typeArg));
         return ret;
     }
 
-    public @Override void dispose() {
-        // no-op...?
+    /**
+     * Fetches all the objects whose ids are in {@code ids} with a single request, skipping the ones
+     * that don't exist
+     */
+    public <U extends CI> Stream<U> findAllById(
+            @NonNull Collection<String> ids, @NonNull Class<U> clazz) {
+        if (ids.isEmpty()) {
+            return Stream.empty();
+        }
+        ClassMappings typeArg = typeEnum(clazz);
+        if (expandReferences) {
+            return toExpandedStream(
+                    client.findAllByIdExpanded(endpoint(), List.copyOf(ids), typeArg, true));
+        }
+        return toStream(client.findAllById(endpoint(), List.copyOf(ids), typeArg));
     }
 
-    public @Override void syncTo(@NonNull CatalogInfoRepository<CI> target) {
-        findAll().forEach(target::add);
+    /**
+     * Fetches all the objects of any catalog type whose ids are in {@code idsByType} with a single
+     * request, skipping the ones that don't exist, and returns them as they come from the wire,
+     * with their {@link ResolvingProxy} references unresolved. Meant for the facade to resolve all
+     * the references of an object graph at once.
+     *
+     * <p>If {@link #setExpandReferences expanding references}, the referenced objects embedded in
+     * the response come along too, dependencies first, so the whole graph is fetched at once.
+     */
+    public Stream<CatalogInfo> fetchAllById(
+            @NonNull Map<Class<? extends CatalogInfo>, ? extends Collection<String>> idsByType) {
+        Map<ClassMappings, List<String>> typeArg = new EnumMap<>(ClassMappings.class);
+        idsByType.forEach((type, ids) -> typeArg.put(typeEnum(type), List.copyOf(ids)));
+        if (typeArg.isEmpty()) {
+            return Stream.empty();
+        }
+        if (expandReferences) {
+            return calls.stream(endpoint(), client.findAllByIdExpanded(typeArg, true))
+                    .toStream()
+                    .flatMap(
+                            expanded ->
+                                    Stream.concat(
+                                            expanded.getReferences().stream(),
+                                            Stream.of(expanded.getInfo())));
+        }
+        return calls.stream(endpoint(), client.findAllById(typeArg)).toStream();
+    }
+
+    /**
+     * Non-blocking variant of {@link #findById}, the returned future completes once the object is
+     * received and resolved, resolution happening on the {@link
+     * CatalogClientCallAdapter#getExecutor() call adapter's thread pool}, since it may issue
+     * further blocking calls
+     */
+    public <U extends CI> CompletableFuture<Optional<U>> findByIdAsync(
+            @NonNull String id, @NonNull Class<U> clazz) {
+        ClassMappings typeArg = typeEnum(clazz);
+        if (expandReferences) {
+            return resolveExpandedAsync(client.findByIdExpanded(endpoint(), id, typeArg, true));
+        }
+        return resolveAsync(client.findById(endpoint(), id, typeArg));
+    }
+
+    /** Non-blocking variant of {@link #findFirstByName}, see {@link #findByIdAsync} */
+    public <U extends CI> CompletableFuture<Optional<U>> findFirstByNameAsync(
+            @NonNull String name, @NonNull Class<U> clazz) {
+        ClassMappings typeArg = typeEnum(clazz);
+        return resolveAsync(client.findFirstByName(endpoint(), name, typeArg));
+    }
+
+    /**
+     * Non-blocking variant of {@link #findAll(Query)}, the returned future completes once all the
+     * matching objects are received and resolved, see {@link #findByIdAsync}
+     */
+    public <U extends CI> CompletableFuture<List<U>> findAllAsync(@NonNull Query<U> query) {
+        if (Filter.EXCLUDE.equals(query.getFilter())) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        PrePostFilterTuple filters = getFilterSupport().split(query.getFilter());
+        Filter supportedFilter = simplify(filters.pre());
+        Filter unsupportedFilter = simplify(filters.post());
+        Query<U> supported = query.withFilter(supportedFilter);
+        CompletableFuture<List<U>> resolved;
+        if (expandReferences) {
+            Mono<List<ExpandedInfo>> call =
+                    client.queryExpanded(endpoint(), supported, true).collectList();
+            resolved =
+                    calls.async(endpoint(), call)
+                            .thenApplyAsync(
+                                    found -> resolveAllExpanded(found.orElse(List.of())),
+                                    calls.getExecutor());
+        } else {
+            Mono<List<U>> call = client.query(endpoint(), supported).collectList();
+            resolved =
+                    calls.async(endpoint(), call)
+                            .thenApplyAsync(
+                                    found -> resolveAll(found.orElse(List.of())),
+                                    calls.getExecutor());
+        }
+        if (Filter.INCLUDE.equals(unsupportedFilter)) {
+            return resolved;
+        }
+        return resolved.thenApply(
+                list ->
+                        list.stream()
+                                .filter(unsupportedFilter::evaluate)
+                                .collect(Collectors.toList()));
+    }
+
+    private <U extends CI> CompletableFuture<Optional<U>> resolveAsync(Mono<U> call) {
+        return calls.async(endpoint(), call)
+                .thenApplyAsync(found -> found.map(this::resolve), calls.getExecutor());
+    }
+
+    private <U extends CI> CompletableFuture<Optional<U>> resolveExpandedAsync(
+            Mono<ExpandedInfo> call) {
+        return calls.async(endpoint(), call)
+                .thenApplyAsync(
+                        found -> found.map(this::<U>resolveExpanded), calls.getExecutor());
+    }
+
+    private <U extends CI> List<U> resolveAll(List<U> infos) {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        UnaryOperator<List<U>> resolver = (UnaryOperator) this.streamResolver.get();
+        return resolver.apply(infos);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <U extends CI> List<U> resolveAllExpanded(List<ExpandedInfo> expanded) {
+        return (List<U>) (List<?>) expandedResolver.get().apply(expanded);
+    }
+
+    private <U extends CI> U resolveExpanded(ExpandedInfo expanded) {
+        return this.<U>resolveAllExpanded(List.of(expanded)).get(0);
+    }
+
+    public @Override void dispose() {
+        // no-op...?
     }
 
     protected @NonNull ClassMappings typeEnum(@NonNull Class<? extends Info> infoType) {
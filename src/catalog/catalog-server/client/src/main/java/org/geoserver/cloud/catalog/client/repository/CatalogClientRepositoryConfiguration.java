@@ -13,6 +13,12 @@ import org.springframework.context.annotation.Import;
 @Import(ReactiveCatalogApiClientConfiguration.class)
 public class CatalogClientRepositoryConfiguration {
 
+    /** Shared by all the repositories, for the thread pool and circuit breakers to be global */
+    @Bean(destroyMethod = "dispose")
+    public CatalogClientCallAdapter catalogClientCallAdapter() {
+        return new CatalogClientCallAdapter();
+    }
+
     public @Bean CatalogClientWorkspaceRepository cloudWorkspaceRepository() {
         return new CatalogClientWorkspaceRepository();
     }
@@ -0,0 +1,242 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.client.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.geoserver.catalog.CatalogFacade;
+import org.geoserver.catalog.CatalogTestData;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.impl.WorkspaceInfoImpl;
+import org.geoserver.catalog.plugin.CatalogPlugin;
+import org.geoserver.catalog.plugin.Patch;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class CatalogClientNearCacheFacadeTest {
+
+    private final CatalogPlugin source = new CatalogPlugin();
+
+    public @Rule CatalogTestData data =
+            CatalogTestData.initialized(() -> source, () -> null).initConfig(false);
+
+    private CatalogClientCatalogFacade remote;
+    private AtomicLong remoteSequence;
+    private CatalogClientNearCacheFacade nearCache;
+
+    public @Before void before() {
+        remote = mock(CatalogClientCatalogFacade.class);
+        doAnswer(
+                        invocation -> {
+                            CatalogFacade to = invocation.getArgument(0);
+                            source.getRawFacade().syncTo(to);
+                            return null;
+                        })
+                .when(remote)
+                .syncTo(any(CatalogFacade.class));
+        remoteSequence = new AtomicLong(10);
+        nearCache = new CatalogClientNearCacheFacade(remote, remoteSequence::get);
+        nearCache.setCatalog(source);
+    }
+
+    public @Test void testReadsGoRemoteUntilWarm() {
+        final String name = data.workspaceA.getName();
+        assertFalse(nearCache.isServing());
+        assertNull(nearCache.getWorkspaceByName(name));
+        verify(remote, times(1)).getWorkspaceByName(name);
+
+        assertTrue(nearCache.warm());
+        assertTrue(nearCache.isServing());
+        assertEquals(10, nearCache.getAppliedSequence());
+        assertNotNull(nearCache.getWorkspaceByName(name));
+        LayerInfo layer = nearCache.getLayerByName(data.layerFeatureTypeA.getName());
+        assertEquals(data.layerFeatureTypeA.getId(), layer.getId());
+        verify(remote, times(1)).getWorkspaceByName(name);
+    }
+
+    public @Test void testWarmUpFailureFallsBackToRemote() {
+        doAnswer(
+                        invocation -> {
+                            throw new IllegalStateException("catalog-service unavailable");
+                        })
+                .when(remote)
+                .syncTo(any(CatalogFacade.class));
+        assertFalse(nearCache.warm());
+        assertFalse(nearCache.isServing());
+        nearCache.getWorkspaces();
+        verify(remote, times(1)).getWorkspaces();
+    }
+
+    public @Test void testApplyChanges() {
+        nearCache.warm();
+        final String layerId = data.layerFeatureTypeA.getId();
+
+        Patch patch = new Patch();
+        patch.add("enabled", false);
+        nearCache.applyUpdate(layerId, LayerInfo.class, patch);
+        assertFalse(nearCache.getLayer(layerId).isEnabled());
+
+        nearCache.applyRemove(layerId, LayerInfo.class);
+        assertNull(nearCache.getLayer(layerId));
+
+        WorkspaceInfoImpl added = new WorkspaceInfoImpl();
+        added.setId("added-id");
+        added.setName("added");
+        nearCache.applyAdd(added);
+        assertSame(added, nearCache.getWorkspaceByName("added"));
+
+        nearCache.applyDefaultWorkspace(added.getId());
+        assertSame(added, nearCache.getDefaultWorkspace());
+        verify(remote, never()).getLayer(layerId);
+    }
+
+    public @Test void testChangesDuringWarmUpAreRefreshed() {
+        final String layerId = data.layerFeatureTypeA.getId();
+        doAnswer(
+                        invocation -> {
+                            CatalogFacade to = invocation.getArgument(0);
+                            source.getRawFacade().syncTo(to);
+                            // removed remotely while loading
+                            nearCache.applyRemove(layerId, LayerInfo.class);
+                            return null;
+                        })
+                .when(remote)
+                .syncTo(any(CatalogFacade.class));
+        when(remote.getLayer(layerId)).thenReturn(null);
+
+        assertTrue(nearCache.warm());
+        verify(remote, times(1)).getLayer(layerId);
+        assertNull(nearCache.getLayer(layerId));
+    }
+
+    public @Test void testConsistencyCheck() {
+        nearCache.warm();
+        applyChange();
+        nearCache.onUpdateSequence(11);
+        assertEquals(11, nearCache.getAppliedSequence());
+
+        remoteSequence.set(11);
+        nearCache.checkConsistency();
+        verify(remote, times(1)).syncTo(any(CatalogFacade.class));
+
+        // behind the remote sequence, may be events in flight, give it a chance
+        remoteSequence.set(13);
+        nearCache.checkConsistency();
+        assertTrue(nearCache.isServing());
+        verify(remote, times(1)).syncTo(any(CatalogFacade.class));
+
+        nearCache.onUpdateSequence(12);
+        applyChange();
+        assertEquals(12, nearCache.getAppliedSequence());
+        // still lagging behind the sequence seen by the previous check, reload
+        nearCache.checkConsistency();
+        verify(remote, times(2)).syncTo(any(CatalogFacade.class));
+        assertTrue(nearCache.isServing());
+        assertEquals(13, nearCache.getAppliedSequence());
+    }
+
+    public @Test void testUpdateSequencesMatchedByChangesInAnyOrder() {
+        nearCache.warm();
+        nearCache.onUpdateSequence(11);
+        assertEquals(10, nearCache.getAppliedSequence());
+        applyChange();
+        assertEquals(11, nearCache.getAppliedSequence());
+
+        nearCache.onConfigChange();
+        assertEquals(11, nearCache.getAppliedSequence());
+        nearCache.onUpdateSequence(12);
+        assertEquals(12, nearCache.getAppliedSequence());
+    }
+
+    public @Test void testLostChangeEventDetectedDespiteItsUpdateSequence() {
+        nearCache.warm();
+        // the change event for sequence 11 got lost, its update sequence event didn't
+        nearCache.onUpdateSequence(11);
+        assertEquals(10, nearCache.getAppliedSequence());
+
+        remoteSequence.set(11);
+        nearCache.checkConsistency();
+        verify(remote, times(1)).syncTo(any(CatalogFacade.class));
+        nearCache.checkConsistency();
+        verify(remote, times(2)).syncTo(any(CatalogFacade.class));
+        assertTrue(nearCache.isServing());
+        assertEquals(11, nearCache.getAppliedSequence());
+    }
+
+    public @Test void testStaleChangesDontMatchLaterUpdateSequences() {
+        nearCache.warm();
+        // event for a change the warm up load had already seen
+        applyChange();
+        assertEquals(10, nearCache.getAppliedSequence());
+        nearCache.checkConsistency();
+
+        // the change event for sequence 11 got lost
+        nearCache.onUpdateSequence(11);
+        assertEquals(10, nearCache.getAppliedSequence());
+    }
+
+    public @Test void testWarmUpDoesntHoldTheLockWhileFetching() throws Exception {
+        final String layerId = data.layerFeatureTypeA.getId();
+        final CountDownLatch fetching = new CountDownLatch(1);
+        final CountDownLatch applied = new CountDownLatch(1);
+        doAnswer(
+                        invocation -> {
+                            CatalogFacade to = invocation.getArgument(0);
+                            source.getRawFacade().syncTo(to);
+                            nearCache.applyRemove(layerId, LayerInfo.class);
+                            return null;
+                        })
+                .when(remote)
+                .syncTo(any(CatalogFacade.class));
+        when(remote.getLayer(layerId))
+                .thenAnswer(
+                        invocation -> {
+                            fetching.countDown();
+                            assertTrue(applied.await(5, TimeUnit.SECONDS));
+                            return null;
+                        });
+
+        Thread listener =
+                new Thread(
+                        () -> {
+                            try {
+                                fetching.await();
+                                nearCache.onUpdateSequence(11);
+                                applied.countDown();
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        });
+        listener.start();
+        assertTrue(nearCache.warm());
+        listener.join();
+        assertNull(nearCache.getLayer(layerId));
+        assertEquals(11, nearCache.getAppliedSequence());
+    }
+
+    /** Applies a change to the replica, as if received from the event bus */
+    private void applyChange() {
+        Patch patch = new Patch();
+        patch.add("title", "changed");
+        nearCache.applyUpdate(data.layerFeatureTypeA.getId(), LayerInfo.class, patch);
+    }
+}
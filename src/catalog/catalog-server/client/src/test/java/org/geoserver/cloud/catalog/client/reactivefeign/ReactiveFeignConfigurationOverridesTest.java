@@ -0,0 +1,168 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.client.reactivefeign;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.sun.net.httpserver.HttpServer;
+
+import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.catalog.impl.WorkspaceInfoImpl;
+import org.geoserver.cloud.autoconfigure.jackson.GeoServerJacksonBindingsAutoConfiguration;
+import org.geoserver.cloud.autoconfigure.jackson.GeoServerSmileCodecsAutoConfiguration;
+import org.geoserver.cloud.autoconfigure.jackson.GeoToolsJacksonBindingsAutoConfiguration;
+import org.geoserver.cloud.catalog.client.reactivefeign.ReactiveFeignConfigurationOverrides.SmileAcceptHeaderInterceptor;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.http.codec.CodecsAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.function.client.WebClientAutoConfiguration;
+import org.springframework.boot.context.annotation.UserConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cloud.openfeign.FeignAutoConfiguration;
+import org.springframework.http.HttpHeaders;
+
+import reactivefeign.spring.config.ReactiveFeignAutoConfiguration;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+public class ReactiveFeignConfigurationOverridesTest {
+
+    private static final String ACCEPT_SMILE = SmileAcceptHeaderInterceptor.ACCEPT_SMILE;
+
+    private static final String SMILE_STREAM = "application/stream+x-jackson-smile";
+
+    private HttpServer server;
+
+    /** The {@code Accept} header received by {@link #server} */
+    private final AtomicReference<String> accept = new AtomicReference<>();
+
+    private ApplicationContextRunner contextRunner;
+
+    public @Before void before() throws IOException {
+        final byte[] body = encodeSmile(workspace("ws1"), workspace("ws2"));
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext(
+                "/api/v1/catalog/workspaces",
+                exchange -> {
+                    accept.set(exchange.getRequestHeaders().getFirst(HttpHeaders.ACCEPT));
+                    exchange.getResponseHeaders().set(HttpHeaders.CONTENT_TYPE, SMILE_STREAM);
+                    exchange.sendResponseHeaders(200, body.length);
+                    try (OutputStream out = exchange.getResponseBody()) {
+                        out.write(body);
+                    }
+                });
+        server.start();
+
+        contextRunner =
+                new ApplicationContextRunner()
+                        .withAllowBeanDefinitionOverriding(true)
+                        .withPropertyValues(
+                                "reactive.feign.loadbalancer.enabled=false",
+                                "geoserver.backend.catalog-service.uri=http://localhost:"
+                                        + server.getAddress().getPort(),
+                                "geoserver.backend.catalog-service.binary-encoding=true")
+                        .withConfiguration(
+                                AutoConfigurations.of(
+                                        ReactiveFeignAutoConfiguration.class,
+                                        FeignAutoConfiguration.class,
+                                        WebClientAutoConfiguration.class,
+                                        CodecsAutoConfiguration.class,
+                                        JacksonAutoConfiguration.class,
+                                        GeoToolsJacksonBindingsAutoConfiguration.class,
+                                        GeoServerJacksonBindingsAutoConfiguration.class,
+                                        GeoServerSmileCodecsAutoConfiguration.class))
+                        .withConfiguration(
+                                UserConfigurations.of(ReactiveCatalogApiClientConfiguration.class));
+    }
+
+    public @After void after() {
+        server.stop(0);
+    }
+
+    /**
+     * The interceptor modifies the request headers in place, and the streamed Smile response is
+     * decoded by the {@code WebClient} Smile decoder, which needs the GeoServer jackson modules to
+     * decode catalog objects
+     */
+    public @Test void testSmileRoundTrip() {
+        contextRunner.run(
+                context -> {
+                    ReactiveCatalogClient client = context.getBean(ReactiveCatalogClient.class);
+                    List<CatalogInfo> infos =
+                            client.<CatalogInfo>findAll("workspaces", null).collectList().block();
+
+                    assertEquals(ACCEPT_SMILE, accept.get());
+                    assertThat(infos).allMatch(WorkspaceInfo.class::isInstance);
+                    assertEquals(
+                            List.of("ws1", "ws2"),
+                            infos.stream()
+                                    .map(w -> ((WorkspaceInfo) w).getName())
+                                    .collect(Collectors.toList()));
+                });
+    }
+
+    public @Test void testInterceptorOnlySetsTheCatalogApiAcceptHeader() {
+        Map<String, List<String>> headers = new HashMap<>();
+        SmileAcceptHeaderInterceptor.acceptSmile(
+                URI.create("http://catalog-service/api/v1/catalog/workspaces"), headers);
+        assertEquals(List.of(ACCEPT_SMILE), headers.get(HttpHeaders.ACCEPT));
+
+        headers = new HashMap<>();
+        SmileAcceptHeaderInterceptor.acceptSmile(
+                URI.create("http://catalog-service/api/v1/config/global"), headers);
+        assertFalse(headers.containsKey(HttpHeaders.ACCEPT));
+
+        headers = new HashMap<>();
+        SmileAcceptHeaderInterceptor.acceptSmile(
+                URI.create("http://catalog-service/api/v1/resources/styles/style.sld"), headers);
+        assertFalse(headers.containsKey(HttpHeaders.ACCEPT));
+    }
+
+    public @Test void testInterceptorKeepsTheDeclaredAcceptHeader() {
+        URI uri = URI.create("http://catalog-service/api/v1/catalog/workspaces");
+        Map<String, List<String>> headers = new HashMap<>();
+        headers.put("accept", List.of("application/json"));
+        SmileAcceptHeaderInterceptor.acceptSmile(uri, headers);
+        assertEquals(Map.of("accept", List.of("application/json")), headers);
+    }
+
+    private WorkspaceInfo workspace(String name) {
+        WorkspaceInfoImpl workspace = new WorkspaceInfoImpl();
+        workspace.setId(name + "-id");
+        workspace.setName(name);
+        return workspace;
+    }
+
+    /** Encodes {@code infos} as a sequence of root values, like the catalog-service streams */
+    private byte[] encodeSmile(CatalogInfo... infos) throws IOException {
+        ObjectMapper mapper = new ObjectMapper(new SmileFactory());
+        mapper.findAndRegisterModules();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (SequenceWriter writer = mapper.writer().writeValues(out)) {
+            for (CatalogInfo info : infos) {
+                writer.write(info);
+            }
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.client.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import org.geoserver.cloud.catalog.client.repository.CatalogClientCallAdapter.Outcome;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+public class CatalogClientCallAdapterTest {
+
+    private CatalogClientCallAdapter adapter;
+    private List<Outcome> outcomes;
+
+    public @Before void setUp() {
+        adapter = new CatalogClientCallAdapter(2, 10);
+        adapter.setTimeout(Duration.ofMillis(200));
+        adapter.setFailureThreshold(2);
+        adapter.setOpenDuration(Duration.ofMillis(300));
+        outcomes = new CopyOnWriteArrayList<>();
+        adapter.setListener((endpoint, outcome, elapsed) -> outcomes.add(outcome));
+    }
+
+    public @After void tearDown() {
+        adapter.dispose();
+    }
+
+    public @Test void blockOptional() {
+        assertEquals(Optional.of("value"), adapter.blockOptional("layers", Mono.just("value")));
+        assertEquals(Optional.empty(), adapter.blockOptional("layers", Mono.empty()));
+        assertEquals(List.of(Outcome.SUCCESS, Outcome.SUCCESS), outcomes);
+    }
+
+    public @Test void blockOptionalFromNonBlockingThreadUsesExecutor() {
+        Mono<String> call = Mono.fromCallable(() -> Thread.currentThread().getName());
+        String threadName =
+                Mono.fromCallable(() -> adapter.blockOptional("layers", call).orElseThrow())
+                        .subscribeOn(Schedulers.parallel())
+                        .block();
+        assertTrue(threadName, threadName.startsWith("catalog-client-"));
+    }
+
+    public @Test void timeout() {
+        Mono<String> call = Mono.just("value").delayElement(Duration.ofSeconds(2));
+        RuntimeException e =
+                assertThrows(RuntimeException.class, () -> adapter.blockOptional("layers", call));
+        assertTrue(Exceptions.unwrap(e) instanceof TimeoutException);
+        assertEquals(List.of(Outcome.TIMEOUT), outcomes);
+    }
+
+    public @Test void circuitBreakerOpensAfterConsecutiveServiceFailures() throws Exception {
+        AtomicInteger subscriptions = new AtomicInteger();
+        Mono<String> failing =
+                Mono.defer(
+                        () -> {
+                            subscriptions.incrementAndGet();
+                            return Mono.error(new IOException("connection refused"));
+                        });
+        assertThrows(RuntimeException.class, () -> adapter.blockOptional("layers", failing));
+        assertFalse(adapter.isOpen("layers"));
+        assertThrows(RuntimeException.class, () -> adapter.blockOptional("layers", failing));
+        assertTrue(adapter.isOpen("layers"));
+        assertEquals(1, adapter.getOpenCircuits());
+
+        // fails fast
+        assertThrows(IllegalStateException.class, () -> adapter.blockOptional("layers", failing));
+        assertEquals(2, subscriptions.get());
+        assertEquals(List.of(Outcome.ERROR, Outcome.ERROR, Outcome.REJECTED), outcomes);
+
+        // other endpoints are not affected
+        assertEquals(Optional.of("ws"), adapter.blockOptional("workspaces", Mono.just("ws")));
+
+        // half-open, the trial call closes it
+        Thread.sleep(adapter.getOpenDuration().toMillis() + 50);
+        assertEquals(Optional.of("value"), adapter.blockOptional("layers", Mono.just("value")));
+        assertFalse(adapter.isOpen("layers"));
+        assertEquals(0, adapter.getOpenCircuits());
+    }
+
+    public @Test void circuitBreakerReopensIfTrialCallFails() throws Exception {
+        Mono<String> failing = Mono.error(new IOException("connection refused"));
+        assertThrows(RuntimeException.class, () -> adapter.blockOptional("layers", failing));
+        assertThrows(RuntimeException.class, () -> adapter.blockOptional("layers", failing));
+        assertTrue(adapter.isOpen("layers"));
+
+        Thread.sleep(adapter.getOpenDuration().toMillis() + 50);
+        assertFalse(adapter.isOpen("layers"));
+        assertThrows(RuntimeException.class, () -> adapter.blockOptional("layers", failing));
+        assertTrue(adapter.isOpen("layers"));
+    }
+
+    public @Test void clientErrorsDontOpenTheCircuit() {
+        Mono<String> failing = Mono.error(new IllegalArgumentException("bad request"));
+        for (int i = 0; i < 5; i++) {
+            assertThrows(
+                    IllegalArgumentException.class,
+                    () -> adapter.blockOptional("layers", failing));
+        }
+        assertFalse(adapter.isOpen("layers"));
+    }
+
+    public @Test void async() throws Exception {
+        CompletableFuture<Optional<String>> future = adapter.async("layers", Mono.just("value"));
+        assertEquals(Optional.of("value"), future.get());
+
+        future = adapter.async("layers", Mono.empty());
+        assertEquals(Optional.empty(), future.get());
+        assertEquals(List.of(Outcome.SUCCESS, Outcome.SUCCESS), outcomes);
+    }
+
+    public @Test void asyncTimeout() {
+        Mono<String> call = Mono.just("value").delayElement(Duration.ofSeconds(2));
+        CompletableFuture<Optional<String>> future = adapter.async("layers", call);
+        ExecutionException e = assertThrows(ExecutionException.class, future::get);
+        assertTrue(e.getCause() instanceof TimeoutException);
+        assertEquals(List.of(Outcome.TIMEOUT), outcomes);
+    }
+
+    public @Test void asyncFailsFastIfCircuitIsOpen() {
+        Mono<String> failing = Mono.error(new IOException("connection refused"));
+        assertThrows(RuntimeException.class, () -> adapter.blockOptional("layers", failing));
+        assertThrows(RuntimeException.class, () -> adapter.blockOptional("layers", failing));
+
+        CompletableFuture<Optional<String>> future = adapter.async("layers", Mono.just("value"));
+        assertTrue(future.isCompletedExceptionally());
+        ExecutionException e = assertThrows(ExecutionException.class, future::get);
+        assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+
+    public @Test void stream() {
+        Flux<Integer> call = Flux.range(0, 10);
+        List<Integer> result =
+                adapter.stream("layers", call).toStream().collect(Collectors.toList());
+        assertEquals(10, result.size());
+        assertEquals(List.of(Outcome.SUCCESS), outcomes);
+    }
+
+    public @Test void streamTimeoutBetweenElements() {
+        Flux<Integer> call =
+                Flux.concat(Flux.range(0, 2), Flux.just(2).delayElements(Duration.ofSeconds(2)));
+        Flux<Integer> stream = adapter.stream("layers", call);
+        assertThrows(
+                RuntimeException.class, () -> stream.toStream().collect(Collectors.toList()));
+        assertEquals(List.of(Outcome.TIMEOUT), outcomes);
+    }
+
+    public @Test void streamCancelled() {
+        Flux<Integer> call = Flux.range(0, 10);
+        assertEquals(Integer.valueOf(0), adapter.stream("layers", call).blockFirst());
+        assertEquals(List.of(Outcome.CANCELLED), outcomes);
+    }
+
+    public @Test void cancelledStreamDoesNotCloseHalfOpenCircuit() throws Exception {
+        Mono<String> failing = Mono.error(new IOException("connection refused"));
+        assertThrows(RuntimeException.class, () -> adapter.blockOptional("layers", failing));
+        assertThrows(RuntimeException.class, () -> adapter.blockOptional("layers", failing));
+        assertTrue(adapter.isOpen("layers"));
+
+        // half-open, the cancelled trial call tells nothing about the service health
+        Thread.sleep(adapter.getOpenDuration().toMillis() + 50);
+        Flux<Integer> call = Flux.range(0, 10);
+        assertEquals(Integer.valueOf(0), adapter.stream("layers", call).blockFirst());
+
+        // the next call is the trial one, and its failure opens the circuit again
+        assertThrows(RuntimeException.class, () -> adapter.blockOptional("layers", failing));
+        assertTrue(adapter.isOpen("layers"));
+    }
+
+    public @Test void isServiceFailure() {
+        assertTrue(CatalogClientCallAdapter.isServiceFailure(new TimeoutException()));
+        assertTrue(CatalogClientCallAdapter.isServiceFailure(new IOException()));
+        assertTrue(
+                CatalogClientCallAdapter.isServiceFailure(
+                        new IllegalStateException(new ConnectException())));
+        assertFalse(CatalogClientCallAdapter.isServiceFailure(new IllegalArgumentException()));
+    }
+}
@@ -21,6 +21,7 @@ import org.geoserver.catalog.StoreInfo;
 import org.geoserver.catalog.StyleInfo;
 import org.geoserver.catalog.WorkspaceInfo;
 import org.geoserver.catalog.impl.ClassMappings;
+import org.geoserver.catalog.plugin.ExpandedInfo;
 import org.geoserver.catalog.plugin.Patch;
 import org.geoserver.catalog.plugin.Query;
 import org.geoserver.cloud.catalog.server.service.ProxyResolver;
@@ -43,13 +44,26 @@ import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-/** */
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Catalog service REST API.
+ *
+ * <p>Streamed responses are encoded as {@link #APPLICATION_STREAM_SMILE_VALUE Smile} (binary JSON)
+ * instead of JSON if requested through the {@code Accept} header, reducing the payload size and
+ * parsing time for large catalogs.
+ */
 @RestController
 @RequestMapping(path = ReactiveCatalogController.BASE_URI)
 public class ReactiveCatalogController {
 
     public static final String BASE_URI = "/api/v1/catalog";
 
+    /** Streaming Smile (binary JSON) media type, alternative to {@code application/stream+json} */
+    public static final String APPLICATION_STREAM_SMILE_VALUE =
+            "application/stream+x-jackson-smile";
+
     private ReactiveCatalog catalog;
 
     private ProxyResolver proxyResolver;
@@ -67,6 +81,19 @@ public class ReactiveCatalogController {
         return catalog.create(Mono.just(info).flatMap(proxyResolver::resolve));
     }
 
+    /**
+     * Creates all the objects streamed in the request body, resolving their references as they
+     * arrive.
+     *
+     * @return the number of objects created
+     */
+    @PostMapping(path = "/{endpoint}/batch", consumes = APPLICATION_STREAM_JSON_VALUE)
+    public <C extends CatalogInfo> Mono<Long> createAll(
+            @PathVariable("endpoint") String endpoint, @RequestBody Flux<C> infos) {
+
+        return catalog.createAll(infos.concatMap(proxyResolver::resolve)).count();
+    }
+
     @PatchMapping(path = "/{endpoint}/{id}")
     public Mono<? extends CatalogInfo> update(
             @PathVariable("endpoint") String endpoint,
@@ -114,7 +141,23 @@ public class ReactiveCatalogController {
                         noContent("%s with id '%s' does not exist", type.getSimpleName(), id));
     }
 
-    @GetMapping(path = "/{endpoint}", produces = APPLICATION_STREAM_JSON_VALUE)
+    /**
+     * Deletes all the objects whose ids are streamed in the request body, ignoring the ones that
+     * don't exist.
+     *
+     * @return the number of objects deleted
+     */
+    @PostMapping(path = "/{endpoint}/batch/delete", consumes = APPLICATION_STREAM_JSON_VALUE)
+    public Mono<Long> deleteAllById(
+            @PathVariable("endpoint") String endpoint, @RequestBody Flux<String> ids) {
+
+        Class<? extends CatalogInfo> type = endpointToClass(endpoint, null);
+        return catalog.deleteAll(ids.concatMap(id -> catalog.getById(id, type))).count();
+    }
+
+    @GetMapping(
+            path = "/{endpoint}",
+            produces = {APPLICATION_STREAM_JSON_VALUE, APPLICATION_STREAM_SMILE_VALUE})
     public Flux<? extends CatalogInfo> findAll(
             @PathVariable("endpoint") String endpoint,
             @RequestParam(name = "type", required = false) ClassMappings subType) {
@@ -123,6 +166,21 @@ public class ReactiveCatalogController {
         return catalog.getAll(type);
     }
 
+    /**
+     * {@code expand=true} variant of {@link #findAll}, pairing each object with the objects it
+     * references, see {@link ReferenceExpander}
+     */
+    @GetMapping(
+            path = "/{endpoint}",
+            params = "expand=true",
+            produces = {APPLICATION_STREAM_JSON_VALUE, APPLICATION_STREAM_SMILE_VALUE})
+    public Flux<ExpandedInfo> findAllExpanded(
+            @PathVariable("endpoint") String endpoint,
+            @RequestParam(name = "type", required = false) ClassMappings subType) {
+
+        return findAll(endpoint, subType).map(new ReferenceExpander());
+    }
+
     @GetMapping(path = {"/{endpoint}/{id}"})
     public Mono<? extends CatalogInfo> findById( //
             @PathVariable("endpoint") String endpoint,
@@ -140,6 +198,83 @@ public class ReactiveCatalogController {
                                 type.getInterface().getSimpleName(), id));
     }
 
+    /**
+     * {@code expand=true} variant of {@link #findById}, pairing the object with the objects it
+     * references, see {@link ReferenceExpander}
+     */
+    @GetMapping(path = {"/{endpoint}/{id}"}, params = "expand=true")
+    public Mono<ExpandedInfo> findByIdExpanded( //
+            @PathVariable("endpoint") String endpoint,
+            @PathVariable("id") String id,
+            @RequestParam(name = "type", required = false) ClassMappings subType) {
+
+        return findById(endpoint, id, subType).map(new ReferenceExpander());
+    }
+
+    /**
+     * Finds all the objects whose ids are in the request body with a single request, skipping the
+     * ones that don't exist.
+     */
+    @PostMapping(
+            path = "/{endpoint}/ids",
+            produces = {APPLICATION_STREAM_JSON_VALUE, APPLICATION_STREAM_SMILE_VALUE})
+    public Flux<? extends CatalogInfo> findAllById( //
+            @PathVariable("endpoint") String endpoint,
+            @RequestParam(name = "type", required = false) ClassMappings subType,
+            @RequestBody List<String> ids) {
+
+        Class<? extends CatalogInfo> type = endpointToClass(endpoint, subType);
+        return catalog.getAllById(Flux.fromIterable(ids), type);
+    }
+
+    /**
+     * {@code expand=true} variant of {@link #findAllById(String, ClassMappings, List)}, pairing
+     * each object with the objects it references, see {@link ReferenceExpander}
+     */
+    @PostMapping(
+            path = "/{endpoint}/ids",
+            params = "expand=true",
+            produces = {APPLICATION_STREAM_JSON_VALUE, APPLICATION_STREAM_SMILE_VALUE})
+    public Flux<ExpandedInfo> findAllByIdExpanded( //
+            @PathVariable("endpoint") String endpoint,
+            @RequestParam(name = "type", required = false) ClassMappings subType,
+            @RequestBody List<String> ids) {
+
+        return findAllById(endpoint, subType, ids).map(new ReferenceExpander());
+    }
+
+    /**
+     * Finds all the objects of any type whose ids are in the request body, grouped by type, with a
+     * single request, skipping the ones that don't exist. For example, to resolve at once the
+     * references of an object graph.
+     */
+    @PostMapping(
+            path = "/ids",
+            produces = {APPLICATION_STREAM_JSON_VALUE, APPLICATION_STREAM_SMILE_VALUE})
+    public Flux<CatalogInfo> findAllById(
+            @RequestBody Map<ClassMappings, List<String>> idsByType) {
+
+        // validate up front, a streamed response's status can't change once the first object is out
+        idsByType.keySet().forEach(this::type);
+        return Flux.fromIterable(idsByType.entrySet())
+                .concatMap(
+                        e -> catalog.getAllById(Flux.fromIterable(e.getValue()), type(e.getKey())));
+    }
+
+    /**
+     * {@code expand=true} variant of {@link #findAllById(Map)}, pairing each object with the
+     * objects it references, see {@link ReferenceExpander}
+     */
+    @PostMapping(
+            path = "/ids",
+            params = "expand=true",
+            produces = {APPLICATION_STREAM_JSON_VALUE, APPLICATION_STREAM_SMILE_VALUE})
+    public Flux<ExpandedInfo> findAllByIdExpanded(
+            @RequestBody Map<ClassMappings, List<String>> idsByType) {
+
+        return findAllById(idsByType).map(new ReferenceExpander());
+    }
+
     @GetMapping(path = "/{endpoint}/name/{name}/first")
     public Mono<? extends CatalogInfo> findFirstByName( //
             @PathVariable("endpoint") String endpoint,
@@ -161,18 +296,36 @@ public class ReactiveCatalogController {
         return catalog.canSortBy(type, propertyName);
     }
 
-    @GetMapping(path = "/query/capabilities/functions", produces = APPLICATION_STREAM_JSON_VALUE)
+    @GetMapping(
+            path = "/query/capabilities/functions",
+            produces = {APPLICATION_STREAM_JSON_VALUE, APPLICATION_STREAM_SMILE_VALUE})
     public Flux<FunctionName> getSupportedFilterFunctionNames() {
         return catalog.getSupportedFunctionNames();
     }
 
-    @PostMapping(path = "/{endpoint}/query", produces = APPLICATION_STREAM_JSON_VALUE)
+    @PostMapping(
+            path = "/{endpoint}/query",
+            produces = {APPLICATION_STREAM_JSON_VALUE, APPLICATION_STREAM_SMILE_VALUE})
     public <C extends CatalogInfo> Flux<C> query( //
             @PathVariable("endpoint") String endpoint, @RequestBody Query<C> query) {
 
         return catalog.query(query);
     }
 
+    /**
+     * {@code expand=true} variant of {@link #query}, pairing each object with the objects it
+     * references, see {@link ReferenceExpander}
+     */
+    @PostMapping(
+            path = "/{endpoint}/query",
+            params = "expand=true",
+            produces = {APPLICATION_STREAM_JSON_VALUE, APPLICATION_STREAM_SMILE_VALUE})
+    public <C extends CatalogInfo> Flux<ExpandedInfo> queryExpanded( //
+            @PathVariable("endpoint") String endpoint, @RequestBody Query<C> query) {
+
+        return query(endpoint, query).map(new ReferenceExpander());
+    }
+
     @PostMapping(path = "/{endpoint}/query/count")
     public <C extends CatalogInfo> Mono<Long> count(
             @PathVariable("endpoint") String endpoint, @RequestBody Query<C> query) {
@@ -223,12 +376,16 @@ public class ReactiveCatalogController {
                 .switchIfEmpty(noContent("No NamespaceInfo found for uri %s", uri));
     }
 
-    @GetMapping(path = "namespaces/uri/all", produces = APPLICATION_STREAM_JSON_VALUE)
+    @GetMapping(
+            path = "namespaces/uri/all",
+            produces = {APPLICATION_STREAM_JSON_VALUE, APPLICATION_STREAM_SMILE_VALUE})
     public Flux<NamespaceInfo> findAllNamespacesByURI(@RequestParam("uri") String uri) {
         return catalog.getAllNamespacesByURI(uri);
     }
 
-    @GetMapping(path = "/stores/defaults", produces = APPLICATION_STREAM_JSON_VALUE)
+    @GetMapping(
+            path = "/stores/defaults",
+            produces = {APPLICATION_STREAM_JSON_VALUE, APPLICATION_STREAM_SMILE_VALUE})
     public Flux<DataStoreInfo> getDefaultDataStores() {
         return catalog.getDefaultDataStores();
     }
@@ -267,7 +424,9 @@ public class ReactiveCatalogController {
                 .switchIfEmpty(noContent("Workspace not found: %s", workspaceId));
     }
 
-    @GetMapping(path = "/workspaces/{workspaceId}/stores", produces = APPLICATION_STREAM_JSON_VALUE)
+    @GetMapping(
+            path = "/workspaces/{workspaceId}/stores",
+            produces = {APPLICATION_STREAM_JSON_VALUE, APPLICATION_STREAM_SMILE_VALUE})
     public Flux<? extends StoreInfo> findStoresByWorkspaceId( //
             @PathVariable("workspaceId") String workspaceId,
             @RequestParam(name = "type", required = false) ClassMappings subType) {
@@ -310,14 +469,18 @@ public class ReactiveCatalogController {
                 .switchIfEmpty(noContent("Namesapce does not exist: %s", namespaceId));
     }
 
-    @GetMapping(path = "/layers/style/{styleId}", produces = APPLICATION_STREAM_JSON_VALUE)
+    @GetMapping(
+            path = "/layers/style/{styleId}",
+            produces = {APPLICATION_STREAM_JSON_VALUE, APPLICATION_STREAM_SMILE_VALUE})
     public Flux<LayerInfo> findLayersWithStyle(@PathVariable("styleId") String styleId) {
         return catalog.getById(styleId, StyleInfo.class)
                 .switchIfEmpty(noContent("Style does not exist: %s", styleId))
                 .flatMapMany(s -> catalog.getLayersWithStyle(s));
     }
 
-    @GetMapping(path = "/layers/resource/{resourceId}", produces = APPLICATION_STREAM_JSON_VALUE)
+    @GetMapping(
+            path = "/layers/resource/{resourceId}",
+            produces = {APPLICATION_STREAM_JSON_VALUE, APPLICATION_STREAM_SMILE_VALUE})
     public Flux<LayerInfo> findLayersByResourceId(@PathVariable("resourceId") String resourceId) {
 
         return catalog.getById(resourceId, ResourceInfo.class)
@@ -325,14 +488,16 @@ public class ReactiveCatalogController {
                 .flatMapMany(r -> catalog.getLayersByResource(r));
     }
 
-    @GetMapping(path = "/layergroups/noworkspace", produces = APPLICATION_STREAM_JSON_VALUE)
+    @GetMapping(
+            path = "/layergroups/noworkspace",
+            produces = {APPLICATION_STREAM_JSON_VALUE, APPLICATION_STREAM_SMILE_VALUE})
     public Flux<LayerGroupInfo> findLayerGroupsByNullWoskspace() {
         return catalog.getLayerGroupsWithNoWoskspace();
     }
 
     @GetMapping(
             path = "/workspaces/{workspaceId}/layergroups",
-            produces = APPLICATION_STREAM_JSON_VALUE)
+            produces = {APPLICATION_STREAM_JSON_VALUE, APPLICATION_STREAM_SMILE_VALUE})
     public Flux<LayerGroupInfo> findLayerGroupsByWoskspaceId(
             @PathVariable("workspaceId") String workspaceId) {
 
@@ -361,12 +526,16 @@ public class ReactiveCatalogController {
                 .switchIfEmpty(noContent("Workspace does not exist: %s", workspaceId));
     }
 
-    @GetMapping(path = "/styles/noworkspace", produces = APPLICATION_STREAM_JSON_VALUE)
+    @GetMapping(
+            path = "/styles/noworkspace",
+            produces = {APPLICATION_STREAM_JSON_VALUE, APPLICATION_STREAM_SMILE_VALUE})
     public Flux<StyleInfo> findStylesByNullWorkspace() {
         return catalog.getStylesWithNoWorkspace();
     }
 
-    @GetMapping(path = "/workspaces/{workspaceId}/styles", produces = APPLICATION_STREAM_JSON_VALUE)
+    @GetMapping(
+            path = "/workspaces/{workspaceId}/styles",
+            produces = {APPLICATION_STREAM_JSON_VALUE, APPLICATION_STREAM_SMILE_VALUE})
     public Flux<StyleInfo> findStylesByWorkspaceId(
             @PathVariable(name = "workspaceId") String workspaceId) {
 
@@ -392,6 +561,16 @@ public class ReactiveCatalogController {
                 .switchIfEmpty(noContent("Style named '%s' does not exist", name));
     }
 
+    /** @throws ResponseStatusException with status 400 if {@code type} is not a catalog type */
+    @SuppressWarnings("unchecked")
+    private @NonNull Class<CatalogInfo> type(@NonNull ClassMappings type) {
+        if (!CatalogInfo.class.isAssignableFrom(type.getInterface())) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, type + " is not a catalog type");
+        }
+        return (Class<CatalogInfo>) type.getInterface();
+    }
+
     @SuppressWarnings("unchecked")
     private @NonNull Class<? extends CatalogInfo> endpointToClass(@NonNull String endpoint) {
         return (@NonNull Class<? extends CatalogInfo>) endpointToType(endpoint).getInterface();
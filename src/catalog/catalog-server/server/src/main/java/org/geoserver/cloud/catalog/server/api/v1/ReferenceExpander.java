@@ -0,0 +1,80 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.catalog.server.api.v1;
+
+import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.LayerGroupInfo;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.ResourceInfo;
+import org.geoserver.catalog.StoreInfo;
+import org.geoserver.catalog.StyleInfo;
+import org.geoserver.catalog.impl.ResolvingProxy;
+import org.geoserver.catalog.plugin.ExpandedInfo;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Pairs catalog objects with the objects they reference, directly or indirectly, for the {@code
+ * expand=true} variants of the {@link ReactiveCatalogController} read endpoints.
+ *
+ * <p>Keeps track of the objects already sent, so each one is embedded only the first time it's
+ * needed within a response, dependencies first. Hence an instance shall be used for a single
+ * response.
+ */
+class ReferenceExpander implements Function<CatalogInfo, ExpandedInfo> {
+
+    private final Set<String> sent = new HashSet<>();
+
+    public @Override ExpandedInfo apply(CatalogInfo info) {
+        sent.add(info.getId());
+        List<CatalogInfo> references = new ArrayList<>();
+        references(info).forEach(ref -> expand(ref, references));
+        return new ExpandedInfo(info, references);
+    }
+
+    private void expand(CatalogInfo ref, List<CatalogInfo> references) {
+        if (ref == null || isResolvingProxy(ref) || !sent.add(ref.getId())) {
+            return;
+        }
+        references(ref).forEach(r -> expand(r, references));
+        references.add(ref);
+    }
+
+    private List<CatalogInfo> references(CatalogInfo info) {
+        List<CatalogInfo> refs = new ArrayList<>();
+        if (info instanceof StyleInfo) {
+            refs.add(((StyleInfo) info).getWorkspace());
+        } else if (info instanceof StoreInfo) {
+            refs.add(((StoreInfo) info).getWorkspace());
+        } else if (info instanceof ResourceInfo) {
+            refs.add(((ResourceInfo) info).getNamespace());
+            refs.add(((ResourceInfo) info).getStore());
+        } else if (info instanceof LayerInfo) {
+            LayerInfo layer = (LayerInfo) info;
+            refs.add(layer.getResource());
+            refs.add(layer.getDefaultStyle());
+            refs.addAll(layer.getStyles());
+        } else if (info instanceof LayerGroupInfo) {
+            LayerGroupInfo lg = (LayerGroupInfo) info;
+            refs.add(lg.getWorkspace());
+            refs.add(lg.getRootLayer());
+            refs.add(lg.getRootLayerStyle());
+            refs.addAll(lg.getLayers());
+            refs.addAll(lg.getStyles());
+        }
+        return refs;
+    }
+
+    /** Dangling references are sent as is, there's nothing to expand */
+    private boolean isResolvingProxy(CatalogInfo info) {
+        return Proxy.isProxyClass(info.getClass())
+                && Proxy.getInvocationHandler(info) instanceof ResolvingProxy;
+    }
+}
@@ -27,14 +27,23 @@ public interface ReactiveCatalog {
 
     <C extends CatalogInfo> Mono<C> create(@NonNull Mono<C> info);
 
+    /** Adds all the objects in {@code infos}, in order, emitting them once added */
+    <C extends CatalogInfo> Flux<C> createAll(@NonNull Flux<C> infos);
+
     <C extends CatalogInfo> Mono<C> update(@NonNull C info, @NonNull Mono<Patch> patch);
 
     <C extends CatalogInfo> Mono<C> delete(@NonNull C value);
 
+    /** Removes all the objects in {@code infos}, in order, emitting them once removed */
+    <C extends CatalogInfo> Flux<C> deleteAll(@NonNull Flux<C> infos);
+
     <C extends CatalogInfo> Flux<C> getAll(@NonNull Class<C> type);
 
     <C extends CatalogInfo> Mono<C> getById(@NonNull String id, @NonNull Class<C> type);
 
+    /** Emits the objects of the given type whose ids are in {@code ids}, skipping missing ones */
+    <C extends CatalogInfo> Flux<C> getAllById(@NonNull Flux<String> ids, @NonNull Class<C> type);
+
     <C extends CatalogInfo> Mono<C> getFirstByName(@NonNull String name, @NonNull Class<C> type);
 
     Mono<Boolean> canSortBy(Class<? extends CatalogInfo> type, String propertyName);
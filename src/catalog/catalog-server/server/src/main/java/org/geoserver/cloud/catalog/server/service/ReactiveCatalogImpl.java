@@ -75,6 +75,10 @@ public class ReactiveCatalogImpl implements ReactiveCatalog {
         return info.subscribeOn(catalogScheduler).map(blockingCatalog::add);
     }
 
+    public @Override <C extends CatalogInfo> Flux<C> createAll(@NonNull Flux<C> infos) {
+        return infos.publishOn(catalogScheduler).map(blockingCatalog::add);
+    }
+
     public <C extends CatalogInfo> Mono<C> update(@NonNull C info, @NonNull Mono<Patch> patch) {
         return patch.subscribeOn(catalogScheduler).map(p -> blockingCatalog.update(info, p));
     }
@@ -83,6 +87,10 @@ public class ReactiveCatalogImpl implements ReactiveCatalog {
         return Mono.just(info).subscribeOn(catalogScheduler).map(blockingCatalog::delete);
     }
 
+    public @Override <C extends CatalogInfo> Flux<C> deleteAll(@NonNull Flux<C> infos) {
+        return infos.publishOn(catalogScheduler).map(blockingCatalog::delete);
+    }
+
     public @Override <C extends CatalogInfo> Flux<C> getAll(@NonNull Class<C> type) {
         return query(Query.all(type));
     }
@@ -93,6 +101,17 @@ public class ReactiveCatalogImpl implements ReactiveCatalog {
         return async(() -> blockingCatalog.get(id, type));
     }
 
+    public @Override <C extends CatalogInfo> Flux<C> getAllById(
+            @NonNull Flux<String> ids, @NonNull Class<C> type) {
+
+        return ids.publishOn(catalogScheduler)
+                .handle(
+                        (id, sink) -> {
+                            C found = blockingCatalog.get(id, type);
+                            if (found != null) sink.next(found);
+                        });
+    }
+
     public @Override <C extends CatalogInfo> Mono<C> getFirstByName(
             @NonNull String name, @NonNull Class<C> type) {
 
@@ -9,15 +9,20 @@ import static org.junit.Assert.assertTrue;
 
 import com.google.common.collect.Sets;
 
+import org.geoserver.catalog.CatalogInfo;
 import org.geoserver.catalog.LayerInfo;
 import org.geoserver.catalog.StyleInfo;
+import org.geoserver.catalog.impl.ClassMappings;
+import org.geoserver.catalog.plugin.ExpandedInfo;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
 import org.springframework.http.MediaType;
 
 import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -145,6 +150,159 @@ public class LayerControllerTest extends AbstractReactiveCatalogControllerTest<L
                 });
     }
 
+    public @Test void testFindAllById() {
+        LayerInfo layer1 = testData.layerFeatureTypeA;
+        LayerInfo layer2 =
+                testData.createLayer(
+                        "cov-layer-id",
+                        testData.coverageA,
+                        "coverage layer",
+                        true,
+                        testData.style1);
+        catalog.add(layer1);
+        catalog.add(layer2);
+
+        List<String> ids = List.of(layer1.getId(), "non-existent-id", layer2.getId());
+        client().doPost(ids, "/layers/ids")
+                .expectStatus()
+                .isOk()
+                .expectHeader()
+                .contentType(MediaType.APPLICATION_STREAM_JSON)
+                .expectBodyList(LayerInfo.class)
+                .consumeWith(
+                        res -> {
+                            List<String> found =
+                                    res.getResponseBody().stream()
+                                            .map(LayerInfo::getId)
+                                            .collect(Collectors.toList());
+                            assertEquals(List.of(layer1.getId(), layer2.getId()), found);
+                        });
+    }
+
+    public @Test void testFindAllByIdMixedTypes() {
+        LayerInfo layer = testData.layerFeatureTypeA;
+        catalog.add(layer);
+
+        Map<ClassMappings, List<String>> ids = new EnumMap<>(ClassMappings.class);
+        ids.put(ClassMappings.LAYER, List.of(layer.getId()));
+        ids.put(ClassMappings.RESOURCE, List.of(layer.getResource().getId()));
+        ids.put(ClassMappings.STYLE, List.of(testData.style1.getId(), "non-existent-id"));
+
+        client().doPost(ids, "/ids")
+                .expectStatus()
+                .isOk()
+                .expectHeader()
+                .contentType(MediaType.APPLICATION_STREAM_JSON)
+                .expectBodyList(CatalogInfo.class)
+                .consumeWith(
+                        res -> {
+                            List<String> found =
+                                    res.getResponseBody().stream()
+                                            .map(CatalogInfo::getId)
+                                            .collect(Collectors.toList());
+                            List<String> expected =
+                                    List.of(
+                                            layer.getResource().getId(),
+                                            layer.getId(),
+                                            testData.style1.getId());
+                            assertEquals(Set.copyOf(expected), Set.copyOf(found));
+                        });
+    }
+
+    public @Test void testFindAllByIdNonCatalogType() {
+        Map<ClassMappings, List<String>> ids = new EnumMap<>(ClassMappings.class);
+        ids.put(ClassMappings.LAYER, List.of(testData.layerFeatureTypeA.getId()));
+        ids.put(ClassMappings.GLOBAL, List.of("global-id"));
+
+        client().doPost(ids, "/ids").expectStatus().isBadRequest();
+    }
+
+    public @Test void testFindByIdExpanded() {
+        LayerInfo layer = testData.layerFeatureTypeA;
+        catalog.add(layer);
+
+        ExpandedInfo expanded =
+                client().getRelative("/layers/{id}?expand=true", layer.getId())
+                        .expectStatus()
+                        .isOk()
+                        .expectBody(ExpandedInfo.class)
+                        .returnResult()
+                        .getResponseBody();
+        assertEquals(layer.getId(), expanded.getInfo().getId());
+        List<String> references = ids(expanded.getReferences());
+        // dependencies first
+        List<String> expected =
+                List.of(
+                        testData.namespaceA.getId(),
+                        testData.workspaceA.getId(),
+                        testData.dataStoreA.getId(),
+                        testData.featureTypeA.getId(),
+                        layer.getDefaultStyle().getId());
+        assertEquals(expected, references);
+    }
+
+    public @Test void testFindAllSmile() {
+        LayerInfo layer1 = testData.layerFeatureTypeA;
+        catalog.add(layer1);
+
+        MediaType smile =
+                MediaType.parseMediaType(ReactiveCatalogController.APPLICATION_STREAM_SMILE_VALUE);
+        List<LayerInfo> response =
+                clientSupport
+                        .get()
+                        .get()
+                        .uri(ReactiveCatalogController.BASE_URI + "/layers")
+                        .accept(smile)
+                        .exchange()
+                        .expectStatus()
+                        .isOk()
+                        .expectHeader()
+                        .contentType(smile)
+                        .expectBodyList(LayerInfo.class)
+                        .returnResult()
+                        .getResponseBody();
+        assertEquals(1, response.size());
+        assertEquals(layer1.getId(), response.get(0).getId());
+        assertEquals(layer1.getResource().getId(), response.get(0).getResource().getId());
+    }
+
+    public @Test void testFindAllExpanded() {
+        LayerInfo layer1 = testData.layerFeatureTypeA;
+        LayerInfo layer2 =
+                testData.createLayer(
+                        "cov-layer-id",
+                        testData.coverageA,
+                        "coverage layer",
+                        true,
+                        testData.style1);
+        catalog.add(layer1);
+        catalog.add(layer2);
+
+        List<ExpandedInfo> response =
+                client().getRelative("/layers?expand=true")
+                        .expectStatus()
+                        .isOk()
+                        .expectHeader()
+                        .contentType(MediaType.APPLICATION_STREAM_JSON)
+                        .expectBodyList(ExpandedInfo.class)
+                        .returnResult()
+                        .getResponseBody();
+        assertEquals(2, response.size());
+        List<String> references =
+                response.stream()
+                        .flatMap(e -> e.getReferences().stream())
+                        .map(CatalogInfo::getId)
+                        .collect(Collectors.toList());
+        // each referenced object is sent only once per response, e.g. the workspace
+        assertEquals(Set.copyOf(references).size(), references.size());
+        assertTrue(references.contains(testData.workspaceA.getId()));
+        assertTrue(references.contains(testData.coverageStoreA.getId()));
+    }
+
+    private List<String> ids(List<CatalogInfo> infos) {
+        return infos.stream().map(CatalogInfo::getId).collect(Collectors.toList());
+    }
+
     public @Test void testFindLayersByResource() {
         LayerInfo layer = testData.layerFeatureTypeA;
         catalog.add(layer);
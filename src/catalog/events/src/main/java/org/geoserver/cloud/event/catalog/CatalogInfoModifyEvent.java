@@ -17,6 +17,7 @@ import org.geoserver.catalog.WorkspaceInfo;
 import org.geoserver.catalog.event.CatalogPostModifyEvent;
 import org.geoserver.catalog.plugin.Patch;
 import org.geoserver.catalog.plugin.Patch.Property;
+import org.geoserver.catalog.plugin.PatchedCatalogEvent;
 import org.geoserver.catalog.plugin.PropertyDiff;
 import org.geoserver.cloud.event.info.ConfigInfoType;
 import org.geoserver.cloud.event.info.InfoPostModifyEvent;
@@ -63,12 +64,18 @@ public class CatalogInfoModifyEvent
     public static CatalogInfoModifyEvent createLocal(@NonNull CatalogPostModifyEvent event) {
 
         final CatalogInfo info = event.getSource();
-        final Patch patch =
-                PropertyDiff.valueOf(
-                                event.getPropertyNames(),
-                                event.getOldValues(),
-                                event.getNewValues())
-                        .toPatch();
+        final Patch patch;
+        if (event instanceof PatchedCatalogEvent) {
+            // reuse the patch CatalogPlugin gave to the catalog facade
+            patch = ((PatchedCatalogEvent) event).getPatch();
+        } else {
+            patch =
+                    PropertyDiff.valueOf(
+                                    event.getPropertyNames(),
+                                    event.getOldValues(),
+                                    event.getNewValues())
+                            .toPatch();
+        }
 
         if (info instanceof Catalog) {
             Optional<Property> defaultWorkspace = patch.get("defaultWorkspace");
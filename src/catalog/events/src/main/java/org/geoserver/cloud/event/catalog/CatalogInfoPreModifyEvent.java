@@ -12,6 +12,7 @@ import lombok.NonNull;
 import org.geoserver.catalog.CatalogInfo;
 import org.geoserver.catalog.event.CatalogModifyEvent;
 import org.geoserver.catalog.plugin.Patch;
+import org.geoserver.catalog.plugin.PatchedCatalogEvent;
 import org.geoserver.catalog.plugin.PropertyDiff;
 import org.geoserver.cloud.event.info.ConfigInfoType;
 import org.geoserver.cloud.event.info.InfoPreModifyEvent;
@@ -29,10 +30,18 @@ public class CatalogInfoPreModifyEvent
     }
 
     public static CatalogInfoPreModifyEvent createLocal(@NonNull CatalogModifyEvent event) {
-        PropertyDiff diff =
-                PropertyDiff.valueOf(
-                        event.getPropertyNames(), event.getOldValues(), event.getNewValues());
-        Patch patch = diff.toPatch();
+        final Patch patch;
+        if (event instanceof PatchedCatalogEvent) {
+            // reuse the patch CatalogPlugin gives to the catalog facade
+            patch = ((PatchedCatalogEvent) event).getPatch();
+        } else {
+            patch =
+                    PropertyDiff.valueOf(
+                                    event.getPropertyNames(),
+                                    event.getOldValues(),
+                                    event.getNewValues())
+                            .toPatch();
+        }
         return new CatalogInfoPreModifyEvent(
                 resolveId(event.getSource()), typeOf(event.getSource()), patch);
     }
@@ -92,6 +92,9 @@ public class ProxyUtils {
             Set<Object> set = (Set<Object>) orig;
             return resolve(set);
         }
+        if (orig instanceof Patch.Delta) {
+            return ((Patch.Delta) orig).map(this::resolvePatchPropertyValue);
+        }
         return orig;
     }
 
@@ -4,6 +4,7 @@
  */
 package org.geoserver.jackson.databind.catalog.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 
@@ -11,12 +12,35 @@ import lombok.Data;
 
 import org.geotools.jackson.databind.filter.dto.Expression.Literal;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.TreeMap;
 
-/** DTO for {@link org.geoserver.catalog.plugin.Patch} */
+/**
+ * DTO for {@link org.geoserver.catalog.plugin.Patch}, properties are kept in the patch's own order
+ * (sorted by name) instead of being sorted again
+ */
 @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, include = JsonTypeInfo.As.WRAPPER_OBJECT)
 @JsonTypeName("Patch")
 public @Data class PatchDto {
-    private Map<String, Literal> patches = new TreeMap<>();
+    private Map<String, Literal> patches = new LinkedHashMap<>();
+
+    /**
+     * Properties patched with a {@link org.geoserver.catalog.plugin.Patch.Delta}, encoded apart
+     * from {@link #patches} so that the format of patches without deltas doesn't change
+     */
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private Map<String, DeltaDto> deltas = new LinkedHashMap<>();
+
+    /**
+     * DTO for {@link org.geoserver.catalog.plugin.Patch.CollectionDelta} ({@code removed} and
+     * {@code added}) and {@link org.geoserver.catalog.plugin.Patch.MapDelta} ({@code put} and
+     * {@code removedKeys})
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static @Data class DeltaDto {
+        private Literal removed;
+        private Literal added;
+        private Literal put;
+        private Literal removedKeys;
+    }
 }
@@ -47,6 +47,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -156,14 +157,11 @@ public abstract class SharedMappers {
 
     public Patch dtoToPatch(PatchDto dto) {
         if (dto == null) return null;
-        ExpressionMapper expressionMapper = Mappers.getMapper(ExpressionMapper.class);
         Patch patch = new Patch();
         dto.getPatches()
                 .forEach(
                         (k, literalDto) -> {
-                            org.opengis.filter.expression.Literal literal =
-                                    expressionMapper.map(literalDto);
-                            Object v = literal.getValue();
+                            Object v = literalValue(literalDto);
                             if (v instanceof InfoReference) {
                                 v = referenceToInfo((InfoReference) v);
                             } else if (v instanceof Collection) {
@@ -171,9 +169,37 @@ public abstract class SharedMappers {
                             }
                             patch.add(new Patch.Property(k, v));
                         });
+        if (dto.getDeltas() != null) {
+            dto.getDeltas().forEach((k, deltaDto) -> patch.add(k, dtoToDelta(deltaDto)));
+        }
         return patch;
     }
 
+    @SuppressWarnings("unchecked")
+    private Patch.Delta dtoToDelta(PatchDto.DeltaDto dto) {
+        if (dto.getPut() != null) {
+            Map<Object, Object> put = (Map<Object, Object>) literalValue(dto.getPut());
+            put = new LinkedHashMap<>(put);
+            List<Object> removedKeys = deltaElements(dto.getRemovedKeys());
+            return new Patch.MapDelta(put, removedKeys);
+        }
+        return new Patch.CollectionDelta(
+                deltaElements(dto.getRemoved()), deltaElements(dto.getAdded()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object> deltaElements(Literal literal) {
+        Collection<?> elements = (Collection<?>) literalValue(literal);
+        if (elements == null) return new ArrayList<>();
+        return new ArrayList<>((Collection<Object>) resolveCollection(elements));
+    }
+
+    private Object literalValue(Literal literalDto) {
+        if (literalDto == null) return null;
+        ExpressionMapper expressionMapper = Mappers.getMapper(ExpressionMapper.class);
+        return expressionMapper.map(literalDto).getValue();
+    }
+
     private Collection<?> resolveCollection(Collection<?> v) {
         @SuppressWarnings("unchecked")
         Collection<Object> resolved = (Collection<Object>) newCollectionInstance(v.getClass());
@@ -204,14 +230,36 @@ public abstract class SharedMappers {
         PatchDto dto = new PatchDto();
         for (Patch.Property propChange : patch.getPatches()) {
             String name = propChange.getName();
+            if (propChange.isDelta()) {
+                dto.getDeltas().put(name, deltaToDto((Patch.Delta) propChange.getValue()));
+                continue;
+            }
             Object value = resolvePatchValue(propChange);
-            Literal literal = new org.geotools.jackson.databind.filter.dto.Expression.Literal();
-            literal.setValue(value);
-            dto.getPatches().put(name, literal);
+            dto.getPatches().put(name, literal(value));
         }
         return dto;
     }
 
+    private PatchDto.DeltaDto deltaToDto(Patch.Delta delta) {
+        PatchDto.DeltaDto dto = new PatchDto.DeltaDto();
+        if (delta instanceof Patch.MapDelta) {
+            Patch.MapDelta mapDelta = (Patch.MapDelta) delta;
+            dto.setPut(literal(new LinkedHashMap<>(mapDelta.getPut())));
+            dto.setRemovedKeys(literal(mapDelta.getRemovedKeys()));
+        } else {
+            Patch.CollectionDelta collectionDelta = (Patch.CollectionDelta) delta;
+            dto.setRemoved(literal(patchPropertyValueToDto(collectionDelta.getRemoved())));
+            dto.setAdded(literal(patchPropertyValueToDto(collectionDelta.getAdded())));
+        }
+        return dto;
+    }
+
+    private Literal literal(Object value) {
+        Literal literal = new org.geotools.jackson.databind.filter.dto.Expression.Literal();
+        literal.setValue(value);
+        return literal;
+    }
+
     /**
      * If value is an identified {@link Info} (catalog or config object), returns an {@link
      * InfoReference} instead, to be resolved at the receiving end
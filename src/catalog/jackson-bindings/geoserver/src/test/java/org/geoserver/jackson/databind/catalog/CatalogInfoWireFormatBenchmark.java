@@ -0,0 +1,184 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.jackson.databind.catalog;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.CatalogTestData;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.catalog.plugin.CatalogPlugin;
+import org.geoserver.config.GeoServer;
+import org.geoserver.config.plugin.GeoServerImpl;
+import org.geoserver.platform.GeoServerExtensionsHelper;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the bytes on the wire and the CPU time to parse them of a large catalog, as streamed by
+ * the catalog-service, for the JSON and Smile (binary JSON) encodings.
+ *
+ * <p>Not a unit test, hence not named {@code *Test} to be left out of regular builds. Run it with
+ *
+ * <pre>{@code
+ * mvn test -Dtest=CatalogInfoWireFormatBenchmark -Dlayers=50000
+ * }</pre>
+ *
+ * from this module's directory, the results are logged at INFO level.
+ */
+@Slf4j
+public class CatalogInfoWireFormatBenchmark {
+
+    private static final int WARMUP_RUNS = 3;
+    private static final int RUNS = 5;
+
+    private final int layers = Integer.getInteger("layers", 50_000);
+
+    private List<CatalogInfo> infos;
+
+    public static @BeforeClass void oneTimeSetup() {
+        GeoServerExtensionsHelper.setIsSpringContext(false);
+    }
+
+    public @Before void before() {
+        Catalog catalog = new CatalogPlugin();
+        GeoServer geoserver = new GeoServerImpl();
+        CatalogTestData data = CatalogTestData.initialized(() -> catalog, () -> geoserver);
+        data.initialize();
+
+        infos = new ArrayList<>(2 * layers);
+        for (int i = 0; i < layers; i++) {
+            FeatureTypeInfo resource = data.createFeatureType("ft-" + i);
+            resource.setTitle("Feature type " + i);
+            resource.setNativeName("ft_" + i);
+            resource.setSRS("EPSG:4326");
+            infos.add(resource);
+            infos.add(data.createLayer(resource, data.style1));
+        }
+    }
+
+    public @Test void compareEncodings() throws IOException {
+        ObjectMapper json = newObjectMapper(new ObjectMapper());
+
+        SmileFactory smileFactory = SmileFactory.builder().build();
+        ObjectMapper smile = newObjectMapper(new ObjectMapper(smileFactory));
+
+        SmileFactory sharedStringsFactory =
+                SmileFactory.builder()
+                        .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                        .build();
+        ObjectMapper smileSharedStrings = newObjectMapper(new ObjectMapper(sharedStringsFactory));
+
+        Result jsonResult = run("JSON", json);
+        Result smileResult = run("Smile", smile);
+        Result sharedResult = run("Smile + shared string values", smileSharedStrings);
+
+        log.info(
+                "{} layers and {} resources",
+                String.format("%,d", layers),
+                String.format("%,d", layers));
+        log.info(jsonResult.toString());
+        log.info(smileResult.relativeTo(jsonResult));
+        log.info(sharedResult.relativeTo(jsonResult));
+
+        assertTrue(smileResult.bytes < jsonResult.bytes);
+        assertTrue(sharedResult.bytes <= smileResult.bytes);
+    }
+
+    private ObjectMapper newObjectMapper(ObjectMapper mapper) {
+        mapper.setDefaultPropertyInclusion(Include.NON_EMPTY);
+        mapper.findAndRegisterModules();
+        return mapper;
+    }
+
+    private Result run(String name, ObjectMapper mapper) throws IOException {
+        final byte[] encoded = encode(mapper);
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            assertEquals(infos.size(), decode(mapper, encoded));
+        }
+        long cpuNanos = Long.MAX_VALUE;
+        long wallNanos = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            long cpuStart = threads.getCurrentThreadCpuTime();
+            long wallStart = System.nanoTime();
+            assertEquals(infos.size(), decode(mapper, encoded));
+            cpuNanos = Math.min(cpuNanos, threads.getCurrentThreadCpuTime() - cpuStart);
+            wallNanos = Math.min(wallNanos, System.nanoTime() - wallStart);
+        }
+        return new Result(name, encoded.length, cpuNanos / 1_000_000, wallNanos / 1_000_000);
+    }
+
+    /** Encodes {@link #infos} as a sequence of root values, like a streamed response */
+    private byte[] encode(ObjectMapper mapper) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (SequenceWriter writer = mapper.writer().writeValues(out)) {
+            for (CatalogInfo info : infos) {
+                writer.write(info);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private int decode(ObjectMapper mapper, byte[] encoded) throws IOException {
+        int count = 0;
+        try (MappingIterator<CatalogInfo> it =
+                mapper.readerFor(CatalogInfo.class).readValues(encoded)) {
+            while (it.hasNext()) {
+                it.next();
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static class Result {
+        final String name;
+        final long bytes;
+        final long cpuMillis;
+        final long wallMillis;
+
+        Result(String name, long bytes, long cpuMillis, long wallMillis) {
+            this.name = name;
+            this.bytes = bytes;
+            this.cpuMillis = cpuMillis;
+            this.wallMillis = wallMillis;
+        }
+
+        String relativeTo(Result base) {
+            return String.format(
+                    "%s (%.0f%% bytes, %.0f%% CPU time of %s)",
+                    this,
+                    100d * bytes / base.bytes,
+                    100d * cpuMillis / Math.max(1, base.cpuMillis),
+                    base.name);
+        }
+
+        public @Override String toString() {
+            return String.format(
+                    "%s: %,d bytes, decoded in %,d ms CPU time, %,d ms wall time",
+                    name, bytes, cpuMillis, wallMillis);
+        }
+    }
+}
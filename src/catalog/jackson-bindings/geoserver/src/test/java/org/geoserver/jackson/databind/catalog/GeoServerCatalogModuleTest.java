@@ -114,8 +114,10 @@ import java.lang.reflect.Proxy;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -447,6 +449,18 @@ public class GeoServerCatalogModuleTest {
         // testPatch("serviceInfos", services);
     }
 
+    public @Test void testPatchWithDeltas() throws Exception {
+        testPatch(
+                "styles",
+                new Patch.CollectionDelta(List.of(data.style1), newArrayList(null, data.style2)));
+        testPatch("keywords", new Patch.CollectionDelta(List.of("k1", "k2"), List.of("k3")));
+
+        Map<Object, Object> put = new LinkedHashMap<>();
+        put.put("k1", "v1");
+        put.put("k2", 2);
+        testPatch("metadata", new Patch.MapDelta(put, List.of("k3")));
+    }
+
     public @Test void testPatchWithSimpleInternationalStringProperty() throws Exception {
         InternationalString simpleI18n = new SimpleInternationalString("simpleI18n");
         Patch patch = new Patch();
@@ -0,0 +1,62 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.autoconfigure.jackson;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.codec.CodecConfigurer;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Spring boot {@link EnableAutoConfiguration @EnableAutoConfiguration} to set up the WebFlux
+ * server and {@code WebClient} Smile (binary JSON) codecs with the same jackson databind modules
+ * as the JSON ones, so the GeoServer and GeoTools objects can also be sent over the wire as {@code
+ * application/x-jackson-smile} and {@code application/stream+x-jackson-smile}, if requested through
+ * content negotiation.
+ *
+ * <p>Spring's default Smile codecs use an {@link ObjectMapper} of their own, unaware of the
+ * application modules.
+ *
+ * <p>The Smile generator is set to check for shared string values, so repeated short strings (e.g.
+ * the ids of the workspace, namespace, or store a sequence of objects refer to) are encoded as
+ * back-references to their first occurrence.
+ */
+@Configuration(proxyBeanMethods = false)
+@AutoConfigureAfter({
+    JacksonAutoConfiguration.class,
+    GeoToolsJacksonBindingsAutoConfiguration.class,
+    GeoServerJacksonBindingsAutoConfiguration.class
+})
+@ConditionalOnClass({SmileFactory.class, CodecConfigurer.class, CodecCustomizer.class})
+@ConditionalOnBean(Jackson2ObjectMapperBuilder.class)
+public class GeoServerSmileCodecsAutoConfiguration {
+
+    @Bean
+    @Order(0)
+    public CodecCustomizer geoServerSmileCodecCustomizer(Jackson2ObjectMapperBuilder builder) {
+        SmileFactory smileFactory =
+                SmileFactory.builder()
+                        .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                        .build();
+        ObjectMapper smileMapper = builder.factory(smileFactory).build();
+        return configurer -> {
+            configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smileMapper));
+            configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smileMapper));
+        };
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.autoconfigure.jackson;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+
+import org.geoserver.jackson.databind.catalog.GeoServerCatalogModule;
+import org.geoserver.jackson.databind.config.GeoServerConfigModule;
+import org.junit.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.http.codec.EncoderHttpMessageWriter;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+
+public class GeoServerSmileCodecsAutoConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner =
+            new ApplicationContextRunner()
+                    .withConfiguration(
+                            AutoConfigurations.of(
+                                    GeoServerSmileCodecsAutoConfiguration.class,
+                                    GeoServerJacksonBindingsAutoConfiguration.class,
+                                    JacksonAutoConfiguration.class));
+
+    public @Test void testSmileEncoderUsesApplicationModules() {
+        this.contextRunner.run(
+                context -> {
+                    assertThat(context).hasSingleBean(CodecCustomizer.class);
+                    ServerCodecConfigurer configurer = ServerCodecConfigurer.create();
+                    context.getBean(CodecCustomizer.class).customize(configurer);
+
+                    Jackson2SmileEncoder encoder =
+                            configurer.getWriters().stream()
+                                    .filter(EncoderHttpMessageWriter.class::isInstance)
+                                    .map(w -> ((EncoderHttpMessageWriter<?>) w).getEncoder())
+                                    .filter(Jackson2SmileEncoder.class::isInstance)
+                                    .map(Jackson2SmileEncoder.class::cast)
+                                    .findFirst()
+                                    .orElseThrow();
+
+                    assertThat(encoder.getObjectMapper().getRegisteredModuleIds())
+                            .contains(
+                                    new GeoServerCatalogModule().getTypeId(),
+                                    new GeoServerConfigModule().getTypeId());
+                    SmileFactory factory = (SmileFactory) encoder.getObjectMapper().getFactory();
+                    assertThat(factory.isEnabled(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES))
+                            .isTrue();
+                });
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.catalog.plugin;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import lombok.NonNull;
+
+import org.geoserver.catalog.event.CatalogAddEvent;
+import org.geoserver.catalog.event.CatalogBeforeAddEvent;
+import org.geoserver.catalog.event.CatalogEvent;
+import org.geoserver.catalog.event.CatalogListener;
+import org.geoserver.catalog.event.CatalogModifyEvent;
+import org.geoserver.catalog.event.CatalogPostModifyEvent;
+import org.geoserver.catalog.event.CatalogRemoveEvent;
+import org.geotools.util.logging.Logging;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Notifies {@link AsyncCatalogListener}s of {@link CatalogEvent}s on a single, dedicated thread,
+ * so that events are delivered in the same order they were published, without making the thread
+ * that modified the catalog wait for them.
+ *
+ * <p>The queue is bounded. When it's full, the thread publishing an event waits for room in it,
+ * which applies back pressure to the writers, except for the dispatcher thread itself (i.e. a
+ * listener modifying the catalog), whose events are queued beyond the capacity instead of waiting
+ * for itself. Events are never reordered: they're all delivered in the order they entered the
+ * queue. A publisher interrupted while waiting for room queues its event anyway, keeping its
+ * interrupted status. Only events published after {@link #shutdown()} are discarded.
+ *
+ * <p>Exposes the number of events waiting to be delivered, the number of times a publisher had to
+ * wait for room in the queue, the number of events delivered and of listener failures, and the
+ * latency between an event being published and all its listeners being notified, to be exported
+ * as metrics.
+ *
+ * @see CatalogPlugin#setAsyncEventDispatch(boolean)
+ */
+public class AsyncCatalogEventDispatcher {
+
+    private static final Logger LOGGER = Logging.getLogger(AsyncCatalogEventDispatcher.class);
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 10_000;
+
+    private final ThreadPoolExecutor executor;
+
+    private final int queueCapacity;
+
+    /**
+     * Room left in the queue for publishers other than the dispatcher thread, taken when an event
+     * is queued and given back when its delivery starts
+     */
+    private final Semaphore room;
+
+    /** The single thread delivering the events, once started */
+    private volatile Thread dispatcherThread;
+
+    private final LongAdder blocked = new LongAdder();
+    private final LongAdder dispatched = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder totalLatency = new LongAdder();
+    private final LongAccumulator maxLatency = new LongAccumulator(Math::max, 0);
+
+    public AsyncCatalogEventDispatcher(@NonNull String threadName) {
+        this(threadName, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public AsyncCatalogEventDispatcher(@NonNull String threadName, int queueCapacity) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("queueCapacity must be > 0: " + queueCapacity);
+        }
+        this.queueCapacity = queueCapacity;
+        this.room = new Semaphore(queueCapacity);
+        final ThreadFactory threadFactory =
+                new ThreadFactoryBuilder()
+                        .setNameFormat(threadName + "-%d")
+                        .setDaemon(true)
+                        .build();
+        this.executor =
+                new ThreadPoolExecutor(
+                        1,
+                        1,
+                        0L,
+                        TimeUnit.MILLISECONDS,
+                        // unbounded, the capacity is enforced by the room semaphore
+                        new LinkedBlockingQueue<>(),
+                        runnable -> dispatcherThread = threadFactory.newThread(runnable));
+    }
+
+    /**
+     * Queues {@code event} to be delivered to {@code listeners} after all the events queued
+     * before it, waiting for room in the queue if it's full
+     */
+    public void dispatch(@NonNull CatalogEvent event, @NonNull List<CatalogListener> listeners) {
+        final long published = System.nanoTime();
+        final boolean reserved = reserveRoom();
+        try {
+            executor.execute(
+                    () -> {
+                        if (reserved) {
+                            room.release();
+                        }
+                        deliver(event, listeners, published);
+                    });
+        } catch (RejectedExecutionException shutDown) {
+            if (reserved) {
+                room.release();
+            }
+            LOGGER.warning(() -> "Event dispatcher is shut down, event discarded: " + event);
+        }
+    }
+
+    /**
+     * Waits for room in the queue, unless called from the dispatcher thread, which can't wait for
+     * itself to make room, or interrupted while waiting. In both cases the event is queued beyond
+     * the capacity rather than being discarded or delivered out of order.
+     *
+     * @return whether room was taken, to be given back once the event is dequeued
+     */
+    private boolean reserveRoom() {
+        if (Thread.currentThread() == dispatcherThread) {
+            return false;
+        }
+        if (room.tryAcquire()) {
+            return true;
+        }
+        blocked.increment();
+        try {
+            room.acquire();
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void deliver(CatalogEvent event, List<CatalogListener> listeners, long published) {
+        for (CatalogListener listener : listeners) {
+            try {
+                deliver(listener, event);
+            } catch (Exception e) {
+                failed.increment();
+                LOGGER.log(
+                        Level.WARNING,
+                        "Asynchronous catalog listener threw exception handling event.",
+                        e);
+            }
+        }
+        final long latency = System.nanoTime() - published;
+        dispatched.increment();
+        totalLatency.add(latency);
+        maxLatency.accumulate(latency);
+    }
+
+    /** Calls the {@code listener} method that corresponds to the {@code event} type */
+    static void deliver(CatalogListener listener, CatalogEvent event) {
+        if (event instanceof CatalogAddEvent) {
+            listener.handleAddEvent((CatalogAddEvent) event);
+        } else if (event instanceof CatalogRemoveEvent) {
+            listener.handleRemoveEvent((CatalogRemoveEvent) event);
+        } else if (event instanceof CatalogModifyEvent) {
+            listener.handleModifyEvent((CatalogModifyEvent) event);
+        } else if (event instanceof CatalogPostModifyEvent) {
+            listener.handlePostModifyEvent((CatalogPostModifyEvent) event);
+        } else if (event instanceof CatalogBeforeAddEvent) {
+            listener.handlePreAddEvent((CatalogBeforeAddEvent) event);
+        }
+    }
+
+    /**
+     * @return number of events waiting to be delivered, may exceed the {@link #getQueueCapacity()
+     *     capacity} with the events published by the listeners themselves
+     */
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    /** @return maximum number of events waiting to be delivered */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /** @return number of times a publishing thread had to wait for room in the queue */
+    public long getBlocked() {
+        return blocked.sum();
+    }
+
+    /** @return number of events delivered to all their listeners so far */
+    public long getDispatched() {
+        return dispatched.sum();
+    }
+
+    /** @return number of times a listener failed handling an event */
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /** @return accumulated time between events being published and delivered */
+    public long getTotalLatency(@NonNull TimeUnit unit) {
+        return unit.convert(totalLatency.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    /** @return maximum time between an event being published and delivered */
+    public long getMaxLatency(@NonNull TimeUnit unit) {
+        return unit.convert(maxLatency.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Waits for the events queued so far to be delivered
+     *
+     * @return {@code true} if they were delivered before the timeout elapsed
+     */
+    public boolean awaitDelivery(long timeout, @NonNull TimeUnit unit) throws InterruptedException {
+        CountDownLatch delivered = new CountDownLatch(1);
+        try {
+            executor.execute(delivered::countDown);
+        } catch (RejectedExecutionException shutDown) {
+            return executor.awaitTermination(timeout, unit);
+        }
+        return delivered.await(timeout, unit);
+    }
+
+    /** Stops accepting events, the ones already queued are still delivered */
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,24 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.catalog.plugin;
+
+import org.geoserver.catalog.CatalogException;
+import org.geoserver.catalog.event.CatalogListener;
+
+/**
+ * Marker interface for {@link CatalogListener}s that don't need to be notified on the thread that
+ * modifies the catalog, and hence can be notified asynchronously when the catalog's {@link
+ * CatalogPlugin#setAsyncEventDispatch(boolean) asynchronous event dispatch} is enabled. Otherwise
+ * they're notified synchronously like any other listener.
+ *
+ * <p>Asynchronous listeners receive all events in the order they were published, but can't veto
+ * an operation by throwing a {@link CatalogException}, and observe the event's source object as
+ * it is by the time they're notified, not when the event was published. Listeners that persist the
+ * changes, validate them, or need to see the pre-modification state shall not implement this
+ * interface.
+ *
+ * @see AsyncCatalogEventDispatcher
+ */
+public interface AsyncCatalogListener extends CatalogListener {}
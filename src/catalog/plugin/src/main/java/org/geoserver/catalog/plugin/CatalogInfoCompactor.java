@@ -0,0 +1,181 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.catalog.plugin;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.Keyword;
+import org.geoserver.catalog.KeywordInfo;
+import org.geoserver.catalog.MetadataMap;
+import org.geoserver.catalog.StoreInfo;
+import org.geoserver.catalog.plugin.PropertyAccessorRegistry.PropertyAccessor;
+import org.geoserver.ows.util.OwsUtils;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Reduces the heap footprint of the {@link CatalogInfo} objects held by {@link
+ * DefaultMemoryCatalogFacade} when running in {@link DefaultMemoryCatalogFacade#setCompact compact}
+ * mode, by:
+ *
+ * <ul>
+ *   <li>Interning strings that tend to be repeated across objects: namespace URIs, SRS codes,
+ *       keyword values and vocabularies, store types, formats, string lists (e.g. supported
+ *       formats and SRS lists), as well as metadata and connection parameter keys and string
+ *       values
+ *   <li>Replacing empty {@link List} and {@link Set} properties by the shared {@link
+ *       Collections#emptyList()} and {@link Collections#emptySet()} instances
+ *   <li>Trimming the capacity of {@link ArrayList} properties to their size
+ * </ul>
+ *
+ * <p>Strings are interned through a weak {@link Interner}, so they're garbage collected once no
+ * longer referenced.
+ *
+ * <p>Shared empty collections can't be modified in place, {@link Patch#applyTo} replaces them by
+ * a mutable copy when needed. This is the reason compaction is only safe for objects whose
+ * modifications go through {@link Patch patches}, like the ones held by {@link
+ * CatalogInfoRepository repositories}, and hence not enabled by default.
+ */
+class CatalogInfoCompactor implements Consumer<CatalogInfo> {
+
+    /** Single-valued string properties worth interning, case insensitive */
+    private static final Set<String> INTERNED_PROPERTIES =
+            Set.of(
+                    "uri",
+                    "srs",
+                    "type",
+                    "format",
+                    "nativeformat",
+                    "defaultinterpolationmethod",
+                    "path",
+                    "outputformat");
+
+    private final Interner<String> strings = Interners.newWeakInterner();
+
+    public @Override void accept(CatalogInfo info) {
+        compact(info);
+    }
+
+    public void compact(CatalogInfo info) {
+        if (info == null) {
+            return;
+        }
+        final Class<? extends CatalogInfo> type = info.getClass();
+        for (String property : OwsUtils.getClassProperties(type).properties()) {
+            PropertyAccessorRegistry.accessor(type, property)
+                    .filter(PropertyAccessor::isWritable)
+                    .ifPresent(accessor -> compact(info, accessor));
+        }
+        if (info instanceof StoreInfo) {
+            compactMap(((StoreInfo) info).getConnectionParameters());
+        }
+    }
+
+    private void compact(CatalogInfo info, PropertyAccessor accessor) {
+        final Object value = accessor.get(info);
+        if (value instanceof String) {
+            if (INTERNED_PROPERTIES.contains(accessor.getName().toLowerCase())) {
+                setIfDifferent(info, accessor, value, strings.intern((String) value));
+            }
+        } else if (value instanceof MetadataMap) {
+            compactMap(((MetadataMap) value).getMap());
+        } else if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            if (list.isEmpty()) {
+                setIfDifferent(info, accessor, value, Collections.emptyList());
+            } else {
+                compactList(list);
+            }
+        } else if (value instanceof Set && ((Set<?>) value).isEmpty()) {
+            setIfDifferent(info, accessor, value, Collections.emptySet());
+        }
+    }
+
+    private void setIfDifferent(
+            CatalogInfo info, PropertyAccessor accessor, Object current, Object compacted) {
+        if (current != compacted && accessor.canSet(compacted)) {
+            accessor.set(info, compacted);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void compactList(List<?> list) {
+        try {
+            final int size = list.size();
+            for (int i = 0; i < size; i++) {
+                Object item = list.get(i);
+                Object compacted = compactItem(item);
+                if (compacted != item) {
+                    ((List<Object>) list).set(i, compacted);
+                }
+            }
+            if (list instanceof ArrayList) {
+                ((ArrayList<?>) list).trimToSize();
+            }
+        } catch (UnsupportedOperationException | ClassCastException e) {
+            // unmodifiable or checked list, leave it alone
+        }
+    }
+
+    private Object compactItem(Object item) {
+        if (item instanceof String) {
+            return strings.intern((String) item);
+        }
+        if (item instanceof Keyword) {
+            return compact((Keyword) item);
+        }
+        return item;
+    }
+
+    private KeywordInfo compact(Keyword keyword) {
+        String value = keyword.getValue();
+        String interned = value == null ? null : strings.intern(value);
+        Keyword compacted = interned == value ? keyword : new Keyword(interned);
+        if (keyword.getLanguage() != null) {
+            compacted.setLanguage(strings.intern(keyword.getLanguage()));
+        }
+        if (keyword.getVocabulary() != null) {
+            compacted.setVocabulary(strings.intern(keyword.getVocabulary()));
+        }
+        return compacted;
+    }
+
+    /** Interns the keys and string values of {@code map}, preserving its iteration order */
+    private <V extends Serializable> void compactMap(Map<String, V> map) {
+        if (map == null || map.isEmpty()) {
+            return;
+        }
+        try {
+            Map<String, V> compacted = new LinkedHashMap<>();
+            for (Map.Entry<String, V> e : map.entrySet()) {
+                compacted.put(intern(e.getKey()), intern(e.getValue()));
+            }
+            map.clear();
+            map.putAll(compacted);
+        } catch (UnsupportedOperationException e) {
+            // unmodifiable map, leave it alone
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <V> V intern(V value) {
+        return value instanceof String ? (V) strings.intern((String) value) : value;
+    }
+
+    /** Utility method to check whether a collection is one of the shared, immutable, instances */
+    static boolean isSharedEmpty(Collection<?> collection) {
+        return collection == Collections.emptyList() || collection == Collections.emptySet();
+    }
+}
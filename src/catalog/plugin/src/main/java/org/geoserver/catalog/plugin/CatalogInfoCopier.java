@@ -0,0 +1,197 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.catalog.plugin;
+
+import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.impl.ModificationProxy;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Support for the {@link DefaultMemoryCatalogFacade#setSnapshotReads(boolean) copy-on-write} mode
+ * of {@link CatalogInfoLookup}, where updates are applied to a copy of the live object that then
+ * replaces it, instead of modifying the live object readers may be looking at.
+ *
+ * <p>Copies are shallow, except for collections and maps, which are copied so that {@link
+ * Patch#applyTo(Object) applying a patch} to the copy, which may modify them in place, does not
+ * modify the original ones. Other property values are either immutable or replaced as a whole by a
+ * patch.
+ */
+class CatalogInfoCopier {
+
+    private static final ClassValue<List<Field>> FIELDS =
+            new ClassValue<>() {
+                protected @Override List<Field> computeValue(Class<?> type) {
+                    return instanceFields(type);
+                }
+            };
+
+    /** The object wrapped by a {@link ModificationProxy}, which has no setter for it */
+    private static final Field PROXY_OBJECT =
+            accessibleField(ModificationProxy.class, "proxyObject");
+
+    private CatalogInfoCopier() {
+        // private constructor, utility class
+    }
+
+    /**
+     * @return a copy of {@code info} of the same class
+     * @throws IllegalArgumentException if the object's class has no default constructor
+     */
+    @SuppressWarnings("unchecked")
+    static <T extends CatalogInfo> T copy(T info) {
+        final T copy;
+        try {
+            Constructor<?> constructor = info.getClass().getDeclaredConstructor();
+            // some implementations have a protected one for the sake of serialization
+            constructor.setAccessible(true);
+            copy = (T) constructor.newInstance();
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new IllegalArgumentException("Can't create a copy of " + info, e);
+        }
+        for (Field f : FIELDS.get(info.getClass())) {
+            set(f, copy, copyValue(get(f, info)));
+        }
+        return copy;
+    }
+
+    /**
+     * Commits the changes tracked by {@code proxy} to a copy of the object it wraps, that then
+     * replaces it as the proxied object. The originally proxied object, which readers may be
+     * holding, is not modified.
+     */
+    static void commitToCopy(ModificationProxy proxy) {
+        CatalogInfo proxied = (CatalogInfo) proxy.getProxyObject();
+        set(PROXY_OBJECT, proxy, copy(proxied));
+        proxy.commit();
+    }
+
+    /**
+     * Creates a copy of {@code holder} where all the references to {@code old}, held directly or
+     * in a collection property, are replaced by references to {@code current}, the newer version
+     * of the same object. {@code holder} is not modified.
+     *
+     * @return the copy, or {@code null} if {@code holder} holds no reference to {@code old}
+     */
+    static <T extends CatalogInfo> T replaceReferences(
+            T holder, CatalogInfo old, CatalogInfo current) {
+        T copy = null;
+        for (Field f : FIELDS.get(holder.getClass())) {
+            final Object value = get(f, holder);
+            Object replacement = null;
+            if (value == old) {
+                replacement = current;
+            } else if (value instanceof Collection
+                    && containsInstance((Collection<?>) value, old)) {
+                replacement = replace((Collection<?>) value, old, current);
+            }
+            if (replacement != null) {
+                if (copy == null) {
+                    copy = copy(holder);
+                }
+                set(f, copy, replacement);
+            }
+        }
+        return copy;
+    }
+
+    private static boolean containsInstance(Collection<?> values, Object instance) {
+        for (Object v : values) {
+            if (v == instance) return true;
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Collection<Object> replace(Collection<?> values, Object old, Object current) {
+        Collection<Object> copy = (Collection<Object>) newInstance(values);
+        if (copy == null) {
+            copy = values instanceof Set ? new LinkedHashSet<>() : new ArrayList<>();
+        }
+        for (Object v : values) {
+            copy.add(v == old ? current : v);
+        }
+        return copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object copyValue(Object value) {
+        if (value instanceof Collection) {
+            if (CatalogInfoCompactor.isSharedEmpty((Collection<?>) value)) {
+                return value;
+            }
+            Collection<Object> copy = (Collection<Object>) newInstance(value);
+            if (copy != null) {
+                copy.addAll((Collection<?>) value);
+                return copy;
+            }
+        } else if (value instanceof Map) {
+            Map<Object, Object> copy = (Map<Object, Object>) newInstance(value);
+            if (copy != null) {
+                copy.putAll((Map<?, ?>) value);
+                return copy;
+            }
+        }
+        // immutable collections and alike can't be modified by a patch, only replaced
+        return value;
+    }
+
+    /** @return a new, empty instance of the same class as {@code value}, or {@code null} */
+    private static Object newInstance(Object value) {
+        try {
+            return value.getClass().getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static Object get(Field f, Object target) {
+        try {
+            return f.get(target);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void set(Field f, Object target, Object value) {
+        try {
+            f.set(target, value);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Field accessibleField(Class<?> type, String name) {
+        try {
+            Field f = type.getDeclaredField(name);
+            f.setAccessible(true);
+            return f;
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<Field> instanceFields(Class<?> type) {
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field f : c.getDeclaredFields()) {
+                if (!Modifier.isStatic(f.getModifiers())) {
+                    // also for final fields, which makes them settable
+                    f.setAccessible(true);
+                    fields.add(f);
+                }
+            }
+        }
+        return List.copyOf(fields);
+    }
+}
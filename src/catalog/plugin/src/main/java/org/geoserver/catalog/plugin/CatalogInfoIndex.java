@@ -0,0 +1,270 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.catalog.plugin;
+
+import static java.util.Objects.requireNonNull;
+
+import org.geoserver.catalog.CatalogInfo;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * A secondary, reverse lookup index for {@link CatalogInfoLookup}, maps the value(s) of a property
+ * (usually the id of a referenced object, like {@code ResourceInfo.store.id}) to the objects that
+ * hold it.
+ *
+ * <p>Allows queries like "all the resources of a store" to be resolved in time proportional to the
+ * result size instead of scanning the whole repository.
+ *
+ * <p>The index does not listen to changes on its own, {@link CatalogInfoLookup} is responsible of
+ * calling {@link #add}, {@link #remove}, and {@link #update} while holding the lock for the object
+ * being modified. Buckets are atomically created and disposed of, so writers on different objects
+ * can safely update the same key concurrently.
+ *
+ * <p>Buckets are hash maps, lookups sort their results in the {@link #setOrder order} set by the
+ * owning {@link CatalogInfoLookup}, so that they don't depend on hashing.
+ *
+ * @param <T>
+ */
+class CatalogInfoIndex<T extends CatalogInfo> {
+
+    /** Index key used for objects whose indexed property is {@code null} */
+    static final String NULL_KEY = "\u0000";
+
+    private final String propertyName;
+
+    private final Function<T, Set<String>> keyMapper;
+
+    /** Whether an object can be indexed under several keys, see {@link #isMultiValued()} */
+    private final boolean multiValued;
+
+    /** Whether filters on the property can be answered by the index, see {@link #isQueryable()} */
+    private final boolean queryable;
+
+    /** index key to (object id to object) */
+    private final ConcurrentMap<String, ConcurrentMap<String, T>> index =
+            new ConcurrentHashMap<>();
+
+    /** Order of the lookup results, {@code null} for unspecified */
+    private Comparator<? super T> order;
+
+    private CatalogInfoIndex(
+            String propertyName,
+            Function<T, Set<String>> keyMapper,
+            boolean multiValued,
+            boolean queryable) {
+        this.propertyName = requireNonNull(propertyName);
+        this.keyMapper = requireNonNull(keyMapper);
+        this.multiValued = multiValued;
+        this.queryable = queryable;
+    }
+
+    /**
+     * Creates an index on a single valued string property of the indexed objects, indexing {@code
+     * null} values under {@link #NULL_KEY}
+     */
+    static <T extends CatalogInfo> CatalogInfoIndex<T> byProperty(
+            String propertyName, Function<T, String> property) {
+        return new CatalogInfoIndex<>(
+                propertyName,
+                value -> Collections.singleton(keyOf(property.apply(value))),
+                false,
+                true);
+    }
+
+    /**
+     * Creates an index on the id of the object referenced by {@code reference}, indexing {@code
+     * null} references under {@link #NULL_KEY}
+     */
+    static <T extends CatalogInfo> CatalogInfoIndex<T> byReference(
+            String propertyName, Function<T, ? extends CatalogInfo> reference) {
+        return byProperty(
+                propertyName,
+                value -> {
+                    CatalogInfo ref = reference.apply(value);
+                    return ref == null ? null : ref.getId();
+                });
+    }
+
+    /**
+     * Creates an index on the ids of the objects held by the collection property {@code
+     * references}
+     */
+    static <T extends CatalogInfo> CatalogInfoIndex<T> byReferences(
+            String propertyName,
+            Function<T, ? extends Collection<? extends CatalogInfo>> references) {
+        return new CatalogInfoIndex<>(
+                propertyName, value -> ids(references.apply(value)), true, true);
+    }
+
+    /**
+     * Creates an index on keys derived from several properties (e.g. the ids of a layer's default
+     * style and styles), {@code name} doesn't correspond to a property filters can be evaluated on,
+     * and hence the index is not {@link #isQueryable() queryable}
+     */
+    static <T extends CatalogInfo> CatalogInfoIndex<T> derived(
+            String name, Function<T, Set<String>> keyMapper) {
+        return new CatalogInfoIndex<>(name, keyMapper, true, false);
+    }
+
+    /** @return the ids of the non null objects in {@code refs} */
+    static Set<String> ids(@Nullable Collection<? extends CatalogInfo> refs) {
+        if (refs == null || refs.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<String> keys = new HashSet<>();
+        for (CatalogInfo ref : refs) {
+            if (ref != null) keys.add(ref.getId());
+        }
+        return keys;
+    }
+
+    static String keyOf(String value) {
+        return value == null ? NULL_KEY : value;
+    }
+
+    public String getPropertyName() {
+        return propertyName;
+    }
+
+    /**
+     * @return whether an object can be indexed under several keys, in which case the index only
+     *     answers equality filters that match if any of the property values is equal
+     */
+    boolean isMultiValued() {
+        return multiValued;
+    }
+
+    /**
+     * @return whether the index mirrors the {@link #getPropertyName() property}, so that equality
+     *     filters on it can be answered through the index
+     */
+    boolean isQueryable() {
+        return queryable;
+    }
+
+    /** Sets the order {@link #find} returns the objects in, to be set before the index is used */
+    void setOrder(Comparator<? super T> order) {
+        this.order = order;
+    }
+
+    /** @return the index keys for {@code value} as of its current state */
+    Set<String> keys(T value) {
+        Set<String> keys = keyMapper.apply(value);
+        return keys == null ? Collections.emptySet() : keys;
+    }
+
+    void add(T value) {
+        add(keys(value), value);
+    }
+
+    private void add(Set<String> keys, T value) {
+        final String id = value.getId();
+        for (String key : keys) {
+            // compute() instead of computeIfAbsent().put() to avoid racing with remove() dropping
+            // the bucket once empty
+            index.compute(
+                    key,
+                    (k, bucket) -> {
+                        ConcurrentMap<String, T> b =
+                                bucket == null ? new ConcurrentHashMap<>() : bucket;
+                        b.put(id, value);
+                        return b;
+                    });
+        }
+    }
+
+    void remove(T value) {
+        remove(keys(value), value.getId());
+    }
+
+    private void remove(Set<String> keys, String id) {
+        for (String key : keys) {
+            index.computeIfPresent(
+                    key,
+                    (k, bucket) -> {
+                        bucket.remove(id);
+                        return bucket.isEmpty() ? null : bucket;
+                    });
+        }
+    }
+
+    /**
+     * Re-indexes {@code value} after it's been updated, given the keys it had before the update
+     * as returned by {@link #keys(CatalogInfo)}
+     */
+    void update(Set<String> oldKeys, T value) {
+        Set<String> newKeys = keys(value);
+        if (!oldKeys.equals(newKeys)) {
+            remove(oldKeys, value.getId());
+        }
+        // add anyway, the live object could have been replaced
+        add(newKeys, value);
+    }
+
+    void clear() {
+        index.clear();
+    }
+
+    /** @return the objects of type {@code type} indexed under {@code key}, in the set order */
+    <U extends T> Stream<U> find(String key, Class<U> type) {
+        requireNonNull(key);
+        requireNonNull(type);
+        ConcurrentMap<String, T> bucket = index.get(key);
+        if (bucket == null) {
+            return Stream.empty();
+        }
+        List<U> result = new ArrayList<>(bucket.size());
+        for (T v : bucket.values()) {
+            if (type.isInstance(v)) {
+                result.add(type.cast(v));
+            }
+        }
+        if (order != null && result.size() > 1) {
+            result.sort(order);
+        }
+        return result.stream();
+    }
+
+    /** @return the number of objects indexed under {@code key} */
+    int size(String key) {
+        ConcurrentMap<String, T> bucket = index.get(requireNonNull(key));
+        return bucket == null ? 0 : bucket.size();
+    }
+
+    /** @return the number of objects of type {@code type} indexed under {@code key} */
+    long count(String key, Class<? extends T> type) {
+        requireNonNull(type);
+        ConcurrentMap<String, T> bucket = index.get(requireNonNull(key));
+        if (bucket == null) {
+            return 0;
+        }
+        long count = 0;
+        for (T v : bucket.values()) {
+            if (type.isInstance(v)) count++;
+        }
+        return count;
+    }
+
+    /** @return the objects of type {@code type} whose indexed property is {@code null} */
+    <U extends T> Stream<U> findNull(Class<U> type) {
+        return find(NULL_KEY, type);
+    }
+
+    public @Override String toString() {
+        return String.format("%s[%s]", getClass().getSimpleName(), propertyName);
+    }
+}
@@ -6,7 +6,9 @@ package org.geoserver.catalog.plugin;
 
 import static java.util.Objects.requireNonNull;
 
+import com.google.common.collect.Maps;
 import com.google.common.collect.Ordering;
+import com.google.common.util.concurrent.Striped;
 
 import org.geoserver.catalog.CatalogInfo;
 import org.geoserver.catalog.DataStoreInfo;
@@ -20,11 +22,13 @@ import org.geoserver.catalog.StyleInfo;
 import org.geoserver.catalog.WorkspaceInfo;
 import org.geoserver.catalog.impl.ClassMappings;
 import org.geoserver.catalog.impl.LayerInfoImpl;
+import org.geoserver.catalog.plugin.CatalogInfoQueryPlanner.QueryPlan;
+import org.geoserver.catalog.plugin.PropertyAccessorRegistry.PropertyPath;
 import org.geoserver.ows.util.OwsUtils;
-import org.geotools.feature.NameImpl;
 import org.geotools.util.logging.Logging;
 import org.opengis.feature.type.Name;
 import org.opengis.filter.Filter;
+import org.opengis.filter.MultiValuedFilter.MatchAction;
 import org.opengis.filter.sort.SortBy;
 import org.opengis.filter.sort.SortOrder;
 import org.springframework.lang.Nullable;
@@ -32,20 +36,34 @@ import org.springframework.lang.Nullable;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentNavigableMap;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
@@ -67,20 +85,20 @@ abstract class CatalogInfoLookup<T extends CatalogInfo> implements CatalogInfoRe
      * Name mapper for {@link MapInfo}, uses simple name mapping on {@link MapInfo#getName()} as it
      * doesn't have a namespace component
      */
-    static final Function<MapInfo, Name> MAP_NAME_MAPPER = m -> new NameImpl(m.getName());
+    static final Function<MapInfo, Name> MAP_NAME_MAPPER = m -> NameKey.valueOf(m.getName());
 
     /**
      * The name uses the workspace id as it does not need to be updated when the workspace is
      * renamed
      */
     static final Function<StoreInfo, Name> STORE_NAME_MAPPER =
-            s -> new NameImpl(s.getWorkspace().getId(), s.getName());
+            s -> NameKey.valueOf(s.getWorkspace().getId(), s.getName());
 
     /**
      * The name uses the namspace id as it does not need to be updated when the namespace is renamed
      */
     static final Function<ResourceInfo, Name> RESOURCE_NAME_MAPPER =
-            r -> new NameImpl(r.getNamespace().getId(), r.getName());
+            r -> NameKey.valueOf(r.getNamespace().getId(), r.getName());
 
     /** Like LayerInfo, actually delegates to the resource logic */
     static final Function<LayerInfo, Name> LAYER_NAME_MAPPER =
@@ -92,19 +110,19 @@ abstract class CatalogInfoLookup<T extends CatalogInfo> implements CatalogInfoRe
      */
     static final Function<LayerGroupInfo, Name> LAYERGROUP_NAME_MAPPER =
             lg ->
-                    new NameImpl(
+                    NameKey.valueOf(
                             lg.getWorkspace() != null ? lg.getWorkspace().getId() : null,
                             lg.getName());
 
     static final Function<NamespaceInfo, Name> NAMESPACE_NAME_MAPPER =
-            n -> new NameImpl(n.getPrefix());
+            n -> NameKey.valueOf(n.getPrefix());
 
     static final Function<WorkspaceInfo, Name> WORKSPACE_NAME_MAPPER =
-            w -> new NameImpl(w.getName());
+            w -> NameKey.valueOf(w.getName());
 
     static final Function<StyleInfo, Name> STYLE_NAME_MAPPER =
             s ->
-                    new NameImpl(
+                    NameKey.valueOf(
                             s.getWorkspace() != null ? s.getWorkspace().getId() : null,
                             s.getName());
 
@@ -119,6 +137,65 @@ abstract class CatalogInfoLookup<T extends CatalogInfo> implements CatalogInfoRe
 
     protected final Class<T> infoType;
 
+    /**
+     * Write locks striped by object id, so that concurrent writers on different objects don't block
+     * each other, while the id, name, and secondary index entries of a single object are always
+     * updated atomically with respect to other writers
+     */
+    private final Striped<Lock> locks =
+            Striped.lock(Runtime.getRuntime().availableProcessors() * 4);
+
+    /**
+     * Secondary indexes by property name, registered by subclasses at construction time through
+     * {@link #addIndex} and kept up to date on {@link #add}, {@link #remove}, and {@link #update}
+     */
+    private final Map<String, CatalogInfoIndex<T>> indexes = new HashMap<>();
+
+    /**
+     * Views sorted by property name, registered by subclasses at construction time through {@link
+     * #addSortedView}, used to serve sorted queries on the most common sort keys without sorting
+     */
+    private final Map<String, CatalogInfoSortedView<T>> sortedViews = new HashMap<>();
+
+    /**
+     * Resolvers for filters on properties of referenced objects by their index on the referenced
+     * object id, e.g. {@code namespace.prefix} through the {@code namespace.id} index
+     */
+    private final Map<String, ReferenceResolver> referenceResolvers = new ConcurrentHashMap<>();
+
+    private final CatalogInfoQueryPlanner<T> queryPlanner = new CatalogInfoQueryPlanner<>(this);
+
+    /**
+     * Optional function applied to objects as they're added or updated to reduce their heap
+     * footprint, see {@link DefaultMemoryCatalogFacade#setCompact(boolean)}
+     */
+    private volatile @Nullable Consumer<? super T> compactor;
+
+    /**
+     * Whether updates replace the live object by a patched copy instead of modifying it, and full
+     * scans iterate an immutable {@link Snapshot}, see {@link
+     * DefaultMemoryCatalogFacade#setSnapshotReads(boolean)}
+     */
+    private volatile boolean snapshotReads;
+
+    /** The latest published snapshot, {@code null} if there have been writes since it was built */
+    private volatile @Nullable Snapshot<T> snapshot;
+
+    /** Incremented on each committed write while in snapshot mode */
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * In snapshot mode, writers hold the read lock, so they don't block each other, while building
+     * a snapshot holds the write lock, so that it never observes a write in progress
+     */
+    private final ReadWriteLock publishLock = new ReentrantReadWriteLock();
+
+    /**
+     * Notified, in snapshot mode, when an object is replaced by its patched copy, so that the
+     * references to it held by other objects can be updated
+     */
+    private volatile @Nullable BiConsumer<? super T, ? super T> replacementListener;
+
     static final <T> Predicate<T> alwaysTrue() {
         return x -> true;
     }
@@ -127,12 +204,382 @@ abstract class CatalogInfoLookup<T extends CatalogInfo> implements CatalogInfoRe
         super();
         this.nameMapper = nameMapper;
         this.infoType = type;
+        addIndex(CatalogInfoIndex.byProperty("name", v -> nameMapper.apply(v).getLocalPart()));
+        addSortedView(
+                CatalogInfoSortedView.byProperty("name", v -> nameMapper.apply(v).getLocalPart()));
+    }
+
+    /**
+     * Resolves the value of a property of a referenced object (e.g. a namespace prefix) to the
+     * referenced object id, to be looked up in the index given by {@code indexPropertyName}
+     */
+    private static class ReferenceResolver {
+        final String indexPropertyName;
+        final Function<String, Optional<? extends CatalogInfo>> resolver;
+
+        ReferenceResolver(
+                String indexPropertyName,
+                Function<String, Optional<? extends CatalogInfo>> resolver) {
+            this.indexPropertyName = indexPropertyName;
+            this.resolver = resolver;
+        }
     }
 
     public @Override Class<T> getContentType() {
         return infoType;
     }
 
+    /**
+     * @return the order of the name maps, by name and then concrete type, for index lookups to
+     *     return objects in the same order as the name maps regardless of the index hashing
+     */
+    private Comparator<T> nameOrder() {
+        Comparator<T> byName = Comparator.comparing(v -> NameKey.valueOf(nameMapper.apply(v)));
+        return byName.thenComparing(v -> v.getClass().getName());
+    }
+
+    /** @return the write lock for the object with the given id */
+    protected Lock lockFor(String id) {
+        return locks.get(id);
+    }
+
+    protected void addIndex(CatalogInfoIndex<T> index) {
+        index.setOrder(nameOrder());
+        indexes.put(index.getPropertyName(), index);
+    }
+
+    /**
+     * Sets the function used to compact objects as they're added or updated, and applies it to the
+     * objects already held if not {@code null}
+     */
+    void setCompactor(@Nullable Consumer<? super T> compactor) {
+        this.compactor = compactor;
+        if (compactor != null) {
+            idMultiMap.values().forEach(typeMap -> typeMap.values().forEach(this::compact));
+        }
+    }
+
+    private void compact(T value) {
+        final Consumer<? super T> c = this.compactor;
+        if (c != null) {
+            final Lock lock = lockFor(value.getId());
+            lock.lock();
+            try {
+                c.accept(value);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Immutable view of the objects held as of a given {@link #getVersion() version}, as flat
+     * lists per concrete type in name order
+     */
+    static final class Snapshot<T> {
+        final long version;
+        final Map<Class<? extends T>, List<T>> values;
+
+        Snapshot(long version, Map<Class<? extends T>, List<T>> values) {
+            this.version = version;
+            this.values = values;
+        }
+    }
+
+    /**
+     * Enables or disables the snapshot mode, where each committed write publishes a new version,
+     * updates replace the live object by a patched copy instead of modifying it in place, and
+     * full scans iterate a {@link Snapshot} of the latest version without locking. To be set
+     * before the lookup is in use.
+     */
+    void setSnapshotReads(boolean snapshotReads) {
+        this.snapshotReads = snapshotReads;
+        this.snapshot = null;
+    }
+
+    boolean isSnapshotReads() {
+        return snapshotReads;
+    }
+
+    /** @see #replacementListener */
+    void setReplacementListener(@Nullable BiConsumer<? super T, ? super T> listener) {
+        this.replacementListener = listener;
+    }
+
+    /** @return the number of writes committed in snapshot mode */
+    long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * @return the snapshot of the latest version, building it if there have been writes since the
+     *     last one was built
+     */
+    Snapshot<T> snapshot() {
+        Snapshot<T> s = snapshot;
+        if (s == null) {
+            final Lock exclusive = publishLock.writeLock();
+            exclusive.lock();
+            try {
+                s = snapshot;
+                if (s == null) {
+                    Map<Class<? extends T>, List<T>> values = new HashMap<>();
+                    nameMultiMap.forEach(
+                            (type, typeMap) -> {
+                                @SuppressWarnings("unchecked")
+                                T[] array = (T[]) typeMap.values().toArray(new CatalogInfo[0]);
+                                List<T> list = Arrays.asList(array);
+                                values.put(type, Collections.unmodifiableList(list));
+                            });
+                    s = new Snapshot<>(version.get(), Collections.unmodifiableMap(values));
+                    snapshot = s;
+                }
+            } finally {
+                exclusive.unlock();
+            }
+        }
+        return s;
+    }
+
+    /**
+     * Runs {@code mutation}, publishing a new version once it's done if in snapshot mode. Shall
+     * be called before acquiring any object lock.
+     */
+    protected <R> R write(Supplier<R> mutation) {
+        if (!snapshotReads) {
+            return mutation.get();
+        }
+        final Lock shared = publishLock.readLock();
+        shared.lock();
+        try {
+            return mutation.get();
+        } finally {
+            version.incrementAndGet();
+            snapshot = null;
+            shared.unlock();
+        }
+    }
+
+    protected void write(Runnable mutation) {
+        write(
+                () -> {
+                    mutation.run();
+                    return null;
+                });
+    }
+
+    /**
+     * @return the objects held per concrete type in name order, from the latest {@link Snapshot}
+     *     in snapshot mode, or the live maps otherwise
+     */
+    private Map<Class<? extends T>, ? extends Collection<T>> valuesByType() {
+        if (snapshotReads) {
+            return snapshot().values;
+        }
+        return Maps.transformValues(nameMultiMap, Map::values);
+    }
+
+    /**
+     * Replaces the objects in this lookup that hold references to {@code old}, found through the
+     * index on {@code indexPropertyName}, by copies referring to {@code current}, its newer
+     * version, see {@link CatalogInfoCopier#replaceReferences}. The replaced objects are not
+     * modified, and the {@link #setReplacementListener replacement listener} is notified of each
+     * replacement for the references to them to be updated in turn.
+     */
+    void replaceReferences(String indexPropertyName, CatalogInfo old, CatalogInfo current) {
+        final List<T> referrers;
+        try (Stream<T> found = index(indexPropertyName).find(old.getId(), infoType)) {
+            referrers = found.collect(Collectors.toList());
+        }
+        for (T referrer : referrers) {
+            write(() -> replaceReferences(referrer, old, current));
+        }
+    }
+
+    private void replaceReferences(T referrer, CatalogInfo old, CatalogInfo current) {
+        final T live;
+        final T replacement;
+        final Lock lock = lockFor(referrer.getId());
+        lock.lock();
+        try {
+            // the referrer itself could have been replaced or removed in the meantime
+            live = getMapForValue(idMultiMap, referrer).get(referrer.getId());
+            replacement =
+                    live == null ? null : CatalogInfoCopier.replaceReferences(live, old, current);
+            if (replacement == null) {
+                return;
+            }
+            replaceLocked(live, replacement, indexKeys(live));
+        } finally {
+            lock.unlock();
+        }
+        notifyReplaced(live, replacement);
+    }
+
+    /**
+     * Called holding the lock for {@code old} when it's been replaced by {@code current} in
+     * snapshot mode, for subclasses to update the references they hold
+     */
+    protected void replaced(T old, T current) {
+        // no-op by default
+    }
+
+    /** @return all the objects held, for the sake of computing statistics */
+    Stream<T> values() {
+        return idMultiMap.values().stream().flatMap(typeMap -> typeMap.values().stream());
+    }
+
+    protected void addSortedView(CatalogInfoSortedView<T> view) {
+        sortedViews.put(view.getPropertyName(), view);
+    }
+
+    protected CatalogInfoIndex<T> index(String propertyName) {
+        CatalogInfoIndex<T> index = indexes.get(propertyName);
+        if (index == null) {
+            throw new IllegalArgumentException("No index on property " + propertyName);
+        }
+        return index;
+    }
+
+    /**
+     * Allows {@link #findAll(Query)} to resolve equality filters on {@code propertyName} (e.g.
+     * {@code namespace.prefix}) through the index on the referenced object's id (e.g. {@code
+     * namespace.id}), using {@code resolver} to find the referenced object by the filter value
+     */
+    void addReferenceResolver(
+            String propertyName,
+            String indexPropertyName,
+            Function<String, Optional<? extends CatalogInfo>> resolver) {
+        index(indexPropertyName);
+        referenceResolvers.put(propertyName, new ReferenceResolver(indexPropertyName, resolver));
+    }
+
+    /**
+     * @return the index that can answer an equality filter on {@code propertyName} with the given
+     *     {@code matchAction}, or {@code null}. Multi-valued indexes can only answer {@link
+     *     MatchAction#ANY}, the default for equality filters.
+     */
+    private @Nullable CatalogInfoIndex<T> queryableIndex(
+            String propertyName, MatchAction matchAction) {
+        CatalogInfoIndex<T> index = indexes.get(propertyName);
+        if (index == null
+                || !index.isQueryable()
+                || (index.isMultiValued() && matchAction != MatchAction.ANY)) {
+            return null;
+        }
+        return index;
+    }
+
+    /**
+     * Looks up the objects whose property {@code propertyName} is equal to {@code value} through
+     * the id map or the secondary indexes.
+     *
+     * @param matchAction how the comparison applies to multi-valued properties
+     * @return the matching objects, or {@link Optional#empty() empty} if {@code propertyName} can't
+     *     be resolved without a full scan
+     */
+    <U extends T> Optional<List<U>> findByIndex(
+            String propertyName, String value, MatchAction matchAction, Class<U> type) {
+        if ("id".equals(propertyName)) {
+            return Optional.of(findById(value, type).map(List::of).orElse(List.of()));
+        }
+        CatalogInfoIndex<T> index = queryableIndex(propertyName, matchAction);
+        if (index != null) {
+            return Optional.of(index.find(value, type).collect(Collectors.toList()));
+        }
+        ReferenceResolver ref = referenceResolvers.get(propertyName);
+        if (ref != null && queryableIndex(ref.indexPropertyName, matchAction) != null) {
+            List<U> matches =
+                    ref.resolver
+                            .apply(value)
+                            .map(CatalogInfo::getId)
+                            .map(id -> index(ref.indexPropertyName).find(id, type))
+                            .orElseGet(Stream::empty)
+                            .collect(Collectors.toList());
+            return Optional.of(matches);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Counts the objects whose property {@code propertyName} is equal to {@code value} through the
+     * id map or the secondary indexes, without collecting them.
+     *
+     * @param matchAction how the comparison applies to multi-valued properties
+     * @return the number of matching objects, or {@link OptionalLong#empty() empty} if {@code
+     *     propertyName} can't be resolved without a full scan
+     */
+    <U extends T> OptionalLong countByIndex(
+            String propertyName, String value, MatchAction matchAction, Class<U> type) {
+        if ("id".equals(propertyName)) {
+            return OptionalLong.of(findById(value, type).isPresent() ? 1 : 0);
+        }
+        CatalogInfoIndex<T> index = queryableIndex(propertyName, matchAction);
+        if (index != null) {
+            return OptionalLong.of(count(index, value, type));
+        }
+        ReferenceResolver ref = referenceResolvers.get(propertyName);
+        if (ref != null && queryableIndex(ref.indexPropertyName, matchAction) != null) {
+            Optional<? extends CatalogInfo> referenced = ref.resolver.apply(value);
+            return OptionalLong.of(
+                    referenced.isEmpty()
+                            ? 0
+                            : count(index(ref.indexPropertyName), referenced.get().getId(), type));
+        }
+        return OptionalLong.empty();
+    }
+
+    private long count(CatalogInfoIndex<T> index, String key, Class<? extends T> type) {
+        // all the indexed objects are of the content type, no need to check each one
+        return infoType.equals(type) ? index.size(key) : index.count(key, type);
+    }
+
+    /**
+     * Looks up the objects whose property {@code propertyName} starts with {@code prefix}, case
+     * sensitive, through the sorted view on that property, if any.
+     *
+     * @return the matching objects, or {@link Optional#empty() empty} if there's no sorted view
+     *     supporting prefix searches on {@code propertyName}
+     */
+    <U extends T> Optional<List<U>> findByPrefix(
+            String propertyName, String prefix, Class<U> type) {
+        CatalogInfoSortedView<T> view = sortedViews.get(propertyName);
+        if (view == null || !view.supportsPrefixSearch()) {
+            return Optional.empty();
+        }
+        return Optional.of(view.findByPrefix(prefix, type));
+    }
+
+    private void addToIndexes(T value) {
+        for (CatalogInfoIndex<T> index : indexes.values()) {
+            index.add(value);
+        }
+        for (CatalogInfoSortedView<T> view : sortedViews.values()) {
+            view.add(value);
+        }
+    }
+
+    protected void removeFromIndexes(T value) {
+        for (CatalogInfoIndex<T> index : indexes.values()) {
+            index.remove(value);
+        }
+        for (CatalogInfoSortedView<T> view : sortedViews.values()) {
+            view.remove(value);
+        }
+    }
+
+    protected void updateSortedViews(T value) {
+        for (CatalogInfoSortedView<T> view : sortedViews.values()) {
+            view.update(value);
+        }
+    }
+
+    private void reindex() {
+        indexes.values().forEach(CatalogInfoIndex::clear);
+        sortedViews.values().forEach(CatalogInfoSortedView::clear);
+        idMultiMap.values().forEach(typeMap -> typeMap.values().forEach(this::addToIndexes));
+    }
+
     <K, V> ConcurrentMap<K, V> getMapForValue(
             ConcurrentMap<Class<? extends T>, ConcurrentNavigableMap<K, V>> maps, T value) {
         @SuppressWarnings("unchecked")
@@ -156,71 +603,209 @@ abstract class CatalogInfoLookup<T extends CatalogInfo> implements CatalogInfoRe
     public @Override void add(T value) {
         requireNonNull(value);
         checkNotAProxy(value);
-        Map<String, T> idMap = getMapForValue(idMultiMap, value);
-        Map<Name, T> nameMap = getMapForValue(nameMultiMap, value);
-        Map<String, Name> idToName = getMapForValue(idToMameMultiMap, value);
-        // TODO: improve concurrency with lock sharding instead of blocking the whole ConcurrentMaps
-        synchronized (idMap) {
-            if (null != idMap.putIfAbsent(value.getId(), value)) {
-                String msg =
-                        String.format(
-                                "%s:%s(%s) already exists",
-                                ClassMappings.fromImpl(value.getClass()),
-                                value.getId(),
-                                nameMapper.apply(value).getLocalPart());
-                LOGGER.warning(msg);
-                // throw new IllegalArgumentException(msg);
-            }
-            Name name = nameMapper.apply(value);
-            nameMap.put(name, value);
-            idToName.put(value.getId(), name);
-        }
+        write(
+                () -> {
+                    final Lock lock = lockFor(value.getId());
+                    lock.lock();
+                    try {
+                        addLocked(value);
+                    } finally {
+                        lock.unlock();
+                    }
+                });
+    }
+
+    /**
+     * Adds all the {@code values} acquiring the write locks for all of them at once, instead of
+     * once per object.
+     */
+    public @Override void addAll(Stream<? extends T> values) {
+        final List<T> batch = toBatch(values);
+        write(() -> runLocked(batch, () -> batch.forEach(this::addLocked)));
     }
 
     public @Override void remove(T value) {
         requireNonNull(value);
         checkNotAProxy(value);
+        write(
+                () -> {
+                    final Lock lock = lockFor(value.getId());
+                    lock.lock();
+                    try {
+                        removeLocked(value);
+                    } finally {
+                        lock.unlock();
+                    }
+                });
+    }
+
+    /**
+     * Removes all the {@code values} acquiring the write locks for all of them at once, instead of
+     * once per object.
+     */
+    public @Override void removeAll(Stream<? extends T> values) {
+        final List<T> batch = toBatch(values);
+        write(() -> runLocked(batch, () -> batch.forEach(this::removeLocked)));
+    }
+
+    private List<T> toBatch(Stream<? extends T> values) {
+        requireNonNull(values);
+        List<T> batch = new ArrayList<>();
+        values.forEach(
+                value -> {
+                    requireNonNull(value);
+                    checkNotAProxy(value);
+                    batch.add(value);
+                });
+        return batch;
+    }
+
+    /**
+     * Runs {@code action} holding the write locks for all the objects in {@code batch}. {@link
+     * Striped#bulkGet} returns the stripes in a consistent order, which prevents deadlocks with
+     * other bulk operations, and each stripe is acquired only once.
+     */
+    private void runLocked(List<T> batch, Runnable action) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<String> ids = batch.stream().map(CatalogInfo::getId).collect(Collectors.toList());
+        final Set<Lock> batchLocks = new LinkedHashSet<>();
+        locks.bulkGet(ids).forEach(batchLocks::add);
+        List<Lock> acquired = new ArrayList<>(batchLocks.size());
+        try {
+            for (Lock lock : batchLocks) {
+                lock.lock();
+                acquired.add(lock);
+            }
+            action.run();
+        } finally {
+            for (int i = acquired.size() - 1; i >= 0; i--) {
+                acquired.get(i).unlock();
+            }
+        }
+    }
+
+    /** Adds {@code value} to the id, name, and secondary indexes, called holding its lock */
+    private void addLocked(T value) {
         Map<String, T> idMap = getMapForValue(idMultiMap, value);
-        // TODO: improve concurrency with lock sharding instead of blocking the whole ConcurrentMaps
-        synchronized (idMap) {
-            T removed = idMap.remove(value.getId());
-            if (removed != null) {
-                Name name = getMapForValue(idToMameMultiMap, value).remove(value.getId());
-                getMapForValue(nameMultiMap, value).remove(name);
+        if (null != idMap.putIfAbsent(value.getId(), value)) {
+            String msg =
+                    String.format(
+                            "%s:%s(%s) already exists",
+                            ClassMappings.fromImpl(value.getClass()),
+                            value.getId(),
+                            nameMapper.apply(value).getLocalPart());
+            LOGGER.warning(msg);
+            // throw new IllegalArgumentException(msg);
+        }
+        compact(value);
+        Name name = nameMapper.apply(value);
+        getMapForValue(nameMultiMap, value).put(name, value);
+        getMapForValue(idToMameMultiMap, value).put(value.getId(), name);
+        addToIndexes(value);
+    }
+
+    /** Removes {@code value} from the id, name, and secondary indexes, called holding its lock */
+    protected void removeLocked(T value) {
+        T removed = getMapForValue(idMultiMap, value).remove(value.getId());
+        if (removed != null) {
+            Name name = getMapForValue(idToMameMultiMap, value).remove(value.getId());
+            if (name != null) {
+                getMapForValue(nameMultiMap, value).remove(name, removed);
             }
+            removeFromIndexes(removed);
         }
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Applies the patch to the live object, or in snapshot mode, to a copy of it that then
+     * replaces it, notifying the {@link #setReplacementListener replacement listener}.
+     */
     public @Override <I extends T> I update(final I value, Patch patch) {
         requireNonNull(value);
         requireNonNull(patch);
         checkNotAProxy(value);
+        return write(() -> updateInternal(value, patch));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <I extends T> I updateInternal(final I value, Patch patch) {
         Map<String, T> idMap = getMapForValue(idMultiMap, value);
-        // for the sake of correctness, get the stored value, contract does not force the supplied
-        // value to be attached
-        T storedValue = idMap.get(value.getId());
-        if (storedValue == null) {
-            throw new NoSuchElementException(
-                    value.getClass().getSimpleName()
-                            + " with id "
-                            + value.getId()
-                            + " does not exist");
-        }
-        // TODO: improve concurrency with lock sharding instead of blocking the whole ConcurrentMaps
-        synchronized (idMap) {
-            patch.applyTo(storedValue);
-            ConcurrentMap<String, Name> idToName = getMapForValue(idToMameMultiMap, value);
-            Name oldName = idToName.get(value.getId());
-            Name newName = nameMapper.apply(storedValue);
-            if (!Objects.equals(oldName, newName)) {
-                Map<Name, T> nameMap = getMapForValue(nameMultiMap, value);
-                nameMap.remove(oldName);
-                nameMap.put(newName, value);
-                idToName.put(value.getId(), newName);
+        final T storedValue;
+        final T updated;
+        final Lock lock = lockFor(value.getId());
+        lock.lock();
+        try {
+            // for the sake of correctness, get the stored value, contract does not force the
+            // supplied value to be attached
+            storedValue = idMap.get(value.getId());
+            if (storedValue == null) {
+                throw new NoSuchElementException(
+                        value.getClass().getSimpleName()
+                                + " with id "
+                                + value.getId()
+                                + " does not exist");
             }
+            Map<CatalogInfoIndex<T>, Set<String>> oldKeys = indexKeys(storedValue);
+            updated = snapshotReads ? CatalogInfoCopier.copy(storedValue) : storedValue;
+            patch.applyTo(updated);
+            compact(updated);
+            replaceLocked(storedValue, updated, oldKeys);
+        } finally {
+            lock.unlock();
+        }
+        notifyReplaced(storedValue, updated);
+        return (I) updated;
+    }
+
+    /** @return the secondary index keys of {@code value} as of its current state */
+    private Map<CatalogInfoIndex<T>, Set<String>> indexKeys(T value) {
+        Map<CatalogInfoIndex<T>, Set<String>> keys = new HashMap<>();
+        for (CatalogInfoIndex<T> index : indexes.values()) {
+            keys.put(index, index.keys(value));
+        }
+        return keys;
+    }
+
+    /**
+     * Updates the id, name, and secondary indexes after {@code storedValue} has been modified in
+     * place, or replaced by {@code updated}, called holding its lock
+     *
+     * @param oldKeys the index keys of {@code storedValue} before it was modified
+     */
+    private void replaceLocked(
+            T storedValue, T updated, Map<CatalogInfoIndex<T>, Set<String>> oldKeys) {
+        final String id = storedValue.getId();
+        if (updated != storedValue) {
+            getMapForValue(idMultiMap, storedValue).put(id, updated);
+        }
+        oldKeys.forEach((index, keys) -> index.update(keys, updated));
+        updateSortedViews(updated);
+        ConcurrentMap<String, Name> idToName = getMapForValue(idToMameMultiMap, storedValue);
+        Name oldName = idToName.get(id);
+        Name newName = nameMapper.apply(updated);
+        Map<Name, T> nameMap = getMapForValue(nameMultiMap, storedValue);
+        if (!Objects.equals(oldName, newName)) {
+            if (oldName != null) {
+                nameMap.remove(oldName, storedValue);
+            }
+            nameMap.put(newName, updated);
+            idToName.put(id, newName);
+        } else if (updated != storedValue) {
+            nameMap.replace(newName, storedValue, updated);
+        }
+        if (updated != storedValue) {
+            replaced(storedValue, updated);
+        }
+    }
+
+    /** Notifies the {@link #setReplacementListener replacement listener}, if any */
+    private void notifyReplaced(T storedValue, T updated) {
+        BiConsumer<? super T, ? super T> listener = this.replacementListener;
+        if (listener != null && updated != storedValue) {
+            listener.accept(storedValue, updated);
         }
-        return (I) storedValue;
     }
 
     public @Override void dispose() {
@@ -228,9 +813,14 @@ abstract class CatalogInfoLookup<T extends CatalogInfo> implements CatalogInfoRe
     }
 
     protected void clear() {
-        idMultiMap.clear();
-        nameMultiMap.clear();
-        idToMameMultiMap.clear();
+        write(
+                () -> {
+                    idMultiMap.clear();
+                    nameMultiMap.clear();
+                    idToMameMultiMap.clear();
+                    indexes.values().forEach(CatalogInfoIndex::clear);
+                    sortedViews.values().forEach(CatalogInfoSortedView::clear);
+                });
     }
 
     /**
@@ -266,12 +856,41 @@ abstract class CatalogInfoLookup<T extends CatalogInfo> implements CatalogInfoRe
         throw new IllegalStateException("empty property name");
     }
 
+    /**
+     * Runs the query through {@link CatalogInfoQueryPlanner}, so that filters on indexed properties
+     * only evaluate the remaining predicates on the objects resolved through the indexes.
+     *
+     * <p>Paged queries collect at most {@code offset + count} matches: unsorted ones stop once
+     * they're found, sorted ones select them with a bounded heap instead of sorting all matches, or
+     * iterate a {@link CatalogInfoSortedView} in order if there's one for the sort property.
+     */
     @Override
     public <U extends T> Stream<U> findAll(Query<U> query) {
         requireNonNull(query);
 
-        Comparator<U> comparator = toComparator(query);
-        Stream<U> stream = list(query.getType(), toPredicate(query.getFilter()), comparator);
+        final Class<U> type = query.getType();
+        final Comparator<U> comparator = toComparator(query);
+        final QueryPlan<U> plan = queryPlanner.plan(type, query.getFilter());
+        final Predicate<U> predicate = toPredicate(plan.getResidualFilter());
+        final int maxResults = maxResults(query);
+
+        final CatalogInfoSortedView<T> sortedView = plan.isIndexed() ? null : sortedView(query);
+        List<U> matches;
+        if (plan.isIndexed()) {
+            matches = select(plan.getCandidates(), predicate, comparator, maxResults);
+        } else if (sortedView != null) {
+            boolean descending = SortOrder.DESCENDING == query.getSortBy().get(0).getSortOrder();
+            matches = new ArrayList<>();
+            for (T v : sortedView.values(descending)) {
+                if (maxResults > -1 && matches.size() == maxResults) break;
+                if (type.isInstance(v) && predicate.test(type.cast(v))) {
+                    matches.add(type.cast(v));
+                }
+            }
+        } else {
+            matches = collect(type, predicate, comparator, maxResults);
+        }
+        Stream<U> stream = matches.stream();
 
         if (query.offset().isPresent()) {
             stream = stream.skip(query.offset().getAsInt());
@@ -282,14 +901,63 @@ abstract class CatalogInfoLookup<T extends CatalogInfo> implements CatalogInfoRe
         return stream;
     }
 
+    /** @return the sorted view for the query's single sort property, or {@code null} */
+    private @Nullable CatalogInfoSortedView<T> sortedView(Query<?> query) {
+        List<SortBy> sortBy = query.getSortBy();
+        if (sortBy.size() != 1 || sortBy.get(0).getPropertyName() == null) {
+            return null;
+        }
+        return sortedViews.get(sortBy.get(0).getPropertyName().getPropertyName());
+    }
+
+    private static <U> List<U> select(
+            List<U> candidates, Predicate<U> predicate, Comparator<U> comparator, int maxResults) {
+        if (comparator != PROVIDED_ORDER && maxResults > -1) {
+            TopKSelector<U> topK = new TopKSelector<>(maxResults, comparator);
+            for (U candidate : candidates) {
+                if (predicate.test(candidate)) topK.add(candidate);
+            }
+            return topK.toList();
+        }
+        List<U> matches = new ArrayList<>();
+        for (U candidate : candidates) {
+            if (maxResults > -1 && matches.size() == maxResults) break;
+            if (predicate.test(candidate)) matches.add(candidate);
+        }
+        if (comparator != PROVIDED_ORDER) {
+            Collections.sort(matches, comparator);
+        }
+        return matches;
+    }
+
+    /**
+     * Counts through {@link CatalogInfoQueryPlanner#count}, so that equality filters on indexed
+     * properties are resolved from the index sizes and other indexed filters only evaluate the
+     * residual filter on the candidates, falling back to counting the matches of a full scan
+     * without collecting them.
+     */
     public @Override <U extends T> long count(Class<U> type, Filter filter) {
-        return Filter.INCLUDE.equals(filter)
-                ? idMultiMap.entrySet().stream()
-                        .filter(k -> type.isAssignableFrom(k.getKey()))
-                        .map(Map.Entry::getValue)
-                        .mapToLong(Map::size)
-                        .sum()
-                : findAll(Query.valueOf(type, filter)).count();
+        if (Filter.INCLUDE.equals(filter)) {
+            return idMultiMap.entrySet().stream()
+                    .filter(k -> type.isAssignableFrom(k.getKey()))
+                    .map(Map.Entry::getValue)
+                    .mapToLong(Map::size)
+                    .sum();
+        }
+        OptionalLong count = queryPlanner.count(type, filter);
+        if (count.isPresent()) {
+            return count.getAsLong();
+        }
+        final Predicate<U> predicate = toPredicate(filter);
+        long matches = 0;
+        for (Class<? extends T> key : idMultiMap.keySet()) {
+            if (type.isAssignableFrom(key)) {
+                for (T v : getMapForType(idMultiMap, key).values()) {
+                    if (predicate.test(type.cast(v))) matches++;
+                }
+            }
+        }
+        return matches;
     }
 
     public static <U extends CatalogInfo> Comparator<U> toComparator(Query<?> query) {
@@ -308,16 +976,35 @@ abstract class CatalogInfoLookup<T extends CatalogInfo> implements CatalogInfoRe
         return (Comparator<U>) PROVIDED_ORDER;
     }
 
+    /** @return {@code offset + count} if the query is paged, {@code -1} otherwise */
+    private static int maxResults(Query<?> query) {
+        if (query.count().isEmpty()) {
+            return -1;
+        }
+        long max = (long) query.offset().orElse(0) + query.count().getAsInt();
+        return (int) Math.min(max, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Property names in {@code filter} are {@link PropertyAccessorRegistry#compile(Filter)
+     * compiled} to avoid reflection when evaluating it
+     */
     protected <V> Predicate<V> toPredicate(Filter filter) {
-        return o -> filter.evaluate(o);
+        if (Filter.INCLUDE.equals(filter)) {
+            return alwaysTrue();
+        }
+        final Filter compiled = PropertyAccessorRegistry.compile(filter);
+        return o -> compiled.evaluate(o);
     }
 
     private static <U extends CatalogInfo> Comparator<U> comparator(final SortBy sortOrder) {
+        final PropertyPath property =
+                PropertyAccessorRegistry.path(sortOrder.getPropertyName().getPropertyName());
         Comparator<U> comparator =
                 new Comparator<>() {
                     public @Override int compare(U o1, U o2) {
-                        Object v1 = OwsUtils.get(o1, sortOrder.getPropertyName().getPropertyName());
-                        Object v2 = OwsUtils.get(o2, sortOrder.getPropertyName().getPropertyName());
+                        Object v1 = property.get(o1);
+                        Object v2 = property.get(o2);
                         if (v1 == null) {
                             if (v2 == null) {
                                 return 0;
@@ -354,14 +1041,41 @@ abstract class CatalogInfoLookup<T extends CatalogInfo> implements CatalogInfoRe
      */
     <U extends CatalogInfo> Stream<U> list(
             Class<U> clazz, Predicate<U> predicate, Comparator<U> comparator) {
+        return collect(clazz, predicate, comparator, -1).stream();
+    }
+
+    /**
+     * @param maxResults maximum number of matches to collect, or {@code -1} for no limit. If
+     *     {@code comparator} is not {@link #PROVIDED_ORDER}, the first {@code maxResults} in
+     *     comparator order are selected through a {@link TopKSelector}
+     */
+    private <U extends CatalogInfo> List<U> collect(
+            Class<U> clazz, Predicate<U> predicate, Comparator<U> comparator, int maxResults) {
         requireNonNull(clazz);
         requireNonNull(predicate);
         requireNonNull(comparator);
+        final boolean sort = comparator != CatalogInfoLookup.PROVIDED_ORDER;
+        if (sort && maxResults > -1) {
+            TopKSelector<U> topK = new TopKSelector<>(maxResults, comparator);
+            for (Map.Entry<Class<? extends T>, ? extends Collection<T>> e :
+                    valuesByType().entrySet()) {
+                if (clazz.isAssignableFrom(e.getKey())) {
+                    for (T v : e.getValue()) {
+                        final U u = clazz.cast(v);
+                        if (predicate.test(u)) topK.add(u);
+                    }
+                }
+            }
+            return topK.toList();
+        }
+        final int limit = sort ? -1 : maxResults;
         List<U> result = new ArrayList<U>();
-        for (Class<? extends T> key : nameMultiMap.keySet()) {
-            if (clazz.isAssignableFrom(key)) {
-                Map<Name, T> valueMap = getMapForType(nameMultiMap, key);
-                for (T v : valueMap.values()) {
+        for (Map.Entry<Class<? extends T>, ? extends Collection<T>> e : valuesByType().entrySet()) {
+            if (clazz.isAssignableFrom(e.getKey())) {
+                for (T v : e.getValue()) {
+                    if (limit > -1 && result.size() == limit) {
+                        return result;
+                    }
                     final U u = clazz.cast(v);
                     if (predicate.test(u)) {
                         result.add(u);
@@ -370,10 +1084,10 @@ abstract class CatalogInfoLookup<T extends CatalogInfo> implements CatalogInfoRe
             }
         }
 
-        if (comparator != CatalogInfoLookup.PROVIDED_ORDER) {
+        if (sort) {
             Collections.sort(result, comparator);
         }
-        return result.stream();
+        return result;
     }
 
     /** Looks up a CatalogInfo by class and identifier */
@@ -398,10 +1112,14 @@ abstract class CatalogInfoLookup<T extends CatalogInfo> implements CatalogInfoRe
             String name, @Nullable Class<U> clazz) {
         requireNonNull(name);
         requireNonNull(clazz);
-        return findFirst(clazz, i -> name.equals(nameMapper.apply(i).getLocalPart()));
+        try (Stream<U> matches = index("name").find(name, clazz)) {
+            return matches.findFirst();
+        }
     }
 
     protected <U extends T> Optional<U> findFirstByName(Name name, @Nullable Class<U> clazz) {
+        // keys are compared as NameKey by the name maps
+        name = NameKey.valueOf(name);
         for (Class<? extends T> key : nameMultiMap.keySet()) {
             if (clazz.isAssignableFrom(key)) {
                 Map<Name, T> valueMap = getMapForType(nameMultiMap, key);
@@ -424,10 +1142,9 @@ abstract class CatalogInfoLookup<T extends CatalogInfo> implements CatalogInfoRe
      * things going on)
      */
     <U extends CatalogInfo> Optional<U> findFirst(Class<U> clazz, Predicate<U> predicate) {
-        for (Class<? extends T> key : nameMultiMap.keySet()) {
-            if (clazz.isAssignableFrom(key)) {
-                Map<Name, T> valueMap = getMapForType(nameMultiMap, key);
-                for (T v : valueMap.values()) {
+        for (Map.Entry<Class<? extends T>, ? extends Collection<T>> e : valuesByType().entrySet()) {
+            if (clazz.isAssignableFrom(e.getKey())) {
+                for (T v : e.getValue()) {
                     final U u = clazz.cast(v);
                     if (predicate.test(u)) {
                         return Optional.of(u);
@@ -439,25 +1156,61 @@ abstract class CatalogInfoLookup<T extends CatalogInfo> implements CatalogInfoRe
         return Optional.empty();
     }
 
-    public @Override void syncTo(CatalogInfoRepository<T> target) {
+    /**
+     * Copies the id and name maps at once if {@code target} is also a {@code CatalogInfoLookup},
+     * or adds all the objects to it in parallel batches otherwise
+     */
+    public @Override void syncTo(CatalogInfoRepository<T> target, CatalogSyncMonitor monitor) {
         requireNonNull(target);
+        requireNonNull(monitor);
         if (target instanceof CatalogInfoLookup) {
+            monitor.checkCanceled();
             CatalogInfoLookup<T> other = (CatalogInfoLookup<T>) target;
-            other.clear();
-            other.idMultiMap.putAll(this.idMultiMap);
-            other.nameMultiMap.putAll(this.nameMultiMap);
-            other.idToMameMultiMap.putAll(this.idToMameMultiMap);
+            other.write(
+                    () -> {
+                        other.clear();
+                        // copy the per-type maps, they're modified in place
+                        copyTo(this.idMultiMap, other.idMultiMap);
+                        copyTo(this.nameMultiMap, other.nameMultiMap);
+                        copyTo(this.idToMameMultiMap, other.idToMameMultiMap);
+                        other.reindex();
+                    });
+            idMultiMap.values().forEach(values -> monitor.synced(infoType, values.size()));
         } else {
-            this.idMultiMap.values().forEach(typeMap -> typeMap.values().forEach(target::add));
+            final boolean ordered = LayerGroupInfo.class.equals(infoType);
+            monitor.copy(infoType, values(), target::addAll, ordered);
         }
     }
 
+    private static <C, K, V> void copyTo(
+            ConcurrentMap<C, ConcurrentNavigableMap<K, V>> source,
+            ConcurrentMap<C, ConcurrentNavigableMap<K, V>> target) {
+        source.forEach((type, typeMap) -> target.put(type, new ConcurrentSkipListMap<>(typeMap)));
+    }
+
+    /**
+     * Creates a sorted view on {@code prefixedName} grouping by namespace id and sorting the groups
+     * by {@code <prefix>:}, which results in the same order as sorting by {@code
+     * <prefix>:<name>} since prefixes can't contain a colon
+     */
+    static <T extends CatalogInfo> CatalogInfoSortedView<T> prefixedNameView(
+            Function<T, ResourceInfo> resource) {
+        Function<T, NamespaceInfo> namespace =
+                v -> resource.apply(v) == null ? null : resource.apply(v).getNamespace();
+        return CatalogInfoSortedView.grouped(
+                "prefixedName",
+                v -> namespace.apply(v) == null ? null : namespace.apply(v).getId(),
+                v -> namespace.apply(v) == null ? null : namespace.apply(v).getPrefix() + ":",
+                v -> resource.apply(v) == null ? null : resource.apply(v).getName());
+    }
+
     static class NamespaceInfoLookup extends CatalogInfoLookup<NamespaceInfo>
             implements NamespaceRepository {
         private NamespaceInfo defaultNamespace;
 
         public NamespaceInfoLookup() {
             super(NamespaceInfo.class, NAMESPACE_NAME_MAPPER);
+            addIndex(CatalogInfoIndex.byProperty("URI", NamespaceInfo::getURI));
         }
 
         public @Override void setDefaultNamespace(NamespaceInfo namespace) {
@@ -473,17 +1226,25 @@ abstract class CatalogInfoLookup<T extends CatalogInfo> implements CatalogInfoRe
 
         public @Override Optional<NamespaceInfo> findOneByURI(String uri) {
             requireNonNull(uri);
-            return findFirst(NamespaceInfo.class, ns -> uri.equals(ns.getURI()));
+            try (Stream<NamespaceInfo> matches = findAllByURI(uri)) {
+                return matches.findFirst();
+            }
         }
 
         public @Override Stream<NamespaceInfo> findAllByURI(String uri) {
             requireNonNull(uri);
-            return list(NamespaceInfo.class, ns -> ns.getURI().equals(uri));
+            return index("URI").find(uri, NamespaceInfo.class);
         }
 
         public @Override void unsetDefaultNamespace() {
             defaultNamespace = null;
         }
+
+        protected @Override void replaced(NamespaceInfo old, NamespaceInfo current) {
+            if (defaultNamespace == old) {
+                defaultNamespace = current;
+            }
+        }
     }
 
     static class WorkspaceInfoLookup extends CatalogInfoLookup<WorkspaceInfo>
@@ -508,6 +1269,12 @@ abstract class CatalogInfoLookup<T extends CatalogInfo> implements CatalogInfoRe
         public @Override void unsetDefaultWorkspace() {
             defaultWorkspace = null;
         }
+
+        protected @Override void replaced(WorkspaceInfo old, WorkspaceInfo current) {
+            if (defaultWorkspace == old) {
+                defaultWorkspace = current;
+            }
+        }
     }
 
     static class StoreInfoLookup extends CatalogInfoLookup<StoreInfo> implements StoreRepository {
@@ -516,6 +1283,7 @@ abstract class CatalogInfoLookup<T extends CatalogInfo> implements CatalogInfoRe
 
         public StoreInfoLookup() {
             super(StoreInfo.class, STORE_NAME_MAPPER);
+            addIndex(CatalogInfoIndex.byReference("workspace.id", StoreInfo::getWorkspace));
         }
 
         public @Override void setDefaultDataStore(WorkspaceInfo workspace, DataStoreInfo store) {
@@ -546,11 +1314,18 @@ abstract class CatalogInfoLookup<T extends CatalogInfo> implements CatalogInfoRe
             defaultStores.clear();
         }
 
+        protected @Override void replaced(StoreInfo old, StoreInfo current) {
+            if (current instanceof DataStoreInfo) {
+                DataStoreInfo ds = (DataStoreInfo) current;
+                defaultStores.replaceAll((ws, store) -> store == old ? ds : store);
+            }
+        }
+
         public @Override <T extends StoreInfo> Stream<T> findAllByWorkspace(
                 WorkspaceInfo workspace, Class<T> clazz) {
             requireNonNull(workspace);
             requireNonNull(clazz);
-            return list(clazz, s -> workspace.getId().equals(s.getWorkspace().getId()));
+            return index("workspace.id").find(workspace.getId(), clazz);
         }
 
         public @Override <T extends StoreInfo> Stream<T> findAllByType(Class<T> clazz) {
@@ -563,45 +1338,63 @@ abstract class CatalogInfoLookup<T extends CatalogInfo> implements CatalogInfoRe
             requireNonNull(name);
             requireNonNull(workspace);
             requireNonNull(clazz);
-            return findFirstByName(new NameImpl(workspace.getId(), name), clazz);
+            return findFirstByName(NameKey.valueOf(workspace.getId(), name), clazz);
         }
     }
 
+    /**
+     * Keeps the child to parent edges of the layer group {@link LayerGroupContainment containment
+     * graph} in the {@code members.id} index, so that containment lookups walk up the graph in
+     * time proportional to its depth instead of scanning all layer groups and their members
+     */
     static class LayerGroupInfoLookup extends CatalogInfoLookup<LayerGroupInfo>
             implements LayerGroupRepository {
         public LayerGroupInfoLookup() {
             super(LayerGroupInfo.class, LAYERGROUP_NAME_MAPPER);
+            addIndex(CatalogInfoIndex.byReference("workspace.id", LayerGroupInfo::getWorkspace));
+            addIndex(CatalogInfoIndex.derived("members.id", LayerGroupContainment::memberIds));
+        }
+
+        public @Override Stream<LayerGroupInfo> findAllByMember(CatalogInfo member) {
+            requireNonNull(member);
+            return parents(member.getId());
+        }
+
+        public @Override Stream<LayerGroupInfo> findAllContaining(CatalogInfo member) {
+            requireNonNull(member);
+            return LayerGroupContainment.ancestors(member.getId(), this::parents).stream();
+        }
+
+        private Stream<LayerGroupInfo> parents(String memberId) {
+            return index("members.id").find(memberId, LayerGroupInfo.class);
         }
 
         public @Override Stream<LayerGroupInfo> findAllByWorkspaceIsNull() {
-            return list(LayerGroupInfo.class, lg -> lg.getWorkspace() == null);
+            return index("workspace.id").findNull(LayerGroupInfo.class);
         }
 
         public @Override Stream<LayerGroupInfo> findAllByWorkspace(WorkspaceInfo workspace) {
             requireNonNull(workspace);
-            return list(
-                    LayerGroupInfo.class,
-                    lg ->
-                            lg.getWorkspace() != null
-                                    && lg.getWorkspace().getId().equals(workspace.getId()));
+            return index("workspace.id").find(workspace.getId(), LayerGroupInfo.class);
         }
 
         public @Override Optional<LayerGroupInfo> findByNameAndWorkspaceIsNull(String name) {
             requireNonNull(name);
-            return findFirstByName(new NameImpl(null, name), LayerGroupInfo.class);
+            return findFirstByName(NameKey.valueOf(null, name), LayerGroupInfo.class);
         }
 
         public @Override Optional<LayerGroupInfo> findByNameAndWorkspace(
                 String name, WorkspaceInfo workspace) {
             requireNonNull(name);
             requireNonNull(workspace);
-            return findFirstByName(new NameImpl(workspace.getId(), name), LayerGroupInfo.class);
+            return findFirstByName(NameKey.valueOf(workspace.getId(), name), LayerGroupInfo.class);
         }
     }
 
     static class MapInfoLookup extends CatalogInfoLookup<MapInfo> implements MapRepository {
         public MapInfoLookup() {
             super(MapInfo.class, MAP_NAME_MAPPER);
+            addIndex(CatalogInfoIndex.byReferences("layers.id", MapInfo::getLayers));
         }
     }
 
@@ -617,18 +1410,32 @@ abstract class CatalogInfoLookup<T extends CatalogInfo> implements CatalogInfoRe
         public ResourceInfoLookup(LayerInfoLookup layers) {
             super(ResourceInfo.class, RESOURCE_NAME_MAPPER);
             this.layers = layers;
+            addIndex(CatalogInfoIndex.byReference("store.id", ResourceInfo::getStore));
+            addIndex(CatalogInfoIndex.byReference("namespace.id", ResourceInfo::getNamespace));
+            addSortedView(prefixedNameView(r -> r));
         }
 
         public @Override <R extends ResourceInfo> R update(R value, Patch patch) {
             requireNonNull(value);
             requireNonNull(patch);
-            Name oldName = getMapForValue(idToMameMultiMap, value).get(value.getId());
-            R updated = super.update(value, patch);
-            Name newName = nameMapper.apply(value);
-            if (!newName.equals(oldName)) {
-                layers.updateName(oldName, newName);
+            return write(() -> updateWithLayerName(value, patch));
+        }
+
+        private <R extends ResourceInfo> R updateWithLayerName(R value, Patch patch) {
+            // locks are reentrant, hold it so the layer name update is atomic with the resource's
+            final Lock lock = lockFor(value.getId());
+            lock.lock();
+            try {
+                Name oldName = getMapForValue(idToMameMultiMap, value).get(value.getId());
+                R updated = super.update(value, patch);
+                Name newName = nameMapper.apply(updated);
+                if (oldName != null && !newName.equals(oldName)) {
+                    layers.updateName(oldName, newName);
+                }
+                return updated;
+            } finally {
+                lock.unlock();
             }
-            return updated;
         }
 
         public @Override <T extends ResourceInfo> Stream<T> findAllByType(Class<T> clazz) {
@@ -640,7 +1447,7 @@ abstract class CatalogInfoLookup<T extends CatalogInfo> implements CatalogInfoRe
                 NamespaceInfo ns, Class<T> clazz) {
             requireNonNull(ns);
             requireNonNull(clazz);
-            return list(clazz, r -> ns.equals(r.getNamespace()));
+            return index("namespace.id").find(ns.getId(), clazz);
         }
 
         public @Override <T extends ResourceInfo> Optional<T> findByStoreAndName(
@@ -648,16 +1455,16 @@ abstract class CatalogInfoLookup<T extends CatalogInfo> implements CatalogInfoRe
             requireNonNull(store);
             requireNonNull(name);
             requireNonNull(clazz);
-            return findFirst(
-                    clazz,
-                    r -> name.equals(r.getName()) && store.getId().equals(r.getStore().getId()));
+            try (Stream<T> storeResources = index("store.id").find(store.getId(), clazz)) {
+                return storeResources.filter(r -> name.equals(r.getName())).findFirst();
+            }
         }
 
         public @Override <T extends ResourceInfo> Stream<T> findAllByStore(
                 StoreInfo store, Class<T> clazz) {
             requireNonNull(store);
             requireNonNull(clazz);
-            return list(clazz, r -> store.equals(r.getStore()));
+            return index("store.id").find(store.getId(), clazz);
         }
 
         public @Override <T extends ResourceInfo> Optional<T> findByNameAndNamespace(
@@ -665,54 +1472,87 @@ abstract class CatalogInfoLookup<T extends CatalogInfo> implements CatalogInfoRe
             requireNonNull(name);
             requireNonNull(namespace);
             requireNonNull(clazz);
-            return findFirstByName(new NameImpl(namespace.getId(), name), clazz);
+            return findFirstByName(NameKey.valueOf(namespace.getId(), name), clazz);
         }
     }
 
     static final class LayerInfoLookup extends CatalogInfoLookup<LayerInfo>
             implements LayerRepository {
 
+        /**
+         * Name of the index on the ids of the default style and styles, not to be mistaken for the
+         * {@code styles} property
+         */
+        static final String STYLES_INDEX = "defaultStyleOrStyles.id";
+
         public LayerInfoLookup() {
             super(LayerInfo.class, LAYER_NAME_MAPPER);
+            addIndex(CatalogInfoIndex.byReference("resource.id", LayerInfo::getResource));
+            addIndex(CatalogInfoIndex.derived(STYLES_INDEX, LayerInfoLookup::styleIds));
+            addSortedView(prefixedNameView(LayerInfo::getResource));
+        }
+
+        /** @return the ids of the default style and styles of {@code layer} */
+        private static Set<String> styleIds(LayerInfo layer) {
+            List<StyleInfo> styles = new ArrayList<>();
+            if (layer.getDefaultStyle() != null) {
+                styles.add(layer.getDefaultStyle());
+            }
+            if (layer.getStyles() != null) {
+                styles.addAll(layer.getStyles());
+            }
+            return CatalogInfoIndex.ids(styles);
         }
 
         void updateName(Name oldName, Name newName) {
             requireNonNull(oldName);
             requireNonNull(newName);
+            // the name order of the snapshot changes
+            write(() -> updateNameInternal(oldName, newName));
+        }
+
+        private void updateNameInternal(Name oldName, Name newName) {
             ConcurrentMap<Name, LayerInfo> nameLookup =
                     getMapForType(nameMultiMap, LayerInfoImpl.class);
-            LayerInfo layer = nameLookup.remove(oldName);
+            LayerInfo layer = nameLookup.get(oldName);
             if (layer != null) {
-                nameLookup.put(newName, layer);
-                getMapForType(idToMameMultiMap, LayerInfoImpl.class).put(layer.getId(), newName);
+                final Lock lock = lockFor(layer.getId());
+                lock.lock();
+                try {
+                    if (nameLookup.remove(oldName, layer)) {
+                        nameLookup.put(newName, layer);
+                        getMapForType(idToMameMultiMap, LayerInfoImpl.class)
+                                .put(layer.getId(), newName);
+                        String oldKey = CatalogInfoIndex.keyOf(oldName.getLocalPart());
+                        index("name").update(Set.of(oldKey), layer);
+                        updateSortedViews(layer);
+                    }
+                } finally {
+                    lock.unlock();
+                }
             }
         }
 
         /** Override to remove by name instead of by id */
-        public @Override void remove(LayerInfo value) {
-            requireNonNull(value);
-            checkNotAProxy(value);
+        protected @Override void removeLocked(LayerInfo value) {
             ConcurrentMap<Name, LayerInfo> nameMap = getMapForValue(nameMultiMap, value);
-            synchronized (nameMap) {
-                Name name = nameMapper.apply(value);
-                LayerInfo removed = nameMap.remove(name);
-                if (removed != null) {
-                    getMapForValue(idMultiMap, value).remove(value.getId());
-                    getMapForValue(idToMameMultiMap, value).remove(value.getId());
-                }
+            Name name = nameMapper.apply(value);
+            LayerInfo removed = nameMap.remove(name);
+            if (removed != null) {
+                getMapForValue(idMultiMap, value).remove(value.getId());
+                getMapForValue(idToMameMultiMap, value).remove(value.getId());
+                removeFromIndexes(removed);
             }
         }
 
         public @Override Optional<LayerInfo> findOneByName(String name) {
             requireNonNull(name);
-            return findFirst(LayerInfo.class, li -> name.equals(li.getName()));
+            return findFirstByName(name, LayerInfo.class);
         }
 
         public @Override Stream<LayerInfo> findAllByDefaultStyleOrStyles(StyleInfo style) {
             requireNonNull(style);
-            return list(
-                    LayerInfo.class,
-                    li -> style.equals(li.getDefaultStyle()) || li.getStyles().contains(style));
+            return index(STYLES_INDEX).find(style.getId(), LayerInfo.class);
         }
 
         public @Override Stream<LayerInfo> findAllByResource(ResourceInfo resource) {
@@ -728,29 +1568,28 @@ abstract class CatalogInfoLookup<T extends CatalogInfo> implements CatalogInfoRe
     static class StyleInfoLookup extends CatalogInfoLookup<StyleInfo> implements StyleRepository {
         public StyleInfoLookup() {
             super(StyleInfo.class, STYLE_NAME_MAPPER);
+            addIndex(CatalogInfoIndex.byReference("workspace.id", StyleInfo::getWorkspace));
         }
 
         public @Override Stream<StyleInfo> findAllByNullWorkspace() {
-            return list(StyleInfo.class, s -> s.getWorkspace() == null);
+            return index("workspace.id").findNull(StyleInfo.class);
         }
 
         public @Override Stream<StyleInfo> findAllByWorkspace(WorkspaceInfo ws) {
             requireNonNull(ws);
-            return list(
-                    StyleInfo.class,
-                    s -> s.getWorkspace() != null && s.getWorkspace().getId().equals(ws.getId()));
+            return index("workspace.id").find(ws.getId(), StyleInfo.class);
         }
 
         public @Override Optional<StyleInfo> findByNameAndWordkspaceNull(String name) {
             requireNonNull(name);
-            return findFirstByName(new NameImpl(null, name), StyleInfo.class);
+            return findFirstByName(NameKey.valueOf(null, name), StyleInfo.class);
         }
 
         public @Override Optional<StyleInfo> findByNameAndWorkspace(
                 String name, WorkspaceInfo workspace) {
             requireNonNull(name);
             requireNonNull(workspace);
-            return findFirstByName(new NameImpl(workspace.getId(), name), StyleInfo.class);
+            return findFirstByName(NameKey.valueOf(workspace.getId(), name), StyleInfo.class);
         }
     }
 }
@@ -0,0 +1,350 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.catalog.plugin;
+
+import static java.util.Objects.requireNonNull;
+
+import org.geoserver.catalog.CatalogInfo;
+import org.geotools.factory.CommonFactoryFinder;
+import org.opengis.filter.And;
+import org.opengis.filter.Filter;
+import org.opengis.filter.FilterFactory2;
+import org.opengis.filter.MultiValuedFilter.MatchAction;
+import org.opengis.filter.Or;
+import org.opengis.filter.PropertyIsEqualTo;
+import org.opengis.filter.PropertyIsLike;
+import org.opengis.filter.expression.Expression;
+import org.opengis.filter.expression.Function;
+import org.opengis.filter.expression.Literal;
+import org.opengis.filter.expression.PropertyName;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/**
+ * Rule based query planner for {@link CatalogInfoLookup#findAll(Query)}, resolves the parts of a
+ * {@link Filter} that can be answered by the lookup's id and secondary indexes to a reduced list of
+ * candidates, leaving a residual filter to be evaluated only against them.
+ *
+ * <p>Recognized filters are:
+ *
+ * <ul>
+ *   <li>{@link PropertyIsEqualTo} between an indexed {@link PropertyName} and a string {@link
+ *       Literal}, case sensitive. Collection properties (e.g. {@code MapInfo.layers.id}) only with
+ *       {@link MatchAction#ANY}
+ *   <li>The {@code in(property, literal...)} filter function, compared to {@code true}
+ *   <li>{@link PropertyIsLike} on a property with a sorted view supporting prefix searches (e.g.
+ *       {@code name}), case sensitive, and with a single wildcard at the end of the pattern (e.g.
+ *       {@code name LIKE 'roads*'})
+ *   <li>{@link Or} when all of its children are recognized (e.g. a list of equality checks on the
+ *       same property)
+ *   <li>{@link And} when at least one of its children is recognized, in which case the child
+ *       producing the least candidates drives the query and the others become the residual filter
+ * </ul>
+ *
+ * <p>Anything else results in a {@link QueryPlan#isIndexed() non indexed} plan, and hence a full
+ * scan.
+ *
+ * <p>{@link #count} resolves equality filters on indexed properties from the index sizes, without
+ * collecting the candidates.
+ *
+ * @param <T>
+ */
+class CatalogInfoQueryPlanner<T extends CatalogInfo> {
+
+    private static final FilterFactory2 FF = CommonFactoryFinder.getFilterFactory2();
+
+    private final CatalogInfoLookup<T> lookup;
+
+    CatalogInfoQueryPlanner(CatalogInfoLookup<T> lookup) {
+        this.lookup = requireNonNull(lookup);
+    }
+
+    /**
+     * The outcome of planning a query filter: either a list of candidates and the residual filter
+     * to apply to them, or the original filter to be evaluated over the whole repository
+     */
+    static class QueryPlan<U> {
+        private final @Nullable List<U> candidates;
+        private final Filter residual;
+
+        QueryPlan(@Nullable List<U> candidates, Filter residual) {
+            this.candidates = candidates;
+            this.residual = requireNonNull(residual);
+        }
+
+        /** @return {@code true} if the candidates were resolved through the lookup indexes */
+        public boolean isIndexed() {
+            return candidates != null;
+        }
+
+        /** @return the candidate objects, only if {@link #isIndexed()} */
+        public List<U> getCandidates() {
+            if (candidates == null) {
+                throw new IllegalStateException("Query plan is not indexed");
+            }
+            return candidates;
+        }
+
+        /**
+         * @return the filter to evaluate on the {@link #getCandidates() candidates} if {@link
+         *     #isIndexed() indexed}, or on every object otherwise
+         */
+        public Filter getResidualFilter() {
+            return residual;
+        }
+    }
+
+    /** Candidate objects resolved for a filter, and whether they match it exactly */
+    private static class Candidates<U> {
+        final List<U> values;
+        final boolean exact;
+
+        Candidates(List<U> values, boolean exact) {
+            this.values = values;
+            this.exact = exact;
+        }
+    }
+
+    public <U extends T> QueryPlan<U> plan(Class<U> type, Filter filter) {
+        requireNonNull(type);
+        requireNonNull(filter);
+        if (filter instanceof And) {
+            return planAnd(type, ((And) filter).getChildren(), filter);
+        }
+        return candidates(type, filter)
+                .map(c -> new QueryPlan<>(c.values, c.exact ? Filter.INCLUDE : filter))
+                .orElseGet(() -> new QueryPlan<>(null, filter));
+    }
+
+    /**
+     * @return the number of objects matching {@code filter} if it can be computed from the indexes
+     *     without a full scan, or {@link OptionalLong#empty() empty} otherwise
+     */
+    public <U extends T> OptionalLong count(Class<U> type, Filter filter) {
+        requireNonNull(type);
+        requireNonNull(filter);
+        if (Filter.EXCLUDE.equals(filter)) {
+            return OptionalLong.of(0);
+        }
+        if (filter instanceof PropertyIsEqualTo) {
+            OptionalLong count = countEqualTo(type, (PropertyIsEqualTo) filter);
+            if (count.isPresent()) {
+                return count;
+            }
+        }
+        QueryPlan<U> plan = plan(type, filter);
+        if (!plan.isIndexed()) {
+            return OptionalLong.empty();
+        }
+        if (Filter.INCLUDE.equals(plan.getResidualFilter())) {
+            return OptionalLong.of(plan.getCandidates().size());
+        }
+        Filter residual = PropertyAccessorRegistry.compile(plan.getResidualFilter());
+        long count = 0;
+        for (U candidate : plan.getCandidates()) {
+            if (residual.evaluate(candidate)) count++;
+        }
+        return OptionalLong.of(count);
+    }
+
+    private <U extends T> OptionalLong countEqualTo(Class<U> type, PropertyIsEqualTo f) {
+        if (!f.isMatchingCase()) {
+            return OptionalLong.empty();
+        }
+        Expression e1 = f.getExpression1();
+        Expression e2 = f.getExpression2();
+        PropertyName property = null;
+        Object value = null;
+        if (e1 instanceof PropertyName && e2 instanceof Literal) {
+            property = (PropertyName) e1;
+            value = ((Literal) e2).getValue();
+        } else if (e2 instanceof PropertyName && e1 instanceof Literal) {
+            property = (PropertyName) e2;
+            value = ((Literal) e1).getValue();
+        }
+        if (property == null || !(value instanceof String)) {
+            return OptionalLong.empty();
+        }
+        return lookup.countByIndex(
+                property.getPropertyName(), (String) value, f.getMatchAction(), type);
+    }
+
+    private <U extends T> QueryPlan<U> planAnd(
+            Class<U> type, List<Filter> children, Filter original) {
+        int best = -1;
+        Candidates<U> bestCandidates = null;
+        for (int i = 0; i < children.size(); i++) {
+            Optional<Candidates<U>> candidates = candidates(type, children.get(i));
+            if (candidates.isPresent()
+                    && (bestCandidates == null
+                            || candidates.get().values.size() < bestCandidates.values.size())) {
+                best = i;
+                bestCandidates = candidates.get();
+                if (bestCandidates.values.isEmpty()) break;
+            }
+        }
+        if (bestCandidates == null) {
+            return new QueryPlan<>(null, original);
+        }
+        Filter residual = original;
+        if (bestCandidates.exact) {
+            List<Filter> others = new ArrayList<>(children);
+            others.remove(best);
+            if (others.isEmpty()) residual = Filter.INCLUDE;
+            else if (others.size() == 1) residual = others.get(0);
+            else residual = FF.and(others);
+        }
+        return new QueryPlan<>(bestCandidates.values, residual);
+    }
+
+    private <U extends T> Optional<Candidates<U>> candidates(Class<U> type, Filter filter) {
+        if (Filter.EXCLUDE.equals(filter)) {
+            return Optional.of(new Candidates<>(Collections.emptyList(), true));
+        }
+        if (filter instanceof PropertyIsEqualTo) {
+            return equalTo(type, (PropertyIsEqualTo) filter);
+        }
+        if (filter instanceof PropertyIsLike) {
+            return like(type, (PropertyIsLike) filter);
+        }
+        if (filter instanceof Or) {
+            return anyOf(type, ((Or) filter).getChildren());
+        }
+        if (filter instanceof And) {
+            QueryPlan<U> plan = planAnd(type, ((And) filter).getChildren(), filter);
+            if (plan.isIndexed()) {
+                List<U> matches = new ArrayList<>();
+                Filter residual = PropertyAccessorRegistry.compile(plan.getResidualFilter());
+                for (U candidate : plan.getCandidates()) {
+                    if (residual.evaluate(candidate)) matches.add(candidate);
+                }
+                return Optional.of(new Candidates<>(matches, true));
+            }
+        }
+        return Optional.empty();
+    }
+
+    private <U extends T> Optional<Candidates<U>> equalTo(Class<U> type, PropertyIsEqualTo f) {
+        if (!f.isMatchingCase()) {
+            return Optional.empty();
+        }
+        Expression e1 = f.getExpression1();
+        Expression e2 = f.getExpression2();
+        if (e1 instanceof Function && e2 instanceof Literal) {
+            return in(type, (Function) e1, (Literal) e2);
+        }
+        if (e2 instanceof Function && e1 instanceof Literal) {
+            return in(type, (Function) e2, (Literal) e1);
+        }
+        final MatchAction matchAction = f.getMatchAction();
+        if (e1 instanceof PropertyName && e2 instanceof Literal) {
+            return propertyEquals(type, (PropertyName) e1, (Literal) e2, matchAction);
+        }
+        if (e2 instanceof PropertyName && e1 instanceof Literal) {
+            return propertyEquals(type, (PropertyName) e2, (Literal) e1, matchAction);
+        }
+        return Optional.empty();
+    }
+
+    private <U extends T> Optional<Candidates<U>> propertyEquals(
+            Class<U> type, PropertyName property, Literal literal, MatchAction matchAction) {
+        Object value = literal.getValue();
+        if (!(value instanceof String)) {
+            return Optional.empty();
+        }
+        return lookup.findByIndex(property.getPropertyName(), (String) value, matchAction, type)
+                .map(values -> new Candidates<>(values, true));
+    }
+
+    /** Handles {@code property LIKE 'prefix*'} */
+    private <U extends T> Optional<Candidates<U>> like(Class<U> type, PropertyIsLike f) {
+        if (!f.isMatchingCase() || !(f.getExpression() instanceof PropertyName)) {
+            return Optional.empty();
+        }
+        String prefix = likePrefix(f);
+        if (prefix == null || prefix.isEmpty()) {
+            return Optional.empty();
+        }
+        String propertyName = ((PropertyName) f.getExpression()).getPropertyName();
+        return lookup.findByPrefix(propertyName, prefix, type)
+                .map(values -> new Candidates<>(values, true));
+    }
+
+    /**
+     * @return the literal prefix of a {@code LIKE} pattern with a single wildcard at the end, or
+     *     {@code null} if the pattern has any other wildcard, single char, or escape character
+     */
+    static @Nullable String likePrefix(PropertyIsLike f) {
+        final String pattern = f.getLiteral();
+        final String wildcard = f.getWildCard();
+        if (pattern == null || wildcard == null || wildcard.isEmpty()) {
+            return null;
+        }
+        if (!pattern.endsWith(wildcard)) {
+            return null;
+        }
+        String prefix = pattern.substring(0, pattern.length() - wildcard.length());
+        if (prefix.contains(wildcard)
+                || containsNonEmpty(prefix, f.getSingleChar())
+                || containsNonEmpty(prefix, f.getEscape())) {
+            return null;
+        }
+        return prefix;
+    }
+
+    private static boolean containsNonEmpty(String value, @Nullable String part) {
+        return part != null && !part.isEmpty() && value.contains(part);
+    }
+
+    /** Handles {@code in(property, value1, value2, ...) = true} */
+    private <U extends T> Optional<Candidates<U>> in(
+            Class<U> type, Function function, Literal literal) {
+        if (!"in".equalsIgnoreCase(function.getName())
+                || !Boolean.parseBoolean(String.valueOf(literal.getValue()))) {
+            return Optional.empty();
+        }
+        List<Expression> params = function.getParameters();
+        if (params.size() < 2 || !(params.get(0) instanceof PropertyName)) {
+            return Optional.empty();
+        }
+        PropertyName property = (PropertyName) params.get(0);
+        Map<String, U> union = new LinkedHashMap<>();
+        for (Expression param : params.subList(1, params.size())) {
+            if (!(param instanceof Literal)) {
+                return Optional.empty();
+            }
+            // the function compares the property value as a whole, only single valued
+            // properties can be resolved through the indexes
+            Optional<Candidates<U>> candidates =
+                    propertyEquals(type, property, (Literal) param, MatchAction.ONE);
+            if (candidates.isEmpty()) {
+                return Optional.empty();
+            }
+            candidates.get().values.forEach(v -> union.putIfAbsent(v.getId(), v));
+        }
+        return Optional.of(new Candidates<>(new ArrayList<>(union.values()), true));
+    }
+
+    private <U extends T> Optional<Candidates<U>> anyOf(Class<U> type, List<Filter> children) {
+        Map<String, U> union = new LinkedHashMap<>();
+        boolean exact = true;
+        for (Filter child : children) {
+            Optional<Candidates<U>> candidates = candidates(type, child);
+            if (candidates.isEmpty()) {
+                return Optional.empty();
+            }
+            exact &= candidates.get().exact;
+            candidates.get().values.forEach(v -> union.putIfAbsent(v.getId(), v));
+        }
+        return Optional.of(new Candidates<>(new ArrayList<>(union.values()), exact));
+    }
+}
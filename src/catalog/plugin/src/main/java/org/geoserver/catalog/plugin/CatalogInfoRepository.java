@@ -19,6 +19,9 @@ import org.geoserver.catalog.WorkspaceInfo;
 import org.opengis.filter.Filter;
 import org.springframework.lang.Nullable;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
 
@@ -63,6 +66,28 @@ public interface CatalogInfoRepository<T extends CatalogInfo> {
 
     void remove(@NonNull T value);
 
+    /**
+     * Adds all the objects in {@code values}, in encounter order.
+     *
+     * <p>Implementations are encouraged to override this default method, that calls {@link
+     * #add(CatalogInfo)} for each object, to avoid per-object overheads like lock acquisition or
+     * remote calls.
+     */
+    default void addAll(@NonNull Stream<? extends T> values) {
+        values.forEach(this::add);
+    }
+
+    /**
+     * Removes all the objects in {@code values}, in encounter order.
+     *
+     * <p>Implementations are encouraged to override this default method, that calls {@link
+     * #remove(CatalogInfo)} for each object, to avoid per-object overheads like lock acquisition
+     * or remote calls.
+     */
+    default void removeAll(@NonNull Stream<? extends T> values) {
+        values.forEach(this::remove);
+    }
+
     /**
      * Applies the provided {@link Patch patch} to this repository's copy of the provided {@code
      * value} object and returns the "patched" object.
@@ -110,8 +135,30 @@ public interface CatalogInfoRepository<T extends CatalogInfo> {
 
     public boolean canSortBy(@NonNull String propertyName);
 
-    // revisit: some sort of progress listener/cancel flag would be nice
-    void syncTo(@NonNull CatalogInfoRepository<T> target);
+    /** Copies all the objects in this repository to {@code target} */
+    default void syncTo(@NonNull CatalogInfoRepository<T> target) {
+        syncTo(target, new CatalogSyncMonitor());
+    }
+
+    /**
+     * Copies all the objects in this repository to {@code target}, reporting progress to and
+     * allowing cancellation through {@code monitor}.
+     *
+     * <p>This default implementation reads the objects sequentially and adds them to the target
+     * through {@link #addAll(Stream)} in {@link CatalogSyncMonitor#copy parallel batches},
+     * implementations can override it to provide a more efficient copy.
+     *
+     * @throws java.util.concurrent.CancellationException if {@code monitor} is {@link
+     *     CatalogSyncMonitor#cancel() canceled}
+     */
+    default void syncTo(
+            @NonNull CatalogInfoRepository<T> target, @NonNull CatalogSyncMonitor monitor) {
+        // layer groups may reference other layer groups
+        final boolean ordered = LayerGroupInfo.class.equals(getContentType());
+        try (Stream<T> all = findAll()) {
+            monitor.copy(getContentType(), all, target::addAll, ordered);
+        }
+    }
 
     public interface NamespaceRepository extends CatalogInfoRepository<NamespaceInfo> {
         /** Establishes {@code namespace} as the {@link #getDefaultNamespace() default} on */
@@ -192,6 +239,43 @@ public interface CatalogInfoRepository<T extends CatalogInfo> {
         Stream<LayerGroupInfo> findAllByWorkspaceIsNull();
 
         Stream<LayerGroupInfo> findAllByWorkspace(WorkspaceInfo workspace);
+
+        /**
+         * Finds the layer groups that directly contain {@code member} as one of its layers or
+         * styles, or as its root layer or root layer style.
+         *
+         * <p>This default implementation scans all layer groups, implementations are encouraged to
+         * keep the containment relationship indexed.
+         *
+         * @param member a {@link org.geoserver.catalog.PublishedInfo} or {@link StyleInfo}
+         * @see LayerGroupContainment
+         */
+        default Stream<LayerGroupInfo> findAllByMember(@NonNull CatalogInfo member) {
+            final String id = member.getId();
+            return findAll().filter(lg -> LayerGroupContainment.memberIds(lg).contains(id));
+        }
+
+        /**
+         * Finds the layer groups that contain {@code member}, either directly or through nested
+         * layer groups, closest first.
+         *
+         * <p>This default implementation scans all layer groups once, implementations are
+         * encouraged to keep the containment relationship indexed.
+         *
+         * @param member a {@link org.geoserver.catalog.PublishedInfo} or {@link StyleInfo}
+         * @see LayerGroupContainment#ancestors
+         */
+        default Stream<LayerGroupInfo> findAllContaining(@NonNull CatalogInfo member) {
+            final Map<String, List<LayerGroupInfo>> parents;
+            try (Stream<LayerGroupInfo> all = findAll()) {
+                parents = LayerGroupContainment.parentsByMember(all);
+            }
+            List<LayerGroupInfo> ancestors =
+                    LayerGroupContainment.ancestors(
+                            member.getId(),
+                            id -> parents.getOrDefault(id, Collections.emptyList()).stream());
+            return ancestors.stream();
+        }
     }
 
     public interface StyleRepository extends CatalogInfoRepository<StyleInfo> {
@@ -0,0 +1,272 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.catalog.plugin;
+
+import static java.util.Objects.requireNonNull;
+
+import org.geoserver.catalog.CatalogInfo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+
+/**
+ * A view of the objects in a {@link CatalogInfoLookup} kept sorted by a string property (e.g.
+ * {@code name}), so that sorted queries can be served by iterating the view in order and stopping
+ * once enough matches are found, instead of sorting all the matching objects.
+ *
+ * <p>Objects can be partitioned in groups sorted by a key computed at query time, and sorted by
+ * the view key within each group. For example, the {@code prefixedName} of resources is sorted by
+ * grouping them by namespace id and ordering the groups by namespace prefix, so that renaming a
+ * namespace does not invalidate the view.
+ *
+ * <p>Objects comparing equal are sorted by id. {@code null} keys sort first in ascending order.
+ *
+ * <p>As with {@link CatalogInfoIndex}, {@link CatalogInfoLookup} is responsible of calling {@link
+ * #add}, {@link #remove}, and {@link #update} while holding the lock for the object being
+ * modified.
+ *
+ * @param <T>
+ */
+class CatalogInfoSortedView<T extends CatalogInfo> {
+
+    private static final String SINGLE_GROUP = "";
+
+    private static final Comparator<String> NULLS_FIRST =
+            Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private static final Comparator<Key> KEY_ORDER =
+            Comparator.comparing((Key k) -> k.value, NULLS_FIRST).thenComparing(k -> k.id);
+
+    private final String propertyName;
+
+    private final Function<T, String> groupMapper;
+
+    private final Function<T, String> groupOrderMapper;
+
+    private final Function<T, String> keyMapper;
+
+    private final boolean grouped;
+
+    /** group id to sorted group members */
+    private final ConcurrentMap<String, ConcurrentSkipListMap<Key, T>> groups =
+            new ConcurrentHashMap<>();
+
+    /** object id to its current key, to remove it without knowing its former state */
+    private final ConcurrentMap<String, Key> keys = new ConcurrentHashMap<>();
+
+    private static class Key {
+        final String group;
+        final String value;
+        final String id;
+
+        Key(String group, String value, String id) {
+            this.group = group;
+            this.value = value;
+            this.id = id;
+        }
+
+        public @Override boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return group.equals(k.group) && id.equals(k.id) && Objects.equals(value, k.value);
+        }
+
+        public @Override int hashCode() {
+            return Objects.hash(group, value, id);
+        }
+    }
+
+    private CatalogInfoSortedView(
+            String propertyName,
+            Function<T, String> groupMapper,
+            Function<T, String> groupOrderMapper,
+            Function<T, String> keyMapper,
+            boolean grouped) {
+        this.grouped = grouped;
+        this.propertyName = requireNonNull(propertyName);
+        this.groupMapper = requireNonNull(groupMapper);
+        this.groupOrderMapper = requireNonNull(groupOrderMapper);
+        this.keyMapper = requireNonNull(keyMapper);
+    }
+
+    /** Creates a view sorted by the value of {@code property} */
+    static <T extends CatalogInfo> CatalogInfoSortedView<T> byProperty(
+            String propertyName, Function<T, String> property) {
+        return new CatalogInfoSortedView<>(
+                propertyName, v -> SINGLE_GROUP, v -> SINGLE_GROUP, property, false);
+    }
+
+    /**
+     * Creates a view partitioned by {@code group}, where groups are sorted by {@code groupOrder}
+     * (computed at query time on any group member), and members are sorted by {@code property}
+     * within each group.
+     *
+     * <p>The resulting order is the same as sorting by {@code groupOrder + property} as long as no
+     * {@code groupOrder} value is a prefix of another, which is the case for instance if they end
+     * with a character not allowed in the group order values themselves, like in {@code prefix:}
+     */
+    static <T extends CatalogInfo> CatalogInfoSortedView<T> grouped(
+            String propertyName,
+            Function<T, String> group,
+            Function<T, String> groupOrder,
+            Function<T, String> property) {
+        return new CatalogInfoSortedView<>(propertyName, group, groupOrder, property, true);
+    }
+
+    public String getPropertyName() {
+        return propertyName;
+    }
+
+    void add(T value) {
+        final Key key = keyOf(value);
+        final Key previous = keys.put(value.getId(), key);
+        if (previous != null && !previous.equals(key)) {
+            removeFromGroup(previous);
+        }
+        // compute() to avoid racing with removeFromGroup() dropping the group once empty
+        groups.compute(
+                key.group,
+                (g, members) -> {
+                    ConcurrentSkipListMap<Key, T> m =
+                            members == null ? new ConcurrentSkipListMap<>(KEY_ORDER) : members;
+                    m.put(key, value);
+                    return m;
+                });
+    }
+
+    void remove(T value) {
+        Key key = keys.remove(value.getId());
+        if (key != null) {
+            removeFromGroup(key);
+        }
+    }
+
+    /** Re-sorts {@code value} after it's been updated */
+    void update(T value) {
+        add(value);
+    }
+
+    void clear() {
+        groups.clear();
+        keys.clear();
+    }
+
+    private void removeFromGroup(Key key) {
+        groups.computeIfPresent(
+                key.group,
+                (g, members) -> {
+                    members.remove(key);
+                    return members.isEmpty() ? null : members;
+                });
+    }
+
+    private Key keyOf(T value) {
+        String group = groupMapper.apply(value);
+        return new Key(CatalogInfoIndex.keyOf(group), keyMapper.apply(value), value.getId());
+    }
+
+    /**
+     * @return whether {@link #findByPrefix} is supported, which is the case if the view is not
+     *     {@link #grouped}
+     */
+    boolean supportsPrefixSearch() {
+        return !grouped;
+    }
+
+    /**
+     * Looks up the objects whose key starts with {@code prefix}, case sensitive, in time
+     * proportional to the number of matches.
+     *
+     * @return the matching objects of type {@code type}, in ascending order
+     * @throws UnsupportedOperationException if the view is {@link #grouped}
+     */
+    <U extends T> List<U> findByPrefix(String prefix, Class<U> type) {
+        requireNonNull(prefix);
+        requireNonNull(type);
+        if (grouped) {
+            throw new UnsupportedOperationException("Prefix search on grouped view " + this);
+        }
+        ConcurrentSkipListMap<Key, T> members = groups.get(SINGLE_GROUP);
+        if (members == null) {
+            return Collections.emptyList();
+        }
+        List<U> matches = new ArrayList<>();
+        // the empty id sorts before any other one with the same key value
+        Key from = new Key(SINGLE_GROUP, prefix, "");
+        for (Map.Entry<Key, T> e : members.tailMap(from, true).entrySet()) {
+            String value = e.getKey().value;
+            if (value == null || !value.startsWith(prefix)) {
+                break;
+            }
+            if (type.isInstance(e.getValue())) {
+                matches.add(type.cast(e.getValue()));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * @return the objects in the view, sorted in ascending or descending order. The iteration is
+     *     weakly consistent with concurrent modifications
+     */
+    Iterable<T> values(boolean descending) {
+        List<Map.Entry<String, NavigableMap<Key, T>>> sortedGroups = sortedGroups(descending);
+        return () -> concat(sortedGroups, descending);
+    }
+
+    private List<Map.Entry<String, NavigableMap<Key, T>>> sortedGroups(boolean descending) {
+        List<Map.Entry<String, NavigableMap<Key, T>>> sorted = new ArrayList<>();
+        for (ConcurrentSkipListMap<Key, T> members : groups.values()) {
+            Map.Entry<Key, T> first = members.firstEntry();
+            if (first != null) {
+                String order = groupOrderMapper.apply(first.getValue());
+                sorted.add(Map.entry(CatalogInfoIndex.keyOf(order), members));
+            }
+        }
+        Comparator<Map.Entry<String, NavigableMap<Key, T>>> comparator =
+                Map.Entry.comparingByKey();
+        sorted.sort(descending ? comparator.reversed() : comparator);
+        return sorted;
+    }
+
+    private Iterator<T> concat(
+            List<Map.Entry<String, NavigableMap<Key, T>>> groups, boolean descending) {
+        Iterator<Map.Entry<String, NavigableMap<Key, T>>> groupIterator = groups.iterator();
+        return new Iterator<T>() {
+            private Iterator<T> current = Collections.emptyIterator();
+
+            public @Override boolean hasNext() {
+                while (!current.hasNext() && groupIterator.hasNext()) {
+                    NavigableMap<Key, T> members = groupIterator.next().getValue();
+                    current =
+                            (descending ? members.descendingMap() : members).values().iterator();
+                }
+                return current.hasNext();
+            }
+
+            public @Override T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current.next();
+            }
+        };
+    }
+
+    public @Override String toString() {
+        return String.format("%s[%s]", getClass().getSimpleName(), propertyName);
+    }
+}
@@ -32,13 +32,8 @@ import org.geoserver.catalog.WMSStoreInfo;
 import org.geoserver.catalog.WMTSLayerInfo;
 import org.geoserver.catalog.WMTSStoreInfo;
 import org.geoserver.catalog.WorkspaceInfo;
-import org.geoserver.catalog.event.CatalogAddEvent;
-import org.geoserver.catalog.event.CatalogBeforeAddEvent;
 import org.geoserver.catalog.event.CatalogEvent;
 import org.geoserver.catalog.event.CatalogListener;
-import org.geoserver.catalog.event.CatalogModifyEvent;
-import org.geoserver.catalog.event.CatalogPostModifyEvent;
-import org.geoserver.catalog.event.CatalogRemoveEvent;
 import org.geoserver.catalog.event.impl.CatalogAddEventImpl;
 import org.geoserver.catalog.event.impl.CatalogBeforeAddEventImpl;
 import org.geoserver.catalog.event.impl.CatalogModifyEventImpl;
@@ -53,6 +48,7 @@ import org.geoserver.catalog.impl.ProxyUtils;
 import org.geoserver.catalog.impl.ResolvingProxy;
 import org.geoserver.catalog.plugin.forwarding.ResolvingCatalogFacadeDecorator;
 import org.geoserver.catalog.plugin.resolving.ModificationProxyDecorator;
+import org.geoserver.catalog.plugin.resolving.ReadOnlyProxy;
 import org.geoserver.catalog.plugin.rules.CatalogBusinessRules;
 import org.geoserver.catalog.plugin.rules.CatalogOpContext;
 import org.geoserver.catalog.plugin.validation.CatalogValidationRules;
@@ -84,6 +80,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.logging.Level;
@@ -110,11 +107,12 @@ import javax.annotation.Nullable;
  *       on-heap {@link CatalogInfo} storage
  *   <li>Implements all business-logic, like event handling and ensuring no {@link CatalogInfo}
  *       instance gets in or out of the {@link Catalog} without being decorated with a {@link
- *       ModificationProxy}, relieving the lower-level {@link CatalogFacade} abstraction of such
- *       concerns. Hence {@link ExtendedCatalogFacade} works on plain POJOS, or whatever is supplied
- *       by its {@link CatalogInfoRepository repositories}, though in practice it can only be
- *       implementations of {@code org.geoserver.catalog.impl.*InfoImpl} due to coupling in other
- *       areas.
+ *       ModificationProxy} (or a {@link ReadOnlyProxy} for threads in a {@link
+ *       ReadOnlyCatalogScope}), relieving the lower-level {@link CatalogFacade} abstraction of
+ *       such concerns. Hence {@link ExtendedCatalogFacade} works on plain POJOS, or whatever is
+ *       supplied by its {@link CatalogInfoRepository repositories}, though in practice it can only
+ *       be implementations of {@code org.geoserver.catalog.impl.*InfoImpl} due to coupling in
+ *       other areas.
  *   <li>Of special interest is the use of {@link PropertyDiff} and {@link Patch} on all the {@link
  *       #save} methods, delegating to {@link ExtendedCatalogFacade#update(CatalogInfo, Patch)} , in
  *       order to keep the {@code ModificationProxy} logic local to this catalog implementation, and
@@ -163,6 +161,9 @@ public class CatalogPlugin extends CatalogImpl implements Catalog {
 
     private CatalogBusinessRules businessRules;
 
+    /** {@code null} unless {@link #setAsyncEventDispatch asynchronous event dispatch} is enabled */
+    private volatile AsyncCatalogEventDispatcher asyncDispatcher;
+
     protected final boolean isolated;
 
     public CatalogPlugin() {
@@ -223,9 +224,9 @@ public class CatalogPlugin extends CatalogImpl implements Catalog {
             // make sure no object leaves the catalog without being proxied, nor enters the facade
             // as a proxy. Note it is ok if the provided facade is already a ResolvingCatalogFacade.
             // This catalog doesn't care which object resolution chain the provided facade needs to
-            // perform.
-            outboundResolver = ModificationProxyDecorator::wrap;
-            inboundResolver = ModificationProxyDecorator::unwrap;
+            // perform. Threads in a read-only scope get read-only views of the objects instead.
+            outboundResolver = CatalogPlugin::proxyOutbound;
+            inboundResolver = CatalogPlugin::unwrapInbound;
         } else {
             efacade = new CatalogFacadeExtensionAdapter(facade);
             outboundResolver = Function.identity();
@@ -242,6 +243,30 @@ public class CatalogPlugin extends CatalogImpl implements Catalog {
         this.facade.setCatalog(this);
     }
 
+    /**
+     * Outbound resolver decorating objects with a {@link ModificationProxy}, or with a {@link
+     * ReadOnlyProxy} if the calling thread is in a {@link ReadOnlyCatalogScope}, so that the
+     * objects held by the backend can't be modified through the returned ones
+     */
+    private static CatalogInfo proxyOutbound(CatalogInfo info) {
+        return ReadOnlyCatalogScope.isActive()
+                ? ReadOnlyProxy.wrap(info)
+                : ModificationProxyDecorator.wrap(info);
+    }
+
+    /** Inbound resolver removing the decorators added by {@link #proxyOutbound} */
+    private static CatalogInfo unwrapInbound(CatalogInfo info) {
+        return ModificationProxyDecorator.unwrap(ReadOnlyProxy.unwrap(info));
+    }
+
+    /** @throws IllegalStateException if the calling thread is in a {@link ReadOnlyCatalogScope} */
+    protected void checkWritable() {
+        if (ReadOnlyCatalogScope.isActive()) {
+            throw new IllegalStateException(
+                    "The catalog can't be modified from within a read-only scope");
+        }
+    }
+
     public @Override String getId() {
         return "catalog";
     }
@@ -384,6 +409,7 @@ public class CatalogPlugin extends CatalogImpl implements Catalog {
     }
 
     public @Override void setDefaultDataStore(WorkspaceInfo workspace, DataStoreInfo store) {
+        checkWritable();
         if (store != null) {
             // basic sanity check
             if (store.getWorkspace() == null) {
@@ -897,6 +923,7 @@ public class CatalogPlugin extends CatalogImpl implements Catalog {
     }
 
     public @Override void setDefaultNamespace(NamespaceInfo defaultNamespace) {
+        checkWritable();
         if (defaultNamespace != null) {
             NamespaceInfo ns = getNamespaceByPrefix(defaultNamespace.getPrefix());
             if (ns == null) {
@@ -943,6 +970,7 @@ public class CatalogPlugin extends CatalogImpl implements Catalog {
     }
 
     public @Override void setDefaultWorkspace(WorkspaceInfo defaultWorkspace) {
+        checkWritable();
         if (defaultWorkspace != null) {
             WorkspaceInfo ws = facade.getWorkspaceByName(defaultWorkspace.getName());
             if (ws == null) {
@@ -1106,6 +1134,7 @@ public class CatalogPlugin extends CatalogImpl implements Catalog {
     }
 
     public @Override void dispose() {
+        setAsyncEventDispatch(false);
         if (resourcePool != null) resourcePool.dispose();
         facade.dispose();
     }
@@ -1153,22 +1182,25 @@ public class CatalogPlugin extends CatalogImpl implements Catalog {
         event(event);
     }
 
+    /**
+     * Notifies the listeners of {@code event}. If {@link #setAsyncEventDispatch asynchronous
+     * dispatch} is enabled, {@link AsyncCatalogListener}s are notified after this method returns,
+     * through the {@link AsyncCatalogEventDispatcher}, and only the synchronous listeners can veto
+     * the operation.
+     */
     protected void event(CatalogEvent event) {
         CatalogException toThrow = null;
+        final AsyncCatalogEventDispatcher dispatcher = this.asyncDispatcher;
+        List<CatalogListener> asyncListeners = null;
 
         for (CatalogListener listener : listeners) {
+            if (dispatcher != null && listener instanceof AsyncCatalogListener) {
+                if (asyncListeners == null) asyncListeners = new ArrayList<>();
+                asyncListeners.add(listener);
+                continue;
+            }
             try {
-                if (event instanceof CatalogAddEvent) {
-                    listener.handleAddEvent((CatalogAddEvent) event);
-                } else if (event instanceof CatalogRemoveEvent) {
-                    listener.handleRemoveEvent((CatalogRemoveEvent) event);
-                } else if (event instanceof CatalogModifyEvent) {
-                    listener.handleModifyEvent((CatalogModifyEvent) event);
-                } else if (event instanceof CatalogPostModifyEvent) {
-                    listener.handlePostModifyEvent((CatalogPostModifyEvent) event);
-                } else if (event instanceof CatalogBeforeAddEvent) {
-                    listener.handlePreAddEvent((CatalogBeforeAddEvent) event);
-                }
+                AsyncCatalogEventDispatcher.deliver(listener, event);
             } catch (Throwable t) {
                 if (t instanceof CatalogException && toThrow == null) {
                     toThrow = (CatalogException) t;
@@ -1179,11 +1211,46 @@ public class CatalogPlugin extends CatalogImpl implements Catalog {
             }
         }
 
+        if (asyncListeners != null) {
+            dispatcher.dispatch(event, asyncListeners);
+        }
         if (toThrow != null) {
             throw toThrow;
         }
     }
 
+    /**
+     * Enables or disables the asynchronous event dispatch mode, where {@link AsyncCatalogListener}s
+     * are notified in order on a dedicated thread, instead of on the thread modifying the catalog.
+     * Disabling it delivers the events already queued before returning.
+     */
+    public void setAsyncEventDispatch(boolean async) {
+        if (async && asyncDispatcher == null) {
+            asyncDispatcher = new AsyncCatalogEventDispatcher("catalog-events");
+        } else if (!async && asyncDispatcher != null) {
+            AsyncCatalogEventDispatcher dispatcher = asyncDispatcher;
+            asyncDispatcher = null;
+            dispatcher.shutdown();
+            try {
+                dispatcher.awaitDelivery(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public boolean isAsyncEventDispatch() {
+        return asyncDispatcher != null;
+    }
+
+    /**
+     * @return the asynchronous event dispatcher, to monitor its queue, if {@link
+     *     #setAsyncEventDispatch asynchronous dispatch} is enabled
+     */
+    public Optional<AsyncCatalogEventDispatcher> getAsyncEventDispatcher() {
+        return Optional.ofNullable(asyncDispatcher);
+    }
+
     public static Object unwrap(Object obj) {
         return obj;
     }
@@ -1360,6 +1427,7 @@ public class CatalogPlugin extends CatalogImpl implements Catalog {
     }
 
     protected <T extends CatalogInfo> void doAdd(T object, Function<T, T> inserter) {
+        checkWritable();
         setId(object);
         validationSupport.validate(object, true);
         T added;
@@ -1390,10 +1458,15 @@ public class CatalogPlugin extends CatalogImpl implements Catalog {
      * publishing. It is no longer {@link CatalogFacade}s responsibility to publish the post-modify
      * events
      *
+     * <p>If the facade applies updates {@link DefaultMemoryCatalogFacade#setSnapshotReads
+     * copy-on-write}, the changes are committed to a private copy of the proxied object, since the
+     * object itself may be held by concurrent readers.
+     *
      * @param info a {@link ModificationProxy} holding the actual, unchanged object and the changed
      *     properties
      */
     protected <I extends CatalogInfo> void doSave(final I info) {
+        checkWritable();
         ModificationProxy proxy = ProxyUtils.handler(info, ModificationProxy.class);
         if (null == proxy) {
             throw new IllegalArgumentException(
@@ -1401,19 +1474,17 @@ public class CatalogPlugin extends CatalogImpl implements Catalog {
                             + info.getClass().getName()
                             + ") is not a ModificationProxy and hence did not come out of this catalog. Saving an object requires to use an instance obtained from the Catalog.");
         }
-        validationSupport.validate(info, false);
+        // only run the validation rules affected by the modified properties
+        validationSupport.validate(info, proxy.getPropertyNames());
 
-        // this could be the event's payload instead of three separate lists
-        final PropertyDiff diff = PropertyDiff.valueOf(proxy).clean();
         // filter out no-op changes before firing pre-modified event (e.g. null to empty collection
-        // property)
-        final List<String> propertyNames = diff.getPropertyNames();
-        final List<Object> oldValues = diff.getOldValues();
-        final List<Object> newValues = diff.getNewValues();
+        // property). The diff and patch are computed once and shared by the events and the facade
+        final PropertyDiff diff = PropertyDiff.valueOf(proxy).clean();
         final Patch patch = diff.toPatch();
 
         // use the proxied object, may some listener change it
-        fireModified(info, propertyNames, oldValues, newValues);
+        final PatchedCatalogEvent.Modify preEvent = PatchedCatalogEvent.modify(info, diff, patch);
+        event(preEvent);
 
         CatalogOpContext<I> context = new CatalogOpContext<>(this, info, diff);
         businessRules.onBeforeSave(context);
@@ -1422,10 +1493,17 @@ public class CatalogPlugin extends CatalogImpl implements Catalog {
             // resolving function set at #setFacade
             I updated = ((ResolvingCatalogFacadeDecorator) facade).update(info, patch);
 
-            // commit proxy, making effective the change in the provided object. Has no effect in
-            // what's been passed to the facade
-            proxy.commit();
-            firePostModified(updated, propertyNames, oldValues, newValues);
+            if (isCopyOnWrite()) {
+                // the proxied object is shared with concurrent readers and earlier snapshots, and
+                // the facade published a patched copy as the new version. Commit to a private copy
+                // instead, for the provided object to reflect the changes without leaking them
+                CatalogInfoCopier.commitToCopy(proxy);
+            } else {
+                // commit proxy, making effective the change in the provided object. Has no effect
+                // in what's been passed to the facade
+                proxy.commit();
+            }
+            event(PatchedCatalogEvent.postModify(updated, preEvent));
             businessRules.onAfterSave(context.setObject(updated));
         } catch (RuntimeException error) {
             businessRules.onAfterSave(context.setError(error));
@@ -1433,7 +1511,17 @@ public class CatalogPlugin extends CatalogImpl implements Catalog {
         }
     }
 
+    /**
+     * @return whether the facade applies updates to copies of the objects it holds, see {@link
+     *     DefaultMemoryCatalogFacade#setSnapshotReads(boolean)}
+     */
+    private boolean isCopyOnWrite() {
+        return rawFacade instanceof DefaultMemoryCatalogFacade
+                && ((DefaultMemoryCatalogFacade) rawFacade).isSnapshotReads();
+    }
+
     protected <T extends CatalogInfo> void doRemove(T object, Consumer<T> remover) {
+        checkWritable();
         validationSupport.beforeRemove(object);
         CatalogOpContext<T> context = new CatalogOpContext<>(this, object);
         // TODO: remove synchronized block, need transactions
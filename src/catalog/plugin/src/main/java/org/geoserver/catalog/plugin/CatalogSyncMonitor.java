@@ -0,0 +1,212 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.catalog.plugin;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
+
+import org.geoserver.catalog.CatalogInfo;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Controls and reports the progress of a {@link CatalogInfoRepository#syncTo(CatalogInfoRepository,
+ * CatalogSyncMonitor) repository} or {@link
+ * ExtendedCatalogFacade#syncTo(org.geoserver.catalog.CatalogFacade, CatalogSyncMonitor) facade}
+ * sync.
+ *
+ * <p>Objects of each type are copied in batches of {@link #getBatchSize() batchSize} objects,
+ * with up to {@link #getParallelism() parallelism} batches being added to the target at the same
+ * time, while the source is read sequentially. The number of objects copied so far per type can be
+ * obtained through {@link #getSynced(Class)} at any time, for example to export them as metrics,
+ * or received through a {@link #setProgressListener progress listener}.
+ *
+ * <p>{@link #cancel() Canceling} makes the sync stop as soon as the batches in flight are
+ * finished, throwing a {@link CancellationException}. Likewise, if adding a batch fails, no other
+ * batch is started and the error is thrown once the batches in flight are finished. Batches are
+ * never interrupted, so the target is left with whole batches only, those already copied.
+ *
+ * <p>A monitor is meant to be used for a single sync operation, possibly from another thread.
+ */
+public class CatalogSyncMonitor {
+
+    /** Number of batches being added to the target at the same time, per type */
+    private @Getter @Setter int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /** Number of objects added to the target at once */
+    private @Getter @Setter int batchSize = 1000;
+
+    /** Receives the type and number of objects of each batch once copied */
+    private @Setter @Nullable BiConsumer<Class<? extends CatalogInfo>, Long> progressListener;
+
+    private volatile boolean canceled;
+
+    private final ConcurrentMap<Class<? extends CatalogInfo>, LongAdder> synced =
+            new ConcurrentHashMap<>();
+
+    /** Requests the sync to stop as soon as possible */
+    public void cancel() {
+        this.canceled = true;
+    }
+
+    public boolean isCanceled() {
+        return canceled;
+    }
+
+    /** @throws CancellationException if the sync has been {@link #cancel() canceled} */
+    public void checkCanceled() {
+        if (canceled) {
+            throw new CancellationException("Catalog sync canceled");
+        }
+    }
+
+    /** @return number of objects of the given type copied so far */
+    public long getSynced(@NonNull Class<? extends CatalogInfo> type) {
+        LongAdder count = synced.get(type);
+        return count == null ? 0L : count.sum();
+    }
+
+    /** @return number of objects of all types copied so far */
+    public long getSynced() {
+        return synced.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /** @return number of objects copied so far per type name */
+    public Map<String, Long> getProgress() {
+        Map<String, Long> progress = new TreeMap<>();
+        synced.forEach((type, count) -> progress.put(type.getSimpleName(), count.sum()));
+        return progress;
+    }
+
+    /** Records that {@code count} objects of the given {@code type} have been copied */
+    public void synced(@NonNull Class<? extends CatalogInfo> type, long count) {
+        synced.computeIfAbsent(type, t -> new LongAdder()).add(count);
+        BiConsumer<Class<? extends CatalogInfo>, Long> listener = this.progressListener;
+        if (listener != null) {
+            listener.accept(type, count);
+        }
+    }
+
+    /**
+     * Copies all the objects in {@code source} to {@code target} in {@link #getBatchSize()
+     * batches}, up to {@link #getParallelism()} at a time unless {@code ordered} is {@code true},
+     * in which case batches are added sequentially in encounter order, for types whose objects may
+     * reference other objects of the same type (e.g. layer groups).
+     *
+     * <p>Returns once all the batches have been added, or throws once the batches in flight are
+     * finished if canceled or a batch failed.
+     *
+     * @param target receives each batch, and must be safe to call concurrently if not {@code
+     *     ordered}
+     * @throws CancellationException if {@link #cancel() canceled}
+     */
+    public <T extends CatalogInfo> void copy(
+            @NonNull Class<T> type,
+            @NonNull Stream<? extends T> source,
+            @NonNull Consumer<Stream<T>> target,
+            boolean ordered) {
+
+        final int size = Math.max(1, batchSize);
+        final int threads = ordered ? 1 : Math.max(1, parallelism);
+        if (threads == 1) {
+            forEachBatch(source, size, batch -> add(type, batch, target));
+            return;
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        // bound the number of batches read ahead from the source
+        final Semaphore inFlight = new Semaphore(2 * threads);
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final List<CompletableFuture<Void>> pending = new ArrayList<>();
+        try {
+            forEachBatch(
+                    source,
+                    size,
+                    batch -> {
+                        if (error.get() != null) {
+                            throw new CompletionException(error.get());
+                        }
+                        inFlight.acquireUninterruptibly();
+                        Runnable task =
+                                () -> {
+                                    // don't start queued batches once a sibling failed
+                                    if (error.get() == null) add(type, batch, target);
+                                };
+                        pending.add(
+                                CompletableFuture.runAsync(task, executor)
+                                        .whenComplete(
+                                                (r, e) -> {
+                                                    inFlight.release();
+                                                    if (e != null) error.compareAndSet(null, e);
+                                                }));
+                    });
+            await(pending).join();
+        } catch (RuntimeException e) {
+            // let the batches in flight finish instead of interrupting them half added
+            await(pending).handle((r, x) -> null).join();
+            throw rethrow(e);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static CompletableFuture<Void> await(List<CompletableFuture<Void>> pending) {
+        return CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new));
+    }
+
+    private <T extends CatalogInfo> void add(
+            Class<T> type, List<T> batch, Consumer<Stream<T>> target) {
+        checkCanceled();
+        target.accept(batch.stream());
+        synced(type, batch.size());
+    }
+
+    private <T> void forEachBatch(Stream<? extends T> source, int size, Consumer<List<T>> action) {
+        Iterator<? extends T> it = source.iterator();
+        List<T> batch = new ArrayList<>(size);
+        while (it.hasNext()) {
+            checkCanceled();
+            batch.add(it.next());
+            if (batch.size() == size) {
+                action.accept(batch);
+                batch = new ArrayList<>(size);
+            }
+        }
+        if (!batch.isEmpty()) {
+            action.accept(batch);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable e) {
+        while (e instanceof CompletionException && e.getCause() != null) {
+            e = e.getCause();
+        }
+        if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
+        }
+        if (e instanceof Error) {
+            throw (Error) e;
+        }
+        return new IllegalStateException(e);
+    }
+}
@@ -4,10 +4,20 @@
  */
 package org.geoserver.catalog.plugin;
 
+import lombok.Value;
+
 import org.geoserver.catalog.Catalog;
 import org.geoserver.catalog.CatalogFacade;
 import org.geoserver.catalog.CatalogInfo;
 import org.geoserver.catalog.CatalogRepository;
+import org.geoserver.catalog.LayerGroupInfo;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.NamespaceInfo;
+import org.geoserver.catalog.ResourceInfo;
+import org.geoserver.catalog.StoreInfo;
+import org.geoserver.catalog.StyleInfo;
+import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.catalog.impl.ClassMappings;
 import org.geoserver.catalog.plugin.CatalogInfoLookup.LayerGroupInfoLookup;
 import org.geoserver.catalog.plugin.CatalogInfoLookup.LayerInfoLookup;
 import org.geoserver.catalog.plugin.CatalogInfoLookup.MapInfoLookup;
@@ -17,7 +27,14 @@ import org.geoserver.catalog.plugin.CatalogInfoLookup.StoreInfoLookup;
 import org.geoserver.catalog.plugin.CatalogInfoLookup.StyleInfoLookup;
 import org.geoserver.catalog.plugin.CatalogInfoLookup.WorkspaceInfoLookup;
 
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Default catalog facade implementation using in-memory {@link CatalogRepository repositories} to
@@ -26,6 +43,17 @@ import java.util.function.Supplier;
 public class DefaultMemoryCatalogFacade extends RepositoryCatalogFacadeImpl
         implements CatalogFacade {
 
+    private CatalogInfoCompactor compactor;
+
+    private boolean snapshotReads;
+
+    /** Estimated heap footprint of the objects of a given type */
+    public static @Value class Footprint {
+        private final Class<? extends CatalogInfo> type;
+        private final long count;
+        private final long estimatedBytes;
+    }
+
     public DefaultMemoryCatalogFacade() {
         this(null);
     }
@@ -40,6 +68,7 @@ public class DefaultMemoryCatalogFacade extends RepositoryCatalogFacadeImpl
         setLayerGroupRepository(new LayerGroupInfoLookup());
         setMapRepository(new MapInfoLookup());
         setStyleRepository(new StyleInfoLookup());
+        addReferenceResolvers();
     }
 
     public @Override void resolve() {
@@ -53,6 +82,185 @@ public class DefaultMemoryCatalogFacade extends RepositoryCatalogFacadeImpl
         resources = resolve(resources, () -> new ResourceInfoLookup((LayerInfoLookup) layers));
         layerGroups = resolve(layerGroups, LayerGroupInfoLookup::new);
         maps = resolve(maps, MapInfoLookup::new);
+        addReferenceResolvers();
+        applyCompactor();
+        applySnapshotReads();
+    }
+
+    /**
+     * Enables or disables the memory optimized mode, where strings repeated across objects are
+     * interned and empty collections are replaced by shared immutable instances, as objects are
+     * added or updated.
+     *
+     * <p>Enabling it also compacts the objects already held. Disabling it does not revert the
+     * objects already compacted.
+     */
+    public void setCompact(boolean compact) {
+        this.compactor = compact ? new CatalogInfoCompactor() : null;
+        applyCompactor();
+    }
+
+    public boolean isCompact() {
+        return compactor != null;
+    }
+
+    private void applyCompactor() {
+        lookups().forEach(lookup -> lookup.setCompactor(compactor));
+    }
+
+    /**
+     * Enables or disables the snapshot (MVCC) mode, where each committed change publishes a new
+     * version of the objects of its type, and readers iterate an immutable snapshot of the latest
+     * version, as a flat list, without locking.
+     *
+     * <p>In this mode updates don't modify the live object, but apply the patch to a copy of it
+     * that then replaces it, so readers never observe a half-applied patch. The objects holding
+     * references to the replaced one (e.g. the layer of a resource) are replaced in turn by copies
+     * referring to the new version, so objects already handed out are never modified.
+     *
+     * <p>Meant for catalogs that are read much more often than they're modified, like while
+     * generating capabilities documents of large catalogs. Writes are considerably more expensive
+     * than in the default mode:
+     *
+     * <ul>
+     *   <li>Updating an object copies it and all the objects referring to it, directly or
+     *       transitively. Updating a workspace or a namespace hence copies all its stores,
+     *       resources, layers, styles and layer groups, and the layer groups and maps containing
+     *       them.
+     *   <li>The first full scan of a type after it's been modified rebuilds its snapshot, in time
+     *       linear to the number of objects of that type, holding a lock that blocks writers.
+     * </ul>
+     *
+     * <p>To be set before the facade is in use.
+     */
+    public void setSnapshotReads(boolean snapshotReads) {
+        this.snapshotReads = snapshotReads;
+        applySnapshotReads();
+    }
+
+    public boolean isSnapshotReads() {
+        return snapshotReads;
+    }
+
+    private void applySnapshotReads() {
+        lookups().forEach(this::applySnapshotReads);
+    }
+
+    private <T extends CatalogInfo> void applySnapshotReads(CatalogInfoLookup<T> lookup) {
+        lookup.setSnapshotReads(snapshotReads);
+        lookup.setReplacementListener(snapshotReads ? this::replaceReferences : null);
+    }
+
+    /**
+     * Updates the references to {@code old} held by the objects that can refer to it, after it's
+     * been replaced by its newer version {@code current} in snapshot mode. The referrers are found
+     * through the indexes on the referenced object ids, and replaced by copies in turn.
+     */
+    private void replaceReferences(CatalogInfo old, CatalogInfo current) {
+        if (old instanceof WorkspaceInfo) {
+            replaceReferences(stores, "workspace.id", old, current);
+            replaceReferences(styles, "workspace.id", old, current);
+            replaceReferences(layerGroups, "workspace.id", old, current);
+        } else if (old instanceof NamespaceInfo) {
+            replaceReferences(resources, "namespace.id", old, current);
+        } else if (old instanceof StoreInfo) {
+            replaceReferences(resources, "store.id", old, current);
+        } else if (old instanceof ResourceInfo) {
+            replaceReferences(layers, "resource.id", old, current);
+        } else if (old instanceof StyleInfo) {
+            replaceReferences(layers, LayerInfoLookup.STYLES_INDEX, old, current);
+            replaceReferences(layerGroups, "members.id", old, current);
+        } else if (old instanceof LayerInfo || old instanceof LayerGroupInfo) {
+            replaceReferences(layerGroups, "members.id", old, current);
+            replaceReferences(maps, "layers.id", old, current);
+        }
+    }
+
+    private void replaceReferences(
+            CatalogInfoRepository<?> referrers,
+            String indexPropertyName,
+            CatalogInfo old,
+            CatalogInfo current) {
+        if (referrers instanceof CatalogInfoLookup) {
+            ((CatalogInfoLookup<?>) referrers).replaceReferences(indexPropertyName, old, current);
+        }
+    }
+
+    /**
+     * Estimates the heap size retained by the catalog objects held by this facade, per type, see
+     * {@link HeapFootprintEstimator}. Walks all the objects, it's meant for diagnostics rather than
+     * to be called frequently.
+     *
+     * @return the estimated footprint per {@link ClassMappings#getInterface() type}, in natural
+     *     catalog order
+     */
+    public Map<Class<? extends CatalogInfo>, Footprint> getHeapFootprint() {
+        final HeapFootprintEstimator estimator = new HeapFootprintEstimator();
+        Map<Class<? extends CatalogInfo>, long[]> stats = new LinkedHashMap<>();
+        for (CatalogInfoLookup<?> lookup : lookups()) {
+            lookup.values()
+                    .forEach(
+                            info -> {
+                                Class<? extends CatalogInfo> type = typeOf(info);
+                                long[] s = stats.computeIfAbsent(type, t -> new long[2]);
+                                s[0]++;
+                                s[1] += estimator.estimate(info);
+                            });
+        }
+        Map<Class<? extends CatalogInfo>, Footprint> footprint = new LinkedHashMap<>();
+        stats.forEach((type, s) -> footprint.put(type, new Footprint(type, s[0], s[1])));
+        return footprint;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<? extends CatalogInfo> typeOf(CatalogInfo info) {
+        ClassMappings mappings = ClassMappings.fromImpl(info.getClass());
+        return mappings == null
+                ? info.getClass()
+                : (Class<? extends CatalogInfo>) mappings.getInterface();
+    }
+
+    /**
+     * Lets the lookups use their {@code namespace.id} and {@code workspace.id} indexes to resolve
+     * queries filtering by namespace prefix or workspace name
+     */
+    private void addReferenceResolvers() {
+        Function<String, Optional<? extends CatalogInfo>> namespaceByPrefix =
+                prefix -> namespaces.findFirstByName(prefix, NamespaceInfo.class);
+        Function<String, Optional<? extends CatalogInfo>> workspaceByName =
+                name -> workspaces.findFirstByName(name, WorkspaceInfo.class);
+
+        if (resources instanceof ResourceInfoLookup) {
+            ((ResourceInfoLookup) resources)
+                    .addReferenceResolver("namespace.prefix", "namespace.id", namespaceByPrefix);
+        }
+        if (stores instanceof StoreInfoLookup) {
+            ((StoreInfoLookup) stores)
+                    .addReferenceResolver("workspace.name", "workspace.id", workspaceByName);
+        }
+        if (styles instanceof StyleInfoLookup) {
+            ((StyleInfoLookup) styles)
+                    .addReferenceResolver("workspace.name", "workspace.id", workspaceByName);
+        }
+        if (layerGroups instanceof LayerGroupInfoLookup) {
+            ((LayerGroupInfoLookup) layerGroups)
+                    .addReferenceResolver("workspace.name", "workspace.id", workspaceByName);
+        }
+    }
+
+    private List<CatalogInfoLookup<?>> lookups() {
+        return Stream.of(
+                        workspaces,
+                        namespaces,
+                        stores,
+                        resources,
+                        layers,
+                        layerGroups,
+                        styles,
+                        maps)
+                .filter(CatalogInfoLookup.class::isInstance)
+                .map(repo -> (CatalogInfoLookup<?>) repo)
+                .collect(Collectors.toList());
     }
 
     private <I extends CatalogInfo, R extends CatalogInfoRepository<I>> R resolve(
@@ -0,0 +1,33 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.catalog.plugin;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import org.geoserver.catalog.CatalogInfo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link CatalogInfo} along with the objects it references, directly or indirectly (e.g. a
+ * layer's resource, the resource's store and namespace, and the store's workspace), so a remote
+ * client can resolve its references without further requests.
+ *
+ * <p>When sending a sequence of objects, each referenced object is meant to be included only the
+ * first time it's needed, the following ones being resolved against the objects already received.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpandedInfo {
+
+    private CatalogInfo info;
+
+    /** The referenced objects not sent before, dependencies first */
+    private List<CatalogInfo> references = new ArrayList<>();
+}
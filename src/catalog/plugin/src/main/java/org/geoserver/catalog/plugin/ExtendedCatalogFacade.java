@@ -10,6 +10,7 @@ import org.geoserver.catalog.LayerGroupInfo;
 import org.geoserver.catalog.LayerInfo;
 import org.geoserver.catalog.MapInfo;
 import org.geoserver.catalog.NamespaceInfo;
+import org.geoserver.catalog.PublishedInfo;
 import org.geoserver.catalog.ResourceInfo;
 import org.geoserver.catalog.StoreInfo;
 import org.geoserver.catalog.StyleInfo;
@@ -20,7 +21,11 @@ import org.opengis.filter.Filter;
 import org.opengis.filter.sort.SortBy;
 
 import java.io.Closeable;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javax.annotation.Nullable;
@@ -47,6 +52,102 @@ public interface ExtendedCatalogFacade extends CatalogFacade {
      */
     <T extends CatalogInfo> Stream<T> query(Query<T> query);
 
+    /**
+     * Adds all the objects in {@code infos}, which may be of any {@link CatalogInfo} type, as if
+     * calling the type specific {@code add} method for each one.
+     *
+     * <p>This default implementation does just that, implementations are encouraged to override it
+     * to avoid per-object overheads when loading or importing large numbers of objects. Objects
+     * shall be provided in an order that satisfies their references (e.g. workspaces before their
+     * stores), as the type specific methods would require.
+     */
+    default void addAll(Stream<? extends CatalogInfo> infos) {
+        infos.forEach(
+                info -> {
+                    if (info instanceof WorkspaceInfo) add((WorkspaceInfo) info);
+                    else if (info instanceof NamespaceInfo) add((NamespaceInfo) info);
+                    else if (info instanceof StoreInfo) add((StoreInfo) info);
+                    else if (info instanceof ResourceInfo) add((ResourceInfo) info);
+                    else if (info instanceof LayerInfo) add((LayerInfo) info);
+                    else if (info instanceof LayerGroupInfo) add((LayerGroupInfo) info);
+                    else if (info instanceof StyleInfo) add((StyleInfo) info);
+                    else if (info instanceof MapInfo) add((MapInfo) info);
+                    else throw new IllegalArgumentException("Unknown CatalogInfo type: " + info);
+                });
+    }
+
+    /**
+     * Copies all the objects to {@code to}, reporting progress to and allowing cancellation
+     * through {@code monitor}.
+     *
+     * <p>This default implementation checks for cancellation and delegates to {@link
+     * #syncTo(CatalogFacade)}, implementations are encouraged to override it.
+     *
+     * @throws java.util.concurrent.CancellationException if {@code monitor} is {@link
+     *     CatalogSyncMonitor#cancel() canceled}
+     */
+    default void syncTo(CatalogFacade to, CatalogSyncMonitor monitor) {
+        monitor.checkCanceled();
+        syncTo(to);
+    }
+
+    /**
+     * Removes all the objects in {@code infos}, which may be of any {@link CatalogInfo} type, as if
+     * calling the type specific {@code remove} method for each one.
+     *
+     * @see #addAll(Stream)
+     */
+    default void removeAll(Stream<? extends CatalogInfo> infos) {
+        infos.forEach(
+                info -> {
+                    if (info instanceof WorkspaceInfo) remove((WorkspaceInfo) info);
+                    else if (info instanceof NamespaceInfo) remove((NamespaceInfo) info);
+                    else if (info instanceof StoreInfo) remove((StoreInfo) info);
+                    else if (info instanceof ResourceInfo) remove((ResourceInfo) info);
+                    else if (info instanceof LayerInfo) remove((LayerInfo) info);
+                    else if (info instanceof LayerGroupInfo) remove((LayerGroupInfo) info);
+                    else if (info instanceof StyleInfo) remove((StyleInfo) info);
+                    else if (info instanceof MapInfo) remove((MapInfo) info);
+                    else throw new IllegalArgumentException("Unknown CatalogInfo type: " + info);
+                });
+    }
+
+    /**
+     * Returns the layer groups that directly contain {@code member} as one of its layers or
+     * styles, or as its root layer or root layer style.
+     *
+     * <p>This default implementation scans {@link #getLayerGroups()}, implementations are
+     * encouraged to override it.
+     *
+     * @param member a {@link PublishedInfo} or {@link StyleInfo}
+     * @see LayerGroupContainment
+     */
+    default List<LayerGroupInfo> getLayerGroupsByMember(CatalogInfo member) {
+        Objects.requireNonNull(member);
+        final String id = member.getId();
+        return getLayerGroups().stream()
+                .filter(lg -> LayerGroupContainment.memberIds(lg).contains(id))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the layer groups that contain {@code member}, either directly or through nested
+     * layer groups, closest first.
+     *
+     * <p>This default implementation scans {@link #getLayerGroups()} once, implementations are
+     * encouraged to override it.
+     *
+     * @param member a {@link PublishedInfo} or {@link StyleInfo}
+     * @see LayerGroupContainment#ancestors
+     */
+    default List<LayerGroupInfo> getLayerGroupsContaining(CatalogInfo member) {
+        Objects.requireNonNull(member);
+        Map<String, List<LayerGroupInfo>> parents =
+                LayerGroupContainment.parentsByMember(getLayerGroups().stream());
+        return LayerGroupContainment.ancestors(
+                member.getId(), id -> parents.getOrDefault(id, Collections.emptyList()).stream());
+    }
+
     /**
      * @deprecated use {@link #query(Query)} instead
      */
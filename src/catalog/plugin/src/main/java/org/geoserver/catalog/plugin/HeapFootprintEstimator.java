@@ -0,0 +1,174 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.catalog.plugin;
+
+import org.geoserver.catalog.CatalogInfo;
+import org.opengis.referencing.IdentifiedObject;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Estimates the retained heap size of {@link CatalogInfo} objects by walking their object graph,
+ * assuming a 64-bit JVM with compressed object pointers.
+ *
+ * <p>The walk stops at references to other {@link CatalogInfo} objects, which are accounted for on
+ * their own, at dynamic proxies, and at CRS objects, which are shared through the referencing
+ * factory caches. JDK types are not introspected; strings, arrays, collections, and maps are
+ * estimated by their size, and their contents walked. Objects reachable from more than one of the
+ * estimated objects (e.g. interned strings) are counted only once.
+ *
+ * <p>The figures are estimates meant to compare configurations and size deployments, not exact
+ * measurements.
+ */
+class HeapFootprintEstimator {
+
+    private static final int HEADER = 12;
+    private static final int REF = 4;
+    private static final int ARRAY_HEADER = 16;
+
+    /** per entry overhead of hash based maps and sets: the node object plus the table slot */
+    private static final int HASH_ENTRY = 32 + REF;
+
+    private static final ClassValue<List<Field>> FIELDS =
+            new ClassValue<>() {
+                protected @Override List<Field> computeValue(Class<?> type) {
+                    return instanceFields(type);
+                }
+            };
+
+    private final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /** @return the estimated heap size of {@code root} and the objects only reachable from it */
+    public long estimate(CatalogInfo root) {
+        long size = 0;
+        Deque<Object> pending = new ArrayDeque<>();
+        if (root != null && visited.add(root)) {
+            pending.push(root);
+        }
+        while (!pending.isEmpty()) {
+            Object o = pending.pop();
+            size += shallowSize(o, pending);
+        }
+        return size;
+    }
+
+    private long shallowSize(Object o, Deque<Object> pending) {
+        final Class<?> type = o.getClass();
+        if (o instanceof String) {
+            // object + byte[], assuming compact (latin1) strings
+            return align(HEADER + 2 * REF + 4) + align(ARRAY_HEADER + ((String) o).length());
+        }
+        if (type.isArray()) {
+            return arraySize(o, pending);
+        }
+        if (o instanceof Collection) {
+            Collection<?> c = (Collection<?>) o;
+            c.forEach(e -> push(e, pending));
+            int perEntry = o instanceof Set ? HASH_ENTRY : REF;
+            return align(HEADER + 4 * REF) + align(ARRAY_HEADER + (long) c.size() * perEntry);
+        }
+        if (o instanceof Map) {
+            Map<?, ?> m = (Map<?, ?>) o;
+            m.forEach(
+                    (k, v) -> {
+                        push(k, pending);
+                        push(v, pending);
+                    });
+            return align(HEADER + 6 * REF) + align(ARRAY_HEADER + (long) m.size() * HASH_ENTRY);
+        }
+        if (isJdkType(type)) {
+            // boxed primitives, dates, and alike
+            return align(HEADER + 2 * REF);
+        }
+        long size = HEADER;
+        for (Field f : FIELDS.get(type)) {
+            Class<?> fieldType = f.getType();
+            if (fieldType.isPrimitive()) {
+                size += primitiveSize(fieldType);
+            } else {
+                size += REF;
+                try {
+                    push(f.get(o), pending);
+                } catch (IllegalAccessException | RuntimeException e) {
+                    // not accessible, only account for the reference
+                }
+            }
+        }
+        return align(size);
+    }
+
+    private long arraySize(Object array, Deque<Object> pending) {
+        final Class<?> componentType = array.getClass().getComponentType();
+        final int length = Array.getLength(array);
+        if (componentType.isPrimitive()) {
+            return align(ARRAY_HEADER + (long) length * primitiveSize(componentType));
+        }
+        for (Object e : (Object[]) array) {
+            push(e, pending);
+        }
+        return align(ARRAY_HEADER + (long) length * REF);
+    }
+
+    private void push(Object o, Deque<Object> pending) {
+        if (o == null
+                || o instanceof CatalogInfo
+                || o instanceof IdentifiedObject
+                || o instanceof Class
+                || o instanceof Enum
+                || Proxy.isProxyClass(o.getClass())) {
+            return;
+        }
+        if (visited.add(o)) {
+            pending.push(o);
+        }
+    }
+
+    private static boolean isJdkType(Class<?> type) {
+        String name = type.getName();
+        return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("jdk.");
+    }
+
+    private static List<Field> instanceFields(Class<?> type) {
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field f : c.getDeclaredFields()) {
+                if (!Modifier.isStatic(f.getModifiers())) {
+                    if (!f.getType().isPrimitive()) {
+                        try {
+                            f.setAccessible(true);
+                        } catch (RuntimeException e) {
+                            // inaccessible module, the field is only accounted as a reference
+                        }
+                    }
+                    fields.add(f);
+                }
+            }
+        }
+        return List.copyOf(fields);
+    }
+
+    private static int primitiveSize(Class<?> type) {
+        if (type == long.class || type == double.class) return 8;
+        if (type == int.class || type == float.class) return 4;
+        if (type == short.class || type == char.class) return 2;
+        return 1;
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+}
@@ -162,6 +162,18 @@ public final class IsolatedCatalogFacade extends ForwardingExtendedCatalogFacade
         return filterIsolated(facade.getLayerGroups(), LayerGroupInfo.class, this::filter);
     }
 
+    @Override
+    public List<LayerGroupInfo> getLayerGroupsByMember(CatalogInfo member) {
+        return filterIsolated(
+                facade().getLayerGroupsByMember(member), LayerGroupInfo.class, this::filter);
+    }
+
+    @Override
+    public List<LayerGroupInfo> getLayerGroupsContaining(CatalogInfo member) {
+        return filterIsolated(
+                facade().getLayerGroupsContaining(member), LayerGroupInfo.class, this::filter);
+    }
+
     @Override
     public List<LayerGroupInfo> getLayerGroupsByWorkspace(WorkspaceInfo workspace) {
         return filterIsolated(
@@ -0,0 +1,143 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.catalog.plugin;
+
+import lombok.NonNull;
+
+import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.LayerGroupInfo;
+import org.geoserver.catalog.PublishedInfo;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Support methods to navigate the containment graph of {@link LayerGroupInfo}s, where a layer
+ * group contains its {@link LayerGroupInfo#getLayers() layers}, {@link LayerGroupInfo#getStyles()
+ * styles}, {@link LayerGroupInfo#getRootLayer() root layer}, and {@link
+ * LayerGroupInfo#getRootLayerStyle() root layer style}.
+ *
+ * <p>The parent to children edges are the layer groups themselves, the child to parent edges are
+ * given by a function, so that {@link CatalogInfoLookup} can serve them from an index kept up to
+ * date as layer groups are added, updated, and removed, and other repositories can compute them
+ * with {@link #parentsByMember(Stream)} from a single scan.
+ */
+public final class LayerGroupContainment {
+
+    private LayerGroupContainment() {
+        // utility class
+    }
+
+    /** @return the ids of the layers, styles, root layer, and root layer style of {@code group} */
+    public static Set<String> memberIds(@NonNull LayerGroupInfo group) {
+        Set<String> ids = new HashSet<>();
+        addIds(group.getLayers(), ids);
+        addIds(group.getStyles(), ids);
+        addId(group.getRootLayer(), ids);
+        addId(group.getRootLayerStyle(), ids);
+        return ids;
+    }
+
+    /** @return the ids of the layer groups directly nested in {@code group} */
+    public static Set<String> childGroupIds(@NonNull LayerGroupInfo group) {
+        Set<String> ids = new HashSet<>();
+        if (group.getLayers() != null) {
+            for (PublishedInfo layer : group.getLayers()) {
+                if (layer instanceof LayerGroupInfo) addId(layer, ids);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Walks up the containment graph from {@code memberId}, visiting each layer group once.
+     *
+     * @param parents returns the layer groups directly containing the object with the given id
+     * @return the layer groups containing the object with id {@code memberId}, directly or through
+     *     nested layer groups, closest first
+     */
+    public static List<LayerGroupInfo> ancestors(
+            @NonNull String memberId, @NonNull Function<String, Stream<LayerGroupInfo>> parents) {
+        Map<String, LayerGroupInfo> ancestors = new LinkedHashMap<>();
+        Deque<String> pending = new ArrayDeque<>();
+        pending.add(memberId);
+        while (!pending.isEmpty()) {
+            String id = pending.poll();
+            try (Stream<LayerGroupInfo> direct = parents.apply(id)) {
+                direct.forEach(
+                        parent -> {
+                            if (null == ancestors.putIfAbsent(parent.getId(), parent)) {
+                                pending.add(parent.getId());
+                            }
+                        });
+            }
+        }
+        return new ArrayList<>(ancestors.values());
+    }
+
+    /**
+     * Computes the child to parent edges of the containment graph by scanning {@code groups}, for
+     * repositories that don't keep them indexed
+     *
+     * @return the layer groups directly containing each object, keyed by the object id
+     */
+    public static Map<String, List<LayerGroupInfo>> parentsByMember(
+            @NonNull Stream<LayerGroupInfo> groups) {
+        Map<String, List<LayerGroupInfo>> parents = new HashMap<>();
+        groups.forEach(
+                group -> {
+                    for (String memberId : memberIds(group)) {
+                        parents.computeIfAbsent(memberId, id -> new ArrayList<>()).add(group);
+                    }
+                });
+        return parents;
+    }
+
+    /**
+     * @return whether saving {@code group} as is would make it contain itself, either directly or
+     *     because one of its nested layer groups is among the {@code ancestors} it's currently
+     *     contained by
+     */
+    public static boolean createsLoop(
+            @NonNull LayerGroupInfo group, @NonNull Collection<LayerGroupInfo> ancestors) {
+        Set<String> children = childGroupIds(group);
+        if (children.isEmpty()) {
+            return false;
+        }
+        if (group.getId() != null && children.contains(group.getId())) {
+            return true;
+        }
+        for (LayerGroupInfo ancestor : ancestors) {
+            if (children.contains(ancestor.getId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void addIds(Collection<? extends CatalogInfo> infos, Set<String> ids) {
+        if (infos != null) {
+            for (CatalogInfo info : infos) {
+                addId(info, ids);
+            }
+        }
+    }
+
+    private static void addId(CatalogInfo info, Set<String> ids) {
+        if (info != null && info.getId() != null) {
+            ids.add(info.getId());
+        }
+    }
+}
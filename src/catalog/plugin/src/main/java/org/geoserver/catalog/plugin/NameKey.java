@@ -0,0 +1,90 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.catalog.plugin;
+
+import org.opengis.feature.type.Name;
+import org.springframework.lang.Nullable;
+
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * Compact {@link Name} used as key in {@link CatalogInfoLookup}'s name lookups.
+ *
+ * <p>Holds only references to the namespace (usually the id of the workspace or namespace the
+ * object belongs to) and local part strings, which are the same instances held by the indexed
+ * objects, and has no separator, unlike {@link org.geotools.feature.NameImpl}. It's {@link
+ * Comparable} only to other {@code NameKey}s, use {@link #valueOf(Name)} to look up by any other
+ * {@link Name}.
+ */
+final class NameKey implements Name, Comparable<NameKey> {
+
+    private static final Comparator<String> NULLS_FIRST =
+            Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private final String namespace;
+
+    private final String localPart;
+
+    private NameKey(@Nullable String namespace, String localPart) {
+        this.namespace = namespace;
+        this.localPart = localPart;
+    }
+
+    static NameKey valueOf(@Nullable String namespace, String localPart) {
+        return new NameKey(namespace, localPart);
+    }
+
+    static NameKey valueOf(@Nullable String localPart) {
+        return new NameKey(null, localPart);
+    }
+
+    static NameKey valueOf(Name name) {
+        if (name instanceof NameKey) {
+            return (NameKey) name;
+        }
+        return new NameKey(name.getNamespaceURI(), name.getLocalPart());
+    }
+
+    public @Override boolean isGlobal() {
+        return namespace == null;
+    }
+
+    public @Override String getNamespaceURI() {
+        return namespace;
+    }
+
+    public @Override String getSeparator() {
+        return ":";
+    }
+
+    public @Override String getLocalPart() {
+        return localPart;
+    }
+
+    public @Override String getURI() {
+        return namespace == null ? localPart : namespace + ":" + localPart;
+    }
+
+    public @Override int compareTo(NameKey o) {
+        int c = NULLS_FIRST.compare(namespace, o.namespace);
+        return c == 0 ? NULLS_FIRST.compare(localPart, o.localPart) : c;
+    }
+
+    public @Override boolean equals(Object o) {
+        if (o == this) return true;
+        if (!(o instanceof NameKey)) return false;
+        NameKey k = (NameKey) o;
+        return Objects.equals(localPart, k.localPart) && Objects.equals(namespace, k.namespace);
+    }
+
+    public @Override int hashCode() {
+        return 31 * Objects.hashCode(namespace) + Objects.hashCode(localPart);
+    }
+
+    public @Override String toString() {
+        return getURI();
+    }
+}
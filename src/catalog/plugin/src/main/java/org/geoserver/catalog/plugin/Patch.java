@@ -10,25 +10,50 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.Value;
 
+import org.geoserver.catalog.CatalogInfo;
 import org.geoserver.catalog.impl.ModificationProxy;
+import org.geoserver.catalog.plugin.PropertyAccessorRegistry.PropertyAccessor;
 import org.geoserver.ows.util.OwsUtils;
+import org.springframework.lang.Nullable;
 
 import java.io.Serializable;
-import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.TreeMap;
+import java.util.Set;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
+/**
+ * A set of property changes to apply to an object, built once out of a {@link PropertyDiff} and
+ * shared by the catalog facade, the modify events, and their wire representation.
+ *
+ * <p>Properties are kept in an array list sorted by name instead of a tree map, which saves an
+ * entry object per property and most of the reallocations, since patches usually hold a handful of
+ * properties and are built in order.
+ *
+ * <p>Collection and map property values may be given as a {@link Delta} instead of their whole new
+ * contents, in which case they're modified in place by {@link #applyTo(Object)}.
+ */
 @NoArgsConstructor
 public @Value class Patch implements Serializable {
     private static final long serialVersionUID = 1L;
 
+    private static final Comparator<Property> BY_NAME = Comparator.comparing(Property::getName);
+
+    /** Collections and maps smaller than this are always patched with their whole contents */
+    private static final int MIN_DELTA_SIZE = 8;
+
     public static @Value class Property {
         private final String name;
         private final Object value;
@@ -36,18 +61,229 @@ public @Value class Patch implements Serializable {
         public Property withValue(Object newValue) {
             return new Property(name, newValue);
         }
+
+        /** @return whether the value is a {@link Delta} to apply in place to the target property */
+        public boolean isDelta() {
+            return value instanceof Delta;
+        }
+    }
+
+    /**
+     * A property value that describes how to modify a collection or map property in place instead
+     * of replacing all its contents, so that the size of a change to a large {@code MetadataMap},
+     * keywords, or layer group layers and styles lists is proportional to the edit and not to the
+     * size of the property.
+     *
+     * @see PropertyDiff#toPatch()
+     */
+    public interface Delta extends Serializable {
+
+        /** @return the number of elements or entries added, removed, or replaced */
+        int size();
+
+        /** @return a copy of this delta with {@code mapper} applied to its elements or values */
+        Delta map(UnaryOperator<Object> mapper);
+
+        /**
+         * @return a delta that turns {@code oldValue} into {@code newValue}, or {@code null} if
+         *     they're not both collections or maps, or a delta wouldn't be sensibly smaller than
+         *     {@code newValue}
+         */
+        static @Nullable Delta of(@Nullable Object oldValue, @Nullable Object newValue) {
+            if (oldValue instanceof Collection && newValue instanceof Collection) {
+                return CollectionDelta.of((Collection<?>) oldValue, (Collection<?>) newValue);
+            }
+            if (oldValue instanceof Map && newValue instanceof Map) {
+                return MapDelta.of((Map<?, ?>) oldValue, (Map<?, ?>) newValue);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Removes the first occurrence of each of the {@link #getRemoved() removed} elements from a
+     * collection, and then adds the {@link #getAdded() added} ones, in order
+     */
+    public static @Value class CollectionDelta implements Delta {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Object> removed;
+        private final List<Object> added;
+
+        public @Override int size() {
+            return removed.size() + added.size();
+        }
+
+        public @Override CollectionDelta map(UnaryOperator<Object> mapper) {
+            return new CollectionDelta(mapAll(removed, mapper), mapAll(added, mapper));
+        }
+
+        public void applyTo(Collection<Object> target) {
+            for (Object element : removed) {
+                Iterator<Object> it = target.iterator();
+                while (it.hasNext()) {
+                    if (isSameElement(element, it.next())) {
+                        it.remove();
+                        break;
+                    }
+                }
+            }
+            target.addAll(added);
+        }
+
+        static @Nullable CollectionDelta of(Collection<?> oldValue, Collection<?> newValue) {
+            if (newValue.size() < MIN_DELTA_SIZE
+                    || (oldValue instanceof List) != (newValue instanceof List)
+                    || !isValues(oldValue)
+                    || !isValues(newValue)) {
+                return null;
+            }
+            Map<Object, Integer> unmatched = new HashMap<>();
+            for (Object o : oldValue) {
+                unmatched.merge(o, 1, Integer::sum);
+            }
+            List<Object> added = new ArrayList<>();
+            for (Object o : newValue) {
+                if (!take(unmatched, o)) {
+                    added.add(o);
+                }
+            }
+            List<Object> removed = new ArrayList<>();
+            for (Object o : oldValue) {
+                if (take(unmatched, o)) {
+                    removed.add(o);
+                }
+            }
+            CollectionDelta delta = new CollectionDelta(removed, added);
+            if (2 * delta.size() >= newValue.size()) {
+                return null;
+            }
+            // deltas can't express reordering, make sure it produces the same result
+            Collection<Object> result =
+                    oldValue instanceof List
+                            ? new ArrayList<>(oldValue)
+                            : new LinkedHashSet<>(oldValue);
+            delta.applyTo(result);
+            return result.equals(newValue) ? delta : null;
+        }
+
+        private static boolean take(Map<Object, Integer> counts, Object element) {
+            Integer count = counts.get(element);
+            if (count == null) {
+                return false;
+            }
+            if (count == 1) {
+                counts.remove(element);
+            } else {
+                counts.put(element, count - 1);
+            }
+            return true;
+        }
+
+        private static boolean isSameElement(Object o1, Object o2) {
+            if (Objects.equals(o1, o2)) {
+                return true;
+            }
+            // e.g. a resolved catalog object and a proxy to it
+            return o1 instanceof CatalogInfo
+                    && o2 instanceof CatalogInfo
+                    && ((CatalogInfo) o1).getId() != null
+                    && ((CatalogInfo) o1).getId().equals(((CatalogInfo) o2).getId());
+        }
+    }
+
+    /**
+     * Removes the {@link #getRemovedKeys() removed keys} from a map, and then puts all the {@link
+     * #getPut() put} entries
+     */
+    public static @Value class MapDelta implements Delta {
+        private static final long serialVersionUID = 1L;
+
+        private final Map<Object, Object> put;
+        private final List<Object> removedKeys;
+
+        public @Override int size() {
+            return put.size() + removedKeys.size();
+        }
+
+        public @Override MapDelta map(UnaryOperator<Object> mapper) {
+            Map<Object, Object> mapped = new LinkedHashMap<>();
+            put.forEach((k, v) -> mapped.put(k, mapper.apply(v)));
+            return new MapDelta(mapped, removedKeys);
+        }
+
+        public void applyTo(Map<Object, Object> target) {
+            for (Object key : removedKeys) {
+                target.remove(key);
+            }
+            target.putAll(put);
+        }
+
+        static @Nullable MapDelta of(Map<?, ?> oldValue, Map<?, ?> newValue) {
+            if (newValue.size() < MIN_DELTA_SIZE
+                    || !isValues(oldValue.values())
+                    || !isValues(newValue.values())) {
+                return null;
+            }
+            Map<Object, Object> put = new LinkedHashMap<>();
+            newValue.forEach(
+                    (k, v) -> {
+                        if (!oldValue.containsKey(k) || !Objects.equals(oldValue.get(k), v)) {
+                            put.put(k, v);
+                        }
+                    });
+            List<Object> removedKeys = new ArrayList<>();
+            for (Object k : oldValue.keySet()) {
+                if (!newValue.containsKey(k)) {
+                    removedKeys.add(k);
+                }
+            }
+            MapDelta delta = new MapDelta(put, removedKeys);
+            return 2 * delta.size() < newValue.size() ? delta : null;
+        }
     }
 
+    private static List<Object> mapAll(List<Object> values, UnaryOperator<Object> mapper) {
+        List<Object> mapped = new ArrayList<>(values.size());
+        for (Object v : values) {
+            mapped.add(mapper.apply(v));
+        }
+        return mapped;
+    }
+
+    /**
+     * Deltas are only computed for collections and maps of immutable values and references to
+     * catalog objects, a mutable value object (e.g. a {@code KeywordInfo} or {@code DimensionInfo})
+     * may have been modified in place, and hence be equal to its old value but still need to be
+     * sent.
+     */
+    private static boolean isValues(Collection<?> values) {
+        for (Object v : values) {
+            if (!(v == null
+                    || v instanceof String
+                    || v instanceof Number
+                    || v instanceof Boolean
+                    || v instanceof Character
+                    || v instanceof Enum
+                    || v instanceof CatalogInfo)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** The patched properties, sorted by name and with no duplicates */
     @Getter(AccessLevel.NONE)
     @Setter(AccessLevel.NONE)
-    private final Map<String, Property> patches = new TreeMap<>();
+    private final ArrayList<Property> patches = new ArrayList<>(4);
 
     public Patch(List<Property> patches) {
+        this.patches.ensureCapacity(patches.size());
         patches.forEach(this::add);
     }
 
     public List<Property> getPatches() {
-        return new ArrayList<Patch.Property>(patches.values());
+        return new ArrayList<>(patches);
     }
 
     public int size() {
@@ -59,7 +295,19 @@ public @Value class Patch implements Serializable {
     }
 
     public void add(Property prop) {
-        patches.put(prop.getName(), prop);
+        Objects.requireNonNull(prop.getName(), "name");
+        int size = patches.size();
+        // fast path, properties are usually added in order
+        if (size == 0 || patches.get(size - 1).getName().compareTo(prop.getName()) < 0) {
+            patches.add(prop);
+            return;
+        }
+        int index = Collections.binarySearch(patches, prop, BY_NAME);
+        if (index >= 0) {
+            patches.set(index, prop);
+        } else {
+            patches.add(-(index + 1), prop);
+        }
     }
 
     public Property add(String name, Object value) {
@@ -70,12 +318,21 @@ public @Value class Patch implements Serializable {
     }
 
     public List<String> getPropertyNames() {
-        return new ArrayList<>(patches.keySet());
+        List<String> names = new ArrayList<>(patches.size());
+        for (Property p : patches) {
+            names.add(p.getName());
+        }
+        return names;
     }
 
     public Optional<Property> get(String propertyName) {
-        Property property = this.patches.get(propertyName);
-        return Optional.ofNullable(property);
+        Objects.requireNonNull(propertyName);
+        for (Property p : patches) {
+            if (propertyName.equals(p.getName())) {
+                return Optional.of(p);
+            }
+        }
+        return Optional.empty();
     }
 
     public void applyTo(Object target) {
@@ -92,50 +349,84 @@ public @Value class Patch implements Serializable {
     }
 
     public void applyTo(Object target, Class<?> objectType) {
-        patches.values().forEach(p -> apply(target, objectType, p));
+        for (Property p : patches) {
+            apply(target, objectType, p);
+        }
     }
 
     @SuppressWarnings({"unchecked", "rawtypes"})
     private static void apply(Object target, Class<?> objectType, Property change) {
-        Method getter = OwsUtils.getter(objectType, change.getName(), null);
-        if (getter == null) {
-            throw new IllegalArgumentException(
-                    "No such property in target object: " + change.getName());
-        }
-        if (isCollection(getter)) {
-            Collection value = (Collection) change.getValue();
-            Collection prop = (Collection) OwsUtils.get(target, change.getName());
-            if (prop != null) {
-                prop.clear();
-                if (value != null) {
-                    prop.addAll(value);
+        final String name = change.getName();
+        final PropertyAccessor property =
+                PropertyAccessorRegistry.accessor(objectType, name)
+                        .orElseThrow(
+                                () ->
+                                        new IllegalArgumentException(
+                                                "No such property in target object: " + name));
+        // objectType may be an interface or super type of a proxied target, access the property
+        // through the target's own type
+        final PropertyAccessor accessor =
+                objectType.equals(target.getClass())
+                        ? property
+                        : PropertyAccessorRegistry.accessor(target.getClass(), name).orElse(null);
+        if (property.isCollection()) {
+            Collection prop = (Collection) get(target, name, accessor);
+            if (prop != null && CatalogInfoCompactor.isSharedEmpty(prop)) {
+                // compacted object, replace the shared immutable collection by a mutable one
+                Collection mutable =
+                        prop instanceof Set ? new LinkedHashSet<>() : new ArrayList<>();
+                setCollection(mutable, change);
+                if (accessor != null && accessor.canSet(mutable)) {
+                    accessor.set(target, mutable);
+                } else {
+                    OwsUtils.set(target, name, mutable);
                 }
+            } else if (prop != null) {
+                setCollection(prop, change);
+            }
+        } else if (property.isMap()) {
+            Map<Object, Object> prop = (Map<Object, Object>) get(target, name, accessor);
+            if (prop == null) {
+                return;
             }
-        } else if (isMap(getter)) {
-            Map<Object, Object> value = (Map<Object, Object>) change.getValue();
-            Map<Object, Object> prop = (Map<Object, Object>) OwsUtils.get(target, change.getName());
-            if (prop != null) {
+            if (change.getValue() instanceof MapDelta) {
+                ((MapDelta) change.getValue()).applyTo(prop);
+            } else {
+                Map<Object, Object> value = (Map<Object, Object>) change.getValue();
                 prop.clear();
                 if (value != null) {
                     prop.putAll(value);
                 }
             }
+        } else if (change.isDelta()) {
+            throw new IllegalArgumentException(
+                    "Property " + name + " is not a collection or map, can't apply " + change);
+        } else if (accessor != null && accessor.canSet(change.getValue())) {
+            accessor.set(target, change.getValue());
         } else {
-            OwsUtils.set(target, change.getName(), change.getValue());
+            OwsUtils.set(target, name, change.getValue());
         }
     }
 
-    private static boolean isMap(Method getter) {
-        return Map.class.isAssignableFrom(getter.getReturnType());
+    @SuppressWarnings("unchecked")
+    private static void setCollection(Collection<Object> target, Property change) {
+        if (change.getValue() instanceof CollectionDelta) {
+            ((CollectionDelta) change.getValue()).applyTo(target);
+        } else {
+            target.clear();
+            if (change.getValue() != null) {
+                target.addAll((Collection<Object>) change.getValue());
+            }
+        }
     }
 
-    private static boolean isCollection(Method getter) {
-        return Collection.class.isAssignableFrom(getter.getReturnType());
+    private static Object get(Object target, String name, @Nullable PropertyAccessor accessor) {
+        return accessor == null ? OwsUtils.get(target, name) : accessor.get(target);
     }
 
     public @Override String toString() {
         String props =
-                this.getPatches().stream()
+                patches.stream()
                         .map(p -> String.format("(%s: %s)", p.getName(), p.getValue()))
                         .collect(Collectors.joining(","));
         return String.format("%s[%s]", getClass().getSimpleName(), props);
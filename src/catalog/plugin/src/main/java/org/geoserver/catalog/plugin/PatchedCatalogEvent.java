@@ -0,0 +1,69 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.catalog.plugin;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.event.CatalogEvent;
+import org.geoserver.catalog.event.CatalogModifyEvent;
+import org.geoserver.catalog.event.CatalogPostModifyEvent;
+import org.geoserver.catalog.event.impl.CatalogModifyEventImpl;
+import org.geoserver.catalog.event.impl.CatalogPostModifyEventImpl;
+
+/**
+ * A {@link CatalogModifyEvent} or {@link CatalogPostModifyEvent} fired by {@link CatalogPlugin},
+ * that also carries the {@link PropertyDiff} and {@link Patch} computed once out of the saved
+ * object's {@link org.geoserver.catalog.impl.ModificationProxy}, and given to the catalog facade.
+ *
+ * <p>Listeners that need the changes as a {@code Patch} (e.g. to publish them to other services)
+ * shall use {@link #getPatch()} instead of building a new one from the event's property names and
+ * values. Both the diff and the patch must be treated as immutable.
+ */
+public interface PatchedCatalogEvent extends CatalogEvent {
+
+    PropertyDiff getDiff();
+
+    Patch getPatch();
+
+    static Modify modify(
+            @NonNull CatalogInfo source, @NonNull PropertyDiff diff, @NonNull Patch patch) {
+        return new Modify(source, diff, patch);
+    }
+
+    /** Creates the post-modify event for {@code pre}, sharing its diff, patch, and values */
+    static PostModify postModify(@NonNull CatalogInfo source, @NonNull Modify pre) {
+        return new PostModify(source, pre);
+    }
+
+    class Modify extends CatalogModifyEventImpl implements PatchedCatalogEvent {
+        private final @Getter PropertyDiff diff;
+        private final @Getter Patch patch;
+
+        Modify(CatalogInfo source, PropertyDiff diff, @NonNull Patch patch) {
+            this.diff = diff;
+            this.patch = patch;
+            setSource(source);
+            setPropertyNames(diff.getPropertyNames());
+            setOldValues(diff.getOldValues());
+            setNewValues(diff.getNewValues());
+        }
+    }
+
+    class PostModify extends CatalogPostModifyEventImpl implements PatchedCatalogEvent {
+        private final @Getter PropertyDiff diff;
+        private final @Getter Patch patch;
+
+        PostModify(CatalogInfo source, Modify pre) {
+            this.diff = pre.getDiff();
+            this.patch = pre.getPatch();
+            setSource(source);
+            setPropertyNames(pre.getPropertyNames());
+            setOldValues(pre.getOldValues());
+            setNewValues(pre.getNewValues());
+        }
+    }
+}
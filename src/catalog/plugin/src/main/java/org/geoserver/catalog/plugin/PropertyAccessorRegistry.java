@@ -0,0 +1,487 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.catalog.plugin;
+
+import static java.util.Objects.requireNonNull;
+
+import org.geoserver.catalog.Info;
+import org.geoserver.catalog.impl.ModificationProxy;
+import org.geoserver.ows.util.OwsUtils;
+import org.geotools.filter.visitor.DuplicatingFilterVisitor;
+import org.geotools.util.Converters;
+import org.geotools.util.logging.Logging;
+import org.opengis.filter.Filter;
+import org.opengis.filter.expression.ExpressionVisitor;
+import org.opengis.filter.expression.PropertyName;
+import org.springframework.lang.Nullable;
+import org.xml.sax.helpers.NamespaceSupport;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Registry of pre-compiled property accessors for catalog and configuration objects, used instead
+ * of {@link OwsUtils} reflection on hot code paths like sorting, filtering, and applying {@link
+ * Patch patches}.
+ *
+ * <p>Getters and setters are resolved once per concrete class and property name, following the
+ * same rules as {@link OwsUtils#getter} and {@link OwsUtils#setter}, and bound to functional
+ * interfaces generated through {@link LambdaMetafactory}. If the generated class can't link to the
+ * target method (e.g. it's not visible from this class' {@link ClassLoader}) a {@link MethodHandle}
+ * or plain reflection is used instead. Dynamic proxies like {@link ModificationProxy} are resolved
+ * against the interfaces they implement.
+ */
+final class PropertyAccessorRegistry {
+
+    static final Logger LOGGER = Logging.getLogger(PropertyAccessorRegistry.class);
+
+    /** Upper bound for the number of cached property names, queries may use arbitrary ones */
+    private static final int MAX_CACHED_PROPERTIES = 1024;
+
+    private static final Pattern SIMPLE_PATH =
+            Pattern.compile("[A-Za-z_][A-Za-z0-9_]*(\\.[A-Za-z_][A-Za-z0-9_]*)*");
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final ConcurrentMap<String, AccessorsByClass> ACCESSORS =
+            new ConcurrentHashMap<>();
+
+    private PropertyAccessorRegistry() {
+        // no-op
+    }
+
+    /**
+     * @return the accessor for the (non nested) {@code property} of objects of type {@code type},
+     *     or empty if there's no such property
+     */
+    static Optional<PropertyAccessor> accessor(Class<?> type, String property) {
+        requireNonNull(type);
+        requireNonNull(property);
+        return accessors(property).get(type);
+    }
+
+    /** @return an accessor for a possibly nested property path like {@code resource.store.name} */
+    static PropertyPath path(String propertyPath) {
+        return new PropertyPath(propertyPath);
+    }
+
+    /**
+     * Returns the value of the, possibly nested, property path of {@code target}, with the same
+     * semantics as {@link OwsUtils#get(Object, String)}
+     */
+    static Object get(Object target, String propertyPath) {
+        return path(propertyPath).get(target);
+    }
+
+    /**
+     * Returns a copy of {@code filter} where the {@link PropertyName} expressions on simple
+     * property paths are evaluated against {@link Info} objects using the pre-compiled accessors,
+     * or {@code filter} itself if it can't be copied.
+     *
+     * <p>The compiled property names fall back to the original expression for anything that can't
+     * be resolved through plain getters, like multi-valued or map properties, so the evaluation
+     * result is the same as for the original filter.
+     */
+    static Filter compile(Filter filter) {
+        requireNonNull(filter);
+        if (Filter.INCLUDE.equals(filter) || Filter.EXCLUDE.equals(filter)) {
+            return filter;
+        }
+        try {
+            Filter compiled = (Filter) filter.accept(new CompilingFilterVisitor(), null);
+            return compiled == null ? filter : compiled;
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.FINE, e, () -> "Unable to compile filter " + filter);
+            return filter;
+        }
+    }
+
+    private static AccessorsByClass accessors(String property) {
+        AccessorsByClass byClass = ACCESSORS.get(property);
+        if (byClass == null) {
+            byClass = new AccessorsByClass(property);
+            if (ACCESSORS.size() < MAX_CACHED_PROPERTIES) {
+                AccessorsByClass existing = ACCESSORS.putIfAbsent(property, byClass);
+                if (existing != null) byClass = existing;
+            }
+        }
+        return byClass;
+    }
+
+    /** Lazily computed and cached accessors for a given property name on each concrete class */
+    private static class AccessorsByClass extends ClassValue<Optional<PropertyAccessor>> {
+        private final String property;
+
+        AccessorsByClass(String property) {
+            this.property = property;
+        }
+
+        protected @Override Optional<PropertyAccessor> computeValue(Class<?> type) {
+            return Optional.ofNullable(PropertyAccessor.create(type, property));
+        }
+    }
+
+    /** Pre-compiled getter and, if available, setter for a property of a given class */
+    static final class PropertyAccessor {
+        private final String name;
+        private final Class<?> type;
+        private final Function<Object, Object> getter;
+        private final @Nullable BiConsumer<Object, Object> setter;
+        private final @Nullable Class<?> setterType;
+
+        private PropertyAccessor(
+                String name,
+                Class<?> type,
+                Function<Object, Object> getter,
+                @Nullable BiConsumer<Object, Object> setter,
+                @Nullable Class<?> setterType) {
+            this.name = name;
+            this.type = type;
+            this.getter = getter;
+            this.setter = setter;
+            this.setterType = setterType;
+        }
+
+        private static PropertyAccessor create(Class<?> type, String property) {
+            Method getter = null;
+            Method setter = null;
+            for (Class<?> candidate : lookupTypes(type)) {
+                getter = OwsUtils.getter(candidate, property, null);
+                if (getter != null) {
+                    setter = OwsUtils.setter(candidate, property, getter.getReturnType());
+                    break;
+                }
+            }
+            if (getter == null) {
+                return null;
+            }
+            Class<?> setterType = setter == null ? null : setter.getParameterTypes()[0];
+            return new PropertyAccessor(
+                    property,
+                    getter.getReturnType(),
+                    compileGetter(getter),
+                    setter == null ? null : compileSetter(setter),
+                    setterType);
+        }
+
+        /** Dynamic proxies are resolved against their interfaces, not the proxy class itself */
+        private static Class<?>[] lookupTypes(Class<?> type) {
+            return Proxy.isProxyClass(type) ? type.getInterfaces() : new Class<?>[] {type};
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /** @return the property type, as declared by its getter */
+        public Class<?> getType() {
+            return type;
+        }
+
+        public boolean isCollection() {
+            return Collection.class.isAssignableFrom(type);
+        }
+
+        public boolean isMap() {
+            return Map.class.isAssignableFrom(type);
+        }
+
+        public boolean isWritable() {
+            return setter != null;
+        }
+
+        /** @return whether {@code value} can be assigned to this property through {@link #set} */
+        public boolean canSet(@Nullable Object value) {
+            if (setter == null) {
+                return false;
+            }
+            return value == null ? !setterType.isPrimitive() : wrap(setterType).isInstance(value);
+        }
+
+        public Object get(Object target) {
+            return getter.apply(target);
+        }
+
+        public void set(Object target, @Nullable Object value) {
+            if (setter == null) {
+                throw new IllegalArgumentException("Property " + name + " is read-only");
+            }
+            setter.accept(target, value);
+        }
+
+        public @Override String toString() {
+            return String.format(
+                    "%s[%s: %s]", getClass().getSimpleName(), name, type.getSimpleName());
+        }
+    }
+
+    /**
+     * Accessor for a possibly nested property path, resolving each step against the runtime type
+     * of the intermediate values
+     */
+    static final class PropertyPath {
+        /** Marker value for {@link #resolve(Object)} */
+        static final Object UNRESOLVED = new Object();
+
+        private final String path;
+        private final AccessorsByClass[] steps;
+
+        PropertyPath(String path) {
+            this.path = requireNonNull(path);
+            String[] names = path.split("\\.");
+            this.steps = new AccessorsByClass[names.length];
+            for (int i = 0; i < names.length; i++) {
+                steps[i] = accessors(names[i]);
+            }
+        }
+
+        /**
+         * @return the property value, {@code null} if any intermediate value is {@code null}, same
+         *     as {@link OwsUtils#get(Object, String)}, to which it falls back for paths that can't
+         *     be {@link #resolve(Object) resolved}
+         */
+        public Object get(Object target) {
+            Object value = resolve(target);
+            return value == UNRESOLVED ? OwsUtils.get(target, path) : value;
+        }
+
+        /**
+         * Resolves the property value using plain getters only.
+         *
+         * @return the property value, or {@link #UNRESOLVED} if a step couldn't be resolved, as for
+         *     a non existent property or when an intermediate value is a collection, array, or map
+         */
+        public Object resolve(Object target) {
+            Object value = target;
+            for (AccessorsByClass step : steps) {
+                if (value == null) {
+                    return null;
+                }
+                if (isMultiValued(value)) {
+                    return UNRESOLVED;
+                }
+                Optional<PropertyAccessor> accessor = step.get(value.getClass());
+                if (accessor.isEmpty()) {
+                    return UNRESOLVED;
+                }
+                value = accessor.get().get(value);
+            }
+            return value;
+        }
+
+        public @Override String toString() {
+            return path;
+        }
+    }
+
+    static boolean isMultiValued(Object value) {
+        return value instanceof Collection || value instanceof Map || value.getClass().isArray();
+    }
+
+    /** Replaces simple path {@link PropertyName}s by {@link CompiledPropertyName}s */
+    private static class CompilingFilterVisitor extends DuplicatingFilterVisitor {
+
+        public @Override Object visit(PropertyName expression, Object extraData) {
+            String propertyName = expression.getPropertyName();
+            if (expression instanceof CompiledPropertyName
+                    || propertyName == null
+                    || !SIMPLE_PATH.matcher(propertyName).matches()) {
+                return super.visit(expression, extraData);
+            }
+            return new CompiledPropertyName(expression, path(propertyName));
+        }
+    }
+
+    /**
+     * {@link PropertyName} evaluating {@link Info} objects through a {@link PropertyPath}, and
+     * delegating to the original expression for anything else
+     */
+    static class CompiledPropertyName implements PropertyName {
+        private final PropertyName delegate;
+        private final PropertyPath path;
+
+        CompiledPropertyName(PropertyName delegate, PropertyPath path) {
+            this.delegate = delegate;
+            this.path = path;
+        }
+
+        public @Override String getPropertyName() {
+            return delegate.getPropertyName();
+        }
+
+        public @Override NamespaceSupport getNamespaceContext() {
+            return delegate.getNamespaceContext();
+        }
+
+        public @Override Object evaluate(Object object) {
+            Object value = resolve(object);
+            return value == PropertyPath.UNRESOLVED ? delegate.evaluate(object) : value;
+        }
+
+        public @Override <T> T evaluate(Object object, Class<T> context) {
+            Object value = resolve(object);
+            if (value == PropertyPath.UNRESOLVED) {
+                return delegate.evaluate(object, context);
+            }
+            if (value == null || context == null || context.isInstance(value)) {
+                @SuppressWarnings("unchecked")
+                T v = (T) value;
+                return v;
+            }
+            return Converters.convert(value, context);
+        }
+
+        private Object resolve(Object object) {
+            if (!(object instanceof Info)) {
+                return PropertyPath.UNRESOLVED;
+            }
+            Object value = path.resolve(object);
+            if (value != null && value != PropertyPath.UNRESOLVED && isMultiValued(value)) {
+                // let the original property accessor deal with multi-valued properties
+                return PropertyPath.UNRESOLVED;
+            }
+            return value;
+        }
+
+        public @Override Object accept(ExpressionVisitor visitor, Object extraData) {
+            return visitor.visit(this, extraData);
+        }
+
+        public @Override boolean equals(Object o) {
+            if (o instanceof CompiledPropertyName) {
+                return delegate.equals(((CompiledPropertyName) o).delegate);
+            }
+            return delegate.equals(o);
+        }
+
+        public @Override int hashCode() {
+            return delegate.hashCode();
+        }
+
+        public @Override String toString() {
+            return delegate.toString();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, Object> compileGetter(Method getter) {
+        final Class<?> declaringClass = getter.getDeclaringClass();
+        try {
+            MethodHandle handle = LOOKUP.unreflect(getter);
+            if (isVisible(declaringClass)) {
+                CallSite site =
+                        LambdaMetafactory.metafactory(
+                                LOOKUP,
+                                "apply",
+                                MethodType.methodType(Function.class),
+                                MethodType.methodType(Object.class, Object.class),
+                                handle,
+                                MethodType.methodType(Object.class, declaringClass));
+                return (Function<Object, Object>) site.getTarget().invokeExact();
+            }
+            final MethodHandle generic =
+                    handle.asType(MethodType.methodType(Object.class, Object.class));
+            return target -> invokeGetter(generic, target);
+        } catch (Throwable e) {
+            LOGGER.log(Level.FINE, e, () -> "Using reflection to access " + getter);
+            return target -> invoke(getter, target);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> compileSetter(Method setter) {
+        final Class<?> declaringClass = setter.getDeclaringClass();
+        final Class<?> valueType = wrap(setter.getParameterTypes()[0]);
+        try {
+            MethodHandle handle = LOOKUP.unreflect(setter);
+            if (isVisible(declaringClass) && isVisible(valueType)) {
+                CallSite site =
+                        LambdaMetafactory.metafactory(
+                                LOOKUP,
+                                "accept",
+                                MethodType.methodType(BiConsumer.class),
+                                MethodType.methodType(void.class, Object.class, Object.class),
+                                handle,
+                                MethodType.methodType(void.class, declaringClass, valueType));
+                return (BiConsumer<Object, Object>) site.getTarget().invokeExact();
+            }
+            final MethodHandle generic =
+                    handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+            return (target, value) -> invokeSetter(generic, target, value);
+        } catch (Throwable e) {
+            LOGGER.log(Level.FINE, e, () -> "Using reflection to access " + setter);
+            return (target, value) -> invoke(setter, target, value);
+        }
+    }
+
+    /**
+     * The classes generated by {@link LambdaMetafactory} link to the target method from this class'
+     * {@link ClassLoader}, which may not see the target class in some deployment scenarios
+     */
+    private static boolean isVisible(Class<?> type) {
+        if (type.isPrimitive()) {
+            return true;
+        }
+        try {
+            ClassLoader loader = PropertyAccessorRegistry.class.getClassLoader();
+            return Class.forName(type.getName(), false, loader) == type;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        return MethodType.methodType(type).wrap().returnType();
+    }
+
+    private static Object invokeGetter(MethodHandle getter, Object target) {
+        try {
+            return (Object) getter.invokeExact(target);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void invokeSetter(MethodHandle setter, Object target, Object value) {
+        try {
+            setter.invokeExact(target, value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Object invoke(Method method, Object target, Object... args) {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IllegalStateException(cause);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -24,6 +24,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -33,8 +34,8 @@ import java.util.SortedMap;
 import java.util.SortedSet;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 public @Data class PropertyDiff implements Serializable {
@@ -58,16 +59,27 @@ public @Data class PropertyDiff implements Serializable {
         this.changes = new ArrayList<>(changes);
     }
 
+    /** Takes ownership of {@code changes} instead of copying it */
+    private PropertyDiff(ArrayList<Change> changes, boolean owned) {
+        this.changes = owned ? changes : new ArrayList<>(changes);
+    }
+
     private Object readResolve() {
         if (changes == null) changes = new ArrayList<>();
         return this;
     }
 
+    /**
+     * Changes to large collection and map properties that add, remove, or replace a few elements
+     * are given as a {@link Patch.Delta} instead of the property's new value.
+     */
     public Patch toPatch() {
         Patch patch = new Patch();
-        changes.stream()
-                .map(c -> new Patch.Property(c.getPropertyName(), c.getNewValue()))
-                .forEach(patch::add);
+        for (Change c : changes) {
+            Patch.Delta delta = Patch.Delta.of(c.getOldValue(), c.getNewValue());
+            Object value = delta == null ? c.getNewValue() : delta;
+            patch.add(new Patch.Property(c.getPropertyName(), value));
+        }
         return patch;
     }
 
@@ -84,21 +96,33 @@ public @Data class PropertyDiff implements Serializable {
     }
 
     public List<String> getPropertyNames() {
-        return getChanges().stream().map(Change::getPropertyName).toList();
+        return map(Change::getPropertyName);
     }
 
     public List<Object> getOldValues() {
-        return getChanges().stream().map(Change::getOldValue).toList();
+        return map(Change::getOldValue);
     }
 
     public List<Object> getNewValues() {
-        return getChanges().stream().map(Change::getNewValue).toList();
+        return map(Change::getNewValue);
+    }
+
+    private <V> List<V> map(Function<Change, V> mapper) {
+        List<V> values = new ArrayList<>(changes.size());
+        for (Change c : changes) {
+            values.add(mapper.apply(c));
+        }
+        return Collections.unmodifiableList(values);
     }
 
     /**
-     * @return a "clean copy", where no-op changes are ignored
+     * @return a "clean copy", where no-op changes are ignored, or this same object if there are
+     *     no no-op changes
      */
     public PropertyDiff clean() {
+        if (changes.stream().noneMatch(Change::isNoChange)) {
+            return this;
+        }
         return new PropertyDiff(
                 changes.stream().filter(c -> !c.isNoChange()).collect(Collectors.toList()));
     }
@@ -168,21 +192,26 @@ public @Data class PropertyDiff implements Serializable {
         return valueOf(propertyNames, oldValues, newValues);
     }
 
+    /**
+     * Creates a diff out of the given property names and values, copying collection and map
+     * values so that the diff is not affected by later changes to the objects they come from.
+     */
     public static PropertyDiff valueOf(
             final @NonNull List<String> propertyNames,
             final @NonNull List<Object> oldValues,
             final @NonNull List<Object> newValues) {
 
-        PropertyDiffBuilder<Info> builder = PropertyDiff.builder();
-        IntStream.range(0, propertyNames.size())
-                .forEach(
-                        i -> {
-                            String prop = propertyNames.get(i);
-                            Object oldV = oldValues.get(i);
-                            Object newV = newValues.get(i);
-                            builder.with(prop, oldV, newV);
-                        });
-        return builder.build();
+        final int size = propertyNames.size();
+        // the last change of a property wins, and goes last, in constant time per property
+        Map<String, Change> changes = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            String prop = PropertyDiffBuilder.fixCase(propertyNames.get(i));
+            Object oldV = PropertyDiffBuilder.copySafe(oldValues.get(i));
+            Object newV = PropertyDiffBuilder.copySafe(newValues.get(i));
+            changes.remove(prop);
+            changes.put(prop, Change.valueOf(prop, oldV, newV));
+        }
+        return new PropertyDiff(new ArrayList<>(changes.values()), true);
     }
 
     public static PropertyDiff empty() {
@@ -212,17 +241,15 @@ public @Data class PropertyDiff implements Serializable {
         }
 
         public PropertyDiff build() {
-            List<Change> changes =
-                    IntStream.range(0, propertyNames.size())
-                            .mapToObj(
-                                    i -> {
-                                        String name = propertyNames.get(i);
-                                        Object oldV = oldValues.get(i);
-                                        Object newV = newValues.get(i);
-                                        return Change.valueOf(name, oldV, newV);
-                                    })
-                            .toList();
-            return new PropertyDiff(changes);
+            final int size = propertyNames.size();
+            ArrayList<Change> changes = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                String name = propertyNames.get(i);
+                Object oldV = oldValues.get(i);
+                Object newV = newValues.get(i);
+                changes.add(Change.valueOf(name, oldV, newV));
+            }
+            return new PropertyDiff(changes, true);
         }
 
         public PropertyDiffBuilder<T> with(String property, Object newValue) {
@@ -250,7 +277,7 @@ public @Data class PropertyDiff implements Serializable {
             return this;
         }
 
-        private Object copySafe(Object val) {
+        private static Object copySafe(Object val) {
             if (val instanceof Collection) return copyOf((Collection<?>) val);
             if (val instanceof Map) {
                 return copyOf((Map<?, ?>) val);
@@ -258,8 +285,8 @@ public @Data class PropertyDiff implements Serializable {
             return val;
         }
 
-        private Collection<?> copyOf(Collection<?> val) {
-            Stream<Object> stream = val.stream().map(this::copySafe);
+        private static Collection<?> copyOf(Collection<?> val) {
+            Stream<Object> stream = val.stream().map(PropertyDiffBuilder::copySafe);
             if (val instanceof SortedSet) {
                 @SuppressWarnings("unchecked")
                 Comparator<Object> comparator = ((SortedSet<Object>) val).comparator();
@@ -272,7 +299,7 @@ public @Data class PropertyDiff implements Serializable {
         }
 
         @SuppressWarnings({"rawtypes", "unchecked"})
-        private Map<?, ?> copyOf(final Map<?, ?> val) {
+        private static Map<?, ?> copyOf(final Map<?, ?> val) {
             Map target;
             if (val instanceof MetadataMap) {
                 target = new MetadataMap();
@@ -296,7 +323,7 @@ public @Data class PropertyDiff implements Serializable {
             if (i > -1) {
                 propertyNames.remove(i);
                 oldValues.remove(i);
-                oldValues.remove(i);
+                newValues.remove(i);
             }
             return this;
         }
@@ -0,0 +1,80 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.catalog.plugin;
+
+import lombok.NonNull;
+
+import org.geoserver.ows.AbstractDispatcherCallback;
+import org.geoserver.ows.DispatcherCallback;
+import org.geoserver.ows.Request;
+import org.geoserver.platform.Operation;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * {@link DispatcherCallback} that runs the OWS operations known not to modify the catalog in a
+ * {@link ReadOnlyCatalogScope}, from the moment the operation is dispatched until the response
+ * has been written, so that the catalog objects they use are not decorated with a {@link
+ * org.geoserver.catalog.impl.ModificationProxy}.
+ *
+ * <p>Other operations (e.g. WFS {@code Transaction}, WPS {@code Execute}) and the REST API and
+ * web UI are not affected.
+ */
+public class ReadOnlyCatalogDispatcherCallback extends AbstractDispatcherCallback {
+
+    /** OWS operations that only read from the catalog, for all services */
+    public static final Set<String> DEFAULT_OPERATIONS =
+            Set.of(
+                    "GetCapabilities",
+                    "GetMap",
+                    "GetFeatureInfo",
+                    "GetLegendGraphic",
+                    "DescribeLayer",
+                    "GetFeature",
+                    "GetPropertyValue",
+                    "DescribeFeatureType",
+                    "GetCoverage",
+                    "DescribeCoverage");
+
+    private final ThreadLocal<ReadOnlyCatalogScope> scope = new ThreadLocal<>();
+
+    private Set<String> operations;
+
+    public ReadOnlyCatalogDispatcherCallback() {
+        setOperations(DEFAULT_OPERATIONS);
+    }
+
+    /** Establishes the (case insensitive) names of the operations to run in read-only mode */
+    public void setOperations(@NonNull Set<String> operations) {
+        Set<String> names = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        names.addAll(operations);
+        this.operations = names;
+    }
+
+    public Set<String> getOperations() {
+        return Set.copyOf(operations);
+    }
+
+    public @Override Operation operationDispatched(Request request, Operation operation) {
+        if (scope.get() == null && isReadOnly(operation)) {
+            scope.set(ReadOnlyCatalogScope.open());
+        }
+        return operation;
+    }
+
+    public @Override void finished(Request request) {
+        ReadOnlyCatalogScope current = scope.get();
+        if (current != null) {
+            scope.remove();
+            current.close();
+        }
+    }
+
+    private boolean isReadOnly(Operation operation) {
+        String id = operation.getId();
+        return id != null && operations.contains(id);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.catalog.plugin;
+
+import lombok.NonNull;
+
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.impl.ModificationProxy;
+import org.geoserver.catalog.plugin.resolving.ReadOnlyProxy;
+
+import java.util.function.Supplier;
+
+/**
+ * Marks the calling thread as only reading from the catalog, so that {@link CatalogPlugin} hands
+ * out its {@link CatalogInfo} objects decorated with a {@link ReadOnlyProxy}, instead of a {@link
+ * ModificationProxy} that's only needed to {@link Catalog#save save} changes later.
+ *
+ * <p>Meant for requests that never modify the catalog, like OWS {@code GetCapabilities}, {@code
+ * GetMap} or {@code GetFeature}, to avoid paying the overhead of tracking changes on every getter
+ * call. Objects obtained within the scope are read-only views of the ones held by the catalog
+ * backend, whose setters throw an {@link UnsupportedOperationException}, and any attempt to modify
+ * the catalog from within the scope fails with an {@link IllegalStateException}. If the backend
+ * applies updates copy-on-write (see {@link DefaultMemoryCatalogFacade#setSnapshotReads(boolean)}),
+ * the objects are also consistent snapshots that concurrent updates don't modify.
+ *
+ * <p>Scopes can be nested, only closing the outermost one ends the read-only mode:
+ *
+ * <pre>{@code
+ * try (ReadOnlyCatalogScope scope = ReadOnlyCatalogScope.open()) {
+ *     LayerInfo layer = catalog.getLayerByName("topp:states");
+ *     ...
+ * }
+ * }</pre>
+ *
+ * @see ReadOnlyCatalogDispatcherCallback
+ */
+public final class ReadOnlyCatalogScope implements AutoCloseable {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private final boolean outermost;
+
+    private ReadOnlyCatalogScope(boolean outermost) {
+        this.outermost = outermost;
+    }
+
+    /** Starts a read-only scope for the calling thread, to be {@link #close() closed} by it */
+    public static ReadOnlyCatalogScope open() {
+        final boolean outermost = !isActive();
+        if (outermost) {
+            ACTIVE.set(Boolean.TRUE);
+        }
+        return new ReadOnlyCatalogScope(outermost);
+    }
+
+    /** @return whether the calling thread is in a read-only scope */
+    public static boolean isActive() {
+        return ACTIVE.get() != null;
+    }
+
+    /** Runs {@code reader} in a read-only scope and returns its result */
+    public static <V> V call(@NonNull Supplier<V> reader) {
+        try (ReadOnlyCatalogScope scope = open()) {
+            return reader.get();
+        }
+    }
+
+    /** Ends the read-only mode for the calling thread, unless this is a nested scope */
+    public @Override void close() {
+        if (outermost) {
+            ACTIVE.remove();
+        }
+    }
+}
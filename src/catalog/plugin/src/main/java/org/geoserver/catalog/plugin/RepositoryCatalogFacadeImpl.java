@@ -28,8 +28,12 @@ import org.opengis.filter.sort.SortBy;
 import org.springframework.util.Assert;
 
 import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Consumer;
@@ -80,6 +84,86 @@ public class RepositoryCatalogFacadeImpl extends CatalogInfoRepositoryHolderImpl
         return repository.findById(info.getId(), type).orElse(null);
     }
 
+    /**
+     * Groups {@code infos} by repository and adds each group with a single call to {@link
+     * CatalogInfoRepository#addAll}, in dependency order (e.g. workspaces before stores, and stores
+     * before resources)
+     */
+    public @Override void addAll(Stream<? extends CatalogInfo> infos) {
+        Map<CatalogInfoRepository<?>, List<CatalogInfo>> batches = partition(infos);
+        for (CatalogInfoRepository<?> repository : repositoriesInDependencyOrder()) {
+            List<CatalogInfo> batch = batches.get(repository);
+            if (batch != null) {
+                addAll(repository, batch);
+            }
+        }
+    }
+
+    /**
+     * Groups {@code infos} by repository and removes each group with a single call to {@link
+     * CatalogInfoRepository#removeAll}, in reverse dependency order (e.g. layers before resources)
+     */
+    public @Override void removeAll(Stream<? extends CatalogInfo> infos) {
+        Map<CatalogInfoRepository<?>, List<CatalogInfo>> batches = partition(infos);
+        List<CatalogInfoRepository<?>> order = repositoriesInDependencyOrder();
+        Collections.reverse(order);
+        for (CatalogInfoRepository<?> repository : order) {
+            List<CatalogInfo> batch = batches.get(repository);
+            if (batch != null) {
+                removeAll(repository, batch);
+            }
+        }
+    }
+
+    private Map<CatalogInfoRepository<?>, List<CatalogInfo>> partition(
+            Stream<? extends CatalogInfo> infos) {
+        Map<CatalogInfoRepository<?>, List<CatalogInfo>> batches = new IdentityHashMap<>();
+        infos.forEach(
+                info -> {
+                    checkNotAProxy(info);
+                    Objects.requireNonNull(info.getId(), "Object id not provided");
+                    batches.computeIfAbsent(repositoryFor(info), r -> new ArrayList<>()).add(info);
+                });
+        return batches;
+    }
+
+    private List<CatalogInfoRepository<?>> repositoriesInDependencyOrder() {
+        return new ArrayList<>(
+                List.of(
+                        workspaces,
+                        namespaces,
+                        styles,
+                        stores,
+                        resources,
+                        layers,
+                        layerGroups,
+                        maps));
+    }
+
+    private CatalogInfoRepository<?> repositoryFor(CatalogInfo info) {
+        if (info instanceof WorkspaceInfo) return workspaces;
+        if (info instanceof NamespaceInfo) return namespaces;
+        if (info instanceof StoreInfo) return stores;
+        if (info instanceof ResourceInfo) return resources;
+        if (info instanceof LayerInfo) return layers;
+        if (info instanceof LayerGroupInfo) return layerGroups;
+        if (info instanceof StyleInfo) return styles;
+        if (info instanceof MapInfo) return maps;
+        throw new IllegalArgumentException("Unknown CatalogInfo type: " + info);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <I extends CatalogInfo> void addAll(
+            CatalogInfoRepository<I> repository, List<CatalogInfo> batch) {
+        repository.addAll(batch.stream().map(info -> (I) info));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <I extends CatalogInfo> void removeAll(
+            CatalogInfoRepository<I> repository, List<CatalogInfo> batch) {
+        repository.removeAll(batch.stream().map(info -> (I) info));
+    }
+
     //
     // Stores
     //
@@ -273,6 +357,14 @@ public class RepositoryCatalogFacadeImpl extends CatalogInfoRepositoryHolderImpl
         return toList(getLayerGroupRepository()::findAll);
     }
 
+    public @Override List<LayerGroupInfo> getLayerGroupsByMember(CatalogInfo member) {
+        return toList(() -> getLayerGroupRepository().findAllByMember(member));
+    }
+
+    public @Override List<LayerGroupInfo> getLayerGroupsContaining(CatalogInfo member) {
+        return toList(() -> getLayerGroupRepository().findAllContaining(member));
+    }
+
     public @Override List<LayerGroupInfo> getLayerGroupsByWorkspace(WorkspaceInfo workspace) {
         // TODO: support ANY_WORKSPACE?
 
@@ -477,29 +569,44 @@ public class RepositoryCatalogFacadeImpl extends CatalogInfoRepositoryHolderImpl
     }
 
     public @Override void syncTo(CatalogFacade to) {
+        syncTo(to, new CatalogSyncMonitor());
+    }
+
+    /**
+     * Copies all the objects to {@code to} in dependency order: workspaces and namespaces, then
+     * stores and styles, resources, layers, and finally layer groups and maps. Objects of each type
+     * are copied in parallel batches as configured by {@code monitor}, except layer groups, which
+     * can reference other layer groups and are hence copied in order.
+     */
+    public @Override void syncTo(CatalogFacade to, CatalogSyncMonitor monitor) {
         final CatalogFacade dao = ProxyUtils.unwrap(to, LockingCatalogFacade.class);
         if (dao instanceof CatalogInfoRepositoryHolder) {
             // do an optimized sync
             CatalogInfoRepositoryHolder other = (CatalogInfoRepositoryHolder) dao;
-            this.workspaces.syncTo(other.getWorkspaceRepository());
-            this.namespaces.syncTo(other.getNamespaceRepository());
-            this.stores.syncTo(other.getStoreRepository());
-            this.resources.syncTo(other.getResourceRepository());
-            this.layers.syncTo(other.getLayerRepository());
-            this.layerGroups.syncTo(other.getLayerGroupRepository());
-            this.styles.syncTo(other.getStyleRepository());
-            this.maps.syncTo(other.getMapRepository());
+            sync(workspaces, other.getWorkspaceRepository(), monitor);
+            sync(namespaces, other.getNamespaceRepository(), monitor);
+            sync(stores, other.getStoreRepository(), monitor);
+            sync(styles, other.getStyleRepository(), monitor);
+            sync(resources, other.getResourceRepository(), monitor);
+            sync(layers, other.getLayerRepository(), monitor);
+            sync(layerGroups, other.getLayerGroupRepository(), monitor);
+            sync(maps, other.getMapRepository(), monitor);
             dao.setCatalog(catalog);
         } else {
-            // do a manual import
-            sync(workspaces::findAll, dao::add);
-            sync(namespaces::findAll, dao::add);
-            sync(stores::findAll, dao::add);
-            sync(resources::findAll, dao::add);
-            sync(styles::findAll, dao::add);
-            sync(layers::findAll, dao::add);
-            sync(layerGroups::findAll, dao::add);
-            sync(maps::findAll, dao::add);
+            // do a bulk import, in parallel only if the target supports bulk operations
+            final boolean parallel = dao instanceof ExtendedCatalogFacade;
+            final Consumer<Stream<? extends CatalogInfo>> bulk =
+                    parallel
+                            ? ((ExtendedCatalogFacade) dao)::addAll
+                            : infos -> infos.forEach(info -> add(dao, info));
+            sync(workspaces, WorkspaceInfo.class, bulk, parallel, monitor);
+            sync(namespaces, NamespaceInfo.class, bulk, parallel, monitor);
+            sync(stores, StoreInfo.class, bulk, parallel, monitor);
+            sync(styles, StyleInfo.class, bulk, parallel, monitor);
+            sync(resources, ResourceInfo.class, bulk, parallel, monitor);
+            sync(layers, LayerInfo.class, bulk, parallel, monitor);
+            sync(layerGroups, LayerGroupInfo.class, bulk, parallel, monitor);
+            sync(maps, MapInfo.class, bulk, parallel, monitor);
         }
 
         dao.setDefaultWorkspace(getDefaultWorkspace());
@@ -509,9 +616,45 @@ public class RepositoryCatalogFacadeImpl extends CatalogInfoRepositoryHolderImpl
         }
     }
 
-    private <T extends CatalogInfo> void sync(Supplier<Stream<T>> from, Consumer<T> to) {
-        try (Stream<T> all = from.get()) {
-            all.forEach(to::accept);
+    private <T extends CatalogInfo> void sync(
+            CatalogInfoRepository<T> from,
+            CatalogInfoRepository<T> to,
+            CatalogSyncMonitor monitor) {
+        monitor.checkCanceled();
+        from.syncTo(to, monitor);
+        logProgress(from.getContentType(), monitor);
+    }
+
+    private <T extends CatalogInfo> void sync(
+            CatalogInfoRepository<T> from,
+            Class<T> type,
+            Consumer<Stream<? extends CatalogInfo>> to,
+            boolean parallel,
+            CatalogSyncMonitor monitor) {
+        monitor.checkCanceled();
+        final boolean ordered = !parallel || LayerGroupInfo.class.equals(type);
+        try (Stream<T> all = from.findAll()) {
+            monitor.copy(type, all, to::accept, ordered);
+        }
+        logProgress(type, monitor);
+    }
+
+    private static void add(CatalogFacade to, CatalogInfo info) {
+        if (info instanceof WorkspaceInfo) to.add((WorkspaceInfo) info);
+        else if (info instanceof NamespaceInfo) to.add((NamespaceInfo) info);
+        else if (info instanceof StoreInfo) to.add((StoreInfo) info);
+        else if (info instanceof ResourceInfo) to.add((ResourceInfo) info);
+        else if (info instanceof LayerInfo) to.add((LayerInfo) info);
+        else if (info instanceof LayerGroupInfo) to.add((LayerGroupInfo) info);
+        else if (info instanceof StyleInfo) to.add((StyleInfo) info);
+        else if (info instanceof MapInfo) to.add((MapInfo) info);
+        else throw new IllegalArgumentException("Unknown CatalogInfo type: " + info);
+    }
+
+    private void logProgress(Class<? extends CatalogInfo> type, CatalogSyncMonitor monitor) {
+        if (LOGGER.isLoggable(Level.FINE)) {
+            String progress = monitor.getProgress().toString();
+            LOGGER.fine(format("Synced %s, progress: %s", type.getSimpleName(), progress));
         }
     }
 
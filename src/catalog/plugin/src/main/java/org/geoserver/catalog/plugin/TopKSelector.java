@@ -0,0 +1,78 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.catalog.plugin;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Selects the first {@code k} elements of a sequence in {@link Comparator} order using a bounded
+ * heap, in {@code O(n log k)} time and {@code O(k)} space, instead of sorting the whole sequence.
+ *
+ * <p>Elements comparing equal keep their encounter order, so the result is the same as a stable
+ * sort of the whole sequence followed by {@code limit(k)}.
+ *
+ * @param <U>
+ */
+class TopKSelector<U> {
+
+    private final int k;
+
+    private final Comparator<U> comparator;
+
+    private final Comparator<Entry<U>> order;
+
+    /** Reverse ordered heap, its head is the greatest of the k lowest elements seen so far */
+    private final PriorityQueue<Entry<U>> heap;
+
+    private long sequence;
+
+    private static class Entry<U> {
+        final U value;
+        final long sequence;
+
+        Entry(U value, long sequence) {
+            this.value = value;
+            this.sequence = sequence;
+        }
+    }
+
+    TopKSelector(int k, Comparator<U> comparator) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k must be >= 0: " + k);
+        }
+        this.k = k;
+        this.comparator = requireNonNull(comparator);
+        Comparator<Entry<U>> byValue = (e1, e2) -> comparator.compare(e1.value, e2.value);
+        this.order = byValue.thenComparingLong(e -> e.sequence);
+        this.heap = new PriorityQueue<>(Math.max(1, Math.min(k, 1024)), order.reversed());
+    }
+
+    public void add(U value) {
+        final long seq = sequence++;
+        if (heap.size() < k) {
+            heap.add(new Entry<>(value, seq));
+        } else if (k > 0 && comparator.compare(value, heap.peek().value) < 0) {
+            // strictly lower only, an equal value comes after the head in encounter order
+            heap.poll();
+            heap.add(new Entry<>(value, seq));
+        }
+    }
+
+    /** @return the selected elements, in comparator order */
+    public List<U> toList() {
+        List<Entry<U>> entries = new ArrayList<>(heap);
+        entries.sort(order);
+        List<U> values = new ArrayList<>(entries.size());
+        for (Entry<U> e : entries) {
+            values.add(e.value);
+        }
+        return values;
+    }
+}
@@ -8,6 +8,7 @@ import lombok.NonNull;
 
 import org.geoserver.catalog.CatalogInfo;
 import org.geoserver.catalog.plugin.CatalogInfoRepository;
+import org.geoserver.catalog.plugin.CatalogSyncMonitor;
 import org.geoserver.catalog.plugin.Patch;
 import org.geoserver.catalog.plugin.Query;
 import org.opengis.filter.Filter;
@@ -41,6 +42,14 @@ public abstract class ForwardingCatalogRepository<
         subject.remove(value);
     }
 
+    public @Override void addAll(Stream<? extends I> values) {
+        subject.addAll(values);
+    }
+
+    public @Override void removeAll(Stream<? extends I> values) {
+        subject.removeAll(values);
+    }
+
     public @Override <T extends I> T update(T value, Patch patch) {
         return subject.update(value, patch);
     }
@@ -73,4 +82,8 @@ public abstract class ForwardingCatalogRepository<
     public @Override void syncTo(CatalogInfoRepository<I> target) {
         subject.syncTo(target);
     }
+
+    public @Override void syncTo(CatalogInfoRepository<I> target, CatalogSyncMonitor monitor) {
+        subject.syncTo(target, monitor);
+    }
 }
@@ -6,10 +6,13 @@ package org.geoserver.catalog.plugin.forwarding;
 
 import org.geoserver.catalog.CatalogFacade;
 import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.LayerGroupInfo;
+import org.geoserver.catalog.plugin.CatalogSyncMonitor;
 import org.geoserver.catalog.plugin.ExtendedCatalogFacade;
 import org.geoserver.catalog.plugin.Patch;
 import org.geoserver.catalog.plugin.Query;
 
+import java.util.List;
 import java.util.stream.Stream;
 
 /** Adapts a regular {@link CatalogFacade} to a {@link ExtendedCatalogFacade} */
@@ -28,6 +31,26 @@ public class ForwardingExtendedCatalogFacade extends ForwardingCatalogFacade
         return facade().query(query);
     }
 
+    public @Override void addAll(Stream<? extends CatalogInfo> infos) {
+        facade().addAll(infos);
+    }
+
+    public @Override void removeAll(Stream<? extends CatalogInfo> infos) {
+        facade().removeAll(infos);
+    }
+
+    public @Override void syncTo(CatalogFacade to, CatalogSyncMonitor monitor) {
+        facade().syncTo(to, monitor);
+    }
+
+    public @Override List<LayerGroupInfo> getLayerGroupsByMember(CatalogInfo member) {
+        return facade().getLayerGroupsByMember(member);
+    }
+
+    public @Override List<LayerGroupInfo> getLayerGroupsContaining(CatalogInfo member) {
+        return facade().getLayerGroupsContaining(member);
+    }
+
     protected ExtendedCatalogFacade facade() {
         return (ExtendedCatalogFacade) super.facade;
     }
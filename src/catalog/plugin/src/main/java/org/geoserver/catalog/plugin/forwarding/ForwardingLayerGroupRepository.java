@@ -6,6 +6,7 @@ package org.geoserver.catalog.plugin.forwarding;
 
 import lombok.NonNull;
 
+import org.geoserver.catalog.CatalogInfo;
 import org.geoserver.catalog.LayerGroupInfo;
 import org.geoserver.catalog.WorkspaceInfo;
 import org.geoserver.catalog.plugin.CatalogInfoRepository.LayerGroupRepository;
@@ -37,4 +38,12 @@ public class ForwardingLayerGroupRepository
             String name, WorkspaceInfo workspace) {
         return subject.findByNameAndWorkspace(name, workspace);
     }
+
+    public @Override Stream<LayerGroupInfo> findAllByMember(CatalogInfo member) {
+        return subject.findAllByMember(member);
+    }
+
+    public @Override Stream<LayerGroupInfo> findAllContaining(CatalogInfo member) {
+        return subject.findAllContaining(member);
+    }
 }
@@ -276,6 +276,14 @@ public class ResolvingCatalogFacadeDecorator extends ForwardingExtendedCatalogFa
         return resolveOutbound(super.getLayerGroups());
     }
 
+    public @Override List<LayerGroupInfo> getLayerGroupsByMember(CatalogInfo member) {
+        return resolveOutbound(super.getLayerGroupsByMember(member));
+    }
+
+    public @Override List<LayerGroupInfo> getLayerGroupsContaining(CatalogInfo member) {
+        return resolveOutbound(super.getLayerGroupsContaining(member));
+    }
+
     public @Override List<LayerGroupInfo> getLayerGroupsByWorkspace(WorkspaceInfo workspace) {
         return resolveOutbound(super.getLayerGroupsByWorkspace(workspace));
     }
@@ -0,0 +1,271 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.catalog.plugin.resolving;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Collections2;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+
+import org.geoserver.catalog.Info;
+import org.geoserver.catalog.MetadataMap;
+import org.geoserver.catalog.impl.ModificationProxy;
+
+import java.io.Serializable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Read-only view of an {@link Info} object, whose setters throw an {@link
+ * UnsupportedOperationException}, and whose getters return read-only views of the {@link Info}
+ * objects, collections, and maps held by the decorated object, so that the object can be handed
+ * out without copying it, and without it being modified through the view.
+ *
+ * <p>Unlike {@link ModificationProxy}, it doesn't keep track of changes. There's a single view per
+ * decorated object, and the views of the collections and maps returned by its getters are live,
+ * non copying ones, created once and reused for as long as the getter returns the same instance,
+ * so that repeated calls don't allocate.
+ */
+public class ReadOnlyProxy implements InvocationHandler {
+
+    private static final ClassValue<Class<?>[]> INTERFACES =
+            new ClassValue<>() {
+                protected @Override Class<?>[] computeValue(Class<?> type) {
+                    Set<Class<?>> interfaces = new LinkedHashSet<>();
+                    for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+                        interfaces.addAll(List.of(c.getInterfaces()));
+                    }
+                    return interfaces.toArray(Class<?>[]::new);
+                }
+            };
+
+    /**
+     * The view of each decorated object, by identity, held for as long as the view is in use.
+     * Weak values, since the views reference their decorated object
+     */
+    private static final Cache<Info, Info> VIEWS =
+            CacheBuilder.newBuilder().weakKeys().weakValues().build();
+
+    private final Info delegate;
+
+    /** The read-only views of the values returned by the getters, see {@link CachedView} */
+    private final ConcurrentMap<Method, CachedView> views = new ConcurrentHashMap<>();
+
+    /** A getter's return value, and the read-only view of it handed out */
+    private static class CachedView {
+        final Object value;
+        final Object view;
+
+        CachedView(Object value, Object view) {
+            this.value = value;
+            this.view = view;
+        }
+    }
+
+    private ReadOnlyProxy(Info delegate) {
+        this.delegate = delegate;
+    }
+
+    /** @return a read-only view of {@code info}, or {@code info} itself if it already is one */
+    @SuppressWarnings("unchecked")
+    public static <T extends Info> T wrap(T info) {
+        if (info == null || isReadOnly(info)) {
+            return info;
+        }
+        return (T) VIEWS.asMap().computeIfAbsent(info, ReadOnlyProxy::create);
+    }
+
+    private static Info create(Info info) {
+        Class<?>[] interfaces = INTERFACES.get(info.getClass());
+        ClassLoader classLoader = info.getClass().getClassLoader();
+        return (Info) Proxy.newProxyInstance(classLoader, interfaces, new ReadOnlyProxy(info));
+    }
+
+    /** @return the object decorated by {@code info} if it's a read-only view, or {@code info} */
+    @SuppressWarnings("unchecked")
+    public static <T> T unwrap(T info) {
+        if (isReadOnly(info)) {
+            return (T) ((ReadOnlyProxy) Proxy.getInvocationHandler(info)).delegate;
+        }
+        return info;
+    }
+
+    public static boolean isReadOnly(Object info) {
+        return info != null
+                && Proxy.isProxyClass(info.getClass())
+                && Proxy.getInvocationHandler(info) instanceof ReadOnlyProxy;
+    }
+
+    public @Override Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        final String name = method.getName();
+        final boolean noArgs = args == null || args.length == 0;
+        if (!noArgs && name.startsWith("set")) {
+            throw new UnsupportedOperationException(
+                    "Can't call " + name + " on a read-only view of " + delegate);
+        }
+        if ("equals".equals(name) && args.length == 1) {
+            args = new Object[] {unwrap(args[0])};
+        }
+        final Object value;
+        try {
+            value = method.invoke(delegate, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+        if (!noArgs || !needsView(value)) {
+            return readOnly(value, method.getReturnType());
+        }
+        CachedView cached = views.get(method);
+        if (cached == null || cached.value != value) {
+            cached = new CachedView(value, readOnly(value, method.getReturnType()));
+            views.put(method, cached);
+        }
+        return cached.view;
+    }
+
+    /** @return whether {@code value} is a collection or map whose view is worth caching */
+    private static boolean needsView(Object value) {
+        return value instanceof Collection || value instanceof Map;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object readOnly(Object value, Class<?> type) {
+        if (value instanceof Info) {
+            return wrap((Info) value);
+        }
+        if (value instanceof MetadataMap) {
+            return new ReadOnlyMetadataMap((MetadataMap) value);
+        }
+        if (value instanceof Map && type.isAssignableFrom(Map.class)) {
+            return Collections.unmodifiableMap((Map<?, ?>) value);
+        }
+        if (value instanceof List && type.isAssignableFrom(List.class)) {
+            return Collections.unmodifiableList(
+                    Lists.transform((List<?>) value, ReadOnlyProxy::readOnlyElement));
+        }
+        if (value instanceof Set && type.isAssignableFrom(Set.class)) {
+            return new ReadOnlySet<>((Set<?>) value);
+        }
+        if (value instanceof Collection && type.isAssignableFrom(Collection.class)) {
+            return Collections.unmodifiableCollection(
+                    Collections2.transform(
+                            (Collection<?>) value, ReadOnlyProxy::readOnlyElement));
+        }
+        return value;
+    }
+
+    private static Object readOnlyElement(Object value) {
+        return value instanceof Info ? wrap((Info) value) : value;
+    }
+
+    /**
+     * Unmodifiable view of a {@link MetadataMap}, a concrete class that hence can't be replaced by
+     * a plain unmodifiable map
+     */
+    private static class ReadOnlyMetadataMap extends MetadataMap {
+        private static final long serialVersionUID = 1L;
+
+        private final Map<String, Serializable> view;
+
+        ReadOnlyMetadataMap(MetadataMap map) {
+            this.view = Collections.unmodifiableMap(map);
+        }
+
+        public @Override int size() {
+            return view.size();
+        }
+
+        public @Override boolean isEmpty() {
+            return view.isEmpty();
+        }
+
+        public @Override boolean containsKey(Object key) {
+            return view.containsKey(key);
+        }
+
+        public @Override boolean containsValue(Object value) {
+            return view.containsValue(value);
+        }
+
+        public @Override Serializable get(Object key) {
+            return view.get(key);
+        }
+
+        public @Override Serializable put(String key, Serializable value) {
+            throw new UnsupportedOperationException();
+        }
+
+        public @Override Serializable remove(Object key) {
+            throw new UnsupportedOperationException();
+        }
+
+        public @Override void putAll(Map<? extends String, ? extends Serializable> m) {
+            throw new UnsupportedOperationException();
+        }
+
+        public @Override void clear() {
+            throw new UnsupportedOperationException();
+        }
+
+        public @Override Set<String> keySet() {
+            return view.keySet();
+        }
+
+        public @Override Collection<Serializable> values() {
+            return view.values();
+        }
+
+        public @Override Set<Entry<String, Serializable>> entrySet() {
+            return view.entrySet();
+        }
+
+        public @Override boolean equals(Object o) {
+            return view.equals(o);
+        }
+
+        public @Override int hashCode() {
+            return view.hashCode();
+        }
+
+        public @Override String toString() {
+            return view.toString();
+        }
+    }
+
+    /** Unmodifiable view of a set, whose {@link Info} elements are read-only views */
+    private static class ReadOnlySet<E> extends AbstractSet<Object> {
+        private final Set<E> set;
+
+        ReadOnlySet(Set<E> set) {
+            this.set = set;
+        }
+
+        public @Override Iterator<Object> iterator() {
+            return Iterators.unmodifiableIterator(
+                    Iterators.transform(set.iterator(), ReadOnlyProxy::readOnlyElement));
+        }
+
+        public @Override int size() {
+            return set.size();
+        }
+
+        public @Override boolean contains(Object o) {
+            return set.contains(unwrap(o));
+        }
+    }
+}
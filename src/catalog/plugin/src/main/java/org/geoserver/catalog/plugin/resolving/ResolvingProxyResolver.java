@@ -6,6 +6,7 @@ package org.geoserver.catalog.plugin.resolving;
 
 import static java.util.Objects.requireNonNull;
 
+import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 
 import org.geoserver.catalog.Catalog;
@@ -14,6 +15,7 @@ import org.geoserver.catalog.Info;
 import org.geoserver.catalog.LayerGroupInfo;
 import org.geoserver.catalog.LayerInfo;
 import org.geoserver.catalog.NamespaceInfo;
+import org.geoserver.catalog.Predicates;
 import org.geoserver.catalog.PublishedInfo;
 import org.geoserver.catalog.ResourceInfo;
 import org.geoserver.catalog.StoreInfo;
@@ -21,18 +23,28 @@ import org.geoserver.catalog.StyleInfo;
 import org.geoserver.catalog.WorkspaceInfo;
 import org.geoserver.catalog.impl.ResolvingProxy;
 import org.geoserver.catalog.plugin.forwarding.ResolvingCatalogFacadeDecorator;
+import org.geoserver.catalog.util.CloseableIterator;
 import org.geoserver.config.ServiceInfo;
 import org.geoserver.config.SettingsInfo;
+import org.opengis.filter.Filter;
 
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * {@link ResolvingCatalogFacadeDecorator#setObjectResolver resolving function} that resolves {@link
@@ -45,13 +57,33 @@ import java.util.stream.Collectors;
  * at if the catalog can do very fast id lookups. For example, if it has its own caching mechanism
  * or is a purely in-memory catalog.
  *
+ * <p>A {@link MemoizingProxyResolver} can also be kept around for the duration of a bulk load,
+ * {@link MemoizingProxyResolver#prefetch prefetching} the references of each batch of objects with
+ * a single query per reference type.
+ *
  * @see ResolvingProxy
  */
 @Slf4j
 public class ResolvingProxyResolver<T extends Info> implements UnaryOperator<T> {
 
-    private final Catalog catalog;
+    protected final Catalog catalog;
     private final BiConsumer<CatalogInfo, ResolvingProxy> onNotFound;
+    protected BatchLoader batchLoader;
+
+    /**
+     * Loads the objects of several types by id at once, for a {@link MemoizingProxyResolver} to
+     * {@link MemoizingProxyResolver#prefetch prefetch} all the references of an object graph with
+     * a single call per graph level, instead of a catalog query per reference type.
+     */
+    @FunctionalInterface
+    public static interface BatchLoader {
+
+        /**
+         * @return the objects found for the given ids, grouped by type, with their own {@link
+         *     ResolvingProxy} references still unresolved
+         */
+        Stream<? extends CatalogInfo> load(Map<Class<? extends CatalogInfo>, Set<String>> ids);
+    }
 
     public ResolvingProxyResolver(Catalog catalog) {
         this(
@@ -92,9 +124,18 @@ public class ResolvingProxyResolver<T extends Info> implements UnaryOperator<T>
         return new ResolvingProxyResolver<>(catalog);
     }
 
-    @SuppressWarnings("unchecked")
-    public <I extends Info> ResolvingProxyResolver<I> memoizing() {
-        return (ResolvingProxyResolver<I>) new MemoizingProxyResolver(catalog, onNotFound);
+    /**
+     * Sets the {@link BatchLoader} the {@link #memoizing() memoizing} resolvers created afterwards
+     * use to prefetch references, or {@code null} to use catalog queries
+     */
+    public void setBatchLoader(BatchLoader batchLoader) {
+        this.batchLoader = batchLoader;
+    }
+
+    public <I extends Info> MemoizingProxyResolver<I> memoizing() {
+        MemoizingProxyResolver<I> memoizing = new MemoizingProxyResolver<>(catalog, onNotFound);
+        memoizing.setBatchLoader(batchLoader);
+        return memoizing;
     }
 
     public @Override T apply(T info) {
@@ -250,9 +291,67 @@ public class ResolvingProxyResolver<T extends Info> implements UnaryOperator<T>
         return resource;
     }
 
-    private static class MemoizingProxyResolver extends ResolvingProxyResolver<Info> {
+    /**
+     * Calls {@code consumer} with each {@link ResolvingProxy} reference held by {@code info}, for
+     * the same properties {@link #resolve(Info)} resolves
+     */
+    protected void forEachReference(Info info, Consumer<Info> consumer) {
+        if (info == null || getResolvingProxy(info) != null) {
+            return;
+        }
+        Consumer<Info> proxies =
+                ref -> {
+                    if (getResolvingProxy(ref) != null) consumer.accept(ref);
+                };
+        if (info instanceof StyleInfo) {
+            proxies.accept(((StyleInfo) info).getWorkspace());
+        } else if (info instanceof LayerInfo) {
+            LayerInfo layer = (LayerInfo) info;
+            proxies.accept(layer.getResource());
+            proxies.accept(layer.getDefaultStyle());
+            layer.getStyles().forEach(proxies);
+        } else if (info instanceof LayerGroupInfo) {
+            LayerGroupInfo lg = (LayerGroupInfo) info;
+            lg.getLayers().forEach(proxies);
+            lg.getStyles().forEach(proxies);
+            proxies.accept(lg.getWorkspace());
+        } else if (info instanceof ResourceInfo) {
+            proxies.accept(((ResourceInfo) info).getStore());
+            proxies.accept(((ResourceInfo) info).getNamespace());
+        } else if (info instanceof StoreInfo) {
+            proxies.accept(((StoreInfo) info).getWorkspace());
+        } else if (info instanceof SettingsInfo) {
+            proxies.accept(((SettingsInfo) info).getWorkspace());
+        } else if (info instanceof ServiceInfo) {
+            proxies.accept(((ServiceInfo) info).getWorkspace());
+        }
+    }
 
-        private Map<String, Info> resolved = new ConcurrentHashMap<>();
+    /**
+     * {@link ResolvingProxyResolver} that remembers the resolved references, so each distinct
+     * reference is looked up in the catalog only once during the resolver's lifetime, which shall
+     * be bounded to a single stream or bulk load operation for the memoized objects not to go
+     * stale.
+     *
+     * <p>Keeps track of the number of references {@link #getResolutions() resolved} against the
+     * catalog, and of the number of times a memoized one was {@link #getHits() reused}.
+     */
+    public static class MemoizingProxyResolver<T extends Info> extends ResolvingProxyResolver<T> {
+
+        private static final List<Class<? extends CatalogInfo>> REFERENCE_TYPES =
+                List.of(
+                        WorkspaceInfo.class,
+                        NamespaceInfo.class,
+                        StoreInfo.class,
+                        ResourceInfo.class,
+                        LayerInfo.class,
+                        LayerGroupInfo.class,
+                        StyleInfo.class);
+
+        private final Map<String, Info> resolved = new ConcurrentHashMap<>();
+
+        private final LongAdder resolutions = new LongAdder();
+        private final LongAdder hits = new LongAdder();
 
         public MemoizingProxyResolver(
                 Catalog catalog, BiConsumer<CatalogInfo, ResolvingProxy> onNotFound) {
@@ -265,11 +364,138 @@ public class ResolvingProxyResolver<T extends Info> implements UnaryOperator<T>
             I resolved = (I) this.resolved.get(id);
             if (null == resolved) {
                 log.trace("Memoized cache miss, resolving proxy reference {}", id);
-                resolved = (I) this.resolved.computeIfAbsent(id, key -> super.doResolveProxy(orig));
+                resolved =
+                        (I)
+                                this.resolved.computeIfAbsent(
+                                        id,
+                                        key -> {
+                                            resolutions.increment();
+                                            return super.doResolveProxy(orig);
+                                        });
             } else {
                 log.trace("Memoized cache hit for {}", resolved.getId());
+                hits.increment();
             }
             return resolved;
         }
+
+        /**
+         * Resolves all the distinct {@link ResolvingProxy} references held by the objects in
+         * {@code batch} that are not yet memoized, with a single {@link Catalog#list(Class,
+         * Filter) query} per reference type, so that {@link #resolve(Info) resolving} each object
+         * afterwards only hits memoized references. References not found by id are left to be
+         * resolved one by one.
+         *
+         * <p>If a {@link BatchLoader} is set, it's used instead, walking the object graph one level
+         * at a time: the references of the loaded objects not yet memoized are loaded with the next
+         * call, and so on, and the loaded objects are then resolved against the memoized ones.
+         */
+        public void prefetch(@NonNull Collection<? extends Info> batch) {
+            if (batchLoader == null) {
+                pending(batch).forEach(this::fetch);
+                return;
+            }
+            List<CatalogInfo> loaded = new ArrayList<>();
+            Map<Class<? extends CatalogInfo>, Set<String>> pending = pending(batch);
+            while (!pending.isEmpty()) {
+                List<CatalogInfo> level = load(pending);
+                loaded.addAll(level);
+                pending = pending(level);
+            }
+            loaded.forEach(this::resolve);
+        }
+
+        private List<CatalogInfo> load(Map<Class<? extends CatalogInfo>, Set<String>> pending) {
+            log.debug("Prefetching references {}", pending);
+            List<CatalogInfo> level = new ArrayList<>();
+            try (Stream<? extends CatalogInfo> found = batchLoader.load(pending)) {
+                found.forEach(
+                        info -> {
+                            if (null == resolved.putIfAbsent(info.getId(), info)) {
+                                resolutions.increment();
+                                level.add(info);
+                            }
+                        });
+            }
+            return level;
+        }
+
+        /** @return the ids of the references held by {@code infos} not yet memoized, by type */
+        private Map<Class<? extends CatalogInfo>, Set<String>> pending(
+                Collection<? extends Info> infos) {
+            Map<Class<? extends CatalogInfo>, Set<String>> pending = new HashMap<>();
+            for (Info info : infos) {
+                forEachReference(
+                        info,
+                        ref -> {
+                            Class<? extends CatalogInfo> type = referenceType(ref);
+                            String id = ref.getId();
+                            if (type != null && id != null && !resolved.containsKey(id)) {
+                                pending.computeIfAbsent(type, t -> new LinkedHashSet<>()).add(id);
+                            }
+                        });
+            }
+            return pending;
+        }
+
+        private void fetch(Class<? extends CatalogInfo> type, Set<String> ids) {
+            List<Filter> byId =
+                    ids.stream()
+                            .map(id -> Predicates.equal("id", id))
+                            .collect(Collectors.toList());
+            Filter filter = byId.size() == 1 ? byId.get(0) : Predicates.or(byId);
+            log.debug("Prefetching {} {} references", ids.size(), type.getSimpleName());
+            try (CloseableIterator<? extends CatalogInfo> found = catalog.list(type, filter)) {
+                while (found.hasNext()) {
+                    CatalogInfo info = found.next();
+                    if (null == resolved.putIfAbsent(info.getId(), info)) {
+                        resolutions.increment();
+                    }
+                }
+            }
+        }
+
+        /**
+         * Memoizes {@code infos}, for example the referenced objects a remote service sent along
+         * with the ones referring to them, and resolves their own references against the memoized
+         * ones. Objects whose ids are already memoized are ignored.
+         */
+        public void memoize(@NonNull Collection<? extends CatalogInfo> infos) {
+            List<CatalogInfo> added = new ArrayList<>();
+            for (CatalogInfo info : infos) {
+                if (null == resolved.putIfAbsent(info.getId(), info)) {
+                    added.add(info);
+                }
+            }
+            added.forEach(this::resolve);
+        }
+
+        /** @return the catalog type a proxy stands for, or {@code null} if ambiguous */
+        private Class<? extends CatalogInfo> referenceType(Info proxy) {
+            for (Class<? extends CatalogInfo> type : REFERENCE_TYPES) {
+                if (type.isInstance(proxy)) return type;
+            }
+            return null;
+        }
+
+        /** @return number of references looked up in the catalog */
+        public long getResolutions() {
+            return resolutions.sum();
+        }
+
+        /** @return number of times a memoized reference was reused */
+        public long getHits() {
+            return hits.sum();
+        }
+
+        /** @return number of references memoized */
+        public int size() {
+            return resolved.size();
+        }
+
+        /** Discards the memoized references */
+        public void clear() {
+            resolved.clear();
+        }
     }
 }
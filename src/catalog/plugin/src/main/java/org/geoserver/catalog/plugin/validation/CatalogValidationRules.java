@@ -5,6 +5,7 @@
 package org.geoserver.catalog.plugin.validation;
 
 import static org.geoserver.catalog.plugin.validation.DefaultCatalogValidator.checkArgument;
+import static org.geoserver.catalog.plugin.validation.DefaultCatalogValidator.getLayerGroupsByMember;
 import static org.geoserver.catalog.plugin.validation.DefaultCatalogValidator.isDefaultStyle;
 
 import org.geoserver.catalog.Catalog;
@@ -32,6 +33,7 @@ import org.geoserver.catalog.impl.ModificationProxy;
 import org.geoserver.platform.GeoServerExtensions;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 
@@ -42,7 +44,7 @@ import java.util.Objects;
 public class CatalogValidationRules {
 
     private Catalog catalog;
-    private CatalogValidator defaultValidator;
+    private DefaultCatalogValidator defaultValidator;
 
     /** extended validation switch */
     protected boolean extendedValidation = true;
@@ -86,6 +88,21 @@ public class CatalogValidationRules {
         return postValidate(object, isNew);
     }
 
+    /**
+     * Validates an object about to be updated, only running the {@link DefaultCatalogValidator
+     * default rules} that depend on the {@code changedProperties}, while the {@link
+     * #getValidators() extension validators} run in full, since they know nothing about the
+     * changes.
+     *
+     * @param object the {@link ModificationProxy} holding the object's modified state
+     * @param changedProperties the names of the properties modified
+     */
+    public <T extends CatalogInfo> ValidationResult validate(
+            T object, Collection<String> changedProperties) {
+        defaultValidator.validateUpdate(object, changedProperties);
+        return postValidate(object, false);
+    }
+
     /**
      * The method name should be enough of a hint that there's something to fix in {@link
      * ModificationProxy}: when calling {@link CatalogInfo#accept(CatalogVisitor)}, it calls it with
@@ -183,26 +200,23 @@ public class CatalogValidationRules {
 
     private void beforeRemove(LayerInfo layer) {
         // ensure no references to the layer
-        for (LayerGroupInfo lg : catalog.getLayerGroups()) {
-            if (lg.getLayers().contains(layer) || layer.equals(lg.getRootLayer())) {
-                String msg =
-                        "Unable to delete layer referenced by layer group '" + lg.getName() + "'";
-                throw new IllegalArgumentException(msg);
-            }
+        List<LayerGroupInfo> groups = getLayerGroupsByMember(catalog, layer);
+        if (!groups.isEmpty()) {
+            throw new IllegalArgumentException(
+                    "Unable to delete layer referenced by layer group '"
+                            + groups.get(0).getName()
+                            + "'");
         }
     }
 
     private void beforeRemove(LayerGroupInfo layerGroup) {
-        // ensure no references to the layer group
-        // REVISIT: should recurse into nested layer groups
-        for (LayerGroupInfo lg : catalog.getLayerGroups()) {
-            if (lg.getLayers().contains(layerGroup)) {
-                String msg =
-                        "Unable to delete layer group referenced by layer group '"
-                                + lg.getName()
-                                + "'";
-                throw new IllegalArgumentException(msg);
-            }
+        // ensure no references to the layer group, nested ones are referenced by their parent
+        List<LayerGroupInfo> groups = getLayerGroupsByMember(catalog, layerGroup);
+        if (!groups.isEmpty()) {
+            throw new IllegalArgumentException(
+                    "Unable to delete layer group referenced by layer group '"
+                            + groups.get(0).getName()
+                            + "'");
         }
     }
 
@@ -214,12 +228,12 @@ public class CatalogValidationRules {
                     "Unable to delete style referenced by '" + layers.get(0).getName() + "'");
         }
         // REVISIT: what about layer groups per workspace?
-        for (LayerGroupInfo lg : catalog.getLayerGroups()) {
-            if (lg.getStyles().contains(style) || style.equals(lg.getRootLayerStyle())) {
-                String msg =
-                        "Unable to delete style referenced by layer group '" + lg.getName() + "'";
-                throw new IllegalArgumentException(msg);
-            }
+        List<LayerGroupInfo> groups = getLayerGroupsByMember(catalog, style);
+        if (!groups.isEmpty()) {
+            throw new IllegalArgumentException(
+                    "Unable to delete style referenced by layer group '"
+                            + groups.get(0).getName()
+                            + "'");
         }
         checkArgument(!isDefaultStyle(style), "Unable to delete a default style");
     }
@@ -24,22 +24,37 @@ import org.geoserver.catalog.StoreInfo;
 import org.geoserver.catalog.StyleInfo;
 import org.geoserver.catalog.WorkspaceInfo;
 import org.geoserver.catalog.plugin.CatalogPlugin;
+import org.geoserver.catalog.plugin.ExtendedCatalogFacade;
+import org.geoserver.catalog.plugin.LayerGroupContainment;
+import org.geoserver.catalog.plugin.PropertyDiff;
 import org.geotools.styling.StyledLayerDescriptor;
 import org.geotools.util.logging.Logging;
 
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.Stack;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
-
-/** Default validation rules for {@link CatalogInfo} pre-add and pre-modify states */
+import java.util.stream.Collectors;
+
+/**
+ * Default validation rules for {@link CatalogInfo} pre-add and pre-modify states.
+ *
+ * <p>Rules that only check the object's own properties are cheap and always run. Rules that query
+ * the catalog (e.g. name uniqueness) or traverse nested layer groups only run on updates if one of
+ * the properties they depend on changed, see {@link #validateUpdate(CatalogInfo, Collection)}.
+ */
 public class DefaultCatalogValidator implements CatalogValidator {
     private static final Logger LOGGER = Logging.getLogger(DefaultCatalogValidator.class);
 
@@ -52,7 +67,40 @@ public class DefaultCatalogValidator implements CatalogValidator {
         this.newObjectPropertiesResolver = new DefaultPropertyValuesResolver(catalog);
     }
 
+    /**
+     * Validates the pre-modify state of {@code info}, skipping the rules that query the catalog or
+     * traverse nested layer groups unless one of the properties they depend on is among {@code
+     * changedProperties}.
+     *
+     * @param changedProperties the names of the modified properties, as given by the {@link
+     *     PropertyDiff} of the object being saved, compared case insensitively
+     */
+    public void validateUpdate(CatalogInfo info, Collection<String> changedProperties) {
+        final Changes changes = Changes.of(changedProperties);
+        if (info instanceof WorkspaceInfo) {
+            validate((WorkspaceInfo) info, false, changes);
+        } else if (info instanceof NamespaceInfo) {
+            validate((NamespaceInfo) info, false, changes);
+        } else if (info instanceof StoreInfo) {
+            validate((StoreInfo) info, false, changes);
+        } else if (info instanceof ResourceInfo) {
+            validate((ResourceInfo) info, false, changes);
+        } else if (info instanceof LayerInfo) {
+            validate((LayerInfo) info, false, changes);
+        } else if (info instanceof LayerGroupInfo) {
+            validate((LayerGroupInfo) info, false, changes);
+        } else if (info instanceof StyleInfo) {
+            validate((StyleInfo) info, false, changes);
+        } else {
+            throw new IllegalArgumentException("Unknown resource type: " + info);
+        }
+    }
+
     public @Override void validate(WorkspaceInfo workspace, boolean isNew) {
+        validate(workspace, isNew, Changes.ALL);
+    }
+
+    private void validate(WorkspaceInfo workspace, boolean isNew, Changes changes) {
         checkNotEmpty(workspace.getName(), "workspace name must not be null");
         checkArgument(
                 !Catalog.DEFAULT.equals(workspace.getName()),
@@ -68,14 +116,20 @@ public class DefaultCatalogValidator implements CatalogValidator {
                 "Workspace '%s' is isolated but isolated workspaces are not supported by this catalog.",
                 workspace.getName());
 
-        WorkspaceInfo existing = catalog.getWorkspaceByName(workspace.getName());
-        checkArgument(
-                existing == null || existing.getId().equals(workspace.getId()),
-                "Workspace named '%s' already exists.",
-                workspace.getName());
+        if (changes.any("name")) {
+            WorkspaceInfo existing = catalog.getWorkspaceByName(workspace.getName());
+            checkArgument(
+                    existing == null || existing.getId().equals(workspace.getId()),
+                    "Workspace named '%s' already exists.",
+                    workspace.getName());
+        }
     }
 
     public @Override void validate(NamespaceInfo namespace, boolean isNew) {
+        validate(namespace, isNew, Changes.ALL);
+    }
+
+    private void validate(NamespaceInfo namespace, boolean isNew, Changes changes) {
         checkNotEmpty(namespace.getPrefix(), "Namespace prefix must not be null");
         checkNotEmpty(namespace.getURI(), "Namespace uri must not be null");
         if (isNew) {
@@ -94,15 +148,17 @@ public class DefaultCatalogValidator implements CatalogValidator {
                 "%s is a reserved keyword, can't be used as the namespace prefix",
                 Catalog.DEFAULT);
 
-        NamespaceInfo existing = catalog.getNamespaceByPrefix(namespace.getPrefix());
-        checkArgument(
-                existing == null || existing.getId().equals(namespace.getId()),
-                "Namespace with prefix '%s' already exists.",
-                namespace.getPrefix());
+        if (changes.any("prefix")) {
+            NamespaceInfo existing = catalog.getNamespaceByPrefix(namespace.getPrefix());
+            checkArgument(
+                    existing == null || existing.getId().equals(namespace.getId()),
+                    "Namespace with prefix '%s' already exists.",
+                    namespace.getPrefix());
+        }
 
-        if (!namespace.isIsolated()) {
+        if (!namespace.isIsolated() && changes.any("uri", "isolated")) {
             // not an isolated namespace \ workplace so we need to check for duplicates
-            existing = catalog.getNamespaceByURI(namespace.getURI());
+            NamespaceInfo existing = catalog.getNamespaceByURI(namespace.getURI());
             checkArgument(
                     existing == null || existing.getId().equals(namespace.getId()),
                     "Namespace with URI '%s' already exists.",
@@ -121,26 +177,37 @@ public class DefaultCatalogValidator implements CatalogValidator {
     }
 
     public @Override void validate(StoreInfo store, boolean isNew) {
+        validate(store, isNew, Changes.ALL);
+    }
+
+    private void validate(StoreInfo store, boolean isNew, Changes changes) {
         if (isNew) {
             newObjectPropertiesResolver.resolve(store);
         }
         checkNotEmpty(store.getName(), "Store name must not be null");
         checkNotNull(store.getWorkspace(), "Store must be part of a workspace");
 
-        WorkspaceInfo workspace = store.getWorkspace();
-        StoreInfo existing = catalog.getStoreByName(workspace, store.getName(), StoreInfo.class);
-        if (existing != null && (isNew || !existing.getId().equals(store.getId()))) {
-            String msg =
-                    "Store '"
-                            + store.getName()
-                            + "' already exists in workspace '"
-                            + workspace.getName()
-                            + "'";
-            throw new IllegalArgumentException(msg);
+        if (changes.any("name", "workspace")) {
+            WorkspaceInfo workspace = store.getWorkspace();
+            StoreInfo existing =
+                    catalog.getStoreByName(workspace, store.getName(), StoreInfo.class);
+            if (existing != null && (isNew || !existing.getId().equals(store.getId()))) {
+                String msg =
+                        "Store '"
+                                + store.getName()
+                                + "' already exists in workspace '"
+                                + workspace.getName()
+                                + "'";
+                throw new IllegalArgumentException(msg);
+            }
         }
     }
 
     public @Override void validate(ResourceInfo resource, boolean isNew) {
+        validate(resource, isNew, Changes.ALL);
+    }
+
+    private void validate(ResourceInfo resource, boolean isNew, Changes changes) {
         checkNotEmpty(resource.getName(), "Resource name must not be null");
         if (isNew) {
             newObjectPropertiesResolver.resolve(resource);
@@ -153,27 +220,38 @@ public class DefaultCatalogValidator implements CatalogValidator {
         checkNotNull(resource.getStore(), "Resource must be part of a store");
         checkNotNull(resource.getNamespace(), "Resource must be part of a namespace");
 
-        StoreInfo store = resource.getStore();
-        ResourceInfo existing =
-                catalog.getResourceByStore(store, resource.getName(), ResourceInfo.class);
-        checkArgument(
-                existing == null || existing.getId().equals(resource.getId()),
-                "Resource named '%s' already exists in store: '%s'",
-                resource.getName(),
-                store.getName());
+        if (changes.any("name", "store")) {
+            StoreInfo store = resource.getStore();
+            ResourceInfo existing =
+                    catalog.getResourceByStore(store, resource.getName(), ResourceInfo.class);
+            checkArgument(
+                    existing == null || existing.getId().equals(resource.getId()),
+                    "Resource named '%s' already exists in store: '%s'",
+                    resource.getName(),
+                    store.getName());
+        }
 
-        NamespaceInfo namespace = resource.getNamespace();
-        existing = catalog.getResourceByName(namespace, resource.getName(), ResourceInfo.class);
-        checkArgument(
-                existing == null || existing.getId().equals(resource.getId()),
-                "Resource named '%s' already exists in namespace: '%s'",
-                resource.getName(),
-                namespace.getPrefix());
+        if (changes.any("name", "namespace")) {
+            NamespaceInfo namespace = resource.getNamespace();
+            ResourceInfo existing =
+                    catalog.getResourceByName(namespace, resource.getName(), ResourceInfo.class);
+            checkArgument(
+                    existing == null || existing.getId().equals(resource.getId()),
+                    "Resource named '%s' already exists in namespace: '%s'",
+                    resource.getName(),
+                    namespace.getPrefix());
+        }
 
-        validateKeywords(resource.getKeywords());
+        if (changes.any("keywords")) {
+            validateKeywords(resource.getKeywords());
+        }
     }
 
     public @Override void validate(LayerInfo layer, boolean isNew) {
+        validate(layer, isNew, Changes.ALL);
+    }
+
+    private void validate(LayerInfo layer, boolean isNew, Changes changes) {
         // TODO: bring back when the layer/publishing split is in act
         // if ( isNull(layer.getName()) ) {
         // throw new NullPointerException( "Layer name must not be null" );
@@ -186,19 +264,21 @@ public class DefaultCatalogValidator implements CatalogValidator {
         // calling LayerInfo.setName(String) updates the resource (until the layer/publishing split
         // is in act), but that doesn't mean the resource was saved previously, which can leave the
         // catalog in an inconsistent state
-        final NamespaceInfo ns = resource.getNamespace();
-        checkArgument(
-                null != catalog.getResourceByName(ns, resource.getName(), ResourceInfo.class),
-                "Found no resource named %s, Layer with that name can't be added",
-                layer.prefixedName());
+        if (changes.any("resource", "name")) {
+            final NamespaceInfo ns = resource.getNamespace();
+            checkArgument(
+                    null != catalog.getResourceByName(ns, resource.getName(), ResourceInfo.class),
+                    "Found no resource named %s, Layer with that name can't be added",
+                    layer.prefixedName());
 
-        final String prefix = ns != null ? ns.getPrefix() : null;
-        LayerInfo existing = CatalogPlugin.getLayerByName(catalog, prefix, layer.getName());
-        checkArgument(
-                existing == null || existing.getId().equals(layer.getId()),
-                "Layer named '%s' in workspace '%s' already exists.",
-                layer.getName(),
-                prefix);
+            final String prefix = ns != null ? ns.getPrefix() : null;
+            LayerInfo existing = CatalogPlugin.getLayerByName(catalog, prefix, layer.getName());
+            checkArgument(
+                    existing == null || existing.getId().equals(layer.getId()),
+                    "Layer named '%s' in workspace '%s' already exists.",
+                    layer.getName(),
+                    prefix);
+        }
 
         // if the style is missing associate a default one, to avoid breaking WMS
         if (layer.getDefaultStyle() == null) {
@@ -232,13 +312,20 @@ public class DefaultCatalogValidator implements CatalogValidator {
     }
 
     public @Override void validate(LayerGroupInfo layerGroup, boolean isNew) {
+        validate(layerGroup, isNew, Changes.ALL);
+    }
+
+    private void validate(LayerGroupInfo layerGroup, boolean isNew, Changes changes) {
         checkNotEmpty(layerGroup.getName(), "Layer group name must not be null");
         if (isNew) {
             newObjectPropertiesResolver.resolve(layerGroup);
         }
 
         WorkspaceInfo ws = layerGroup.getWorkspace();
-        LayerGroupInfo existing = catalog.getLayerGroupByName(ws, layerGroup.getName());
+        LayerGroupInfo existing =
+                changes.any("name", "workspace")
+                        ? catalog.getLayerGroupByName(ws, layerGroup.getName())
+                        : null;
         if (existing != null && !existing.getId().equals(layerGroup.getId())) {
             // null workspace can cause layer group in any workspace to be returned, check that
             // workspaces match
@@ -256,7 +343,8 @@ public class DefaultCatalogValidator implements CatalogValidator {
         List<PublishedInfo> layers = layerGroup.getLayers();
         checkArgument(layers != null && !layers.isEmpty(), "Layer group must not be empty");
         List<StyleInfo> styles = layerGroup.getStyles();
-        for (int i = 0; i < layers.size(); ) {
+        final boolean membersChanged = changes.any("layers", "styles");
+        for (int i = 0; membersChanged && i < layers.size(); ) {
             if (styles != null && layers.get(i) == null && styles.get(i) == null) {
                 layers.remove(i);
                 styles.remove(i);
@@ -287,17 +375,20 @@ public class DefaultCatalogValidator implements CatalogValidator {
                     "Layer group has different number of styles than layers");
         }
 
-        LayerGroupHelper helper = new LayerGroupHelper(layerGroup);
-        Stack<LayerGroupInfo> loopPath = helper.checkLoops();
-        if (loopPath != null) {
-            throw new IllegalArgumentException(
-                    "Layer group is in a loop: " + helper.getLoopAsString(loopPath));
+        if (changes.any("layers") && mayCreateLoop(layerGroup)) {
+            Stack<LayerGroupInfo> loopPath = findLoop(layerGroup);
+            if (loopPath != null) {
+                LayerGroupHelper helper = new LayerGroupHelper(layerGroup);
+                throw new IllegalArgumentException(
+                        "Layer group is in a loop: " + helper.getLoopAsString(loopPath));
+            }
         }
 
         // if the layer group has a workspace assigned, ensure that every resource in that layer
         // group lives within the same workspace
-        if (ws != null) {
-            checkLayerGroupResourceIsInWorkspace(layerGroup, ws);
+        if (ws != null
+                && changes.any("workspace", "layers", "styles", "rootLayer", "rootLayerStyle")) {
+            checkLayerGroupResourceIsInWorkspace(layerGroup, ws, new HashSet<>());
         }
 
         Mode mode = layerGroup.getMode();
@@ -324,12 +415,19 @@ public class DefaultCatalogValidator implements CatalogValidator {
     }
 
     public @Override void validate(StyleInfo style, boolean isNew) {
+        validate(style, isNew, Changes.ALL);
+    }
+
+    private void validate(StyleInfo style, boolean isNew, Changes changes) {
         if (isNew) {
             newObjectPropertiesResolver.resolve(style);
         }
         checkNotEmpty(style.getName(), "Style name must not be null");
         checkNotEmpty(style.getFilename(), "Style fileName must not be null");
 
+        if (!changes.any("name", "workspace")) {
+            return;
+        }
         WorkspaceInfo ws = style.getWorkspace();
         StyleInfo existing = catalog.getStyleByName(ws, style.getName());
         if (existing != null && (isNew || !existing.getId().equals(style.getId()))) {
@@ -378,8 +476,96 @@ public class DefaultCatalogValidator implements CatalogValidator {
         return string == null || "".equals(string.trim());
     }
 
-    private void checkLayerGroupResourceIsInWorkspace(LayerGroupInfo layerGroup, WorkspaceInfo ws) {
-        if (layerGroup == null) return;
+    /**
+     * Cheap loop check through the layer groups currently containing {@code layerGroup}, that
+     * avoids traversing its nested layer groups unless it'd end up containing itself
+     */
+    private boolean mayCreateLoop(LayerGroupInfo layerGroup) {
+        if (layerGroup.getId() == null) {
+            return true;
+        }
+        List<LayerGroupInfo> ancestors = getLayerGroupsContaining(catalog, layerGroup);
+        return LayerGroupContainment.createsLoop(layerGroup, ancestors);
+    }
+
+    /**
+     * @return the layer groups that directly contain {@code member}, through {@link
+     *     ExtendedCatalogFacade#getLayerGroupsByMember} if {@code catalog} is a {@link
+     *     CatalogPlugin}
+     */
+    static List<LayerGroupInfo> getLayerGroupsByMember(Catalog catalog, CatalogInfo member) {
+        if (catalog instanceof CatalogPlugin) {
+            return ((CatalogPlugin) catalog).getFacade().getLayerGroupsByMember(member);
+        }
+        final String id = member.getId();
+        return catalog.getLayerGroups().stream()
+                .filter(lg -> LayerGroupContainment.memberIds(lg).contains(id))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return the layer groups that contain {@code member} directly or through nested layer
+     *     groups, through {@link ExtendedCatalogFacade#getLayerGroupsContaining} if {@code
+     *     catalog} is a {@link CatalogPlugin}
+     */
+    static List<LayerGroupInfo> getLayerGroupsContaining(Catalog catalog, CatalogInfo member) {
+        if (catalog instanceof CatalogPlugin) {
+            return ((CatalogPlugin) catalog).getFacade().getLayerGroupsContaining(member);
+        }
+        Map<String, List<LayerGroupInfo>> parents =
+                LayerGroupContainment.parentsByMember(catalog.getLayerGroups().stream());
+        return LayerGroupContainment.ancestors(
+                member.getId(), id -> parents.getOrDefault(id, Collections.emptyList()).stream());
+    }
+
+    /**
+     * @return the path of nested layer groups that leads back to one of them, if any, {@code null}
+     *     otherwise
+     */
+    static Stack<LayerGroupInfo> findLoop(LayerGroupInfo layerGroup) {
+        return findLoop(layerGroup, new Stack<>(), new HashSet<>());
+    }
+
+    /**
+     * Depth-first search for a loop, unlike {@link LayerGroupHelper#checkLoops()} it visits each
+     * nested layer group only once, no matter how many groups contain it
+     */
+    private static Stack<LayerGroupInfo> findLoop(
+            LayerGroupInfo group, Stack<LayerGroupInfo> path, Set<Object> visited) {
+        for (LayerGroupInfo g : path) {
+            if (sameGroup(g, group)) {
+                path.push(group);
+                return path;
+            }
+        }
+        if (!visited.add(groupKey(group))) {
+            // already checked through another path
+            return null;
+        }
+        path.push(group);
+        if (group.getLayers() != null) {
+            for (PublishedInfo child : group.getLayers()) {
+                if (child instanceof LayerGroupInfo) {
+                    Stack<LayerGroupInfo> loop = findLoop((LayerGroupInfo) child, path, visited);
+                    if (loop != null) return loop;
+                }
+            }
+        }
+        path.pop();
+        return null;
+    }
+
+    private static boolean sameGroup(LayerGroupInfo g1, LayerGroupInfo g2) {
+        return g1 == g2 || groupKey(g1).equals(groupKey(g2));
+    }
+
+    private static Object groupKey(LayerGroupInfo group) {
+        return group.getId() == null ? group : group.getId();
+    }
+
+    private void checkLayerGroupResourceIsInWorkspace(
+            LayerGroupInfo layerGroup, WorkspaceInfo ws, Set<Object> visited) {
+        if (layerGroup == null || !visited.add(groupKey(layerGroup))) return;
         if (layerGroup.getWorkspace() != null) {
             checkArgument(
                     ws.getId().equals(layerGroup.getWorkspace().getId()),
@@ -393,7 +579,7 @@ public class DefaultCatalogValidator implements CatalogValidator {
         if (layerGroup.getLayers() != null) {
             for (PublishedInfo p : layerGroup.getLayers()) {
                 if (p instanceof LayerGroupInfo) {
-                    checkLayerGroupResourceIsInWorkspace((LayerGroupInfo) p, ws);
+                    checkLayerGroupResourceIsInWorkspace((LayerGroupInfo) p, ws, visited);
                 } else if (p instanceof LayerInfo) {
                     checkLayerGroupResourceIsInWorkspace((LayerInfo) p, ws);
                 }
@@ -462,4 +648,32 @@ public class DefaultCatalogValidator implements CatalogValidator {
             }
         }
     }
+
+    /** Tells whether any of a set of properties changed. All of them did for new objects. */
+    private static final class Changes {
+
+        static final Changes ALL = new Changes(null);
+
+        private final Set<String> names;
+
+        private Changes(Set<String> names) {
+            this.names = names;
+        }
+
+        static Changes of(Collection<String> propertyNames) {
+            Set<String> names = new HashSet<>();
+            for (String name : propertyNames) {
+                names.add(name.toLowerCase(Locale.ROOT));
+            }
+            return new Changes(names);
+        }
+
+        boolean any(String... properties) {
+            if (names == null) return true;
+            for (String p : properties) {
+                if (names.contains(p.toLowerCase(Locale.ROOT))) return true;
+            }
+            return false;
+        }
+    }
 }
@@ -0,0 +1,156 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.catalog.plugin;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.CatalogTestData;
+import org.geoserver.catalog.DataStoreInfo;
+import org.geoserver.catalog.StoreInfo;
+import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.catalog.plugin.CatalogInfoLookup.StoreInfoLookup;
+import org.junit.Before;
+import org.junit.Test;
+import org.opengis.filter.Filter;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Concurrent writers test for {@link CatalogInfoLookup}, verifies the id, name, and secondary index
+ * lookups stay consistent when several threads add, update, and remove different objects at the
+ * same time, with an increasing number of writer threads. See {@link
+ * CatalogInfoLookupLockBenchmark} for their throughput.
+ */
+public class CatalogInfoLookupConcurrencyTest {
+
+    private static final int STORES_PER_THREAD = 2_000;
+
+    private CatalogTestData data;
+
+    public @Before void setup() {
+        Catalog catalog = new CatalogPlugin();
+        data = CatalogTestData.empty(() -> catalog, () -> null).initConfig(false).initialize();
+    }
+
+    public @Test void concurrentWriters() throws Exception {
+        for (int threads : new int[] {1, 2, 4, 8}) {
+            runWriters(threads);
+        }
+    }
+
+    private void runWriters(final int threadCount) throws Exception {
+        final StoreInfoLookup stores = new StoreInfoLookup();
+        final WorkspaceInfo wsA = data.workspaceA;
+        final WorkspaceInfo wsB = data.workspaceB;
+
+        List<Callable<Void>> writers = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            final int thread = t;
+            writers.add(
+                    () -> {
+                        for (int i = 0; i < STORES_PER_THREAD; i++) {
+                            String name = "store-" + thread + "-" + i;
+                            DataStoreInfo store =
+                                    data.createDataStore(name + "-id", wsA, name, null, true);
+                            stores.add(store);
+                            if (i % 2 == 0) {
+                                // move to workspace B and rename
+                                Patch patch = new Patch();
+                                patch.add("workspace", wsB);
+                                patch.add("name", name + "-renamed");
+                                stores.update(store, patch);
+                            }
+                            if (i % 4 == 0) {
+                                stores.remove(store);
+                            }
+                        }
+                        return null;
+                    });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            for (Future<Void> f : executor.invokeAll(writers)) {
+                f.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final int total = threadCount * STORES_PER_THREAD;
+        final int removed = total / 4;
+        final int movedAndKept = total / 2 - removed;
+        final int kept = total - total / 2;
+
+        assertEquals(total - removed, stores.count(StoreInfo.class, Filter.INCLUDE));
+
+        final Set<String> expectedIds = new HashSet<>();
+        for (int t = 0; t < threadCount; t++) {
+            for (int i = 0; i < STORES_PER_THREAD; i++) {
+                String name = "store-" + t + "-" + i;
+                boolean isRemoved = i % 4 == 0;
+                boolean isMoved = i % 2 == 0;
+                assertEquals(
+                        !isRemoved, stores.findById(name + "-id", StoreInfo.class).isPresent());
+                if (isRemoved) {
+                    assertFalse(findByName(stores, name, wsA).isPresent());
+                    assertFalse(findByName(stores, name + "-renamed", wsB).isPresent());
+                    continue;
+                }
+                expectedIds.add(name + "-id");
+                WorkspaceInfo ws = isMoved ? wsB : wsA;
+                String actualName = isMoved ? name + "-renamed" : name;
+                assertEquals(
+                        name + "-id", findByName(stores, actualName, ws).orElseThrow().getId());
+                if (isMoved) {
+                    // the old name no longer resolves
+                    assertFalse(findByName(stores, name, wsA).isPresent());
+                }
+            }
+        }
+
+        // no lost nor duplicate entries in the id map
+        List<String> ids =
+                stores.findAll(Query.<StoreInfo>all(StoreInfo.class))
+                        .map(StoreInfo::getId)
+                        .collect(Collectors.toList());
+        assertEquals(expectedIds.size(), ids.size());
+        assertEquals(expectedIds, new HashSet<>(ids));
+
+        // the workspace index holds each store once, under its current workspace
+        Map<String, StoreInfo> inA = byId(stores, wsA);
+        Map<String, StoreInfo> inB = byId(stores, wsB);
+        assertEquals(kept, inA.size());
+        assertEquals(movedAndKept, inB.size());
+        inA.values().forEach(s -> assertEquals(wsA.getId(), s.getWorkspace().getId()));
+        inB.values().forEach(s -> assertEquals(wsB.getId(), s.getWorkspace().getId()));
+        Set<String> indexed = new HashSet<>(inA.keySet());
+        indexed.addAll(inB.keySet());
+        assertEquals(expectedIds, indexed);
+    }
+
+    private Optional<StoreInfo> findByName(StoreInfoLookup stores, String name, WorkspaceInfo ws) {
+        return stores.findByNameAndWorkspace(name, ws, StoreInfo.class);
+    }
+
+    /** @return the stores found through the workspace index, failing on duplicate ids */
+    private Map<String, StoreInfo> byId(StoreInfoLookup stores, WorkspaceInfo ws) {
+        return stores.findAllByWorkspace(ws, StoreInfo.class)
+                .collect(Collectors.toMap(StoreInfo::getId, Function.identity()));
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.catalog.plugin;
+
+import static org.junit.Assert.assertEquals;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.CatalogTestData;
+import org.geoserver.catalog.DataStoreInfo;
+import org.geoserver.catalog.StoreInfo;
+import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.catalog.plugin.CatalogInfoLookup.StoreInfoLookup;
+import org.junit.Before;
+import org.junit.Test;
+import org.opengis.filter.Filter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Compares the throughput of concurrent writers on a {@link CatalogInfoLookup} with its write locks
+ * striped by object id, and with a single global write lock, for an increasing number of writer
+ * threads each adding, updating, and removing its own objects.
+ *
+ * <p>Not a unit test, hence not named {@code *Test} to be left out of regular builds. Run it with
+ *
+ * <pre>{@code
+ * mvn test -Dtest=CatalogInfoLookupLockBenchmark -Dstores=20000 -Dthreads=1,2,4,8,16
+ * }</pre>
+ *
+ * from this module's directory, the results are logged at INFO level.
+ */
+@Slf4j
+public class CatalogInfoLookupLockBenchmark {
+
+    private static final int WARMUP_RUNS = 3;
+    private static final int RUNS = 5;
+
+    /** Stores added by each writer thread per run */
+    private final int storesPerThread = Integer.getInteger("stores", 20_000);
+
+    private final String threads = System.getProperty("threads", "1,2,4,8,16");
+
+    private CatalogTestData data;
+
+    public @Before void setup() {
+        Catalog catalog = new CatalogPlugin();
+        data = CatalogTestData.empty(() -> catalog, () -> null).initConfig(false).initialize();
+    }
+
+    public @Test void compareLocks() throws Exception {
+        log.info("{} stores per writer thread", String.format("%,d", storesPerThread));
+        for (String count : threads.split(",")) {
+            final int threadCount = Integer.parseInt(count.trim());
+            Result global = run("Global lock", threadCount, GlobalLockStoreInfoLookup::new);
+            Result striped = run("Striped locks", threadCount, StoreInfoLookup::new);
+            log.info(global.toString());
+            log.info(striped.relativeTo(global));
+        }
+    }
+
+    private Result run(String name, int threadCount, Supplier<StoreInfoLookup> lookup)
+            throws Exception {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            write(lookup.get(), threadCount);
+        }
+        long wallNanos = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            StoreInfoLookup stores = lookup.get();
+            long start = System.nanoTime();
+            write(stores, threadCount);
+            wallNanos = Math.min(wallNanos, System.nanoTime() - start);
+            final int total = threadCount * storesPerThread;
+            assertEquals(total - total / 4, stores.count(StoreInfo.class, Filter.INCLUDE));
+        }
+        // add, update half, remove a quarter
+        long operations =
+                threadCount * (storesPerThread + storesPerThread / 2 + storesPerThread / 4);
+        return new Result(name, threadCount, operations, wallNanos);
+    }
+
+    /** Same workload as {@link CatalogInfoLookupConcurrencyTest} */
+    private void write(StoreInfoLookup stores, int threadCount) throws Exception {
+        final WorkspaceInfo wsA = data.workspaceA;
+        final WorkspaceInfo wsB = data.workspaceB;
+        List<Callable<Void>> writers = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            final int thread = t;
+            writers.add(
+                    () -> {
+                        for (int i = 0; i < storesPerThread; i++) {
+                            String name = "store-" + thread + "-" + i;
+                            DataStoreInfo store =
+                                    data.createDataStore(name + "-id", wsA, name, null, true);
+                            stores.add(store);
+                            if (i % 2 == 0) {
+                                Patch patch = new Patch();
+                                patch.add("workspace", wsB);
+                                patch.add("name", name + "-renamed");
+                                stores.update(store, patch);
+                            }
+                            if (i % 4 == 0) {
+                                stores.remove(store);
+                            }
+                        }
+                        return null;
+                    });
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            for (Future<Void> f : executor.invokeAll(writers)) {
+                f.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /** Serializes all the writers, as a single lock instead of the striped ones would */
+    private static class GlobalLockStoreInfoLookup extends StoreInfoLookup {
+        private final Lock lock = new ReentrantLock();
+
+        protected @Override Lock lockFor(String id) {
+            return lock;
+        }
+    }
+
+    private static class Result {
+        final String name;
+        final int threads;
+        final long operations;
+        final long wallNanos;
+
+        Result(String name, int threads, long operations, long wallNanos) {
+            this.name = name;
+            this.threads = threads;
+            this.operations = operations;
+            this.wallNanos = wallNanos;
+        }
+
+        double throughput() {
+            return operations * 1_000_000_000d / Math.max(1, wallNanos);
+        }
+
+        String relativeTo(Result base) {
+            return String.format(
+                    "%s (%.0f%% throughput of %s)",
+                    this, 100d * throughput() / base.throughput(), base.name);
+        }
+
+        public @Override String toString() {
+            return String.format(
+                    "%s, %d writer threads: %,d ops in %,d ms, %,.0f ops/s",
+                    name, threads, operations, wallNanos / 1_000_000, throughput());
+        }
+    }
+}
@@ -0,0 +1,706 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.catalog.plugin;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.CatalogTestData;
+import org.geoserver.catalog.DataStoreInfo;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.catalog.LayerGroupInfo;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.MapInfo;
+import org.geoserver.catalog.Predicates;
+import org.geoserver.catalog.ResourceInfo;
+import org.geoserver.catalog.StoreInfo;
+import org.geoserver.catalog.StyleInfo;
+import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.catalog.impl.MapInfoImpl;
+import org.geoserver.catalog.plugin.CatalogInfoLookup.LayerGroupInfoLookup;
+import org.geoserver.catalog.plugin.CatalogInfoLookup.LayerInfoLookup;
+import org.geoserver.catalog.plugin.CatalogInfoLookup.MapInfoLookup;
+import org.geoserver.catalog.plugin.CatalogInfoLookup.ResourceInfoLookup;
+import org.geoserver.catalog.plugin.CatalogInfoLookup.Snapshot;
+import org.geoserver.catalog.plugin.CatalogInfoLookup.StoreInfoLookup;
+import org.geoserver.catalog.plugin.CatalogInfoLookup.StyleInfoLookup;
+import org.geoserver.catalog.plugin.CatalogInfoQueryPlanner.QueryPlan;
+import org.geoserver.ows.util.OwsUtils;
+import org.geotools.factory.CommonFactoryFinder;
+import org.junit.Before;
+import org.junit.Test;
+import org.opengis.filter.Filter;
+import org.opengis.filter.FilterFactory2;
+import org.opengis.filter.MultiValuedFilter.MatchAction;
+import org.opengis.filter.sort.SortBy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/** Tests for {@link CatalogInfoLookup}'s secondary indexes consistency */
+public class CatalogInfoLookupTest {
+
+    private static final FilterFactory2 FF = CommonFactoryFinder.getFilterFactory2();
+
+    private CatalogTestData data;
+
+    private LayerInfoLookup layers;
+    private ResourceInfoLookup resources;
+    private StoreInfoLookup stores;
+    private StyleInfoLookup styles;
+    private LayerGroupInfoLookup layerGroups;
+
+    public @Before void setup() {
+        Catalog catalog = new CatalogPlugin();
+        data = CatalogTestData.empty(() -> catalog, () -> null).initConfig(false).initialize();
+        layers = new LayerInfoLookup();
+        resources = new ResourceInfoLookup(layers);
+        stores = new StoreInfoLookup();
+        styles = new StyleInfoLookup();
+        layerGroups = new LayerGroupInfoLookup();
+    }
+
+    public @Test void findAllByStore() {
+        resources.add(data.featureTypeA);
+        resources.add(data.coverageA);
+        resources.add(data.wmsLayerA);
+
+        assertIds(resources.findAllByStore(data.dataStoreA, ResourceInfo.class), "ft1");
+        assertIds(resources.findAllByStore(data.coverageStoreA, ResourceInfo.class), "cov1");
+        assertIds(resources.findAllByStore(data.dataStoreB, ResourceInfo.class));
+
+        Patch patch = new Patch();
+        patch.add("store", data.dataStoreB);
+        resources.update(data.featureTypeA, patch);
+
+        assertIds(resources.findAllByStore(data.dataStoreA, ResourceInfo.class));
+        assertIds(resources.findAllByStore(data.dataStoreB, ResourceInfo.class), "ft1");
+
+        resources.remove(data.featureTypeA);
+        assertIds(resources.findAllByStore(data.dataStoreB, ResourceInfo.class));
+    }
+
+    public @Test void findByStoreAndName() {
+        resources.add(data.featureTypeA);
+        assertTrue(
+                resources
+                        .findByStoreAndName(data.dataStoreA, "ftName", ResourceInfo.class)
+                        .isPresent());
+        assertTrue(
+                resources
+                        .findByStoreAndName(data.dataStoreB, "ftName", ResourceInfo.class)
+                        .isEmpty());
+    }
+
+    public @Test void findAllByNamespaceFiltersByType() {
+        resources.add(data.featureTypeA);
+        resources.add(data.coverageA);
+        resources.add(data.wmsLayerA);
+
+        assertIds(
+                resources.findAllByNamespace(data.namespaceA, ResourceInfo.class),
+                "ft1",
+                "cov1",
+                "wmsl-1");
+        assertIds(resources.findAllByNamespace(data.namespaceA, FeatureTypeInfo.class), "ft1");
+        assertIds(resources.findAllByNamespace(data.namespaceB, ResourceInfo.class));
+    }
+
+    public @Test void findAllStoresByWorkspace() {
+        stores.add(data.dataStoreA);
+        stores.add(data.dataStoreB);
+        stores.add(data.coverageStoreA);
+
+        assertIds(stores.findAllByWorkspace(data.workspaceA, StoreInfo.class), "ds1", "cs1");
+        assertIds(stores.findAllByWorkspace(data.workspaceB, StoreInfo.class), "ds2");
+
+        Patch patch = new Patch();
+        patch.add("workspace", data.workspaceB);
+        stores.update(data.dataStoreA, patch);
+        assertIds(stores.findAllByWorkspace(data.workspaceA, StoreInfo.class), "cs1");
+        assertIds(stores.findAllByWorkspace(data.workspaceB, StoreInfo.class), "ds1", "ds2");
+    }
+
+    public @Test void findAllStylesByWorkspace() {
+        StyleInfo wsStyle = data.createStyle("wsStyle", data.workspaceA);
+        styles.add(data.style1);
+        styles.add(data.style2);
+        styles.add(wsStyle);
+
+        assertIds(styles.findAllByNullWorkspace(), "style1", "style2");
+        assertIds(styles.findAllByWorkspace(data.workspaceA), wsStyle.getId());
+
+        Patch patch = new Patch();
+        patch.add("workspace", null);
+        styles.update(wsStyle, patch);
+        assertIds(styles.findAllByNullWorkspace(), "style1", "style2", wsStyle.getId());
+        assertIds(styles.findAllByWorkspace(data.workspaceA));
+    }
+
+    public @Test void findAllLayerGroupsByWorkspace() {
+        LayerGroupInfo wsGroup =
+                data.createLayerGroup(
+                        "lg2", data.workspaceA, "wsGroup", data.layerFeatureTypeA, data.style1);
+        layerGroups.add(data.layerGroup1);
+        layerGroups.add(wsGroup);
+
+        assertIds(layerGroups.findAllByWorkspaceIsNull(), "lg1");
+        assertIds(layerGroups.findAllByWorkspace(data.workspaceA), "lg2");
+
+        layerGroups.remove(wsGroup);
+        assertIds(layerGroups.findAllByWorkspace(data.workspaceA));
+    }
+
+    public @Test void layerGroupContainment() {
+        LayerInfo layer = data.layerFeatureTypeA;
+        LayerGroupInfo lg1 = data.layerGroup1;
+        LayerGroupInfo lg2 = data.createLayerGroup("lg2", null, "lg2", lg1, null);
+        LayerGroupInfo lg3 = data.createLayerGroup("lg3", null, "lg3", lg2, null);
+        LayerGroupInfo lg4 = data.createLayerGroup("lg4", null, "lg4", lg1, null);
+        layerGroups.addAll(Stream.of(lg1, lg2, lg3, lg4));
+
+        assertIds(layerGroups.findAllByMember(layer), "lg1");
+        assertIds(layerGroups.findAllByMember(data.style1), "lg1");
+        assertIds(layerGroups.findAllByMember(lg1), "lg2", "lg4");
+        assertIds(layerGroups.findAllContaining(layer), "lg1", "lg2", "lg3", "lg4");
+        assertIds(layerGroups.findAllContaining(lg2), "lg3");
+        assertIds(layerGroups.findAllContaining(lg3));
+
+        List<LayerGroupInfo> ancestors =
+                layerGroups.findAllContaining(lg2).collect(Collectors.toList());
+        assertFalse(LayerGroupContainment.createsLoop(lg2, ancestors));
+        LayerGroupInfo modified = data.createLayerGroup("lg2", null, "lg2", lg3, null);
+        assertTrue(LayerGroupContainment.createsLoop(modified, ancestors));
+
+        Patch patch = new Patch();
+        patch.add("layers", List.of(layer));
+        patch.add("styles", Collections.singletonList(null));
+        layerGroups.update(lg4, patch);
+        assertIds(layerGroups.findAllByMember(lg1), "lg2");
+        assertIds(layerGroups.findAllContaining(layer), "lg1", "lg2", "lg3", "lg4");
+
+        layerGroups.remove(lg3);
+        assertIds(layerGroups.findAllContaining(lg1), "lg2");
+        assertIds(layerGroups.findAllContaining(lg2));
+    }
+
+    public @Test void findAllByDefaultStyleOrStyles() {
+        LayerInfo layer = data.layerFeatureTypeA;
+        resources.add(data.featureTypeA);
+        layers.add(layer);
+
+        assertIds(layers.findAllByDefaultStyleOrStyles(data.style1), "layer1");
+        assertIds(layers.findAllByDefaultStyleOrStyles(data.style2));
+
+        Patch patch = new Patch();
+        patch.add("styles", Set.of(data.style2));
+        layers.update(layer, patch);
+        assertIds(layers.findAllByDefaultStyleOrStyles(data.style1), "layer1");
+        assertIds(layers.findAllByDefaultStyleOrStyles(data.style2), "layer1");
+
+        patch = new Patch();
+        patch.add("defaultStyle", data.style2);
+        layers.update(layer, patch);
+        assertIds(layers.findAllByDefaultStyleOrStyles(data.style1));
+        assertIds(layers.findAllByDefaultStyleOrStyles(data.style2), "layer1");
+
+        layers.remove(layer);
+        assertIds(layers.findAllByDefaultStyleOrStyles(data.style2));
+    }
+
+    public @Test void compactor() {
+        layers.setCompactor(new CatalogInfoCompactor());
+        assertTrue(data.layerFeatureTypeA.getStyles().isEmpty());
+        layers.add(data.layerFeatureTypeA);
+        assertSame(Collections.emptySet(), data.layerFeatureTypeA.getStyles());
+
+        // patching a shared empty collection replaces it by a mutable one
+        Patch patch = new Patch();
+        patch.add("styles", Set.of(data.style2));
+        layers.update(data.layerFeatureTypeA, patch);
+        assertEquals(Set.of(data.style2), data.layerFeatureTypeA.getStyles());
+        assertIds(layers.findAllByDefaultStyleOrStyles(data.style2), "layer1");
+
+        data.layerFeatureTypeA.getStyles().add(data.style1);
+        assertEquals(2, data.layerFeatureTypeA.getStyles().size());
+    }
+
+    public @Test void compactorInternsStrings() {
+        stores.setCompactor(new CatalogInfoCompactor());
+        DataStoreInfo ds1 = data.createDataStore("ds-a", data.workspaceA, "a", "a", true);
+        DataStoreInfo ds2 = data.createDataStore("ds-b", data.workspaceA, "b", "b", true);
+        ds1.setType(new String("Shapefile"));
+        ds2.setType(new String("Shapefile"));
+        ds1.getConnectionParameters().put(new String("url"), new String("file:data"));
+        ds2.getConnectionParameters().put(new String("url"), new String("file:data"));
+        stores.add(ds1);
+        stores.add(ds2);
+
+        assertSame(ds1.getType(), ds2.getType());
+        assertSame(
+                ds1.getConnectionParameters().get("url"),
+                ds2.getConnectionParameters().get("url"));
+    }
+
+    public @Test void heapFootprint() {
+        DefaultMemoryCatalogFacade facade = new DefaultMemoryCatalogFacade();
+        facade.add(data.workspaceA);
+        facade.add(data.namespaceA);
+        facade.add(data.dataStoreA);
+        facade.add(data.featureTypeA);
+
+        Map<Class<? extends CatalogInfo>, DefaultMemoryCatalogFacade.Footprint> footprint =
+                facade.getHeapFootprint();
+        assertEquals(1, footprint.get(FeatureTypeInfo.class).getCount());
+        assertTrue(footprint.get(FeatureTypeInfo.class).getEstimatedBytes() > 0);
+        assertEquals(1, footprint.get(DataStoreInfo.class).getCount());
+        assertFalse(footprint.containsKey(LayerInfo.class));
+
+        assertFalse(facade.isCompact());
+        facade.setCompact(true);
+        assertTrue(facade.isCompact());
+        assertTrue(
+                facade.getHeapFootprint().get(FeatureTypeInfo.class).getEstimatedBytes()
+                        <= footprint.get(FeatureTypeInfo.class).getEstimatedBytes());
+    }
+
+    public @Test void snapshotReads() {
+        stores.setSnapshotReads(true);
+        stores.add(data.dataStoreA);
+        final long version = stores.getVersion();
+        Snapshot<StoreInfo> snapshot = stores.snapshot();
+        assertSame(snapshot, stores.snapshot());
+
+        Patch patch = new Patch();
+        patch.add("description", "changed");
+        StoreInfo updated = stores.update(data.dataStoreA, patch);
+        // the patch is applied to a copy, the live object is left untouched
+        assertNotSame(data.dataStoreA, updated);
+        assertEquals("changed", updated.getDescription());
+        assertNotEquals("changed", data.dataStoreA.getDescription());
+        assertTrue(stores.getVersion() > version);
+
+        // the old snapshot is immutable, the new one has the new version
+        assertEquals(List.of(data.dataStoreA), snapshot.values.get(data.dataStoreA.getClass()));
+        assertNotSame(snapshot, stores.snapshot());
+        assertEquals(List.of(updated), stores.snapshot().values.get(updated.getClass()));
+        assertSame(updated, stores.findById("ds1", StoreInfo.class).orElseThrow());
+        assertSame(updated, stores.findAll().findFirst().orElseThrow());
+        assertIds(stores.findAllByWorkspace(data.workspaceA, StoreInfo.class), "ds1");
+    }
+
+    public @Test void snapshotReadsReplaceReferences() {
+        DefaultMemoryCatalogFacade facade = new DefaultMemoryCatalogFacade();
+        facade.setSnapshotReads(true);
+        facade.add(data.workspaceA);
+        facade.add(data.namespaceA);
+        facade.add(data.dataStoreA);
+        facade.add(data.featureTypeA);
+        facade.add(data.style1);
+        facade.add(data.layerFeatureTypeA);
+        facade.setDefaultWorkspace(data.workspaceA);
+
+        Patch patch = new Patch();
+        patch.add("title", "new title");
+        final LayerInfo layer = facade.getLayer("layer1");
+        FeatureTypeInfo resource = facade.update(data.featureTypeA, patch);
+        assertSame(resource, facade.getLayer("layer1").getResource());
+        // copy-on-write, objects already handed out are not modified
+        assertNotSame(layer, facade.getLayer("layer1"));
+        assertSame(data.featureTypeA, layer.getResource());
+        assertEquals(layer.getName(), facade.getLayer("layer1").getName());
+
+        patch = new Patch();
+        patch.add("name", "newName");
+        final StoreInfo store = facade.getStore("ds1", StoreInfo.class);
+        WorkspaceInfo workspace = facade.update(data.workspaceA, patch);
+        assertSame(workspace, facade.getDefaultWorkspace());
+        assertSame(workspace, facade.getStore("ds1", StoreInfo.class).getWorkspace());
+        assertSame(workspace, facade.getWorkspaceByName("newName"));
+        assertSame(data.workspaceA, store.getWorkspace());
+
+        // replacements cascade to the objects referring to the replaced ones
+        StoreInfo newStore = facade.getStore("ds1", StoreInfo.class);
+        ResourceInfo newResource = facade.getResource("ft1", ResourceInfo.class);
+        assertSame(newStore, newResource.getStore());
+        assertSame(newResource, facade.getLayer("layer1").getResource());
+        assertSame(facade.getLayer("layer1"), facade.getLayerByName(newResource.getName()));
+    }
+
+    public @Test void addAllRemoveAll() {
+        List<StoreInfo> batch = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            batch.add(data.createDataStore("ds-" + i, data.workspaceB, "ds" + i, "", true));
+        }
+        stores.addAll(batch.stream());
+        assertEquals(100, stores.findAll().count());
+        assertEquals(100, stores.findAllByWorkspace(data.workspaceB, StoreInfo.class).count());
+        assertTrue(stores.findFirstByName("ds42", StoreInfo.class).isPresent());
+
+        stores.removeAll(batch.stream().filter(s -> s.getName().startsWith("ds1")));
+        assertEquals(89, stores.findAll().count());
+        assertTrue(stores.findFirstByName("ds1", StoreInfo.class).isEmpty());
+        assertTrue(stores.findFirstByName("ds2", StoreInfo.class).isPresent());
+
+        layers.addAll(Stream.of(data.layerFeatureTypeA));
+        layers.removeAll(Stream.of(data.layerFeatureTypeA));
+        assertIds(layers.findAllByDefaultStyleOrStyles(data.style1));
+    }
+
+    public @Test void facadeAddAllInDependencyOrder() {
+        DefaultMemoryCatalogFacade facade = new DefaultMemoryCatalogFacade();
+        facade.addAll(
+                Stream.of(
+                        data.layerFeatureTypeA,
+                        data.featureTypeA,
+                        data.dataStoreA,
+                        data.namespaceA,
+                        data.workspaceA,
+                        data.style1));
+
+        assertEquals(data.workspaceA, facade.getWorkspace("ws1"));
+        assertEquals(data.featureTypeA, facade.getResource("ft1", FeatureTypeInfo.class));
+        assertEquals(data.layerFeatureTypeA, facade.getLayer("layer1"));
+
+        facade.removeAll(Stream.of(data.workspaceA, data.layerFeatureTypeA));
+        assertNull(facade.getWorkspace("ws1"));
+        assertNull(facade.getLayer("layer1"));
+        assertEquals(data.dataStoreA, facade.getStore("ds1", StoreInfo.class));
+    }
+
+    public @Test void indexLookupsReturnNameOrder() {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            String name = "ds-" + Integer.toHexString(i * 7919);
+            names.add(name);
+            stores.add(data.createDataStore("id-" + i, data.workspaceB, name, "", true));
+            stores.add(data.createDataStore("id-a" + i, data.workspaceA, name, "", true));
+        }
+        Collections.sort(names);
+        List<String> found =
+                stores.findAllByWorkspace(data.workspaceB, StoreInfo.class)
+                        .map(StoreInfo::getName)
+                        .collect(Collectors.toList());
+        assertEquals(names, found);
+
+        // same order as the name maps, by workspace id and then by name
+        WorkspaceInfo first =
+                data.workspaceA.getId().compareTo(data.workspaceB.getId()) < 0
+                        ? data.workspaceA
+                        : data.workspaceB;
+        StoreInfo store = stores.findFirstByName(names.get(0), StoreInfo.class).orElseThrow();
+        assertEquals(first.getId(), store.getWorkspace().getId());
+    }
+
+    public @Test void syncToRebuildsIndexes() {
+        resources.add(data.featureTypeA);
+        ResourceInfoLookup target = new ResourceInfoLookup(new LayerInfoLookup());
+        resources.syncTo(target);
+        assertIds(target.findAllByStore(data.dataStoreA, ResourceInfo.class), "ft1");
+    }
+
+    public @Test void syncToDoesNotShareTheLookupMaps() {
+        stores.add(data.dataStoreA);
+        StoreInfoLookup target = new StoreInfoLookup();
+        stores.syncTo(target);
+
+        stores.add(data.dataStoreB);
+        assertIds(target.findAll(), "ds1");
+        assertTrue(target.findFirstByName("dsNameA", StoreInfo.class).isEmpty());
+
+        target.remove(data.dataStoreA);
+        assertIds(stores.findAll(), "ds1", "ds2");
+        assertTrue(stores.findFirstByName("dsName", StoreInfo.class).isPresent());
+    }
+
+    public @Test void queryPlannerEquality() {
+        resources.add(data.featureTypeA);
+        resources.add(data.coverageA);
+        resources.add(data.wmsLayerA);
+
+        Filter filter = Predicates.equal("store.id", data.dataStoreA.getId());
+        QueryPlan<ResourceInfo> plan = plan(resources, ResourceInfo.class, filter);
+        assertTrue(plan.isIndexed());
+        assertEquals(Filter.INCLUDE, plan.getResidualFilter());
+        assertIds(resources.findAll(Query.valueOf(ResourceInfo.class, filter)), "ft1");
+
+        filter = Predicates.equal("name", "cvName");
+        assertTrue(plan(resources, ResourceInfo.class, filter).isIndexed());
+        assertIds(resources.findAll(Query.valueOf(ResourceInfo.class, filter)), "cov1");
+
+        filter = Predicates.equal("id", "wmsl-1");
+        assertTrue(plan(resources, ResourceInfo.class, filter).isIndexed());
+        assertIds(resources.findAll(Query.valueOf(ResourceInfo.class, filter)), "wmsl-1");
+    }
+
+    public @Test void queryPlannerAndResidual() {
+        resources.add(data.featureTypeA);
+        resources.add(data.coverageA);
+        resources.add(data.wmsLayerA);
+
+        Filter nsFilter = Predicates.equal("namespace.id", data.namespaceA.getId());
+        Filter nameFilter = Predicates.like("name", "*Layer*");
+        Filter filter = Predicates.and(nameFilter, nsFilter);
+
+        QueryPlan<ResourceInfo> plan = plan(resources, ResourceInfo.class, filter);
+        assertTrue(plan.isIndexed());
+        assertEquals(nameFilter, plan.getResidualFilter());
+        assertIds(resources.findAll(Query.valueOf(ResourceInfo.class, filter)), "wmsl-1");
+    }
+
+    public @Test void queryPlannerOr() {
+        resources.add(data.featureTypeA);
+        resources.add(data.coverageA);
+        resources.add(data.wmsLayerA);
+
+        Filter filter =
+                Predicates.or(Predicates.equal("id", "ft1"), Predicates.equal("store.id", "cs1"));
+        assertTrue(plan(resources, ResourceInfo.class, filter).isIndexed());
+        assertIds(resources.findAll(Query.valueOf(ResourceInfo.class, filter)), "ft1", "cov1");
+
+        filter = Predicates.or(Predicates.equal("id", "ft1"), Predicates.like("name", "*Name"));
+        assertFalse(plan(resources, ResourceInfo.class, filter).isIndexed());
+        assertIds(resources.findAll(Query.valueOf(ResourceInfo.class, filter)), "ft1", "cov1");
+    }
+
+    public @Test void queryPlannerNamePrefix() {
+        resources.add(data.featureTypeA);
+        resources.add(data.coverageA);
+        resources.add(data.wmsLayerA);
+
+        Filter filter = Predicates.like("name", "wms*");
+        QueryPlan<ResourceInfo> plan = plan(resources, ResourceInfo.class, filter);
+        assertTrue(plan.isIndexed());
+        assertEquals(Filter.INCLUDE, plan.getResidualFilter());
+        assertIds(resources.findAll(Query.valueOf(ResourceInfo.class, filter)), "wmsl-1");
+        assertEquals(1, resources.count(ResourceInfo.class, filter));
+
+        assertIds(resources.findAll(Query.valueOf(ResourceInfo.class, like("name", "x*"))));
+        // single char wildcards, escapes, and case insensitive patterns are not indexed
+        assertFalse(plan(resources, ResourceInfo.class, like("name", "wms?ayer*")).isIndexed());
+        assertFalse(plan(resources, ResourceInfo.class, like("name", "wms\\*")).isIndexed());
+        Filter caseInsensitive = FF.like(FF.property("name"), "WMS*", "*", "?", "\\", false);
+        assertFalse(plan(resources, ResourceInfo.class, caseInsensitive).isIndexed());
+        assertEquals(1, resources.count(ResourceInfo.class, caseInsensitive));
+    }
+
+    public @Test void queryPlannerLayerStylesMatchesFullScan() {
+        resources.add(data.featureTypeA);
+        resources.add(data.coverageA);
+        // layer1's default style is style1
+        LayerInfo layer2 =
+                data.createLayer(
+                        "layer2", data.coverageA, "Layer2", true, data.style2, data.style1);
+        layers.add(data.layerFeatureTypeA);
+        layers.add(layer2);
+
+        for (MatchAction matchAction : MatchAction.values()) {
+            for (StyleInfo style : List.of(data.style1, data.style2)) {
+                assertPlannerMatchesFullScan(
+                        layers, LayerInfo.class, equal("styles.id", style.getId(), matchAction));
+            }
+        }
+        Filter filter = Predicates.equal("styles.id", data.style1.getId());
+        assertIds(layers.findAll(Query.valueOf(LayerInfo.class, filter)), "layer2");
+
+        // the index on the default style and styles doesn't answer filters
+        filter = Predicates.equal(LayerInfoLookup.STYLES_INDEX, data.style1.getId());
+        assertFalse(plan(layers, LayerInfo.class, filter).isIndexed());
+    }
+
+    public @Test void queryPlannerMapLayersMatchesFullScan() {
+        resources.add(data.featureTypeA);
+        resources.add(data.coverageA);
+        LayerInfo layer1 = data.layerFeatureTypeA;
+        LayerInfo layer2 = data.createLayer(data.coverageA, data.style1);
+        MapInfoLookup maps = new MapInfoLookup();
+        maps.add(map("map1", layer1, layer2));
+        maps.add(map("map2", layer1));
+        maps.add(map("map3", layer2));
+
+        for (MatchAction matchAction : MatchAction.values()) {
+            for (LayerInfo layer : List.of(layer1, layer2)) {
+                Filter filter = equal("layers.id", layer.getId(), matchAction);
+                assertPlannerMatchesFullScan(maps, MapInfo.class, filter);
+                assertEquals(
+                        matchAction == MatchAction.ANY,
+                        plan(maps, MapInfo.class, filter).isIndexed());
+            }
+        }
+    }
+
+    public @Test void countByIndex() {
+        resources.add(data.featureTypeA);
+        resources.add(data.coverageA);
+        resources.add(data.wmsLayerA);
+
+        Filter byNamespace = Predicates.equal("namespace.id", data.namespaceA.getId());
+        assertEquals(3, resources.count(ResourceInfo.class, byNamespace));
+        assertEquals(1, resources.count(FeatureTypeInfo.class, byNamespace));
+        assertEquals(
+                0,
+                resources.count(
+                        ResourceInfo.class,
+                        Predicates.equal("namespace.id", data.namespaceB.getId())));
+        assertEquals(1, resources.count(ResourceInfo.class, Predicates.equal("id", "cov1")));
+        Filter nameSuffix = Predicates.like("name", "*Name");
+        // indexed with residual filter
+        assertEquals(
+                2, resources.count(ResourceInfo.class, Predicates.and(byNamespace, nameSuffix)));
+        // full scan
+        assertEquals(2, resources.count(ResourceInfo.class, nameSuffix));
+    }
+
+    public @Test void queryPlannerReferenceResolver() {
+        DefaultMemoryCatalogFacade facade = new DefaultMemoryCatalogFacade();
+        facade.add(data.namespaceA);
+        facade.add(data.featureTypeA);
+
+        Filter filter = Predicates.equal("namespace.prefix", data.namespaceA.getPrefix());
+        assertIds(facade.query(Query.valueOf(ResourceInfo.class, filter)), "ft1");
+
+        assertEquals(1, facade.count(ResourceInfo.class, filter));
+
+        filter = Predicates.equal("namespace.prefix", "nonExistent");
+        assertIds(facade.query(Query.valueOf(ResourceInfo.class, filter)));
+        assertEquals(0, facade.count(ResourceInfo.class, filter));
+    }
+
+    public @Test void unsortedPagingStopsEarly() {
+        resources.add(data.featureTypeA);
+        resources.add(data.coverageA);
+        resources.add(data.wmsLayerA);
+
+        Query<ResourceInfo> query = Query.valueOf(ResourceInfo.class, Filter.INCLUDE, 1, 1);
+        assertEquals(1, resources.findAll(query).count());
+        query = Query.valueOf(ResourceInfo.class, Filter.INCLUDE, 0, 10);
+        assertEquals(3, resources.findAll(query).count());
+    }
+
+    public @Test void sortedPaging() {
+        for (int i = 0; i < 100; i++) {
+            String name = String.format("store-%03d", (i * 37) % 100);
+            String description = "description " + (i % 7);
+            stores.add(
+                    data.createDataStore(name + "-id", data.workspaceA, name, description, true));
+        }
+        // indexed and full scan queries
+        Filter indexed = Predicates.equal("workspace.id", data.workspaceA.getId());
+        for (Filter filter : List.of(indexed, Filter.INCLUDE)) {
+            for (String sortProperty : List.of("name", "description")) {
+                assertSortedPage(filter, Predicates.asc(sortProperty), 0, 10);
+                assertSortedPage(filter, Predicates.desc(sortProperty), 95, 10);
+                assertSortedPage(filter, Predicates.asc(sortProperty), 20, 5);
+                assertSortedPage(filter, Predicates.asc(sortProperty), 200, 5);
+            }
+        }
+    }
+
+    public @Test void prefixedNameSortedView() {
+        FeatureTypeInfo ftB =
+                data.createFeatureType(
+                        "ftB", data.dataStoreB, data.namespaceB, "aa", null, null, true);
+        List<ResourceInfo> all = List.of(data.featureTypeA, data.coverageA, data.wmsLayerA, ftB);
+        all.forEach(resources::add);
+
+        Query<ResourceInfo> query = Query.valueOf(ResourceInfo.class, Filter.INCLUDE);
+        query.setSortBy(List.of(Predicates.asc("prefixedName")));
+        assertEquals(sortedPrefixedNames(all), prefixedNames(resources.findAll(query)));
+
+        // renaming the namespace changes the group order
+        data.namespaceB.setPrefix("aaa");
+        assertEquals(sortedPrefixedNames(all), prefixedNames(resources.findAll(query)));
+
+        Patch patch = new Patch();
+        patch.add("name", "zzz");
+        resources.update(ftB, patch);
+        data.namespaceB.setPrefix("zzz");
+        query.setSortBy(List.of(Predicates.desc("prefixedName")));
+        assertEquals(
+                ftB.getPrefixedName(),
+                resources.findAll(query).findFirst().orElseThrow().getPrefixedName());
+    }
+
+    private Filter like(String property, String pattern) {
+        return Predicates.like(property, pattern);
+    }
+
+    private List<String> sortedPrefixedNames(List<ResourceInfo> resources) {
+        return resources.stream()
+                .map(ResourceInfo::getPrefixedName)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private List<String> prefixedNames(Stream<ResourceInfo> resources) {
+        return resources.map(ResourceInfo::getPrefixedName).collect(Collectors.toList());
+    }
+
+    /** Compares a sorted page against a full stable sort followed by skip and limit */
+    private void assertSortedPage(Filter filter, SortBy sortBy, int offset, int count) {
+        Query<StoreInfo> query = Query.valueOf(StoreInfo.class, filter, offset, count, sortBy);
+        Comparator<StoreInfo> comparator = CatalogInfoLookup.toComparator(query);
+        List<String> expected =
+                stores.findAll(Query.valueOf(StoreInfo.class, filter))
+                        .sorted(comparator)
+                        .skip(offset)
+                        .limit(count)
+                        .map(StoreInfo::getId)
+                        .collect(Collectors.toList());
+
+        List<String> actual =
+                stores.findAll(query).map(StoreInfo::getId).collect(Collectors.toList());
+        assertEquals(expected, actual);
+    }
+
+    private Filter equal(String property, String value, MatchAction matchAction) {
+        return FF.equal(FF.property(property), FF.literal(value), true, matchAction);
+    }
+
+    private MapInfo map(String id, LayerInfo... layers) {
+        MapInfoImpl map = new MapInfoImpl();
+        OwsUtils.set(map, "id", id);
+        map.setName(id);
+        map.getLayers().addAll(List.of(layers));
+        return map;
+    }
+
+    /** Asserts the indexed query returns the same objects as evaluating the filter on all */
+    private <T extends CatalogInfo, U extends T> void assertPlannerMatchesFullScan(
+            CatalogInfoLookup<T> lookup, Class<U> type, Filter filter) {
+        String[] expected =
+                lookup.findAll()
+                        .filter(type::isInstance)
+                        .filter(filter::evaluate)
+                        .map(CatalogInfo::getId)
+                        .toArray(String[]::new);
+        assertIds(lookup.findAll(Query.valueOf(type, filter)), expected);
+        assertEquals(filter.toString(), expected.length, lookup.count(type, filter));
+    }
+
+    private <T extends CatalogInfo, U extends T> QueryPlan<U> plan(
+            CatalogInfoLookup<T> lookup, Class<U> type, Filter filter) {
+        return new CatalogInfoQueryPlanner<>(lookup).plan(type, filter);
+    }
+
+    private void assertIds(Stream<? extends CatalogInfo> stream, String... expected) {
+        List<String> actual =
+                stream.map(CatalogInfo::getId).sorted().collect(Collectors.toList());
+        assertEquals(Stream.of(expected).sorted().collect(Collectors.toList()), actual);
+    }
+}
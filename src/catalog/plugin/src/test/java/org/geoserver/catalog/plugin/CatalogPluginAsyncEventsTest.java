@@ -0,0 +1,282 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.catalog.plugin;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import org.geoserver.catalog.CatalogException;
+import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.catalog.event.CatalogAddEvent;
+import org.geoserver.catalog.event.CatalogBeforeAddEvent;
+import org.geoserver.catalog.event.CatalogEvent;
+import org.geoserver.catalog.event.CatalogListener;
+import org.geoserver.catalog.event.CatalogModifyEvent;
+import org.geoserver.catalog.event.CatalogPostModifyEvent;
+import org.geoserver.catalog.event.CatalogRemoveEvent;
+import org.geoserver.catalog.event.impl.CatalogAddEventImpl;
+import org.geoserver.catalog.impl.WorkspaceInfoImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class CatalogPluginAsyncEventsTest {
+
+    private CatalogPlugin catalog;
+
+    private RecordingListener syncListener;
+    private AsyncRecordingListener asyncListener;
+
+    public @Before void setup() {
+        catalog = new CatalogPlugin();
+        syncListener = new RecordingListener();
+        asyncListener = new AsyncRecordingListener();
+        catalog.addListener(syncListener);
+        catalog.addListener(asyncListener);
+    }
+
+    public @After void dispose() {
+        catalog.dispose();
+    }
+
+    public @Test void asyncListenersNotifiedInOrder() throws InterruptedException {
+        catalog.setAsyncEventDispatch(true);
+        assertTrue(catalog.isAsyncEventDispatch());
+
+        WorkspaceInfo ws = catalog.getFactory().createWorkspace();
+        ws.setName("ws");
+        catalog.add(ws);
+        ws = catalog.getWorkspaceByName("ws");
+        ws.setName("renamed");
+        catalog.save(ws);
+        catalog.remove(catalog.getWorkspaceByName("renamed"));
+
+        AsyncCatalogEventDispatcher dispatcher = catalog.getAsyncEventDispatcher().orElseThrow();
+        assertTrue(dispatcher.awaitDelivery(10, TimeUnit.SECONDS));
+
+        assertFalse(syncListener.events.isEmpty());
+        assertEquals(syncListener.events, asyncListener.events);
+        assertEquals(dispatcher.getDispatched(), asyncListener.events.size());
+        assertEquals(0, dispatcher.getQueueSize());
+
+        String caller = Thread.currentThread().getName();
+        syncListener.threads.forEach(t -> assertEquals(caller, t));
+        asyncListener.threads.forEach(t -> assertNotEquals(caller, t));
+    }
+
+    public @Test void asyncListenersCantVeto() throws InterruptedException {
+        catalog.setAsyncEventDispatch(true);
+        asyncListener.fail = true;
+
+        WorkspaceInfo ws = catalog.getFactory().createWorkspace();
+        ws.setName("ws");
+        catalog.add(ws);
+        assertNotNull(catalog.getWorkspaceByName("ws"));
+
+        AsyncCatalogEventDispatcher dispatcher = catalog.getAsyncEventDispatcher().orElseThrow();
+        assertTrue(dispatcher.awaitDelivery(10, TimeUnit.SECONDS));
+        assertTrue(dispatcher.getFailed() > 0);
+    }
+
+    public @Test void asyncListenersNotifiedSynchronouslyByDefault() {
+        assertFalse(catalog.isAsyncEventDispatch());
+        assertTrue(catalog.getAsyncEventDispatcher().isEmpty());
+
+        WorkspaceInfo ws = catalog.getFactory().createWorkspace();
+        ws.setName("ws");
+        catalog.add(ws);
+
+        assertEquals(syncListener.events, asyncListener.events);
+        String caller = Thread.currentThread().getName();
+        asyncListener.threads.forEach(t -> assertEquals(caller, t));
+    }
+
+    public @Test void publisherWaitsIfQueueIsFull() throws InterruptedException {
+        AsyncCatalogEventDispatcher dispatcher = new AsyncCatalogEventDispatcher("test-events", 1);
+        CountDownLatch release = new CountDownLatch(1);
+        AsyncRecordingListener listener =
+                new AsyncRecordingListener() {
+                    public @Override void handleAddEvent(CatalogAddEvent event) {
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        super.handleAddEvent(event);
+                    }
+                };
+        List<CatalogListener> listeners = List.of(listener);
+        Thread publisher =
+                new Thread(
+                        () -> {
+                            for (int i = 0; i < 3; i++) {
+                                dispatcher.dispatch(addEvent("ws" + i), listeners);
+                            }
+                        });
+        publisher.start();
+        try {
+            // one event being delivered, one queued, the publisher waits to queue the third one
+            final long deadline = System.currentTimeMillis() + 10_000;
+            while (dispatcher.getBlocked() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(1, dispatcher.getBlocked());
+            assertEquals(1, dispatcher.getQueueCapacity());
+            assertTrue(dispatcher.getQueueSize() <= 1);
+            assertTrue(publisher.isAlive());
+        } finally {
+            release.countDown();
+        }
+        publisher.join(10_000);
+        assertFalse(publisher.isAlive());
+        assertTrue(dispatcher.awaitDelivery(10, TimeUnit.SECONDS));
+        assertEquals(3, dispatcher.getDispatched());
+        assertEquals(
+                List.of(
+                        "CatalogAddEventImpl:ws0",
+                        "CatalogAddEventImpl:ws1",
+                        "CatalogAddEventImpl:ws2"),
+                listener.events);
+        dispatcher.shutdown();
+    }
+
+    public @Test void eventsPublishedByListenersWhenQueueIsFullAreNotReordered()
+            throws InterruptedException {
+        AsyncCatalogEventDispatcher dispatcher = new AsyncCatalogEventDispatcher("test-events", 1);
+        BlockingListener listener = new BlockingListener();
+        List<CatalogListener> listeners = List.of(listener);
+        // publishes two more events from the dispatcher thread, with the queue full
+        listener.onFirstEvent =
+                () -> {
+                    dispatcher.dispatch(addEvent("nested1"), listeners);
+                    dispatcher.dispatch(addEvent("nested2"), listeners);
+                };
+        try {
+            dispatcher.dispatch(addEvent("ws0"), listeners);
+            assertTrue(listener.entered.await(10, TimeUnit.SECONDS));
+            dispatcher.dispatch(addEvent("ws1"), listeners);
+            assertEquals(1, dispatcher.getQueueSize());
+        } finally {
+            listener.release.countDown();
+        }
+        assertTrue(listener.released.await(10, TimeUnit.SECONDS));
+        assertTrue(dispatcher.awaitDelivery(10, TimeUnit.SECONDS));
+        assertEquals(
+                List.of(
+                        "CatalogAddEventImpl:ws0",
+                        "CatalogAddEventImpl:ws1",
+                        "CatalogAddEventImpl:nested1",
+                        "CatalogAddEventImpl:nested2"),
+                listener.events);
+        assertEquals(0, dispatcher.getBlocked());
+        dispatcher.shutdown();
+    }
+
+    public @Test void interruptedPublisherStillQueuesItsEvent() throws InterruptedException {
+        AsyncCatalogEventDispatcher dispatcher = new AsyncCatalogEventDispatcher("test-events", 1);
+        BlockingListener listener = new BlockingListener();
+        List<CatalogListener> listeners = List.of(listener);
+        try {
+            dispatcher.dispatch(addEvent("ws0"), listeners);
+            assertTrue(listener.entered.await(10, TimeUnit.SECONDS));
+            dispatcher.dispatch(addEvent("ws1"), listeners);
+
+            // the queue is full, an interrupted publisher can't wait for room
+            Thread.currentThread().interrupt();
+            dispatcher.dispatch(addEvent("ws2"), listeners);
+            assertTrue("interrupted status lost", Thread.interrupted());
+            assertEquals(1, dispatcher.getBlocked());
+            assertEquals(2, dispatcher.getQueueSize());
+        } finally {
+            listener.release.countDown();
+        }
+        assertTrue(dispatcher.awaitDelivery(10, TimeUnit.SECONDS));
+        assertEquals(
+                List.of(
+                        "CatalogAddEventImpl:ws0",
+                        "CatalogAddEventImpl:ws1",
+                        "CatalogAddEventImpl:ws2"),
+                listener.events);
+        dispatcher.shutdown();
+    }
+
+    private CatalogEvent addEvent(String id) {
+        WorkspaceInfoImpl ws = new WorkspaceInfoImpl();
+        ws.setId(id);
+        CatalogAddEventImpl event = new CatalogAddEventImpl();
+        event.setSource(ws);
+        return event;
+    }
+
+    private static class RecordingListener implements CatalogListener {
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        final List<String> threads = Collections.synchronizedList(new ArrayList<>());
+        volatile boolean fail;
+
+        private void record(CatalogEvent event) {
+            events.add(event.getClass().getSimpleName() + ":" + event.getSource().getId());
+            threads.add(Thread.currentThread().getName());
+            if (fail) {
+                throw new CatalogException("expected");
+            }
+        }
+
+        public @Override void handlePreAddEvent(CatalogBeforeAddEvent event) {
+            record(event);
+        }
+
+        public @Override void handleAddEvent(CatalogAddEvent event) {
+            record(event);
+        }
+
+        public @Override void handleRemoveEvent(CatalogRemoveEvent event) {
+            record(event);
+        }
+
+        public @Override void handleModifyEvent(CatalogModifyEvent event) {
+            record(event);
+        }
+
+        public @Override void handlePostModifyEvent(CatalogPostModifyEvent event) {
+            record(event);
+        }
+
+        public @Override void reloaded() {}
+    }
+
+    private static class AsyncRecordingListener extends RecordingListener
+            implements AsyncCatalogListener {}
+
+    /** Holds the dispatcher thread on the first event until released */
+    private static class BlockingListener extends AsyncRecordingListener {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch released = new CountDownLatch(1);
+        Runnable onFirstEvent = () -> {};
+
+        public @Override void handleAddEvent(CatalogAddEvent event) {
+            super.handleAddEvent(event);
+            if (entered.getCount() > 0) {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                onFirstEvent.run();
+                released.countDown();
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.catalog.plugin;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.CatalogConformanceTest;
+import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.catalog.impl.ModificationProxy;
+import org.junit.Test;
+
+/** Runs the catalog conformance tests with {@link DefaultMemoryCatalogFacade#setSnapshotReads} */
+public class CatalogPluginSnapshotReadsConformanceTest extends CatalogConformanceTest {
+
+    protected @Override Catalog createCatalog() {
+        DefaultMemoryCatalogFacade facade = new DefaultMemoryCatalogFacade();
+        facade.setSnapshotReads(true);
+        return new org.geoserver.catalog.plugin.CatalogPlugin(facade);
+    }
+
+    public @Test void saveDoesNotModifyTheSnapshotObjects() {
+        rawCatalog.add(data.workspaceA);
+        final String id = data.workspaceA.getId();
+        final String name = data.workspaceA.getName();
+        DefaultMemoryCatalogFacade facade =
+                (DefaultMemoryCatalogFacade) ((CatalogPlugin) rawCatalog).getRawFacade();
+        final WorkspaceInfo snapshot = facade.getWorkspace(id);
+
+        WorkspaceInfo ws = rawCatalog.getWorkspace(id);
+        ws.setName("renamed");
+        rawCatalog.save(ws);
+
+        assertEquals(name, snapshot.getName());
+        assertEquals("renamed", ws.getName());
+        assertNotSame(snapshot, ModificationProxy.unwrap(ws));
+
+        WorkspaceInfo current = facade.getWorkspace(id);
+        assertNotSame(snapshot, current);
+        assertEquals("renamed", current.getName());
+        assertEquals("renamed", rawCatalog.getWorkspace(id).getName());
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.catalog.plugin;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.CatalogTestData;
+import org.geoserver.catalog.StoreInfo;
+import org.geoserver.catalog.plugin.CatalogInfoLookup.StoreInfoLookup;
+import org.geoserver.catalog.plugin.forwarding.ForwardingCatalogRepository;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class CatalogSyncMonitorTest {
+
+    private CatalogTestData data;
+
+    private List<StoreInfo> stores;
+
+    public @Before void setup() {
+        Catalog catalog = new CatalogPlugin();
+        data = CatalogTestData.empty(() -> catalog, () -> null).initConfig(false).initialize();
+        stores = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            stores.add(data.createDataStore("ds-" + i, data.workspaceA, "ds" + i, "", true));
+        }
+    }
+
+    public @Test void copyInParallelBatches() {
+        CatalogSyncMonitor monitor = new CatalogSyncMonitor();
+        monitor.setParallelism(4);
+        monitor.setBatchSize(64);
+        AtomicInteger batches = new AtomicInteger();
+        monitor.setProgressListener((type, count) -> batches.incrementAndGet());
+
+        List<StoreInfo> copied = Collections.synchronizedList(new ArrayList<>());
+        monitor.copy(StoreInfo.class, stores.stream(), s -> s.forEach(copied::add), false);
+
+        assertEquals(1000, copied.size());
+        assertEquals(1000, monitor.getSynced(StoreInfo.class));
+        assertEquals(1000, monitor.getSynced());
+        assertEquals(16, batches.get());
+    }
+
+    public @Test void copyOrdered() {
+        CatalogSyncMonitor monitor = new CatalogSyncMonitor();
+        monitor.setBatchSize(7);
+        List<StoreInfo> copied = new ArrayList<>();
+        monitor.copy(StoreInfo.class, stores.stream(), s -> s.forEach(copied::add), true);
+        assertEquals(stores, copied);
+    }
+
+    public @Test void cancel() {
+        CatalogSyncMonitor monitor = new CatalogSyncMonitor();
+        monitor.setParallelism(2);
+        monitor.setBatchSize(10);
+        monitor.setProgressListener(
+                (type, count) -> {
+                    if (monitor.getSynced() >= 100) monitor.cancel();
+                });
+        List<StoreInfo> copied = Collections.synchronizedList(new ArrayList<>());
+        assertThrows(
+                CancellationException.class,
+                () ->
+                        monitor.copy(
+                                StoreInfo.class,
+                                stores.stream(),
+                                s -> s.forEach(copied::add),
+                                false));
+        assertTrue(monitor.isCanceled());
+        assertTrue(copied.size() < 1000);
+    }
+
+    public @Test void cancelWaitsForBatchesInFlight() throws InterruptedException {
+        CatalogSyncMonitor monitor = new CatalogSyncMonitor();
+        monitor.setParallelism(4);
+        monitor.setBatchSize(10);
+        CountDownLatch started = new CountDownLatch(4);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger read = new AtomicInteger();
+        // cancel from the reading thread once the first four batches are being added
+        Stream<StoreInfo> source =
+                stores.stream()
+                        .peek(
+                                s -> {
+                                    if (read.incrementAndGet() == 41) {
+                                        await(started);
+                                        monitor.cancel();
+                                    }
+                                });
+        List<StoreInfo> copied = Collections.synchronizedList(new ArrayList<>());
+        Consumer<Stream<StoreInfo>> target =
+                s -> {
+                    List<StoreInfo> batch = s.collect(Collectors.toList());
+                    copied.addAll(batch.subList(0, 5));
+                    started.countDown();
+                    await(release);
+                    copied.addAll(batch.subList(5, batch.size()));
+                };
+
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        Thread sync =
+                new Thread(
+                        () -> {
+                            try {
+                                monitor.copy(StoreInfo.class, source, target, false);
+                            } catch (RuntimeException e) {
+                                error.set(e);
+                            }
+                        });
+        sync.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        sync.join(200);
+        assertTrue("copy returned with batches in flight", sync.isAlive());
+        release.countDown();
+        sync.join(5000);
+
+        assertTrue(error.get() instanceof CancellationException);
+        // the batches in flight were finished, not interrupted half added
+        assertEquals(40, copied.size());
+        assertEquals(40, monitor.getSynced(StoreInfo.class));
+        assertEquals(ids(stores.stream().limit(40)), ids(copied.stream()));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public @Test void failedBatchPropagates() {
+        CatalogSyncMonitor monitor = new CatalogSyncMonitor();
+        monitor.setBatchSize(10);
+        IllegalStateException e =
+                assertThrows(
+                        IllegalStateException.class,
+                        () ->
+                                monitor.copy(
+                                        StoreInfo.class,
+                                        stores.stream(),
+                                        s -> {
+                                            throw new IllegalStateException("expected");
+                                        },
+                                        false));
+        assertEquals("expected", e.getMessage());
+    }
+
+    public @Test void repositorySyncTo() {
+        StoreInfoLookup source = new StoreInfoLookup();
+        source.addAll(stores.stream());
+
+        StoreInfoLookup targetLookup = new StoreInfoLookup();
+        // not a CatalogInfoLookup, forces copying in batches instead of copying the lookup maps
+        CatalogInfoRepository<StoreInfo> target =
+                new ForwardingCatalogRepository<StoreInfo, StoreInfoLookup>(targetLookup) {};
+        CatalogSyncMonitor monitor = new CatalogSyncMonitor();
+        monitor.setBatchSize(100);
+        source.syncTo(target, monitor);
+        assertEquals(1000, monitor.getSynced(StoreInfo.class));
+        assertEquals(ids(stores.stream()), ids(target.findAll()));
+    }
+
+    private List<String> ids(Stream<? extends StoreInfo> stream) {
+        return stream.map(StoreInfo::getId).sorted().collect(Collectors.toList());
+    }
+}
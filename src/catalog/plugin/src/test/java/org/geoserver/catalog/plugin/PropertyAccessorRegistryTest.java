@@ -0,0 +1,91 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.catalog.plugin;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.CatalogTestData;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.Predicates;
+import org.geoserver.catalog.impl.ModificationProxy;
+import org.geoserver.catalog.plugin.PropertyAccessorRegistry.PropertyAccessor;
+import org.geoserver.catalog.plugin.PropertyAccessorRegistry.PropertyPath;
+import org.junit.Before;
+import org.junit.Test;
+import org.opengis.filter.Filter;
+
+import java.util.Optional;
+
+public class PropertyAccessorRegistryTest {
+
+    private CatalogTestData data;
+
+    public @Before void setup() {
+        Catalog catalog = new CatalogPlugin();
+        data = CatalogTestData.empty(() -> catalog, () -> null).initConfig(false).initialize();
+    }
+
+    public @Test void nestedPath() {
+        LayerInfo layer = data.layerFeatureTypeA;
+        PropertyPath path = PropertyAccessorRegistry.path("resource.store.workspace.name");
+        assertEquals(data.workspaceA.getName(), path.get(layer));
+
+        layer.setResource(null);
+        assertNull(path.get(layer));
+    }
+
+    public @Test void dynamicProxy() {
+        FeatureTypeInfo proxy = ModificationProxy.create(data.featureTypeA, FeatureTypeInfo.class);
+        proxy.setName("newName");
+        assertEquals("newName", PropertyAccessorRegistry.get(proxy, "name"));
+        assertEquals(data.dataStoreA.getName(), PropertyAccessorRegistry.get(proxy, "store.name"));
+    }
+
+    public @Test void accessor() {
+        Class<?> type = data.featureTypeA.getClass();
+        PropertyAccessor name = PropertyAccessorRegistry.accessor(type, "name").orElseThrow();
+        assertSame(name, PropertyAccessorRegistry.accessor(type, "name").orElseThrow());
+        assertEquals(String.class, name.getType());
+        assertTrue(name.canSet("newName"));
+        assertFalse(name.canSet(1));
+        name.set(data.featureTypeA, "newName");
+        assertEquals("newName", name.get(data.featureTypeA));
+
+        PropertyAccessor enabled = PropertyAccessorRegistry.accessor(type, "enabled").orElseThrow();
+        assertFalse(enabled.canSet(null));
+        enabled.set(data.featureTypeA, Boolean.FALSE);
+        assertEquals(Boolean.FALSE, enabled.get(data.featureTypeA));
+
+        PropertyAccessor keywords = PropertyAccessorRegistry.accessor(type, "keywords").get();
+        assertTrue(keywords.isCollection());
+        assertTrue(PropertyAccessorRegistry.accessor(type, "metadata").orElseThrow().isMap());
+        assertEquals(Optional.empty(), PropertyAccessorRegistry.accessor(type, "nonExistent"));
+    }
+
+    public @Test void compiledFilter() {
+        LayerInfo layer = data.layerFeatureTypeA;
+        assertCompiled(
+                Predicates.equal("resource.store.workspace.name", data.workspaceA.getName()),
+                layer,
+                true);
+        assertCompiled(Predicates.equal("resource.name", "nonExistent"), layer, false);
+        // multi-valued properties fall back to the catalog property accessor
+        layer.getStyles().add(data.style2);
+        assertCompiled(Predicates.equal("styles.name", data.style2.getName()), layer, true);
+        assertCompiled(Predicates.equal("defaultStyle.name", data.style1.getName()), layer, true);
+    }
+
+    private void assertCompiled(Filter filter, Object object, boolean expected) {
+        Filter compiled = PropertyAccessorRegistry.compile(filter);
+        assertEquals(filter.evaluate(object), compiled.evaluate(object));
+        assertEquals(expected, compiled.evaluate(object));
+    }
+}
@@ -6,6 +6,7 @@ package org.geoserver.catalog.plugin;
 
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
@@ -27,6 +28,8 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 
 public class PropertyDiffTest {
     private PropertyDiffTestSupport support = new PropertyDiffTestSupport();
@@ -54,6 +57,19 @@ public class PropertyDiffTest {
         assertEquals("newValue", change.getNewValue());
     }
 
+    public @Test void valueOfKeepsTheLastChangeOfEachProperty() {
+        PropertyDiff diff =
+                PropertyDiff.valueOf(
+                        Arrays.asList("name", "title", "name"),
+                        Arrays.asList("a", "t1", "b"),
+                        Arrays.asList("b", "t2", "c"));
+        assertEquals(2, diff.size());
+        assertEquals("title", diff.get(0).getPropertyName());
+        assertEquals("name", diff.get(1).getPropertyName());
+        assertEquals("b", diff.get(1).getOldValue());
+        assertEquals("c", diff.get(1).getNewValue());
+    }
+
     public @Test void cleanToEmpty() {
         PropertyDiff diff =
                 support.createTestDiff( //
@@ -118,6 +134,91 @@ public class PropertyDiffTest {
         assertEquals(Integer.valueOf(2), clean.get(1).getNewValue());
     }
 
+    public @Test void cleanWithoutNoOpChangesReturnsSameDiff() {
+        PropertyDiff diff = support.createTestDiff("prop1", "val1", "val2");
+        assertSame(diff, diff.clean());
+    }
+
+    public @Test void toPatchSortsByName() {
+        PropertyDiff diff =
+                support.createTestDiff( //
+                        "title",
+                        "t1",
+                        "t2", //
+                        "name",
+                        "n1",
+                        "n2", //
+                        "abstract",
+                        "a1",
+                        "a2");
+        Patch patch = diff.toPatch();
+        assertEquals(Arrays.asList("abstract", "name", "title"), patch.getPropertyNames());
+        assertEquals("n2", patch.get("name").orElseThrow().getValue());
+        assertFalse(patch.get("enabled").isPresent());
+
+        patch.add("name", "n3");
+        assertEquals(3, patch.size());
+        assertEquals("n3", patch.get("name").orElseThrow().getValue());
+    }
+
+    public @Test void toPatchCollectionDelta() {
+        List<String> oldList = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            oldList.add("s" + i);
+        }
+        List<String> newList = new ArrayList<>(oldList);
+        newList.remove("s3");
+        newList.add("s10");
+
+        PropertyDiff diff = support.createTestDiff("keywords", oldList, newList);
+        Object value = diff.toPatch().get("keywords").orElseThrow().getValue();
+        assertTrue(value instanceof Patch.CollectionDelta);
+        Patch.CollectionDelta delta = (Patch.CollectionDelta) value;
+        assertEquals(List.of("s3"), delta.getRemoved());
+        assertEquals(List.of("s10"), delta.getAdded());
+
+        List<Object> target = new ArrayList<>(oldList);
+        delta.applyTo(target);
+        assertEquals(newList, target);
+
+        // reordering can't be expressed as a delta
+        List<String> reordered = new ArrayList<>(oldList);
+        Collections.swap(reordered, 0, 1);
+        diff = support.createTestDiff("keywords", oldList, reordered);
+        assertEquals(reordered, diff.toPatch().get("keywords").orElseThrow().getValue());
+
+        // nor is it worth it for small collections
+        diff = support.createTestDiff("keywords", List.of("a"), List.of("a", "b"));
+        assertEquals(List.of("a", "b"), diff.toPatch().get("keywords").orElseThrow().getValue());
+    }
+
+    public @Test void applyMapDeltaInPlace() {
+        WorkspaceInfo ws = data.workspaceA;
+        for (int i = 0; i < 10; i++) {
+            ws.getMetadata().put("k" + i, "v" + i);
+        }
+        WorkspaceInfo copy = new WorkspaceInfoImpl();
+        copy.getMetadata().putAll(ws.getMetadata());
+        final MetadataMap copyMetadata = copy.getMetadata();
+
+        MetadataMap metadata = new MetadataMap();
+        metadata.putAll(ws.getMetadata());
+        metadata.remove("k0");
+        metadata.put("k1", "changed");
+        metadata.put("k10", 10);
+
+        Patch patch = PropertyDiff.builder(ws).with("metadata", metadata).build().toPatch();
+        Patch.Property property = patch.get("metadata").orElseThrow();
+        assertTrue(property.isDelta());
+        Patch.MapDelta delta = (Patch.MapDelta) property.getValue();
+        assertEquals(List.of("k0"), delta.getRemovedKeys());
+        assertEquals(Map.of("k1", "changed", "k10", 10), delta.getPut());
+
+        patch.applyTo(copy);
+        assertSame(copyMetadata, copy.getMetadata());
+        assertEquals(metadata, copy.getMetadata());
+    }
+
     public @Test void builderToEmpty() {
         WorkspaceInfo ws = data.workspaceA;
         ws.setDateCreated(new Date());
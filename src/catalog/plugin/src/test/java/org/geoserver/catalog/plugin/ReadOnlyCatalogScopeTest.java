@@ -0,0 +1,148 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.catalog.plugin;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import org.geoserver.catalog.CatalogTestData;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.ResourceInfo;
+import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.catalog.impl.ModificationProxy;
+import org.geoserver.catalog.impl.ProxyUtils;
+import org.geoserver.catalog.plugin.resolving.ReadOnlyProxy;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+public class ReadOnlyCatalogScopeTest {
+
+    private CatalogPlugin catalog;
+    private CatalogTestData data;
+
+    public @Before void setup() {
+        catalog = new CatalogPlugin();
+        data = CatalogTestData.empty(() -> catalog, () -> null).initConfig(false).initialize();
+        data.addObjects();
+    }
+
+    public @After void dispose() {
+        catalog.dispose();
+    }
+
+    public @Test void objectsNotProxiedInReadOnlyScope() {
+        assertTrue(isProxy(catalog.getLayerByName(data.layerFeatureTypeA.getName())));
+
+        List<LayerInfo> layers;
+        LayerInfo layer;
+        try (ReadOnlyCatalogScope scope = ReadOnlyCatalogScope.open()) {
+            assertTrue(ReadOnlyCatalogScope.isActive());
+            layer = catalog.getLayerByName(data.layerFeatureTypeA.getName());
+            layers = catalog.getLayers();
+        }
+        assertFalse(ReadOnlyCatalogScope.isActive());
+        assertNotNull(layer);
+        assertFalse(isProxy(layer));
+        assertEquals(data.layerFeatureTypeA.getId(), layer.getId());
+        assertFalse(layers.isEmpty());
+        layers.forEach(l -> assertFalse(isProxy(l)));
+
+        assertTrue(isProxy(catalog.getLayer(layer.getId())));
+    }
+
+    public @Test void nestedScopes() {
+        try (ReadOnlyCatalogScope outer = ReadOnlyCatalogScope.open()) {
+            try (ReadOnlyCatalogScope inner = ReadOnlyCatalogScope.open()) {
+                assertTrue(ReadOnlyCatalogScope.isActive());
+            }
+            assertTrue(ReadOnlyCatalogScope.isActive());
+            WorkspaceInfo ws = ReadOnlyCatalogScope.call(catalog::getDefaultWorkspace);
+            assertFalse(isProxy(ws));
+            assertTrue(ReadOnlyCatalogScope.isActive());
+        }
+        assertFalse(ReadOnlyCatalogScope.isActive());
+    }
+
+    public @Test void writesRejectedInReadOnlyScope() {
+        WorkspaceInfo proxied = catalog.getWorkspace(data.workspaceA.getId());
+        proxied.setName("renamed");
+
+        WorkspaceInfo newWorkspace = catalog.getFactory().createWorkspace();
+        newWorkspace.setName("new");
+
+        try (ReadOnlyCatalogScope scope = ReadOnlyCatalogScope.open()) {
+            assertThrows(IllegalStateException.class, () -> catalog.add(newWorkspace));
+            assertThrows(IllegalStateException.class, () -> catalog.save(proxied));
+            assertThrows(IllegalStateException.class, () -> catalog.remove(proxied));
+            assertThrows(
+                    IllegalStateException.class,
+                    () -> catalog.setDefaultWorkspace(data.workspaceB));
+        }
+        assertNull(catalog.getWorkspaceByName("new"));
+        assertNull(catalog.getWorkspaceByName("renamed"));
+        assertEquals(data.workspaceA.getId(), catalog.getDefaultWorkspace().getId());
+
+        catalog.save(proxied);
+        assertNotNull(catalog.getWorkspaceByName("renamed"));
+    }
+
+    public @Test void settersCantModifyTheBackendObjects() {
+        final String layerName = data.layerFeatureTypeA.getName();
+        try (ReadOnlyCatalogScope scope = ReadOnlyCatalogScope.open()) {
+            LayerInfo layer = catalog.getLayerByName(layerName);
+            assertTrue(ReadOnlyProxy.isReadOnly(layer));
+            assertThrows(UnsupportedOperationException.class, () -> layer.setName("renamed"));
+            assertThrows(UnsupportedOperationException.class, () -> layer.setEnabled(false));
+
+            // nor through the objects it references
+            ResourceInfo resource = layer.getResource();
+            assertTrue(ReadOnlyProxy.isReadOnly(resource));
+            assertThrows(UnsupportedOperationException.class, () -> resource.setTitle("changed"));
+            assertThrows(
+                    UnsupportedOperationException.class,
+                    () -> resource.getStore().getWorkspace().setName("changed"));
+            assertThrows(
+                    UnsupportedOperationException.class,
+                    () -> layer.getStyles().add(data.style1));
+            assertThrows(
+                    UnsupportedOperationException.class,
+                    () -> resource.getMetadata().put("key", "value"));
+            // the views are reused for as long as the viewed objects don't change
+            assertSame(resource, layer.getResource());
+            assertSame(layer.getStyles(), layer.getStyles());
+        }
+        LayerInfo layer = catalog.getLayerByName(layerName);
+        assertNotNull(layer);
+        assertTrue(layer.isEnabled());
+        ResourceInfo resource = layer.getResource();
+        assertEquals(data.featureTypeA.getTitle(), resource.getTitle());
+        assertEquals(data.workspaceA.getName(), resource.getStore().getWorkspace().getName());
+        assertFalse(resource.getMetadata().containsKey("key"));
+        assertFalse(layer.getStyles().contains(data.style1));
+    }
+
+    public @Test void readOnlyObjectsCanBeUsedAsArguments() {
+        LayerInfo layer =
+                ReadOnlyCatalogScope.call(
+                        () -> catalog.getLayerByName(data.layerFeatureTypeA.getName()));
+        assertTrue(ReadOnlyProxy.isReadOnly(layer));
+        List<LayerInfo> layers = catalog.getLayers(layer.getResource());
+        assertEquals(1, layers.size());
+        assertEquals(layer.getId(), layers.get(0).getId());
+        assertTrue(isProxy(layers.get(0)));
+    }
+
+    private boolean isProxy(Object info) {
+        return null != ProxyUtils.handler(info, ModificationProxy.class);
+    }
+}
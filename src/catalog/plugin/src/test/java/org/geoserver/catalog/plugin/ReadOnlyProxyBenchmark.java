@@ -0,0 +1,153 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.catalog.plugin;
+
+import static org.junit.Assert.assertEquals;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.geoserver.catalog.CatalogTestData;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.ResourceInfo;
+import org.geoserver.catalog.StyleInfo;
+import org.geoserver.catalog.impl.ModificationProxy;
+import org.geoserver.catalog.plugin.resolving.ReadOnlyProxy;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Compares the CPU time to query a large catalog and traverse the returned layers through their
+ * getters, when the catalog hands out {@link ModificationProxy modification proxies} and when it
+ * hands out {@link ReadOnlyProxy read-only views} inside a {@link ReadOnlyCatalogScope}.
+ *
+ * <p>Not a unit test, hence not named {@code *Test} to be left out of regular builds. Run it with
+ *
+ * <pre>{@code
+ * mvn test -Dtest=ReadOnlyProxyBenchmark -Dlayers=50000
+ * }</pre>
+ *
+ * from this module's directory, the results are logged at INFO level.
+ */
+@Slf4j
+public class ReadOnlyProxyBenchmark {
+
+    private static final int WARMUP_RUNS = 3;
+    private static final int RUNS = 5;
+
+    /** getter traversals per layer and run, the way a request reads the same layer many times */
+    private static final int READS = 10;
+
+    private final int layers = Integer.getInteger("layers", 50_000);
+
+    private CatalogPlugin catalog;
+
+    public @Before void setup() {
+        catalog = new CatalogPlugin();
+        CatalogTestData data =
+                CatalogTestData.empty(() -> catalog, () -> null).initConfig(false).initialize();
+        data.addObjects();
+        for (int i = 0; i < layers; i++) {
+            FeatureTypeInfo resource = data.createFeatureType("ft-" + i);
+            resource.getMetadata().put("key", "value " + i);
+            catalog.add(resource);
+            LayerInfo layer =
+                    data.createLayer(
+                            "layer-" + i,
+                            catalog.getFeatureType(resource.getId()),
+                            "Layer " + i,
+                            true,
+                            data.style1,
+                            data.style2);
+            catalog.add(layer);
+        }
+    }
+
+    public @After void dispose() {
+        catalog.dispose();
+    }
+
+    public @Test void compareProxies() {
+        Result modificationProxy = run("ModificationProxy", () -> traverse(catalog.getLayers()));
+        Result readOnlyProxy =
+                run(
+                        "ReadOnlyProxy",
+                        () -> ReadOnlyCatalogScope.call(() -> traverse(catalog.getLayers())));
+
+        log.info("{} layers, {} reads each", String.format("%,d", layers), READS);
+        log.info(modificationProxy.toString());
+        log.info(readOnlyProxy.relativeTo(modificationProxy));
+    }
+
+    private Result run(String name, Supplier<Integer> traversal) {
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        final int expected = catalog.getLayers().size();
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            assertEquals(expected, traversal.get().intValue());
+        }
+        long cpuNanos = Long.MAX_VALUE;
+        long wallNanos = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            long cpuStart = threads.getCurrentThreadCpuTime();
+            long wallStart = System.nanoTime();
+            assertEquals(expected, traversal.get().intValue());
+            cpuNanos = Math.min(cpuNanos, threads.getCurrentThreadCpuTime() - cpuStart);
+            wallNanos = Math.min(wallNanos, System.nanoTime() - wallStart);
+        }
+        return new Result(name, cpuNanos / 1_000_000, wallNanos / 1_000_000);
+    }
+
+    /** Reads each layer's resource, store, workspace, styles, and metadata, {@link #READS} times */
+    private int traverse(List<LayerInfo> layers) {
+        int count = 0;
+        for (LayerInfo layer : layers) {
+            for (int i = 0; i < READS; i++) {
+                ResourceInfo resource = layer.getResource();
+                String workspace = resource.getStore().getWorkspace().getName();
+                String namespace = resource.getNamespace().getPrefix();
+                if (workspace == null || namespace == null) {
+                    throw new IllegalStateException();
+                }
+                resource.getMetadata().get("key");
+                layer.getDefaultStyle().getName();
+                for (StyleInfo style : layer.getStyles()) {
+                    style.getName();
+                }
+            }
+            count++;
+        }
+        return count;
+    }
+
+    private static class Result {
+        final String name;
+        final long cpuMillis;
+        final long wallMillis;
+
+        Result(String name, long cpuMillis, long wallMillis) {
+            this.name = name;
+            this.cpuMillis = cpuMillis;
+            this.wallMillis = wallMillis;
+        }
+
+        String relativeTo(Result base) {
+            return String.format(
+                    "%s (%.0f%% CPU time of %s)",
+                    this, 100d * cpuMillis / Math.max(1, base.cpuMillis), base.name);
+        }
+
+        public @Override String toString() {
+            return String.format(
+                    "%s: traversed in %,d ms CPU time, %,d ms wall time",
+                    name, cpuMillis, wallMillis);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.catalog.plugin;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+public class TopKSelectorTest {
+
+    public @Test void sameAsStableSortAndLimit() {
+        Random random = new Random(1);
+        List<int[]> values = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            // few distinct keys to check ties keep their encounter order
+            values.add(new int[] {random.nextInt(50), i});
+        }
+        Comparator<int[]> byKey = Comparator.comparingInt(v -> v[0]);
+        for (int k : new int[] {0, 1, 10, 999, 1000, 2000}) {
+            assertTopK(values, byKey, k);
+            assertTopK(values, byKey.reversed(), k);
+        }
+    }
+
+    private void assertTopK(List<int[]> values, Comparator<int[]> comparator, int k) {
+        List<String> expected =
+                values.stream()
+                        .sorted(comparator)
+                        .limit(k)
+                        .map(v -> v[0] + ":" + v[1])
+                        .collect(Collectors.toList());
+
+        TopKSelector<int[]> topK = new TopKSelector<>(k, comparator);
+        values.forEach(topK::add);
+        List<String> actual =
+                topK.toList().stream().map(v -> v[0] + ":" + v[1]).collect(Collectors.toList());
+        assertEquals(expected, actual);
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.catalog.plugin.resolving;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.CatalogTestData;
+import org.geoserver.catalog.Info;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.ResourceInfo;
+import org.geoserver.catalog.StoreInfo;
+import org.geoserver.catalog.StyleInfo;
+import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.catalog.impl.DataStoreInfoImpl;
+import org.geoserver.catalog.impl.FeatureTypeInfoImpl;
+import org.geoserver.catalog.impl.LayerInfoImpl;
+import org.geoserver.catalog.impl.ResolvingProxy;
+import org.geoserver.catalog.impl.WorkspaceInfoImpl;
+import org.geoserver.catalog.plugin.CatalogPlugin;
+import org.geoserver.catalog.plugin.resolving.ResolvingProxyResolver.MemoizingProxyResolver;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class ResolvingProxyResolverTest {
+
+    private CatalogPlugin catalog;
+    private CatalogTestData data;
+
+    public @Before void setup() {
+        catalog = new CatalogPlugin();
+        data = CatalogTestData.empty(() -> catalog, () -> null).initConfig(false).initialize();
+        data.addObjects();
+    }
+
+    public @Test void memoizingPrefetchesBatchReferences() {
+        List<LayerInfo> batch = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            LayerInfo layer = new LayerInfoImpl();
+            layer.setResource(
+                    ResolvingProxy.create(data.featureTypeA.getId(), ResourceInfo.class));
+            layer.setDefaultStyle(ResolvingProxy.create(data.style1.getId(), StyleInfo.class));
+            layer.getStyles().add(ResolvingProxy.create(data.style2.getId(), StyleInfo.class));
+            batch.add(layer);
+        }
+
+        MemoizingProxyResolver<LayerInfo> resolver = ResolvingProxyResolver.of(catalog).memoizing();
+        resolver.prefetch(batch);
+        assertEquals(3, resolver.getResolutions());
+        assertEquals(3, resolver.size());
+        assertEquals(0, resolver.getHits());
+
+        batch.forEach(resolver::resolve);
+        assertEquals(3, resolver.getResolutions());
+        assertEquals(30, resolver.getHits());
+        for (LayerInfo layer : batch) {
+            assertResolved(layer.getResource(), data.featureTypeA.getId());
+            assertResolved(layer.getDefaultStyle(), data.style1.getId());
+            assertResolved(layer.getStyles().iterator().next(), data.style2.getId());
+        }
+
+        // already memoized references are not fetched again
+        resolver.prefetch(batch);
+        assertEquals(3, resolver.getResolutions());
+    }
+
+    public @Test void memoizingBatchLoaderPrefetchesObjectGraph() {
+        // objects as they'd come from a remote service, with unresolved references
+        WorkspaceInfoImpl ws = new WorkspaceInfoImpl();
+        ws.setId("ws-id");
+        DataStoreInfoImpl store = new DataStoreInfoImpl(catalog);
+        store.setId("store-id");
+        store.setWorkspace(ResolvingProxy.create(ws.getId(), WorkspaceInfo.class));
+        FeatureTypeInfoImpl resource = new FeatureTypeInfoImpl(catalog);
+        resource.setId("resource-id");
+        resource.setStore(ResolvingProxy.create(store.getId(), StoreInfo.class));
+        Map<String, CatalogInfo> remote = new HashMap<>();
+        List.of(ws, store, resource).forEach(info -> remote.put(info.getId(), info));
+
+        List<Map<Class<? extends CatalogInfo>, Set<String>>> calls = new ArrayList<>();
+        ResolvingProxyResolver<LayerInfo> proxyResolver = ResolvingProxyResolver.of(catalog);
+        proxyResolver.setBatchLoader(
+                ids -> {
+                    calls.add(ids);
+                    return ids.values().stream().flatMap(Set::stream).map(remote::get);
+                });
+        MemoizingProxyResolver<LayerInfo> resolver = proxyResolver.memoizing();
+
+        LayerInfo layer = new LayerInfoImpl();
+        layer.setResource(ResolvingProxy.create(resource.getId(), ResourceInfo.class));
+        resolver.prefetch(List.of(layer));
+
+        // one call per graph level
+        assertEquals(3, calls.size());
+        assertEquals(Map.of(ResourceInfo.class, Set.of(resource.getId())), calls.get(0));
+        assertEquals(Map.of(StoreInfo.class, Set.of(store.getId())), calls.get(1));
+        assertEquals(Map.of(WorkspaceInfo.class, Set.of(ws.getId())), calls.get(2));
+        assertEquals(3, resolver.getResolutions());
+
+        resolver.resolve(layer);
+        assertSame(resource, layer.getResource());
+        assertSame(store, resource.getStore());
+        assertSame(ws, store.getWorkspace());
+    }
+
+    public @Test void memoizeResolvesAgainstMemoizedObjects() {
+        WorkspaceInfoImpl ws = new WorkspaceInfoImpl();
+        ws.setId("ws-id");
+        DataStoreInfoImpl store = new DataStoreInfoImpl(catalog);
+        store.setId("store-id");
+        store.setWorkspace(ResolvingProxy.create(ws.getId(), WorkspaceInfo.class));
+
+        MemoizingProxyResolver<StoreInfo> resolver = ResolvingProxyResolver.of(catalog).memoizing();
+        resolver.memoize(List.of(store, ws));
+        assertEquals(2, resolver.size());
+        assertEquals(0, resolver.getResolutions());
+        assertSame(ws, store.getWorkspace());
+
+        DataStoreInfoImpl other = new DataStoreInfoImpl(catalog);
+        other.setId("other-id");
+        other.setWorkspace(ResolvingProxy.create(ws.getId(), WorkspaceInfo.class));
+        resolver.resolve(other);
+        assertSame(ws, other.getWorkspace());
+        assertEquals(0, resolver.getResolutions());
+    }
+
+    public @Test void memoizingResolvesOnceWithoutPrefetch() {
+        MemoizingProxyResolver<LayerInfo> resolver = ResolvingProxyResolver.of(catalog).memoizing();
+        for (int i = 0; i < 5; i++) {
+            LayerInfo layer = new LayerInfoImpl();
+            layer.setResource(
+                    ResolvingProxy.create(data.featureTypeA.getId(), ResourceInfo.class));
+            resolver.resolve(layer);
+            assertResolved(layer.getResource(), data.featureTypeA.getId());
+        }
+        assertEquals(1, resolver.getResolutions());
+        assertEquals(4, resolver.getHits());
+
+        resolver.clear();
+        assertEquals(0, resolver.size());
+    }
+
+    private void assertResolved(Info info, String expectedId) {
+        assertEquals(expectedId, info.getId());
+        boolean isResolvingProxy =
+                Proxy.isProxyClass(info.getClass())
+                        && Proxy.getInvocationHandler(info) instanceof ResolvingProxy;
+        assertFalse(isResolvingProxy);
+        assertTrue(info instanceof ResourceInfo || info instanceof StyleInfo);
+    }
+}
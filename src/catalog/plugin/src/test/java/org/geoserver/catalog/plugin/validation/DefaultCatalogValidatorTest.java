@@ -0,0 +1,98 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.catalog.plugin.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import org.geoserver.catalog.CatalogTestData;
+import org.geoserver.catalog.LayerGroupInfo;
+import org.geoserver.catalog.impl.LayerGroupInfoImpl;
+import org.geoserver.catalog.impl.WorkspaceInfoImpl;
+import org.geoserver.catalog.plugin.CatalogPlugin;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Stack;
+
+public class DefaultCatalogValidatorTest {
+
+    private CatalogPlugin catalog;
+    private CatalogTestData data;
+    private DefaultCatalogValidator validator;
+
+    public @Before void setup() {
+        catalog = new CatalogPlugin();
+        data = CatalogTestData.empty(() -> catalog, () -> null).initConfig(false).initialize();
+        data.addObjects();
+        validator = new DefaultCatalogValidator(catalog);
+    }
+
+    public @Test void validateUpdateOnlyRunsAffectedRules() {
+        WorkspaceInfoImpl ws = new WorkspaceInfoImpl();
+        ws.setId(data.workspaceA.getId());
+        ws.setName(data.workspaceB.getName());
+
+        // uniqueness check skipped, the name didn't change
+        validator.validateUpdate(ws, List.of("dateModified"));
+
+        IllegalArgumentException e =
+                assertThrows(
+                        IllegalArgumentException.class,
+                        () -> validator.validateUpdate(ws, List.of("Name")));
+        assertTrue(e.getMessage().contains("already exists"));
+
+        // cheap rules always run
+        ws.setName(null);
+        assertThrows(
+                NullPointerException.class,
+                () -> validator.validateUpdate(ws, List.of("dateModified")));
+    }
+
+    public @Test void findLoop() {
+        LayerGroupInfo root = group("root");
+        LayerGroupInfo left = group("left");
+        LayerGroupInfo right = group("right");
+        LayerGroupInfo shared = group("shared");
+        root.getLayers().add(left);
+        root.getLayers().add(right);
+        left.getLayers().add(shared);
+        right.getLayers().add(shared);
+        shared.getLayers().add(data.layerFeatureTypeA);
+
+        assertNull(DefaultCatalogValidator.findLoop(root));
+
+        shared.getLayers().add(root);
+        Stack<LayerGroupInfo> loop = DefaultCatalogValidator.findLoop(root);
+        assertNotNull(loop);
+        assertEquals(root.getId(), loop.firstElement().getId());
+        assertEquals(root.getId(), loop.peek().getId());
+    }
+
+    public @Test void layerGroupLoopRejectedOnlyWhenLayersChange() {
+        LayerGroupInfo lg = catalog.getLayerGroup(data.layerGroup1.getId());
+        lg.getLayers().add(data.layerGroup1);
+        lg.getStyles().add(null);
+
+        validator.validateUpdate(lg, List.of("title"));
+
+        IllegalArgumentException e =
+                assertThrows(
+                        IllegalArgumentException.class,
+                        () -> validator.validateUpdate(lg, List.of("layers", "styles")));
+        assertTrue(e.getMessage().contains("loop"));
+    }
+
+    private LayerGroupInfo group(String name) {
+        LayerGroupInfoImpl lg = new LayerGroupInfoImpl();
+        lg.setId(name + "-id");
+        lg.setName(name);
+        return lg;
+    }
+}
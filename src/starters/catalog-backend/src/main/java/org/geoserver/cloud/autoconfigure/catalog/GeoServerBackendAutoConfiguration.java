@@ -8,6 +8,8 @@ import org.geoserver.cloud.config.catalog.CoreBackendConfiguration;
 import org.geoserver.cloud.config.catalog.XstreamServiceLoadersConfiguration;
 import org.geotools.autoconfigure.httpclient.GeoToolsHttpClientAutoConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 
@@ -19,9 +21,14 @@ import org.springframework.context.annotation.Import;
  * configurations there exist, and also we only need to register this single class in {@code
  * META-INF/spring.factories} regardless of how many backend configs there are in the future
  * (provided their configs are included in this class' {@code @Import} list)
+ *
+ * <p>Runs before {@link CacheAutoConfiguration} so that, if enabled, the backend cache's {@link
+ * org.geoserver.cloud.catalog.caching.BackendCacheManager} takes the place of the default {@code
+ * CacheManager}.
  */
 @Configuration(proxyBeanMethods = false)
 @AutoConfigureAfter(GeoToolsHttpClientAutoConfiguration.class)
+@AutoConfigureBefore(CacheAutoConfiguration.class)
 @Import({ //
     CoreBackendConfiguration.class, //
     XstreamServiceLoadersConfiguration.class, //
@@ -0,0 +1,54 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.autoconfigure.metrics.catalog;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.geoserver.cloud.catalog.caching.BackendCacheManager;
+import org.geoserver.cloud.catalog.caching.CacheRegion;
+import org.geoserver.cloud.catalog.caching.RegionalCache;
+
+/**
+ * Registers the catalog and config backend cache metrics to be exported by micrometer's {@link
+ * MeterRegistry}, one set of Caffeine {@literal cache.*} metrics (e.g. {@literal cache.gets}
+ * tagged with {@literal result=hit|miss}, {@literal cache.evictions}, {@literal cache.size}) per
+ * cache {@link CacheRegion region}.
+ *
+ * <p>Metrics are tagged with the {@literal cache} name (e.g. {@literal gs-catalog}), the {@literal
+ * region} name (e.g. {@literal layer}), and the {@literal instance-id} if configured.
+ *
+ * @see BackendCacheManager
+ * @since 1.0
+ */
+@RequiredArgsConstructor
+@Slf4j(topic = "org.geoserver.cloud.metrics.catalog")
+public class BackendCacheMetrics implements MeterBinder {
+
+    private final @NonNull GeoSeverMetricsConfigProperties metricsConfig;
+    private final @NonNull BackendCacheManager cacheManager;
+
+    public @Override void bindTo(@NonNull MeterRegistry registry) {
+        if (!metricsConfig.isEnabled()) {
+            return;
+        }
+        final String instanceIdTag = metricsConfig.getInstanceId();
+        for (RegionalCache cache : cacheManager.getRegionalCaches()) {
+            for (CacheRegion region : cache.getRegions()) {
+                Tags tags = Tags.of("region", region.getName());
+                if (null != instanceIdTag) tags = tags.and("instance-id", instanceIdTag);
+                CaffeineCacheMetrics.monitor(
+                        registry, cache.getNativeCache(region), cache.getName(), tags);
+            }
+        }
+        log.info("GeoServer backend cache metrics enabled.");
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.autoconfigure.metrics.catalog;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.geoserver.cloud.catalog.client.repository.CatalogClientCallAdapter;
+import org.geoserver.cloud.catalog.client.repository.CatalogClientCallAdapter.Outcome;
+
+import java.time.Duration;
+
+/**
+ * Registers the {@code catalog-service} client call metrics to be exported by micrometer's {@link
+ * MeterRegistry}:
+ *
+ * <ul>
+ *   <li>{@literal geoserver.catalog.client.calls}: timer tagged with the {@literal endpoint} (e.g.
+ *       {@literal layers}) and the {@literal outcome} ({@literal
+ *       success|error|timeout|rejected|cancelled})
+ *   <li>{@literal geoserver.catalog.client.circuits.open}: number of endpoints whose circuit
+ *       breaker is open
+ *   <li>{@literal executor.*} metrics of the call adapter thread pool, named {@literal
+ *       catalog-client}
+ * </ul>
+ *
+ * <p>Metrics are tagged with the {@literal instance-id} if configured.
+ *
+ * @see CatalogClientCallAdapter
+ * @since 1.0
+ */
+@RequiredArgsConstructor
+@Slf4j(topic = "org.geoserver.cloud.metrics.catalog")
+public class CatalogClientCallMetrics implements MeterBinder {
+
+    private final @NonNull GeoSeverMetricsConfigProperties metricsConfig;
+    private final @NonNull CatalogClientCallAdapter callAdapter;
+
+    public @Override void bindTo(@NonNull MeterRegistry registry) {
+        if (!metricsConfig.isEnabled()) {
+            return;
+        }
+        final String instanceIdTag = metricsConfig.getInstanceId();
+        final Tags tags =
+                null == instanceIdTag ? Tags.empty() : Tags.of("instance-id", instanceIdTag);
+
+        new ExecutorServiceMetrics(callAdapter.getExecutor(), "catalog-client", tags)
+                .bindTo(registry);
+
+        Gauge.builder(
+                        "geoserver.catalog.client.circuits.open",
+                        callAdapter,
+                        CatalogClientCallAdapter::getOpenCircuits)
+                .description("Number of catalog-service endpoints whose circuit is open")
+                .tags(tags)
+                .register(registry);
+
+        callAdapter.setListener(
+                (String endpoint, Outcome outcome, Duration elapsed) ->
+                        Timer.builder("geoserver.catalog.client.calls")
+                                .description("catalog-service client calls")
+                                .tags(tags)
+                                .tag("endpoint", endpoint)
+                                .tag("outcome", outcome.name().toLowerCase())
+                                .register(registry)
+                                .record(elapsed));
+
+        log.info("GeoServer catalog-service client metrics enabled.");
+    }
+}
@@ -4,8 +4,12 @@
  */
 package org.geoserver.cloud.autoconfigure.metrics.catalog;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
 import io.micrometer.core.instrument.binder.MeterBinder;
 
 import lombok.NonNull;
@@ -13,9 +17,12 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.plugin.AsyncCatalogEventDispatcher;
+import org.geoserver.catalog.plugin.CatalogPlugin;
 import org.geoserver.config.GeoServer;
 import org.geoserver.config.GeoServerInfo;
 
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 /**
@@ -35,6 +42,24 @@ import java.util.function.Supplier;
  *       this instance's Catalog
  * </ul>
  *
+ * <p>And if the catalog's {@link CatalogPlugin#setAsyncEventDispatch(boolean) asynchronous event
+ * dispatch} is enabled:
+ *
+ * <ul>
+ *   <li>{@literal geoserver.catalog.events.queued}: Number of catalog events waiting to be
+ *       delivered to asynchronous listeners
+ *   <li>{@literal geoserver.catalog.events.queue.capacity}: Maximum number of catalog events
+ *       waiting to be delivered to asynchronous listeners
+ *   <li>{@literal geoserver.catalog.events.blocked}: Number of times a thread modifying the
+ *       catalog had to wait for room in the asynchronous listeners queue
+ *   <li>{@literal geoserver.catalog.events.latency}: Time between catalog events being published
+ *       and delivered to asynchronous listeners
+ *   <li>{@literal geoserver.catalog.events.latency.max}: Maximum time between a catalog event being
+ *       published and delivered to asynchronous listeners
+ *   <li>{@literal geoserver.catalog.events.failed}: Number of times an asynchronous listener failed
+ *       handling a catalog event
+ * </ul>
+ *
  * <p>All metrics are tagged with the {@literal instance-id} key, whose value is resolved through
  * <code>${geoserver.metrics.instance-id}</code>, which usually should be the same as <code>
  * ${info.instance-id}</code>.
@@ -48,6 +73,7 @@ public class CatalogMetrics implements MeterBinder {
     private final @NonNull GeoSeverMetricsConfigProperties metricsConfig;
     private final @NonNull Catalog catalog;
     private final @NonNull GeoServer config;
+    private final @NonNull Catalog rawCatalog;
 
     private MetricsCatalogListener listener;
 
@@ -61,11 +87,69 @@ public class CatalogMetrics implements MeterBinder {
             catalog.addListener(listener = new MetricsCatalogListener(registry, instanceIdTag));
 
             registerUpdateSequence(registry, instanceIdTag);
+            if (rawCatalog instanceof CatalogPlugin) {
+                ((CatalogPlugin) rawCatalog)
+                        .getAsyncEventDispatcher()
+                        .ifPresent(d -> registerEventDispatcher(d, registry, instanceIdTag));
+            }
 
             log.info("GeoServer Catalog and config metrics enabled.");
         }
     }
 
+    private void registerEventDispatcher(
+            AsyncCatalogEventDispatcher dispatcher, MeterRegistry registry, String instanceIdTag) {
+        final Tags tags =
+                null == instanceIdTag ? Tags.empty() : Tags.of("instance-id", instanceIdTag);
+        Gauge.builder(
+                        "geoserver.catalog.events.queued",
+                        dispatcher,
+                        AsyncCatalogEventDispatcher::getQueueSize)
+                .description("Catalog events waiting to be delivered to asynchronous listeners")
+                .baseUnit("events")
+                .tags(tags)
+                .register(registry);
+        Gauge.builder(
+                        "geoserver.catalog.events.queue.capacity",
+                        dispatcher,
+                        AsyncCatalogEventDispatcher::getQueueCapacity)
+                .description("Maximum catalog events waiting to be delivered")
+                .baseUnit("events")
+                .tags(tags)
+                .register(registry);
+        FunctionCounter.builder(
+                        "geoserver.catalog.events.blocked",
+                        dispatcher,
+                        AsyncCatalogEventDispatcher::getBlocked)
+                .description("Times a catalog event publisher waited for room in the queue")
+                .tags(tags)
+                .register(registry);
+        FunctionTimer.builder(
+                        "geoserver.catalog.events.latency",
+                        dispatcher,
+                        AsyncCatalogEventDispatcher::getDispatched,
+                        d -> d.getTotalLatency(TimeUnit.NANOSECONDS),
+                        TimeUnit.NANOSECONDS)
+                .description("Time between catalog events being published and delivered")
+                .tags(tags)
+                .register(registry);
+        TimeGauge.builder(
+                        "geoserver.catalog.events.latency.max",
+                        dispatcher,
+                        TimeUnit.NANOSECONDS,
+                        d -> d.getMaxLatency(TimeUnit.NANOSECONDS))
+                .description("Maximum time between a catalog event being published and delivered")
+                .tags(tags)
+                .register(registry);
+        FunctionCounter.builder(
+                        "geoserver.catalog.events.failed",
+                        dispatcher,
+                        AsyncCatalogEventDispatcher::getFailed)
+                .description("Times an asynchronous catalog listener failed handling an event")
+                .tags(tags)
+                .register(registry);
+    }
+
     private void registerUpdateSequence(MeterRegistry registry, final String instanceIdTag) {
         Supplier<Number> updateSequence = () -> config.getGlobal().getUpdateSequence();
         Gauge.Builder<Supplier<Number>> updateSeqBuilder =
@@ -7,6 +7,9 @@ package org.geoserver.cloud.autoconfigure.metrics.catalog;
 import io.micrometer.core.instrument.MeterRegistry;
 
 import org.geoserver.catalog.Catalog;
+import org.geoserver.cloud.autoconfigure.catalog.ConditionalOnBackendCacheEnabled;
+import org.geoserver.cloud.catalog.caching.BackendCacheManager;
+import org.geoserver.cloud.catalog.client.repository.CatalogClientCallAdapter;
 import org.geoserver.config.GeoServer;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
@@ -23,7 +26,13 @@ import org.springframework.context.annotation.Configuration;
  * {@link EnableAutoConfiguration Auto-configuration} for {@link Catalog} and {@link GeoServer}
  * metrics; depends on the {@literal geoserver.metrics.enabled=true} configuration property.
  *
+ * <p>Also exports the backend cache metrics if {@link ConditionalOnBackendCacheEnabled backend
+ * caching} is enabled, and the {@code catalog-service} client call metrics if the {@code
+ * catalog-service} backend is in use.
+ *
  * @see CatalogMetrics
+ * @see BackendCacheMetrics
+ * @see CatalogClientCallMetrics
  * @since 1.0
  */
 @Configuration(proxyBeanMethods = false)
@@ -36,8 +45,33 @@ public class CatalogMetricsAutoConfiguration {
     public @Bean CatalogMetrics geoserverCatalogMetrics( //
             GeoSeverMetricsConfigProperties metricsConfig, //
             @Qualifier("catalog") Catalog catalog, //
-            @Qualifier("geoServer") GeoServer config) {
+            @Qualifier("geoServer") GeoServer config, //
+            @Qualifier("rawCatalog") Catalog rawCatalog) {
+
+        return new CatalogMetrics(metricsConfig, catalog, config, rawCatalog);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnBackendCacheEnabled
+    static class BackendCacheMetricsConfiguration {
+
+        public @Bean BackendCacheMetrics geoserverBackendCacheMetrics( //
+                GeoSeverMetricsConfigProperties metricsConfig, //
+                BackendCacheManager cacheManager) {
+
+            return new BackendCacheMetrics(metricsConfig, cacheManager);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnBean(CatalogClientCallAdapter.class)
+    static class CatalogClientCallMetricsConfiguration {
+
+        public @Bean CatalogClientCallMetrics geoserverCatalogClientCallMetrics( //
+                GeoSeverMetricsConfigProperties metricsConfig, //
+                CatalogClientCallAdapter callAdapter) {
 
-        return new CatalogMetrics(metricsConfig, catalog, config);
+            return new CatalogClientCallMetrics(metricsConfig, callAdapter);
+        }
     }
 }
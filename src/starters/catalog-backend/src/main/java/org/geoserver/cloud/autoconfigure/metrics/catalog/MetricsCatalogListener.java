@@ -13,14 +13,15 @@ import lombok.NonNull;
 
 import org.geoserver.catalog.CatalogException;
 import org.geoserver.catalog.event.CatalogAddEvent;
-import org.geoserver.catalog.event.CatalogListener;
 import org.geoserver.catalog.event.CatalogModifyEvent;
 import org.geoserver.catalog.event.CatalogPostModifyEvent;
 import org.geoserver.catalog.event.CatalogRemoveEvent;
+import org.geoserver.catalog.plugin.AsyncCatalogListener;
 
 import javax.annotation.Nullable;
 
-class MetricsCatalogListener implements CatalogListener {
+/** Counts catalog events, can be notified asynchronously */
+class MetricsCatalogListener implements AsyncCatalogListener {
 
     private final Counter added;
     private final Counter removed;
@@ -16,6 +16,7 @@ import org.geoserver.catalog.WorkspaceInfo;
 import org.geoserver.catalog.impl.ResolvingProxy;
 import org.geoserver.cloud.catalog.caching.CachingCatalogFacade;
 import org.geoserver.cloud.catalog.caching.CachingGeoServerFacade;
+import org.geoserver.cloud.event.catalog.CatalogInfoAddEvent;
 import org.geoserver.cloud.event.catalog.CatalogInfoModifyEvent;
 import org.geoserver.cloud.event.catalog.CatalogInfoRemoveEvent;
 import org.geoserver.cloud.event.catalog.DefaultDataStoreEvent;
@@ -73,6 +74,12 @@ public @Service class RemoteEventCacheEvictor {
                 });
     }
 
+    @EventListener(classes = {CatalogInfoAddEvent.class})
+    public void onCatalogInfoAddEvent(CatalogInfoAddEvent event) {
+        // nothing's cached for a new object but the misses it's now found by
+        evictEntry(event, () -> catalog.evictMisses(event.getObject()));
+    }
+
     @EventListener(classes = {CatalogInfoRemoveEvent.class})
     public void onCatalogInfoRemoveEvent(CatalogInfoRemoveEvent event) {
         evictCatalogInfo(event);
@@ -81,7 +88,8 @@ public @Service class RemoteEventCacheEvictor {
     @EventListener(classes = {CatalogInfoModifyEvent.class})
     public void onCatalogInfoModifyEvent(CatalogInfoModifyEvent event) {
         if (CatalogInfoModifyEvent.class.equals(event.getClass())) {
-            evictCatalogInfo(event);
+            // evicts the name cache entry too if the patch renames the object
+            evictEntry(event, () -> catalog.evict(proxyOf(event), event.getPatch()));
         }
     }
 
@@ -163,15 +171,13 @@ public @Service class RemoteEventCacheEvictor {
     }
 
     private void evictCatalogInfo(InfoEvent<?, ?> event) {
-        evictEntry(
-                event,
-                () -> {
-                    String objectId = event.getObjectId();
-                    ConfigInfoType infoType = event.getObjectType();
-                    CatalogInfo info =
-                            (CatalogInfo) ResolvingProxy.create(objectId, infoType.getType());
-                    return catalog.evict(info);
-                });
+        evictEntry(event, () -> catalog.evict(proxyOf(event)));
+    }
+
+    private CatalogInfo proxyOf(InfoEvent<?, ?> event) {
+        String objectId = event.getObjectId();
+        ConfigInfoType infoType = event.getObjectType();
+        return (CatalogInfo) ResolvingProxy.create(objectId, infoType.getType());
     }
 
     public void evictConfigEntry(InfoEvent<?, ?> event) {
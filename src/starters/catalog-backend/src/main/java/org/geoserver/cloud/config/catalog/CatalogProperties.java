@@ -14,4 +14,18 @@ public @Data class CatalogProperties {
     private boolean secure = true;
     private boolean localWorkspace = true;
     private boolean advertised = true;
+
+    /**
+     * Whether to notify the catalog listeners that don't need to run on the thread modifying the
+     * catalog (e.g. metrics) asynchronously, see {@link
+     * org.geoserver.catalog.plugin.CatalogPlugin#setAsyncEventDispatch(boolean)}
+     */
+    private boolean asyncEvents = false;
+
+    /**
+     * Whether to hand out catalog objects without a {@code ModificationProxy} to the OWS
+     * operations that don't modify the catalog (e.g. GetMap, GetFeature), see {@link
+     * org.geoserver.catalog.plugin.ReadOnlyCatalogDispatcherCallback}
+     */
+    private boolean readOnlyDispatch = false;
 }
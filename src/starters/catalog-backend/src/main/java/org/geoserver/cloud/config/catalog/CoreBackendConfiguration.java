@@ -10,6 +10,7 @@ import org.geoserver.catalog.impl.AdvertisedCatalog;
 import org.geoserver.catalog.impl.LocalWorkspaceCatalog;
 import org.geoserver.catalog.plugin.CatalogPlugin;
 import org.geoserver.catalog.plugin.ExtendedCatalogFacade;
+import org.geoserver.catalog.plugin.ReadOnlyCatalogDispatcherCallback;
 import org.geoserver.cloud.autoconfigure.security.ConditionalOnGeoServerSecurityDisabled;
 import org.geoserver.cloud.autoconfigure.security.ConditionalOnGeoServerSecurityEnabled;
 import org.geoserver.config.GeoServerDataDirectory;
@@ -22,6 +23,7 @@ import org.geoserver.platform.GeoServerResourceLoader;
 import org.geoserver.security.SecureCatalogImpl;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -56,9 +58,23 @@ public class CoreBackendConfiguration {
         boolean isolated = properties.isIsolated();
         CatalogPlugin rawCatalog = new CatalogPlugin(catalogFacade, isolated);
         rawCatalog.setResourceLoader(resourceLoader);
+        rawCatalog.setAsyncEventDispatch(properties.isAsyncEvents());
         return rawCatalog;
     }
 
+    /**
+     * Runs the OWS operations that don't modify the catalog in a {@link
+     * org.geoserver.catalog.plugin.ReadOnlyCatalogScope}, see {@link
+     * CatalogProperties#isReadOnlyDispatch()}
+     */
+    @ConditionalOnProperty(
+            name = "geoserver.catalog.read-only-dispatch",
+            havingValue = "true",
+            matchIfMissing = false)
+    public @Bean ReadOnlyCatalogDispatcherCallback readOnlyCatalogDispatcherCallback() {
+        return new ReadOnlyCatalogDispatcherCallback();
+    }
+
     /**
      * @return {@link SecureCatalogImpl} decorator if {@code properties.isSecure() == true}, {@code
      *     rawCatalog} otherwise.
@@ -19,4 +19,21 @@ public @Data class DataDirectoryProperties {
 
     private boolean enabled;
     private Path location;
+
+    /**
+     * Whether to keep the catalog in memory optimized mode, interning repeated strings and sharing
+     * empty collections, see {@link
+     * org.geoserver.catalog.plugin.DefaultMemoryCatalogFacade#setCompact(boolean)}
+     */
+    private boolean compact;
+
+    /**
+     * Whether updates replace catalog objects by patched copies and readers iterate immutable
+     * snapshots, see {@link
+     * org.geoserver.catalog.plugin.DefaultMemoryCatalogFacade#setSnapshotReads(boolean)}
+     */
+    private boolean snapshotReads;
+
+    /** Whether to log the estimated heap footprint of the catalog once loaded */
+    private boolean logHeapFootprint;
 }
@@ -7,18 +7,25 @@ package org.geoserver.cloud.config.catalogclient;
 import lombok.extern.slf4j.Slf4j;
 
 import org.geoserver.catalog.plugin.ExtendedCatalogFacade;
+import org.geoserver.cloud.autoconfigure.catalog.event.ConditionalOnCatalogEvents;
 import org.geoserver.cloud.catalog.client.impl.CatalogClientCatalogFacade;
 import org.geoserver.cloud.catalog.client.impl.CatalogClientConfiguration;
 import org.geoserver.cloud.catalog.client.impl.CatalogClientGeoServerFacade;
+import org.geoserver.cloud.catalog.client.impl.CatalogClientNearCacheFacade;
+import org.geoserver.cloud.catalog.client.impl.CatalogClientProperties.Calls;
+import org.geoserver.cloud.catalog.client.impl.CatalogClientProperties.NearCache;
 import org.geoserver.cloud.catalog.client.impl.CatalogClientResourceStore;
+import org.geoserver.cloud.catalog.client.repository.CatalogClientCallAdapter;
 import org.geoserver.cloud.config.catalog.GeoServerBackendConfigurer;
 import org.geoserver.cloud.config.catalog.GeoServerBackendProperties;
 import org.geoserver.config.GeoServerFacade;
+import org.geoserver.config.GeoServerInfo;
 import org.geoserver.config.GeoServerLoader;
 import org.geoserver.platform.GeoServerResourceLoader;
 import org.geoserver.platform.resource.FileSystemResourceStore;
 import org.geoserver.platform.resource.ResourceStore;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.DependsOn;
@@ -27,6 +34,8 @@ import org.springframework.core.env.Environment;
 
 import java.io.File;
 
+import javax.annotation.PostConstruct;
+
 @Configuration(proxyBeanMethods = true)
 @Import(CatalogClientConfiguration.class)
 @Slf4j(topic = "org.geoserver.cloud.config.catalogclient")
@@ -35,6 +44,7 @@ public class CatalogClientBackendConfigurer implements GeoServerBackendConfigure
     private @Autowired CatalogClientCatalogFacade catalogClientFacade;
     private @Autowired CatalogClientGeoServerFacade configClientFacade;
     private @Autowired CatalogClientResourceStore catalogServiceResourceStore;
+    private @Autowired CatalogClientCallAdapter catalogClientCallAdapter;
 
     private @Autowired GeoServerBackendProperties configProps;
 
@@ -44,8 +54,46 @@ public class CatalogClientBackendConfigurer implements GeoServerBackendConfigure
                 CatalogClientBackendConfigurer.class.getSimpleName());
     }
 
+    /** Applies {@code geoserver.backend.catalog-service.calls.*} to the call adapter */
+    public @PostConstruct void configureCallAdapter() {
+        Calls calls = configProps.getCatalogService().getCalls();
+        catalogClientCallAdapter.setMaxThreads(calls.getMaxThreads());
+        catalogClientCallAdapter.setTimeout(calls.getTimeout());
+        catalogClientCallAdapter.setFailureThreshold(
+                calls.getCircuitBreaker().getFailureThreshold());
+        catalogClientCallAdapter.setOpenDuration(calls.getCircuitBreaker().getOpenDuration());
+    }
+
+    /**
+     * @return the catalog-service client facade, or a {@link CatalogClientNearCacheFacade} serving
+     *     reads from a local replica if {@code
+     *     geoserver.backend.catalog-service.near-cache.enabled=true}
+     */
     public @Override @Bean ExtendedCatalogFacade catalogFacade() {
-        return catalogClientFacade;
+        catalogClientFacade.setExpandReferences(
+                configProps.getCatalogService().isExpandReferences());
+        NearCache nearCache = configProps.getCatalogService().getNearCache();
+        if (!nearCache.isEnabled()) {
+            return catalogClientFacade;
+        }
+        CatalogClientNearCacheFacade facade =
+                new CatalogClientNearCacheFacade(catalogClientFacade, this::remoteUpdateSequence);
+        facade.setConsistencyCheckInterval(nearCache.getConsistencyCheckInterval());
+        return facade;
+    }
+
+    private long remoteUpdateSequence() {
+        GeoServerInfo global = configClientFacade.getGlobal();
+        return global == null ? 0 : global.getUpdateSequence();
+    }
+
+    @ConditionalOnCatalogEvents
+    @ConditionalOnProperty(
+            name = "geoserver.backend.catalog-service.near-cache.enabled",
+            havingValue = "true")
+    public @Bean CatalogClientNearCacheEventProcessor catalogClientNearCacheEventProcessor() {
+        return new CatalogClientNearCacheEventProcessor(
+                (CatalogClientNearCacheFacade) catalogFacade());
     }
 
     public @Override @Bean GeoServerFacade geoserverFacade() {
@@ -71,7 +119,12 @@ public class CatalogClientBackendConfigurer implements GeoServerBackendConfigure
         "wmtsLoader"
     })
     public @Override @Bean GeoServerLoader geoServerLoaderImpl() {
-        return new CatalogClientGeoServerLoader(resourceLoader());
+        ExtendedCatalogFacade facade = catalogFacade();
+        CatalogClientNearCacheFacade nearCache =
+                facade instanceof CatalogClientNearCacheFacade
+                        ? (CatalogClientNearCacheFacade) facade
+                        : null;
+        return new CatalogClientGeoServerLoader(resourceLoader(), nearCache);
     }
 
     public @Override @Bean GeoServerResourceLoader resourceLoader() {
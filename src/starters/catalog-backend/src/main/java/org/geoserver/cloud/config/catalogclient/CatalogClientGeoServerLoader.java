@@ -8,6 +8,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import org.geoserver.catalog.Catalog;
 import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.cloud.catalog.client.impl.CatalogClientNearCacheFacade;
 import org.geoserver.config.GeoServer;
 import org.geoserver.config.GeoServerInfo;
 import org.geoserver.config.GeoServerLoader;
@@ -17,12 +18,24 @@ import org.opengis.filter.Filter;
 
 import java.io.IOException;
 
+import javax.annotation.Nullable;
+
 /** */
 @Slf4j
 public class CatalogClientGeoServerLoader extends GeoServerLoader {
 
+    private final CatalogClientNearCacheFacade nearCache;
+
     public CatalogClientGeoServerLoader(GeoServerResourceLoader resourceLoader) {
+        this(resourceLoader, null);
+    }
+
+    /** @param nearCache the catalog near cache to warm up once the catalog is loaded, if any */
+    public CatalogClientGeoServerLoader(
+            GeoServerResourceLoader resourceLoader,
+            @Nullable CatalogClientNearCacheFacade nearCache) {
         super(resourceLoader);
+        this.nearCache = nearCache;
     }
 
     protected @Override void initializeDefaultStyles(Catalog catalog) throws IOException {
@@ -47,6 +60,10 @@ public class CatalogClientGeoServerLoader extends GeoServerLoader {
                     "Unable to connect to catalog-service's catalog API during GeoServerLoader bean initialization",
                     e);
         }
+        if (nearCache != null) {
+            log.info("Warming up the catalog near cache...");
+            nearCache.warm();
+        }
     }
 
     protected @Override void loadGeoServer(GeoServer geoServer, XStreamPersister xp)
@@ -0,0 +1,137 @@
+/*
+ * (c) 2022 Open Source Geospatial Foundation - all rights reserved This code is licensed under the
+ * GPL 2.0 license, available at the root application directory.
+ */
+package org.geoserver.cloud.config.catalogclient;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.Info;
+import org.geoserver.catalog.plugin.Patch;
+import org.geoserver.cloud.catalog.client.impl.CatalogClientNearCacheFacade;
+import org.geoserver.cloud.event.catalog.DefaultDataStoreEvent;
+import org.geoserver.cloud.event.catalog.DefaultNamespaceEvent;
+import org.geoserver.cloud.event.catalog.DefaultWorkspaceEvent;
+import org.geoserver.cloud.event.config.GeoServerInfoModifyEvent;
+import org.geoserver.cloud.event.config.SettingsInfoAddEvent;
+import org.geoserver.cloud.event.config.SettingsInfoModifyEvent;
+import org.geoserver.cloud.event.config.SettingsInfoRemoveEvent;
+import org.geoserver.cloud.event.config.UpdateSequenceEvent;
+import org.geoserver.cloud.event.info.InfoAddEvent;
+import org.geoserver.cloud.event.info.InfoEvent;
+import org.geoserver.cloud.event.info.InfoPostModifyEvent;
+import org.geoserver.cloud.event.info.InfoRemoveEvent;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Listens to remote {@link InfoEvent}s and applies them to the {@link CatalogClientNearCacheFacade
+ * catalog near cache} replica, the same way {@code DataDirectoryRemoteEventProcessor} does for the
+ * data directory backend. Local events are ignored, the near cache applies the changes made through
+ * it itself.
+ *
+ * <p>{@link UpdateSequenceEvent}s, local and remote, are forwarded to {@link
+ * CatalogClientNearCacheFacade#onUpdateSequence} for its consistency checks, and so are the config
+ * changes that increment the update sequence, to {@link
+ * CatalogClientNearCacheFacade#onConfigChange}.
+ */
+@Slf4j(topic = "org.geoserver.cloud.events.catalog.nearcache")
+@RequiredArgsConstructor
+public class CatalogClientNearCacheEventProcessor {
+
+    private final @NonNull CatalogClientNearCacheFacade nearCache;
+
+    @EventListener(InfoAddEvent.class)
+    public void onRemoteAddEvent(InfoAddEvent<?, ? extends Info> event) {
+        if (event.isLocal() || !isCatalogInfo(event)) {
+            return;
+        }
+        final Info object = event.getObject();
+        if (object == null) {
+            log.error("Remote add event didn't send the object payload {}", event);
+            return;
+        }
+        log.debug("Handling remote add event {}", event);
+        nearCache.applyAdd((CatalogInfo) object);
+    }
+
+    @EventListener(InfoRemoveEvent.class)
+    public void onRemoteRemoveEvent(InfoRemoveEvent<?, ? extends Info> event) {
+        if (event.isLocal() || !isCatalogInfo(event)) {
+            return;
+        }
+        log.debug("Handling remote remove event {}", event);
+        nearCache.applyRemove(event.getObjectId(), catalogType(event));
+    }
+
+    @EventListener(InfoPostModifyEvent.class)
+    public void onRemoteModifyEvent(InfoPostModifyEvent<?, ? extends Info> event) {
+        if (event.isLocal() || !isCatalogInfo(event)) {
+            return;
+        }
+        final Patch patch = event.getPatch();
+        if (patch == null) {
+            log.error("Remote event didn't send the patch payload {}", event);
+            return;
+        }
+        log.debug("Handling remote modify event {}", event);
+        nearCache.applyUpdate(event.getObjectId(), catalogType(event), patch);
+    }
+
+    @EventListener(DefaultWorkspaceEvent.class)
+    public void onRemoteDefaultWorkspaceEvent(DefaultWorkspaceEvent event) {
+        if (event.isRemote()) {
+            nearCache.applyDefaultWorkspace(event.getNewWorkspaceId());
+        }
+    }
+
+    @EventListener(DefaultNamespaceEvent.class)
+    public void onRemoteDefaultNamespaceEvent(DefaultNamespaceEvent event) {
+        if (event.isRemote()) {
+            nearCache.applyDefaultNamespace(event.getNewNamespaceId());
+        }
+    }
+
+    @EventListener(DefaultDataStoreEvent.class)
+    public void onRemoteDefaultDataStoreEvent(DefaultDataStoreEvent event) {
+        if (event.isRemote()) {
+            nearCache.applyDefaultDataStore(event.getWorkspaceId(), event.getDefaultDataStoreId());
+        }
+    }
+
+    @EventListener(UpdateSequenceEvent.class)
+    public void onUpdateSequenceEvent(UpdateSequenceEvent event) {
+        nearCache.onUpdateSequence(event.getUpdateSequence());
+    }
+
+    /**
+     * The config changes {@code UpdateSequenceListener} increments the update sequence for: the
+     * settings ones, and the global config ones other than the update sequence change itself
+     */
+    @EventListener({
+        SettingsInfoAddEvent.class,
+        SettingsInfoModifyEvent.class,
+        SettingsInfoRemoveEvent.class,
+        GeoServerInfoModifyEvent.class
+    })
+    public void onConfigEvent(InfoEvent<?, ?> event) {
+        if (!(event instanceof UpdateSequenceEvent)) {
+            nearCache.onConfigChange();
+        }
+    }
+
+    /**
+     * @return whether the event is about a catalog object, as opposed to the catalog itself (e.g.
+     *     default workspace changes, handled by their own events) or a config object
+     */
+    private boolean isCatalogInfo(InfoEvent<?, ?> event) {
+        return CatalogInfo.class.isAssignableFrom(event.getObjectType().getType());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Class<? extends CatalogInfo> catalogType(InfoEvent<?, ?> event) {
+        return (Class<? extends CatalogInfo>) event.getObjectType().getType();
+    }
+}
@@ -51,7 +51,11 @@ public class DataDirectoryBackendConfigurer implements GeoServerBackendConfigure
     }
 
     public /* @Override */ @Bean DefaultMemoryCatalogFacade catalogFacade() {
-        return new org.geoserver.catalog.plugin.DefaultMemoryCatalogFacade();
+        DefaultMemoryCatalogFacade facade =
+                new org.geoserver.catalog.plugin.DefaultMemoryCatalogFacade();
+        facade.setCompact(this.backendConfig.getDataDirectory().isCompact());
+        facade.setSnapshotReads(this.backendConfig.getDataDirectory().isSnapshotReads());
+        return facade;
     }
 
     public /* @Override */ @Bean RepositoryGeoServerFacade geoserverFacade() {
@@ -67,7 +71,9 @@ public class DataDirectoryBackendConfigurer implements GeoServerBackendConfigure
         "wmtsLoader"
     })
     public @Override @Bean GeoServerLoader geoServerLoaderImpl() {
-        return new DataDirectoryGeoServerLoader(resourceLoader());
+        DataDirectoryGeoServerLoader loader = new DataDirectoryGeoServerLoader(resourceLoader());
+        loader.setLogHeapFootprint(this.backendConfig.getDataDirectory().isLogHeapFootprint());
+        return loader;
     }
 
     public @Override @Bean GeoServerResourceLoader resourceLoader() {
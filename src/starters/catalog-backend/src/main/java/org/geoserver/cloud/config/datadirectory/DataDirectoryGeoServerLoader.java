@@ -4,6 +4,8 @@
  */
 package org.geoserver.cloud.config.datadirectory;
 
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 import org.geoserver.catalog.Catalog;
@@ -14,6 +16,7 @@ import org.geoserver.catalog.event.impl.CatalogModifyEventImpl;
 import org.geoserver.catalog.impl.DefaultCatalogFacade;
 import org.geoserver.catalog.impl.ModificationProxy;
 import org.geoserver.catalog.plugin.CatalogPlugin;
+import org.geoserver.catalog.plugin.DefaultMemoryCatalogFacade;
 import org.geoserver.config.ConfigurationListener;
 import org.geoserver.config.DefaultGeoServerLoader;
 import org.geoserver.config.GeoServer;
@@ -38,6 +41,12 @@ import java.util.stream.Collectors;
 @Slf4j
 public class DataDirectoryGeoServerLoader extends DefaultGeoServerLoader {
 
+    /**
+     * Whether to log the estimated heap footprint of the catalog once loaded, see {@link
+     * DefaultMemoryCatalogFacade#getHeapFootprint()}
+     */
+    private @Getter @Setter boolean logHeapFootprint;
+
     public DataDirectoryGeoServerLoader(GeoServerResourceLoader resourceLoader) {
         super(resourceLoader);
     }
@@ -143,6 +152,31 @@ public class DataDirectoryGeoServerLoader extends DefaultGeoServerLoader {
         catalog.addListener(
                 new CatalogPluginGeoServerConfigPersister(catalog.getResourceLoader(), xp));
         catalog.addListener(new CatalogPluginGeoServerResourcePersister(catalog));
+
+        if (logHeapFootprint) {
+            logHeapFootprint(catalog);
+        }
+    }
+
+    private void logHeapFootprint(Catalog catalog) {
+        if (!(catalog instanceof CatalogPlugin)) {
+            return;
+        }
+        Object facade = ((CatalogPlugin) catalog).getRawFacade();
+        if (facade instanceof DefaultMemoryCatalogFacade) {
+            DefaultMemoryCatalogFacade memoryFacade = (DefaultMemoryCatalogFacade) facade;
+            log.info("Estimated catalog heap footprint (compact: {}):", memoryFacade.isCompact());
+            memoryFacade
+                    .getHeapFootprint()
+                    .values()
+                    .forEach(
+                            f ->
+                                    log.info(
+                                            "  {}: {} objects, {} KiB",
+                                            f.getType().getSimpleName(),
+                                            f.getCount(),
+                                            f.getEstimatedBytes() / 1024));
+        }
     }
 
     @SuppressWarnings({"unchecked", "rawtypes"})
@@ -22,6 +22,7 @@ import org.geoserver.catalog.Info;
 import org.geoserver.catalog.NamespaceInfo;
 import org.geoserver.catalog.StoreInfo;
 import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.catalog.event.impl.CatalogAddEventImpl;
 import org.geoserver.catalog.impl.ModificationProxy;
 import org.geoserver.catalog.impl.WorkspaceInfoImpl;
 import org.geoserver.catalog.plugin.CatalogPlugin;
@@ -30,6 +31,8 @@ import org.geoserver.cloud.autoconfigure.testconfiguration.AutoConfigurationTest
 import org.geoserver.cloud.catalog.caching.CachingCatalogFacade;
 import org.geoserver.cloud.catalog.caching.CachingGeoServerFacade;
 import org.geoserver.cloud.catalog.caching.CatalogInfoKey;
+import org.geoserver.cloud.catalog.caching.CatalogInfoNameKey;
+import org.geoserver.cloud.event.catalog.CatalogInfoAddEvent;
 import org.geoserver.cloud.event.catalog.CatalogInfoModifyEvent;
 import org.geoserver.cloud.event.catalog.CatalogInfoRemoveEvent;
 import org.geoserver.cloud.event.catalog.DefaultDataStoreEvent;
@@ -177,7 +180,7 @@ public class RemoteEventCacheEvictorTest {
                 "expected key evicted after setting null default datastore", catalogCache.get(key));
 
         assertNull(catalog.getDefaultDataStore(data.workspaceA));
-        assertNull(catalogCache.get(key));
+        assertNotNull("expected miss cached", catalogCache.get(key));
 
         publishRemote(DefaultDataStoreEvent.createLocal(data.workspaceA, data.dataStoreA));
 
@@ -186,6 +189,22 @@ public class RemoteEventCacheEvictorTest {
         assertNotNull(catalogCache.get(key));
     }
 
+    public @Test void testRemoteCatalogInfoAddEventEvictsMiss() {
+        Cache namesCache = cacheManager.getCache(CachingCatalogFacade.NAMES_CACHE_NAME);
+        CatalogInfoNameKey key = CatalogInfoNameKey.workspace("remotely-added");
+        assertNull(catalog.getWorkspaceByName("remotely-added"));
+        assertNotNull("expected miss cached", namesCache.get(key));
+
+        WorkspaceInfoImpl added = new WorkspaceInfoImpl();
+        added.setId("remotely-added-id");
+        added.setName("remotely-added");
+        CatalogAddEventImpl addEvent = new CatalogAddEventImpl();
+        addEvent.setSource(added);
+        publishRemote(CatalogInfoAddEvent.createLocal(addEvent));
+
+        assertNull("expected miss evicted", namesCache.get(key));
+    }
+
     public @Test void testCatalogInfoEvictingEvents() {
         testModifyThenRemoveCatalogInfo(data.layerGroup1, catalog::getLayerGroup);
         testModifyThenRemoveCatalogInfo(data.layerFeatureTypeA, catalog::getLayer);